@@ -0,0 +1,98 @@
+package ru.ifmo.se.restaurant.gateway.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that tunes itself to observed latency. While the limit is in use, each
+ * completed request compares its latency with the long-term average: the limit grows by about
+ * its square root as long as latency stays within the tolerance, and shrinks in proportion once
+ * requests get slower than that. Failed requests cut the limit multiplicatively.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double LONG_RTT_WEIGHT = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties.Limit bounds, double smoothing,
+                                      double tolerance, double backoffRatio) {
+        this.minLimit = bounds.getMin();
+        this.maxLimit = bounds.getMax();
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        setLimit(bounds.getInitial());
+    }
+
+    /**
+     * Takes a slot if one is free. Every acquired slot must be given back with
+     * {@link #onSuccess}, {@link #onDropped} or {@link #onIgnore}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void onSuccess(long rttNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        sample(Math.max(1, rttNanos), inFlightBefore);
+    }
+
+    /**
+     * The downstream failed or timed out.
+     */
+    public synchronized void onDropped() {
+        inFlight.decrementAndGet();
+        setLimit(estimatedLimit * backoffRatio);
+    }
+
+    /**
+     * The request ended without telling anything about the downstream, e.g. the client went away.
+     */
+    public void onIgnore() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void sample(long rttNanos, int inFlightBefore) {
+        longRttNanos = longRttNanos == 0 ? rttNanos : longRttNanos * (1 - LONG_RTT_WEIGHT) + rttNanos * LONG_RTT_WEIGHT;
+        // Let the average catch up quickly once a slow period is over
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+        // A limit that is mostly unused says nothing about how much more the service can take
+        if (inFlightBefore < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / rttNanos));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        setLimit(estimatedLimit * (1 - smoothing) + newLimit * smoothing);
+    }
+
+    private void setLimit(double newLimit) {
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
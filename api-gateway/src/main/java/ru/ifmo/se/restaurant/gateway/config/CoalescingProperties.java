@@ -0,0 +1,42 @@
+package ru.ifmo.se.restaurant.gateway.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routes whose concurrent identical GETs share one upstream call. Coalescing is opt-in, so a path
+ * is only affected once it is listed here.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "gateway.coalescing")
+public class CoalescingProperties {
+    private boolean enabled = true;
+    /** Responses larger than this are passed through and not shared. */
+    private int maxResponseBytes = 1024 * 1024;
+    /** Requests that may wait on one upstream call; the rest are proxied on their own. */
+    private int maxWaiters = 256;
+    private List<Route> routes = new ArrayList<>();
+
+    public enum Scope {
+        /** Responses are shared only between requests of the same user. */
+        USER,
+        /** Responses are shared between users of the same role. */
+        ROLE
+    }
+
+    @Getter
+    @Setter
+    public static class Route {
+        private String id;
+        /** Path pattern such as {@code /api/kitchen/queue}. */
+        private String path;
+        private Scope scope = Scope.USER;
+    }
+}
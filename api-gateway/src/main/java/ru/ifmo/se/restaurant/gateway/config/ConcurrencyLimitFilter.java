@@ -0,0 +1,98 @@
+package ru.ifmo.se.restaurant.gateway.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gives every downstream service its own {@link AdaptiveConcurrencyLimiter}, so requests piling
+ * up on one slow service cannot take connections and memory from the routes of the others.
+ * Requests over the limit are answered with 503 straight away instead of being queued.
+ */
+@Component
+public class ConcurrencyLimitFilter implements GlobalFilter, Ordered {
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null) {
+            return chain.filter(exchange);
+        }
+
+        String service = serviceOf(route);
+        AdaptiveConcurrencyLimiter limiter = limiters.computeIfAbsent(service, this::createLimiter);
+        if (!limiter.tryAcquire()) {
+            meterRegistry.counter("gateway.concurrency.rejected", "service", service).increment();
+            exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+            return exchange.getResponse().setComplete();
+        }
+
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    if (signal == SignalType.CANCEL) {
+                        limiter.onIgnore();
+                        return;
+                    }
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    if (signal == SignalType.ON_ERROR || status != null && status.is5xxServerError()) {
+                        limiter.onDropped();
+                    } else {
+                        limiter.onSuccess(System.nanoTime() - start);
+                    }
+                });
+    }
+
+    private AdaptiveConcurrencyLimiter createLimiter(String service) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                properties.getServices().getOrDefault(service, properties.getDefaultLimit()),
+                properties.getSmoothing(), properties.getTolerance(), properties.getBackoffRatio());
+        Gauge.builder("gateway.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("service", service)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("service", service)
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    private static String serviceOf(Route route) {
+        if ("lb".equals(route.getUri().getScheme()) && route.getUri().getHost() != null) {
+            return route.getUri().getHost();
+        }
+        return route.getId();
+    }
+
+    /**
+     * Runs before the load balancer and routing filters, so the measured latency covers the
+     * whole downstream call.
+     */
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+}
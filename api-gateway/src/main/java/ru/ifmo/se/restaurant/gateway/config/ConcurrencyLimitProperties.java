@@ -0,0 +1,46 @@
+package ru.ifmo.se.restaurant.gateway.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bounds and tuning of the adaptive concurrency limit each downstream service gets. Services are
+ * named by their load-balanced service id, or by route id for routes with a plain URI.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "gateway.concurrency-limit")
+public class ConcurrencyLimitProperties {
+    private boolean enabled = true;
+    private Limit defaultLimit = new Limit(20, 4, 500);
+    private Map<String, Limit> services = new HashMap<>();
+    /** Weight of a new estimate when the limit is adjusted to latency. */
+    private double smoothing = 0.2;
+    /** How many times the long-term latency a request may take before the limit is lowered. */
+    private double tolerance = 2.0;
+    /** Factor the limit is multiplied by when a request fails or times out. */
+    private double backoffRatio = 0.9;
+
+    @Getter
+    @Setter
+    public static class Limit {
+        private int initial;
+        private int min;
+        private int max;
+
+        public Limit() {
+        }
+
+        public Limit(int initial, int min, int max) {
+            this.initial = initial;
+            this.min = min;
+            this.max = max;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package ru.ifmo.se.restaurant.gateway.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request budgets per caller. The first route whose pattern matches the path wins, and within it
+ * a role-specific limit takes precedence over the route limit; unmatched paths fall back to the
+ * role limits and then to the default.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private Limit defaultLimit = new Limit(100, 50);
+    private Map<String, Limit> roles = new HashMap<>();
+    private List<Route> routes = new ArrayList<>();
+    /** Optional file the bucket state is saved to on shutdown and restored from on start. */
+    private String stateFile;
+
+    @Getter
+    @Setter
+    public static class Limit {
+        /** Requests that may be sent in one burst. */
+        private int capacity;
+        /** Requests the bucket regains each second. */
+        private double refillPerSecond;
+
+        public Limit() {
+        }
+
+        public Limit(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Route {
+        private String id;
+        /** Path pattern such as {@code /api/kitchen/**}. */
+        private String path;
+        private Limit limit;
+        private Map<String, Limit> roles = new HashMap<>();
+    }
+}
@@ -0,0 +1,227 @@
+package ru.ifmo.se.restaurant.gateway.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.reactivestreams.Publisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import ru.ifmo.se.restaurant.gateway.security.JwtAuthenticationFilter;
+import ru.ifmo.se.restaurant.gateway.security.TokenClaims;
+
+import java.io.ByteArrayOutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Lets concurrent identical GETs on opted-in routes share one upstream call. The first request
+ * is proxied as usual while its response is buffered; requests with the same path, query, accept
+ * header and caller scope that arrive meanwhile wait for it and get a copy. When the response
+ * cannot be shared (not 2xx, streamed, too large, sets cookies, or the call failed) the waiters
+ * are proxied on their own.
+ */
+@Component
+public class RequestCoalescingFilter implements WebFilter, Ordered {
+
+    private final CoalescingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<PathPattern, CoalescingProperties.Route> routes = new LinkedHashMap<>();
+    private final Map<String, Flight> inFlight = new ConcurrentHashMap<>();
+
+    public RequestCoalescingFilter(CoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        for (CoalescingProperties.Route route : properties.getRoutes()) {
+            routes.put(PathPatternParser.defaultInstance.parse(route.getPath()), route);
+        }
+        meterRegistry.gaugeMapSize("gateway.coalescing.in-flight", Tags.empty(), inFlight);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!properties.isEnabled() || exchange.getRequest().getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        CoalescingProperties.Route route = match(exchange.getRequest().getPath().pathWithinApplication());
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+
+        String routeId = route.getId() != null ? route.getId() : route.getPath();
+        String key = keyOf(exchange, route);
+        Flight flight = new Flight();
+        Flight existing = inFlight.putIfAbsent(key, flight);
+        if (existing == null) {
+            count(routeId, "upstream");
+            return lead(exchange, chain, key, flight, routeId);
+        }
+        if (existing.waiters.incrementAndGet() > properties.getMaxWaiters()) {
+            count(routeId, "overflow");
+            return chain.filter(exchange);
+        }
+        count(routeId, "coalesced");
+        return existing.response.asMono()
+                .map(response -> write(exchange, response))
+                .defaultIfEmpty(Mono.defer(() -> {
+                    count(routeId, "fallback");
+                    return chain.filter(exchange);
+                }))
+                .flatMap(Function.identity());
+    }
+
+    private Mono<Void> lead(ServerWebExchange exchange, WebFilterChain chain, String key, Flight flight, String routeId) {
+        CapturingResponse response = new CapturingResponse(exchange.getResponse(), properties.getMaxResponseBytes());
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> {
+                    inFlight.remove(key, flight);
+                    SharedResponse shared = response.shared();
+                    if (shared != null) {
+                        flight.response.tryEmitValue(shared);
+                    } else {
+                        if (response.oversized) {
+                            meterRegistry.counter("gateway.coalescing.oversized", "route", routeId).increment();
+                        }
+                        flight.response.tryEmitEmpty();
+                    }
+                });
+    }
+
+    private static Mono<Void> write(ServerWebExchange exchange, SharedResponse shared) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(shared.status);
+        // Headers this request already has, such as its own CORS headers, are kept
+        shared.headers.forEach((name, values) -> {
+            if (!response.getHeaders().containsKey(name)) {
+                response.getHeaders().put(name, values);
+            }
+        });
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(shared.body)));
+    }
+
+    private String keyOf(ServerWebExchange exchange, CoalescingProperties.Route route) {
+        TokenClaims claims = exchange.getAttribute(JwtAuthenticationFilter.CLAIMS_ATTRIBUTE);
+        String scope;
+        if (claims == null) {
+            scope = "anonymous";
+        } else if (route.getScope() == CoalescingProperties.Scope.ROLE) {
+            scope = "role:" + claims.getRole();
+        } else {
+            scope = "user:" + claims.getUserId();
+        }
+        String accept = exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT);
+        return exchange.getRequest().getURI().getRawPath() + "?" + exchange.getRequest().getURI().getRawQuery()
+                + "|" + accept + "|" + scope;
+    }
+
+    private CoalescingProperties.Route match(PathContainer path) {
+        for (Map.Entry<PathPattern, CoalescingProperties.Route> route : routes.entrySet()) {
+            if (route.getKey().matches(path)) {
+                return route.getValue();
+            }
+        }
+        return null;
+    }
+
+    private void count(String routeId, String result) {
+        meterRegistry.counter("gateway.coalescing.requests", "route", routeId, "result", result).increment();
+    }
+
+    @Override
+    public int getOrder() {
+        return -80;
+    }
+
+    private static class Flight {
+        private final Sinks.One<SharedResponse> response = Sinks.one();
+        private final AtomicInteger waiters = new AtomicInteger();
+    }
+
+    private static class SharedResponse {
+        private final HttpStatusCode status;
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        private SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+
+    /**
+     * Copies the body as it is written to the client, giving up once it grows past the limit.
+     */
+    private static class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final int maxBytes;
+        private ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private HttpHeaders headers;
+        private boolean completed;
+        private boolean oversized;
+
+        CapturingResponse(ServerHttpResponse delegate, int maxBytes) {
+            super(delegate);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            if (status == null || !status.is2xxSuccessful() || getHeaders().containsKey(HttpHeaders.SET_COOKIE)) {
+                this.body = null;
+            } else {
+                headers = new HttpHeaders();
+                headers.putAll(getHeaders());
+            }
+            return super.writeWith(Flux.from(body).doOnNext(this::capture))
+                    .doOnSuccess(done -> completed = true);
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            this.body = null;
+            return super.writeAndFlushWith(body);
+        }
+
+        private void capture(DataBuffer buffer) {
+            if (body == null) {
+                return;
+            }
+            int length = buffer.readableByteCount();
+            if (body.size() + length > maxBytes) {
+                body = null;
+                oversized = true;
+                return;
+            }
+            byte[] bytes = new byte[length];
+            int position = buffer.readPosition();
+            buffer.read(bytes);
+            buffer.readPosition(position);
+            body.writeBytes(bytes);
+        }
+
+        SharedResponse shared() {
+            if (!completed || body == null || headers == null) {
+                return null;
+            }
+            return new SharedResponse(getStatusCode(), headers, body.toByteArray());
+        }
+    }
+}
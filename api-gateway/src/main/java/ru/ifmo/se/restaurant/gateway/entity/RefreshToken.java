@@ -15,6 +15,7 @@ import java.time.LocalDateTime;
 public class RefreshToken {
     @Id
     private Long id;
+    /** SHA-256 digest of the token handed to the client. */
     private String token;
     private Long userId;
     private LocalDateTime expiresAt;
@@ -1,13 +1,22 @@
 package ru.ifmo.se.restaurant.gateway.repository;
 
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Mono;
 import ru.ifmo.se.restaurant.gateway.entity.RefreshToken;
 
+import java.time.LocalDateTime;
+
 @Repository
 public interface RefreshTokenRepository extends R2dbcRepository<RefreshToken, Long> {
     Mono<RefreshToken> findByToken(String token);
     Mono<Void> deleteByUserId(Long userId);
-    Mono<Void> deleteByToken(String token);
+    Mono<Integer> deleteByToken(String token);
+
+    @Modifying
+    @Query("DELETE FROM refresh_tokens WHERE id IN "
+            + "(SELECT id FROM refresh_tokens WHERE expires_at < :now LIMIT :limit)")
+    Mono<Integer> deleteExpired(LocalDateTime now, int limit);
 }
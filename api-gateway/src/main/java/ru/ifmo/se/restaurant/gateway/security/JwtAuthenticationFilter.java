@@ -19,6 +19,9 @@ import java.util.List;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter implements WebFilter, Ordered {
 
+    /** Exchange attribute holding the {@link TokenClaims} of the authenticated caller. */
+    public static final String CLAIMS_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".claims";
+
     private final JwtService jwtService;
 
     private static final List<String> PUBLIC_PATHS = List.of(
@@ -61,19 +64,14 @@ public class JwtAuthenticationFilter implements WebFilter, Ordered {
         String token = authHeader.substring(7);
 
         try {
-            if (!jwtService.isTokenValid(token)) {
-                return sendUnauthorized(exchange);
-            }
-
-            String username = jwtService.extractUsername(token);
-            String role = jwtService.extractRole(token).name();
-            Long userId = jwtService.extractUserId(token);
-            Long employeeId = jwtService.extractEmployeeId(token);
+            TokenClaims claims = jwtService.parseAccessToken(token);
+            exchange.getAttributes().put(CLAIMS_ATTRIBUTE, claims);
+            Long employeeId = claims.getEmployeeId();
 
             ServerHttpRequest mutatedRequest = exchange.getRequest().mutate()
-                    .header("X-User-Id", String.valueOf(userId))
-                    .header("X-User-Name", username)
-                    .header("X-User-Role", role)
+                    .header("X-User-Id", String.valueOf(claims.getUserId()))
+                    .header("X-User-Name", claims.getUsername())
+                    .header("X-User-Role", claims.getRole().name())
                     .header("X-Employee-Id", employeeId != null ? String.valueOf(employeeId) : "")
                     .build();
 
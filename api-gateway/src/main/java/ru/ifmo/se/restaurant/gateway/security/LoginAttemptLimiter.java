@@ -0,0 +1,59 @@
+package ru.ifmo.se.restaurant.gateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps password checks per username within a fixed window, so hammering one account is
+ * refused before it costs a BCrypt round. A successful login clears the counter.
+ */
+@Component
+public class LoginAttemptLimiter {
+
+    private final Cache<String, AtomicInteger> attempts;
+    private final int maxAttempts;
+    private final Counter throttled;
+
+    public LoginAttemptLimiter(MeterRegistry meterRegistry,
+                               @Value("${auth.login-attempts.max:10}") int maxAttempts,
+                               @Value("${auth.login-attempts.window-seconds:60}") long windowSeconds,
+                               @Value("${auth.login-attempts.max-tracked:100000}") long maxTracked) {
+        this.attempts = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(windowSeconds))
+                .maximumSize(maxTracked)
+                .build();
+        this.maxAttempts = maxAttempts;
+        this.throttled = meterRegistry.counter("auth.login.throttled");
+    }
+
+    /**
+     * Records an attempt for the username.
+     *
+     * @throws ResponseStatusException with 429 when the username has used up its window
+     */
+    public void acquire(String username) {
+        int attempt = attempts.get(key(username), k -> new AtomicInteger()).incrementAndGet();
+        if (attempt > maxAttempts) {
+            throttled.increment();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many attempts, please retry later");
+        }
+    }
+
+    public void reset(String username) {
+        attempts.invalidate(key(username));
+    }
+
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,84 @@
+package ru.ifmo.se.restaurant.gateway.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt off the Netty event loop on a small dedicated pool, so a burst of logins cannot
+ * stall proxied traffic. Once the pool and its queue are full further requests fail fast with
+ * 503 instead of piling up.
+ */
+@Slf4j
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Scheduler scheduler;
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Counter rejected;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          MeterRegistry meterRegistry,
+                          @Value("${auth.password-hashing.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int threads,
+                          @Value("${auth.password-hashing.queue-capacity:100}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.scheduler = Schedulers.fromExecutorService(executor, "password-hashing");
+        this.encodeTimer = meterRegistry.timer("auth.password.hashing", "operation", "encode");
+        this.matchTimer = meterRegistry.timer("auth.password.hashing", "operation", "match");
+        this.rejected = meterRegistry.counter("auth.password.hashing.rejected");
+        meterRegistry.gauge("auth.password.hashing.queue", executor, pool -> pool.getQueue().size());
+    }
+
+    public Mono<String> encode(String rawPassword) {
+        return hash(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public Mono<Boolean> matches(String rawPassword, String encodedPassword) {
+        return hash(matchTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    private <T> Mono<T> hash(Timer timer, Supplier<T> work) {
+        return Mono.fromCallable(() -> timer.record(work))
+                .subscribeOn(scheduler)
+                .onErrorMap(RejectedExecutionException.class, e -> {
+                    rejected.increment();
+                    log.warn("Password hashing queue is full, rejecting request");
+                    return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                            "Authentication is temporarily overloaded, please retry");
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.dispose();
+    }
+}
@@ -0,0 +1,105 @@
+package ru.ifmo.se.restaurant.gateway.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import ru.ifmo.se.restaurant.gateway.config.RateLimitProperties;
+
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admits each request against the bucket of its caller on its route: the user for authenticated
+ * requests, the client address otherwise. Rejected requests get 429 with {@code Retry-After}.
+ * Runs after {@link JwtAuthenticationFilter}, so the caller is taken from the verified token
+ * rather than from headers a client could forge.
+ */
+@Component
+public class RateLimitFilter implements WebFilter, Ordered {
+
+    private static final String DEFAULT_ROUTE = "default";
+    private static final String ANONYMOUS = "ANONYMOUS";
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<PathPattern, RateLimitProperties.Route> routes = new LinkedHashMap<>();
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            routes.put(PathPatternParser.defaultInstance.parse(route.getPath()), route);
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!properties.isEnabled() || exchange.getRequest().getMethod() == HttpMethod.OPTIONS
+                || exchange.getRequest().getPath().value().startsWith("/actuator")) {
+            return chain.filter(exchange);
+        }
+
+        TokenClaims claims = exchange.getAttribute(JwtAuthenticationFilter.CLAIMS_ATTRIBUTE);
+        String role = claims != null && claims.getRole() != null ? claims.getRole().name() : ANONYMOUS;
+        String caller = claims != null ? "user:" + claims.getUserId() : "ip:" + clientAddress(exchange);
+
+        RateLimitProperties.Route route = match(exchange.getRequest().getPath().pathWithinApplication());
+        String routeId = route == null ? DEFAULT_ROUTE : route.getId() != null ? route.getId() : route.getPath();
+        long waitNanos = rateLimiter.tryAcquire(routeId + "|" + caller, limitFor(route, role));
+        if (waitNanos == 0) {
+            return chain.filter(exchange);
+        }
+
+        meterRegistry.counter("gateway.rate-limit.rejected", "route", routeId, "role", role).increment();
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return exchange.getResponse().setComplete();
+    }
+
+    private RateLimitProperties.Route match(PathContainer path) {
+        for (Map.Entry<PathPattern, RateLimitProperties.Route> route : routes.entrySet()) {
+            if (route.getKey().matches(path)) {
+                return route.getValue();
+            }
+        }
+        return null;
+    }
+
+    private RateLimitProperties.Limit limitFor(RateLimitProperties.Route route, String role) {
+        if (route != null) {
+            RateLimitProperties.Limit limit = route.getRoles().get(role);
+            if (limit != null) {
+                return limit;
+            }
+            if (route.getLimit() != null) {
+                return route.getLimit();
+            }
+        }
+        return properties.getRoles().getOrDefault(role, properties.getDefaultLimit());
+    }
+
+    private static String clientAddress(ServerWebExchange exchange) {
+        InetSocketAddress address = exchange.getRequest().getRemoteAddress();
+        return address != null ? address.getHostString() : "unknown";
+    }
+
+    @Override
+    public int getOrder() {
+        return -90;
+    }
+}
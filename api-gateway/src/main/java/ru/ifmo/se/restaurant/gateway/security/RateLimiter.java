@@ -0,0 +1,127 @@
+package ru.ifmo.se.restaurant.gateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.ifmo.se.restaurant.gateway.config.RateLimitProperties;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Token buckets kept as a single "theoretical arrival time" per key (GCRA): admitting a request
+ * is one compare-and-set, with no lock and no background refill. Idle buckets are full again
+ * anyway, so they are simply evicted.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final Function<String, AtomicLong> NEW_BUCKET = key -> new AtomicLong(System.nanoTime());
+
+    private final Cache<String, AtomicLong> buckets;
+    private final Path stateFile;
+
+    public RateLimiter(RateLimitProperties properties,
+                       @Value("${gateway.rate-limit.max-buckets:100000}") long maxBuckets,
+                       @Value("${gateway.rate-limit.idle-minutes:10}") long idleMinutes) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .build();
+        this.stateFile = properties.getStateFile() != null ? Path.of(properties.getStateFile()) : null;
+    }
+
+    /**
+     * Takes one token from the key's bucket.
+     *
+     * @return {@code 0} if the request is admitted, otherwise the nanoseconds until it would be
+     */
+    public long tryAcquire(String key, RateLimitProperties.Limit limit) {
+        long interval = (long) (NANOS_PER_SECOND / limit.getRefillPerSecond());
+        long burst = interval * limit.getCapacity();
+        AtomicLong arrival = buckets.get(key, NEW_BUCKET);
+        long now = System.nanoTime();
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + interval;
+            long wait = next - now - burst;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    @PostConstruct
+    public void restore() {
+        if (stateFile == null || !Files.exists(stateFile)) {
+            return;
+        }
+        long nowMillis = System.currentTimeMillis();
+        long nowNanos = System.nanoTime();
+        try {
+            List<String> lines = Files.readAllLines(stateFile, StandardCharsets.UTF_8);
+            for (String line : lines) {
+                int separator = line.lastIndexOf('\t');
+                if (separator <= 0) {
+                    continue;
+                }
+                long arrivalMillis = Long.parseLong(line.substring(separator + 1));
+                if (arrivalMillis > nowMillis) {
+                    long arrival = nowNanos + TimeUnit.MILLISECONDS.toNanos(arrivalMillis - nowMillis);
+                    buckets.put(line.substring(0, separator), new AtomicLong(arrival));
+                }
+            }
+            log.info("Restored {} rate limit buckets from {}", buckets.estimatedSize(), stateFile);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not restore rate limit state from {}: {}", stateFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Saves buckets that are still draining, so a restart does not hand every client a full burst.
+     */
+    @PreDestroy
+    public void save() {
+        if (stateFile == null) {
+            return;
+        }
+        long nowMillis = System.currentTimeMillis();
+        long nowNanos = System.nanoTime();
+        Path temp = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (var bucket : buckets.asMap().entrySet()) {
+                long ahead = bucket.getValue().get() - nowNanos;
+                if (ahead > 0) {
+                    writer.write(bucket.getKey() + "\t" + (nowMillis + TimeUnit.NANOSECONDS.toMillis(ahead)));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not save rate limit state to {}: {}", stateFile, e.getMessage());
+            return;
+        }
+        try {
+            Files.move(temp, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not save rate limit state to {}: {}", stateFile, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package ru.ifmo.se.restaurant.gateway.security;
+
+import lombok.Builder;
+import lombok.Value;
+import ru.ifmo.se.restaurant.gateway.entity.UserRole;
+
+import java.time.Instant;
+
+/**
+ * Claims of an access token whose signature has already been verified.
+ */
+@Value
+@Builder
+public class TokenClaims {
+    String username;
+    UserRole role;
+    Long userId;
+    Long employeeId;
+    Instant expiresAt;
+}
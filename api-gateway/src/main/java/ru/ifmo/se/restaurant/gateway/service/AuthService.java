@@ -2,27 +2,27 @@ package ru.ifmo.se.restaurant.gateway.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Mono;
 import ru.ifmo.se.restaurant.gateway.dto.*;
-import ru.ifmo.se.restaurant.gateway.entity.RefreshToken;
 import ru.ifmo.se.restaurant.gateway.entity.User;
-import ru.ifmo.se.restaurant.gateway.repository.RefreshTokenRepository;
 import ru.ifmo.se.restaurant.gateway.repository.UserRepository;
+import ru.ifmo.se.restaurant.gateway.security.LoginAttemptLimiter;
+import ru.ifmo.se.restaurant.gateway.security.PasswordHasher;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
     private final JwtService jwtService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final LoginAttemptLimiter loginAttemptLimiter;
 
     public Mono<UserDto> initAdmin() {
         return userRepository.count()
@@ -30,9 +30,12 @@ public class AuthService {
                     if (count > 0) {
                         return Mono.error(new ResponseStatusException(HttpStatus.CONFLICT, "Admin already exists"));
                     }
+                    return passwordHasher.encode("admin123");
+                })
+                .flatMap(encodedPassword -> {
                     User admin = new User();
                     admin.setUsername("admin@restaurant.com");
-                    admin.setPassword(passwordEncoder.encode("admin123"));
+                    admin.setPassword(encodedPassword);
                     admin.setRole(ru.ifmo.se.restaurant.gateway.entity.UserRole.ADMIN);
                     admin.setEnabled(true);
                     admin.setCreatedAt(LocalDateTime.now());
@@ -42,16 +45,21 @@ public class AuthService {
     }
 
     public Mono<LoginResponse> login(LoginRequest request) {
-        return userRepository.findByUsername(request.getUsername())
+        return Mono.fromRunnable(() -> loginAttemptLimiter.acquire(request.getUsername()))
+                .then(Mono.defer(() -> userRepository.findByUsername(request.getUsername())))
                 .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials")))
                 .flatMap(user -> {
                     if (!user.getEnabled()) {
                         return Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Account is disabled"));
                     }
-                    if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-                        return Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials"));
-                    }
-                    return createLoginResponse(user);
+                    return passwordHasher.matches(request.getPassword(), user.getPassword())
+                            .flatMap(matches -> {
+                                if (!matches) {
+                                    return Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials"));
+                                }
+                                loginAttemptLimiter.reset(request.getUsername());
+                                return createLoginResponse(user);
+                            });
                 });
     }
 
@@ -61,9 +69,12 @@ public class AuthService {
                     if (exists) {
                         return Mono.error(new ResponseStatusException(HttpStatus.CONFLICT, "Username already exists"));
                     }
+                    return passwordHasher.encode(request.getPassword());
+                })
+                .flatMap(encodedPassword -> {
                     User user = new User();
                     user.setUsername(request.getUsername());
-                    user.setPassword(passwordEncoder.encode(request.getPassword()));
+                    user.setPassword(encodedPassword);
                     user.setRole(request.getRole());
                     user.setEmployeeId(request.getEmployeeId());
                     user.setEnabled(true);
@@ -80,11 +91,11 @@ public class AuthService {
     }
 
     public Mono<LoginResponse> refreshToken(RefreshTokenRequest request) {
-        return refreshTokenRepository.findByToken(request.getRefreshToken())
+        return refreshTokenStore.find(request.getRefreshToken())
                 .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token")))
                 .flatMap(refreshToken -> {
                     if (refreshToken.getExpiresAt().isBefore(LocalDateTime.now())) {
-                        return refreshTokenRepository.delete(refreshToken)
+                        return refreshTokenStore.consume(request.getRefreshToken())
                                 .then(Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token expired")));
                     }
                     return userRepository.findById(refreshToken.getUserId())
@@ -93,16 +104,16 @@ public class AuthService {
                                 if (!user.getEnabled()) {
                                     return Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Account is disabled"));
                                 }
-                                return refreshTokenRepository.delete(refreshToken)
-                                        .then(createLoginResponse(user));
+                                return refreshTokenStore.consume(request.getRefreshToken())
+                                        .flatMap(consumed -> consumed
+                                                ? createLoginResponse(user)
+                                                : Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token")));
                             });
                 });
     }
 
     public Mono<Void> logout(String refreshToken) {
-        return refreshTokenRepository.findByToken(refreshToken)
-                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token")))
-                .flatMap(token -> refreshTokenRepository.delete(token));
+        return refreshTokenStore.consume(refreshToken).then();
     }
 
     public Mono<UserDto> getCurrentUser(Long userId) {
@@ -114,31 +125,30 @@ public class AuthService {
     public Mono<Void> changePassword(Long userId, ChangePasswordRequest request) {
         return userRepository.findById(userId)
                 .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found")))
-                .flatMap(user -> {
-                    if (!passwordEncoder.matches(request.getOldPassword(), user.getPassword())) {
-                        return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid old password"));
-                    }
-                    user.setPassword(passwordEncoder.encode(request.getNewPassword()));
-                    return userRepository.save(user);
-                })
+                .flatMap(user -> Mono.fromRunnable(() -> loginAttemptLimiter.acquire(user.getUsername()))
+                        .then(passwordHasher.matches(request.getOldPassword(), user.getPassword()))
+                        .flatMap(matches -> {
+                            if (!matches) {
+                                return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid old password"));
+                            }
+                            return passwordHasher.encode(request.getNewPassword());
+                        })
+                        .flatMap(encodedPassword -> {
+                            user.setPassword(encodedPassword);
+                            return userRepository.save(user);
+                        }))
                 .then();
     }
 
     private Mono<LoginResponse> createLoginResponse(User user) {
         String accessToken = jwtService.generateAccessToken(user);
-        String refreshTokenValue = UUID.randomUUID().toString();
-
-        RefreshToken refreshToken = new RefreshToken();
-        refreshToken.setToken(refreshTokenValue);
-        refreshToken.setUserId(user.getId());
-        refreshToken.setExpiresAt(LocalDateTime.now().plusSeconds(jwtService.getRefreshTokenExpiration() / 1000));
-        refreshToken.setCreatedAt(LocalDateTime.now());
+        Duration refreshTokenLifetime = Duration.ofSeconds(jwtService.getRefreshTokenExpiration() / 1000);
 
         user.setLastLogin(LocalDateTime.now());
 
         return userRepository.save(user)
-                .then(refreshTokenRepository.save(refreshToken))
-                .map(saved -> new LoginResponse(accessToken, refreshTokenValue, toUserDto(user)));
+                .then(refreshTokenStore.issue(user.getId(), refreshTokenLifetime))
+                .map(refreshToken -> new LoginResponse(accessToken, refreshToken, toUserDto(user)));
     }
 
     private UserDto toUserDto(User user) {
@@ -0,0 +1,127 @@
+package ru.ifmo.se.restaurant.gateway.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel that reports keys once their deadline has passed. Level {@code n}
+ * has {@code wheelSize} slots of {@code tickMs * wheelSize^n} each, so scheduling and expiring a
+ * key are O(1) however far ahead the deadline is. Entries in an upper level cascade down as the
+ * lower wheel wraps around; deadlines beyond the top level are parked in its farthest slot and
+ * re-placed when that slot comes up. An index from key to slot lets a key be cancelled in O(1).
+ */
+class ExpiryWheel<K> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long[] slotTicks;
+    private final List<Map<K, Long>[]> levels = new ArrayList<>();
+    private final Map<K, Map<K, Long>> slotByKey = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    ExpiryWheel(long tickMs, int wheelSize, int levelCount, long nowMs) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.slotTicks = new long[levelCount];
+        long ticks = 1;
+        for (int level = 0; level < levelCount; level++) {
+            slotTicks[level] = ticks;
+            ticks = Math.multiplyExact(ticks, wheelSize);
+            Map<K, Long>[] slots = new Map[wheelSize];
+            for (int slot = 0; slot < wheelSize; slot++) {
+                slots[slot] = new HashMap<>();
+            }
+            levels.add(slots);
+        }
+        this.currentTick = nowMs / tickMs;
+    }
+
+    /**
+     * Schedules the key to expire at the given time. A key that is already due is reported by the
+     * next {@link #advance}.
+     */
+    synchronized void schedule(K key, long expiresAtMs) {
+        cancel(key);
+        place(key, Math.floorDiv(expiresAtMs + tickMs - 1, tickMs));
+    }
+
+    /**
+     * Removes the key from the wheel, so it is never reported.
+     *
+     * @return {@code false} if the key was not scheduled
+     */
+    synchronized boolean cancel(K key) {
+        Map<K, Long> slot = slotByKey.remove(key);
+        return slot != null && slot.remove(key) != null;
+    }
+
+    /**
+     * @return the number of keys waiting to expire
+     */
+    synchronized int size() {
+        return slotByKey.size();
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMs} and returns every key whose deadline has passed.
+     */
+    synchronized List<K> advance(long nowMs) {
+        List<K> expired = new ArrayList<>();
+        drain(levels.get(0)[slotOf(currentTick, 0)], expired);
+        long targetTick = nowMs / tickMs;
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = levels.size() - 1; level > 0; level--) {
+                if (currentTick % slotTicks[level] == 0) {
+                    drain(levels.get(level)[slotOf(currentTick, level)], expired);
+                }
+            }
+            drain(levels.get(0)[slotOf(currentTick, 0)], expired);
+        }
+        return expired;
+    }
+
+    private void drain(Map<K, Long> slot, List<K> expired) {
+        if (slot.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<K, Long>> entries = new ArrayList<>(slot.entrySet());
+        slot.clear();
+        for (Map.Entry<K, Long> entry : entries) {
+            if (entry.getValue() <= currentTick) {
+                slotByKey.remove(entry.getKey());
+                expired.add(entry.getKey());
+            } else {
+                place(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private void place(K key, long deadlineTick) {
+        Map<K, Long> slot = slotFor(deadlineTick);
+        slot.put(key, deadlineTick);
+        slotByKey.put(key, slot);
+    }
+
+    private Map<K, Long> slotFor(long deadlineTick) {
+        long delta = deadlineTick - currentTick;
+        if (delta <= 0) {
+            return levels.get(0)[slotOf(currentTick, 0)];
+        }
+        int top = levels.size() - 1;
+        for (int level = 0; level < top; level++) {
+            if (delta < slotTicks[level + 1]) {
+                return levels.get(level)[slotOf(deadlineTick, level)];
+            }
+        }
+        long parkedTick = Math.min(deadlineTick, currentTick + slotTicks[top] * (wheelSize - 1));
+        return levels.get(top)[slotOf(parkedTick, top)];
+    }
+
+    private int slotOf(long tick, int level) {
+        return (int) ((tick / slotTicks[level]) % wheelSize);
+    }
+}
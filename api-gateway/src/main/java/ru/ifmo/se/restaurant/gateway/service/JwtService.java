@@ -1,6 +1,10 @@
 package ru.ifmo.se.restaurant.gateway.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -8,8 +12,12 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import ru.ifmo.se.restaurant.gateway.entity.User;
 import ru.ifmo.se.restaurant.gateway.entity.UserRole;
+import ru.ifmo.se.restaurant.gateway.security.TokenClaims;
+import ru.ifmo.se.restaurant.gateway.security.TokenDigest;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -18,14 +26,25 @@ import java.util.function.Function;
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
-
-    @Value("${jwt.access-token-expiration:900000}")
-    private long accessTokenExpiration;
-
-    @Value("${jwt.refresh-token-expiration:604800000}")
-    private long refreshTokenExpiration;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final Cache<String, TokenClaims> claimsCache;
+    private final long accessTokenExpiration;
+    private final long refreshTokenExpiration;
+
+    public JwtService(@Value("${jwt.secret}") String secretKey,
+                      @Value("${jwt.access-token-expiration:900000}") long accessTokenExpiration,
+                      @Value("${jwt.refresh-token-expiration:604800000}") long refreshTokenExpiration,
+                      @Value("${jwt.claims-cache.max-size:10000}") long claimsCacheSize) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(claimsCacheSize)
+                .expireAfter(new UntilTokenExpires())
+                .build();
+        this.accessTokenExpiration = accessTokenExpiration;
+        this.refreshTokenExpiration = refreshTokenExpiration;
+    }
 
     public String generateAccessToken(User user) {
         Map<String, Object> claims = new HashMap<>();
@@ -47,7 +66,7 @@ public class JwtService {
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -68,6 +87,31 @@ public class JwtService {
         return extractClaim(token, claims -> claims.get("employeeId", Long.class));
     }
 
+    /**
+     * Verifies an access token and returns its claims. A token seen before is served from a cache
+     * keyed by its SHA-256 digest until it expires, so repeated requests skip signature checks.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+     */
+    public TokenClaims parseAccessToken(String token) {
+        String digest = TokenDigest.sha256(token);
+        TokenClaims cached = claimsCache.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = extractAllClaims(token);
+        String role = claims.get("role", String.class);
+        TokenClaims verified = TokenClaims.builder()
+                .username(claims.getSubject())
+                .role(role != null ? UserRole.valueOf(role) : null)
+                .userId(claims.get("userId", Long.class))
+                .employeeId(claims.get("employeeId", Long.class))
+                .expiresAt(claims.getExpiration().toInstant())
+                .build();
+        claimsCache.put(digest, verified);
+        return verified;
+    }
+
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
         final Claims claims = extractAllClaims(token);
         return claimsResolver.apply(claims);
@@ -95,16 +139,7 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public long getAccessTokenExpiration() {
@@ -114,4 +149,25 @@ public class JwtService {
     public long getRefreshTokenExpiration() {
         return refreshTokenExpiration;
     }
+
+    /**
+     * Drops cached claims at the moment the token itself expires.
+     */
+    private static class UntilTokenExpires implements Expiry<String, TokenClaims> {
+
+        @Override
+        public long expireAfterCreate(String digest, TokenClaims claims, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), claims.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, TokenClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String digest, TokenClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,157 @@
+package ru.ifmo.se.restaurant.gateway.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import ru.ifmo.se.restaurant.gateway.entity.RefreshToken;
+import ru.ifmo.se.restaurant.gateway.repository.RefreshTokenRepository;
+import ru.ifmo.se.restaurant.gateway.security.TokenDigest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Refresh tokens keyed by their SHA-256 digest. Live tokens are kept in memory, so a refresh
+ * normally resolves without a query; the table stays the source of truth and consuming a token
+ * is a single conditional delete, which also settles races between gateway instances. An
+ * {@link ExpiryWheel} drops expired tokens from memory, and expired rows are purged in batches.
+ * Consumed and revoked tokens are cancelled in the wheel, so it never holds more than the hot tokens.
+ */
+@Slf4j
+@Component
+public class RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Map<String, RefreshToken> hotTokens = new ConcurrentHashMap<>();
+    private final ExpiryWheel<String> expiryWheel;
+    private final int maxHotTokens;
+    private final int purgeBatchSize;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter purged;
+
+    public RefreshTokenStore(RefreshTokenRepository refreshTokenRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${auth.refresh-tokens.max-hot:100000}") int maxHotTokens,
+                             @Value("${auth.refresh-tokens.tick-ms:60000}") long tickMs,
+                             @Value("${auth.refresh-tokens.purge-batch-size:500}") int purgeBatchSize) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.expiryWheel = new ExpiryWheel<>(tickMs, 64, 3, System.currentTimeMillis());
+        this.maxHotTokens = maxHotTokens;
+        this.purgeBatchSize = purgeBatchSize;
+        this.hits = meterRegistry.counter("auth.refresh-tokens.lookups", "result", "memory");
+        this.misses = meterRegistry.counter("auth.refresh-tokens.lookups", "result", "database");
+        this.purged = meterRegistry.counter("auth.refresh-tokens.purged");
+        meterRegistry.gaugeMapSize("auth.refresh-tokens.hot", Tags.empty(), hotTokens);
+        meterRegistry.gauge("auth.refresh-tokens.scheduled", expiryWheel, ExpiryWheel::size);
+    }
+
+    /**
+     * Stores a new token for the user and returns its raw value, which is never persisted.
+     */
+    public Mono<String> issue(Long userId, Duration lifetime) {
+        String rawToken = UUID.randomUUID().toString();
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setToken(TokenDigest.sha256(rawToken));
+        refreshToken.setUserId(userId);
+        refreshToken.setExpiresAt(LocalDateTime.now().plus(lifetime));
+        refreshToken.setCreatedAt(LocalDateTime.now());
+        return refreshTokenRepository.save(refreshToken)
+                .doOnNext(saved -> remember(refreshToken))
+                .thenReturn(rawToken);
+    }
+
+    /**
+     * Looks the token up, expired or not, so the caller can tell an unknown token from a stale one.
+     */
+    public Mono<RefreshToken> find(String rawToken) {
+        String digest = TokenDigest.sha256(rawToken);
+        RefreshToken hot = hotTokens.get(digest);
+        if (hot != null) {
+            hits.increment();
+            return Mono.just(hot);
+        }
+        misses.increment();
+        return refreshTokenRepository.findByToken(digest)
+                .doOnNext(this::remember);
+    }
+
+    /**
+     * Deletes the token and tells whether this call was the one that removed it, so the same
+     * token cannot be redeemed twice.
+     */
+    public Mono<Boolean> consume(String rawToken) {
+        String digest = TokenDigest.sha256(rawToken);
+        forget(digest);
+        return refreshTokenRepository.deleteByToken(digest)
+                .map(deleted -> deleted > 0)
+                .defaultIfEmpty(false);
+    }
+
+    public Mono<Void> revokeAll(Long userId) {
+        hotTokens.forEach((digest, token) -> {
+            if (userId.equals(token.getUserId())) {
+                forget(digest);
+            }
+        });
+        return refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    @Scheduled(fixedRateString = "${auth.refresh-tokens.tick-ms:60000}")
+    public void expireHotTokens() {
+        expireHotTokens(System.currentTimeMillis());
+    }
+
+    void expireHotTokens(long nowMs) {
+        expiryWheel.advance(nowMs).forEach(hotTokens::remove);
+    }
+
+    /**
+     * Deletes expired rows a batch at a time, so a large backlog never holds long locks.
+     */
+    @Scheduled(fixedDelayString = "${auth.refresh-tokens.purge-interval-ms:600000}",
+            initialDelayString = "${auth.refresh-tokens.purge-initial-delay-ms:60000}")
+    public void purgeExpired() {
+        try {
+            Integer total = purgeExpired(LocalDateTime.now()).block(Duration.ofMinutes(5));
+            if (total != null && total > 0) {
+                log.info("Purged {} expired refresh tokens", total);
+            }
+        } catch (Exception e) {
+            log.error("Failed to purge expired refresh tokens: {}", e.getMessage(), e);
+        }
+    }
+
+    Mono<Integer> purgeExpired(LocalDateTime now) {
+        return refreshTokenRepository.deleteExpired(now, purgeBatchSize)
+                .expand(deleted -> deleted < purgeBatchSize
+                        ? Mono.empty()
+                        : refreshTokenRepository.deleteExpired(now, purgeBatchSize))
+                .doOnNext(purged::increment)
+                .reduce(0, Integer::sum);
+    }
+
+    private void remember(RefreshToken refreshToken) {
+        if (hotTokens.size() >= maxHotTokens || expiryWheel.size() >= maxHotTokens) {
+            return;
+        }
+        if (hotTokens.putIfAbsent(refreshToken.getToken(), refreshToken) == null) {
+            long expiresAtMs = refreshToken.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            expiryWheel.schedule(refreshToken.getToken(), expiresAtMs);
+        }
+    }
+
+    private void forget(String digest) {
+        hotTokens.remove(digest);
+        expiryWheel.cancel(digest);
+    }
+}
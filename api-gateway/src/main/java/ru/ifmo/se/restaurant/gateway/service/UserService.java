@@ -5,7 +5,6 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
@@ -13,8 +12,8 @@ import reactor.core.publisher.Mono;
 import ru.ifmo.se.restaurant.gateway.dto.RegisterRequest;
 import ru.ifmo.se.restaurant.gateway.dto.UserDto;
 import ru.ifmo.se.restaurant.gateway.entity.User;
-import ru.ifmo.se.restaurant.gateway.repository.RefreshTokenRepository;
 import ru.ifmo.se.restaurant.gateway.repository.UserRepository;
+import ru.ifmo.se.restaurant.gateway.security.PasswordHasher;
 
 import java.time.LocalDateTime;
 
@@ -23,8 +22,8 @@ import java.time.LocalDateTime;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final RefreshTokenStore refreshTokenStore;
+    private final PasswordHasher passwordHasher;
 
     public Flux<UserDto> getAllUsers() {
         return userRepository.findAll().map(this::toUserDto);
@@ -56,9 +55,12 @@ public class UserService {
                     if (exists) {
                         return Mono.error(new ResponseStatusException(HttpStatus.CONFLICT, "Username already exists"));
                     }
+                    return passwordHasher.encode(request.getPassword());
+                })
+                .flatMap(encodedPassword -> {
                     User user = new User();
                     user.setUsername(request.getUsername());
-                    user.setPassword(passwordEncoder.encode(request.getPassword()));
+                    user.setPassword(encodedPassword);
                     user.setRole(request.getRole());
                     user.setEmployeeId(request.getEmployeeId());
                     user.setEnabled(true);
@@ -89,7 +91,7 @@ public class UserService {
     public Mono<Void> deleteUser(Long id) {
         return userRepository.findById(id)
                 .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found")))
-                .flatMap(user -> refreshTokenRepository.deleteByUserId(id)
+                .flatMap(user -> refreshTokenStore.revokeAll(id)
                         .then(userRepository.delete(user)));
     }
 
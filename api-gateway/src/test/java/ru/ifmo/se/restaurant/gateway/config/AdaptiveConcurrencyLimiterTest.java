@@ -0,0 +1,93 @@
+package ru.ifmo.se.restaurant.gateway.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private AdaptiveConcurrencyLimiter limiter(int initial, int min, int max) {
+        return new AdaptiveConcurrencyLimiter(new ConcurrencyLimitProperties.Limit(initial, min, max), 0.2, 2.0, 0.9);
+    }
+
+    private void saturateAndComplete(AdaptiveConcurrencyLimiter limiter, long rttNanos) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.onSuccess(rttNanos);
+        }
+    }
+
+    @Test
+    void tryAcquire_ShouldRejectRequestsAboveTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(3, 1, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.onIgnore();
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void onSuccess_ShouldRaiseLimit_WhileLatencyIsSteady() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 1, 100);
+
+        for (int i = 0; i < 5; i++) {
+            saturateAndComplete(limiter, FAST);
+        }
+
+        assertTrue(limiter.getLimit() > 10);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void onSuccess_ShouldLowerLimit_WhenLatencyGrows() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 1, 100);
+        saturateAndComplete(limiter, FAST);
+        int before = limiter.getLimit();
+
+        for (int i = 0; i < 5; i++) {
+            saturateAndComplete(limiter, SLOW);
+        }
+
+        assertTrue(limiter.getLimit() < before);
+    }
+
+    @Test
+    void onSuccess_ShouldKeepLimit_WhenItIsMostlyUnused() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 1, 100);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+            limiter.onSuccess(FAST);
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void onDropped_ShouldBackOff_DownToTheMinimum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 5, 100);
+
+        limiter.tryAcquire();
+        limiter.onDropped();
+        assertEquals(9, limiter.getLimit());
+
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+            limiter.onDropped();
+        }
+        assertEquals(5, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+}
@@ -0,0 +1,104 @@
+package ru.ifmo.se.restaurant.gateway.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private final Sinks.Empty<Void> release = Sinks.empty();
+    private final AtomicInteger downstreamCalls = new AtomicInteger();
+    private final GatewayFilterChain slowDownstream = exchange -> {
+        downstreamCalls.incrementAndGet();
+        return release.asMono();
+    };
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setDefaultLimit(new ConcurrencyLimitProperties.Limit(5, 1, 10));
+        properties.setServices(Map.of("menu-service", new ConcurrencyLimitProperties.Limit(2, 1, 10)));
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ConcurrencyLimitFilter(properties, meterRegistry);
+    }
+
+    private MockServerWebExchange exchange(String routeId, String uri) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/test").build());
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id(routeId)
+                .uri(uri)
+                .predicate(e -> true)
+                .build());
+        return exchange;
+    }
+
+    @Test
+    void filter_ShouldRejectFast_WhenServiceIsSaturated() {
+        filter.filter(exchange("menu", "lb://menu-service"), slowDownstream).subscribe();
+        filter.filter(exchange("menu", "lb://menu-service"), slowDownstream).subscribe();
+        MockServerWebExchange rejected = exchange("menu", "lb://menu-service");
+
+        StepVerifier.create(filter.filter(rejected, slowDownstream)).verifyComplete();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+        assertEquals("1", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(2, downstreamCalls.get());
+        assertEquals(1, meterRegistry.counter("gateway.concurrency.rejected", "service", "menu-service").count());
+    }
+
+    @Test
+    void filter_ShouldKeepOtherServicesAvailable_WhenOneIsSaturated() {
+        filter.filter(exchange("menu", "lb://menu-service"), slowDownstream).subscribe();
+        filter.filter(exchange("menu", "lb://menu-service"), slowDownstream).subscribe();
+        MockServerWebExchange order = exchange("orders", "lb://order-service");
+
+        filter.filter(order, slowDownstream).subscribe();
+
+        assertNull(order.getResponse().getStatusCode());
+        assertEquals(3, downstreamCalls.get());
+        assertEquals(1, meterRegistry.get("gateway.concurrency.in-flight").tag("service", "order-service").gauge().value());
+    }
+
+    @Test
+    void filter_ShouldFreeSlot_WhenDownstreamCompletes() {
+        filter.filter(exchange("menu", "lb://menu-service"), slowDownstream).subscribe();
+        filter.filter(exchange("menu", "lb://menu-service"), slowDownstream).subscribe();
+        release.tryEmitEmpty();
+
+        MockServerWebExchange next = exchange("menu", "lb://menu-service");
+        StepVerifier.create(filter.filter(next, slowDownstream)).verifyComplete();
+
+        assertNull(next.getResponse().getStatusCode());
+        assertEquals(3, downstreamCalls.get());
+    }
+
+    @Test
+    void filter_ShouldLowerLimit_WhenDownstreamFails() {
+        GatewayFilterChain failing = exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.BAD_GATEWAY);
+            return Mono.empty();
+        };
+
+        StepVerifier.create(filter.filter(exchange("billing", "http://billing:8080"), failing)).verifyComplete();
+
+        assertEquals(4, meterRegistry.get("gateway.concurrency.limit").tag("service", "billing").gauge().value());
+    }
+}
@@ -0,0 +1,144 @@
+package ru.ifmo.se.restaurant.gateway.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import ru.ifmo.se.restaurant.gateway.entity.UserRole;
+import ru.ifmo.se.restaurant.gateway.security.JwtAuthenticationFilter;
+import ru.ifmo.se.restaurant.gateway.security.TokenClaims;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescingFilterTest {
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final Sinks.Empty<Void> release = Sinks.empty();
+    private SimpleMeterRegistry meterRegistry;
+    private CoalescingProperties properties;
+    private String upstreamBody = "[{\"id\":1}]";
+
+    private final WebFilterChain upstream = exchange -> {
+        upstreamCalls.incrementAndGet();
+        return release.asMono().then(Mono.defer(() -> {
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory()
+                    .wrap(upstreamBody.getBytes(StandardCharsets.UTF_8))));
+        }));
+    };
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new CoalescingProperties();
+        CoalescingProperties.Route queue = new CoalescingProperties.Route();
+        queue.setId("kitchen-queue");
+        queue.setPath("/api/kitchen/queue");
+        queue.setScope(CoalescingProperties.Scope.ROLE);
+        CoalescingProperties.Route orders = new CoalescingProperties.Route();
+        orders.setPath("/api/orders/{id}");
+        properties.setRoutes(List.of(queue, orders));
+    }
+
+    private MockServerWebExchange exchange(MockServerHttpRequest request, Long userId, UserRole role) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(JwtAuthenticationFilter.CLAIMS_ATTRIBUTE, TokenClaims.builder()
+                .username("user" + userId)
+                .userId(userId)
+                .role(role)
+                .expiresAt(Instant.now().plusSeconds(900))
+                .build());
+        return exchange;
+    }
+
+    private MockServerWebExchange get(String path, Long userId, UserRole role) {
+        return exchange(MockServerHttpRequest.get(path).build(), userId, role);
+    }
+
+    private void sendAll(RequestCoalescingFilter filter, MockServerWebExchange... exchanges) {
+        for (MockServerWebExchange exchange : exchanges) {
+            filter.filter(exchange, upstream).subscribe();
+        }
+        release.tryEmitEmpty();
+    }
+
+    @Test
+    void filter_ShouldShareOneUpstreamCall_BetweenConcurrentIdenticalRequests() {
+        RequestCoalescingFilter filter = new RequestCoalescingFilter(properties, meterRegistry);
+        MockServerWebExchange first = get("/api/kitchen/queue", 1L, UserRole.CHEF);
+        MockServerWebExchange second = get("/api/kitchen/queue", 2L, UserRole.CHEF);
+
+        sendAll(filter, first, second);
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(upstreamBody, first.getResponse().getBodyAsString().block());
+        assertEquals(upstreamBody, second.getResponse().getBodyAsString().block());
+        assertEquals(HttpStatus.OK, second.getResponse().getStatusCode());
+        assertEquals(1, meterRegistry.counter("gateway.coalescing.requests",
+                "route", "kitchen-queue", "result", "coalesced").count());
+    }
+
+    @Test
+    void filter_ShouldNotShareResponses_BetweenUsersOnUserScopedRoute() {
+        RequestCoalescingFilter filter = new RequestCoalescingFilter(properties, meterRegistry);
+
+        sendAll(filter, get("/api/orders/5", 1L, UserRole.WAITER), get("/api/orders/5", 2L, UserRole.WAITER));
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void filter_ShouldNotShareResponses_ForDifferentQueries() {
+        RequestCoalescingFilter filter = new RequestCoalescingFilter(properties, meterRegistry);
+
+        sendAll(filter, get("/api/kitchen/queue?status=NEW", 1L, UserRole.CHEF),
+                get("/api/kitchen/queue?status=DONE", 1L, UserRole.CHEF));
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void filter_ShouldProxyWaitersOnTheirOwn_WhenResponseIsTooLarge() {
+        properties.setMaxResponseBytes(4);
+        RequestCoalescingFilter filter = new RequestCoalescingFilter(properties, meterRegistry);
+        MockServerWebExchange second = get("/api/kitchen/queue", 2L, UserRole.CHEF);
+
+        sendAll(filter, get("/api/kitchen/queue", 1L, UserRole.CHEF), second);
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(upstreamBody, second.getResponse().getBodyAsString().block());
+        assertEquals(1, meterRegistry.counter("gateway.coalescing.oversized", "route", "kitchen-queue").count());
+    }
+
+    @Test
+    void filter_ShouldProxyOnTheirOwn_WhenWaiterLimitIsReached() {
+        properties.setMaxWaiters(1);
+        RequestCoalescingFilter filter = new RequestCoalescingFilter(properties, meterRegistry);
+
+        sendAll(filter, get("/api/kitchen/queue", 1L, UserRole.CHEF), get("/api/kitchen/queue", 2L, UserRole.CHEF),
+                get("/api/kitchen/queue", 3L, UserRole.CHEF));
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void filter_ShouldPassThrough_NonGetAndUnlistedRequests() {
+        RequestCoalescingFilter filter = new RequestCoalescingFilter(properties, meterRegistry);
+
+        sendAll(filter, exchange(MockServerHttpRequest.post("/api/kitchen/queue").build(), 1L, UserRole.CHEF),
+                exchange(MockServerHttpRequest.post("/api/kitchen/queue").build(), 1L, UserRole.CHEF),
+                get("/api/menu/dishes", 1L, UserRole.CHEF), get("/api/menu/dishes", 1L, UserRole.CHEF));
+
+        assertEquals(4, upstreamCalls.get());
+    }
+}
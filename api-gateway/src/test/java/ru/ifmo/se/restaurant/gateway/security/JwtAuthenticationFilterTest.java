@@ -1,5 +1,6 @@
 package ru.ifmo.se.restaurant.gateway.security;
 
+import io.jsonwebtoken.MalformedJwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,6 +16,8 @@ import reactor.test.StepVerifier;
 import ru.ifmo.se.restaurant.gateway.entity.UserRole;
 import ru.ifmo.se.restaurant.gateway.service.JwtService;
 
+import java.time.Instant;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -35,6 +38,16 @@ class JwtAuthenticationFilterTest {
         filter = new JwtAuthenticationFilter(jwtService);
     }
 
+    private TokenClaims claims(UserRole role, Long userId, Long employeeId) {
+        return TokenClaims.builder()
+                .username("testuser")
+                .role(role)
+                .userId(userId)
+                .employeeId(employeeId)
+                .expiresAt(Instant.now().plusSeconds(900))
+                .build();
+    }
+
     @Test
     void filter_PublicLoginPath_ShouldContinueWithoutAuth() {
         MockServerHttpRequest request = MockServerHttpRequest
@@ -178,7 +191,7 @@ class JwtAuthenticationFilterTest {
                 .build();
         MockServerWebExchange exchange = MockServerWebExchange.from(request);
 
-        when(jwtService.isTokenValid("invalidtoken")).thenReturn(false);
+        when(jwtService.parseAccessToken("invalidtoken")).thenThrow(new MalformedJwtException("Malformed token"));
 
         StepVerifier.create(filter.filter(exchange, filterChain))
                 .verifyComplete();
@@ -195,11 +208,7 @@ class JwtAuthenticationFilterTest {
                 .build();
         MockServerWebExchange exchange = MockServerWebExchange.from(request);
 
-        when(jwtService.isTokenValid("validtoken")).thenReturn(true);
-        when(jwtService.extractUsername("validtoken")).thenReturn("testuser");
-        when(jwtService.extractRole("validtoken")).thenReturn(UserRole.ADMIN);
-        when(jwtService.extractUserId("validtoken")).thenReturn(1L);
-        when(jwtService.extractEmployeeId("validtoken")).thenReturn(5L);
+        when(jwtService.parseAccessToken("validtoken")).thenReturn(claims(UserRole.ADMIN, 1L, 5L));
         when(filterChain.filter(any())).thenReturn(Mono.empty());
 
         StepVerifier.create(filter.filter(exchange, filterChain))
@@ -225,11 +234,7 @@ class JwtAuthenticationFilterTest {
                 .build();
         MockServerWebExchange exchange = MockServerWebExchange.from(request);
 
-        when(jwtService.isTokenValid("validtoken")).thenReturn(true);
-        when(jwtService.extractUsername("validtoken")).thenReturn("testuser");
-        when(jwtService.extractRole("validtoken")).thenReturn(UserRole.WAITER);
-        when(jwtService.extractUserId("validtoken")).thenReturn(2L);
-        when(jwtService.extractEmployeeId("validtoken")).thenReturn(null);
+        when(jwtService.parseAccessToken("validtoken")).thenReturn(claims(UserRole.WAITER, 2L, null));
         when(filterChain.filter(any())).thenReturn(Mono.empty());
 
         StepVerifier.create(filter.filter(exchange, filterChain))
@@ -249,7 +254,7 @@ class JwtAuthenticationFilterTest {
                 .build();
         MockServerWebExchange exchange = MockServerWebExchange.from(request);
 
-        when(jwtService.isTokenValid("problematictoken")).thenThrow(new RuntimeException("Token error"));
+        when(jwtService.parseAccessToken("problematictoken")).thenThrow(new RuntimeException("Token error"));
 
         StepVerifier.create(filter.filter(exchange, filterChain))
                 .verifyComplete();
@@ -0,0 +1,73 @@
+package ru.ifmo.se.restaurant.gateway.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordHasherTest {
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHasher passwordHasher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordHasher = new PasswordHasher(passwordEncoder, meterRegistry, 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void matches_ShouldRunOffTheCallingThread() {
+        Thread caller = Thread.currentThread();
+        when(passwordEncoder.matches("raw", "encoded")).thenAnswer(invocation -> Thread.currentThread() != caller);
+
+        StepVerifier.create(passwordHasher.matches("raw", "encoded"))
+                .expectNext(true)
+                .verifyComplete();
+        assertEquals(1, meterRegistry.timer("auth.password.hashing", "operation", "match").count());
+    }
+
+    @Test
+    void encode_ShouldRejectWithServiceUnavailable_WhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(passwordEncoder.encode("slow")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "encoded";
+        });
+
+        passwordHasher.encode("slow").subscribe();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        passwordHasher.encode("queued").subscribe();
+
+        StepVerifier.create(passwordHasher.encode("rejected"))
+                .expectErrorMatches(e -> e instanceof ResponseStatusException &&
+                        ((ResponseStatusException) e).getStatusCode().value() == 503)
+                .verify();
+        assertEquals(1, meterRegistry.counter("auth.password.hashing.rejected").count());
+        assertEquals(1, meterRegistry.get("auth.password.hashing.queue").gauge().value());
+        release.countDown();
+    }
+}
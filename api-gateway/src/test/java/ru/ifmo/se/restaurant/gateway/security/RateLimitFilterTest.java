@@ -0,0 +1,113 @@
+package ru.ifmo.se.restaurant.gateway.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import ru.ifmo.se.restaurant.gateway.config.RateLimitProperties;
+import ru.ifmo.se.restaurant.gateway.entity.UserRole;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitFilterTest {
+
+    @Mock
+    private WebFilterChain filterChain;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setDefaultLimit(new RateLimitProperties.Limit(2, 0.1));
+        RateLimitProperties.Route kitchen = new RateLimitProperties.Route();
+        kitchen.setId("kitchen");
+        kitchen.setPath("/api/kitchen/**");
+        kitchen.setLimit(new RateLimitProperties.Limit(1, 0.1));
+        kitchen.setRoles(Map.of("MANAGER", new RateLimitProperties.Limit(3, 0.1)));
+        properties.setRoutes(List.of(kitchen));
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(new RateLimiter(properties, 100, 10), properties, meterRegistry);
+    }
+
+    private MockServerWebExchange exchange(String path, Long userId, UserRole role) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path).build());
+        if (userId != null) {
+            exchange.getAttributes().put(JwtAuthenticationFilter.CLAIMS_ATTRIBUTE, TokenClaims.builder()
+                    .username("user" + userId)
+                    .userId(userId)
+                    .role(role)
+                    .expiresAt(Instant.now().plusSeconds(900))
+                    .build());
+        }
+        return exchange;
+    }
+
+    private MockServerWebExchange send(String path, Long userId, UserRole role) {
+        MockServerWebExchange exchange = exchange(path, userId, role);
+        StepVerifier.create(filter.filter(exchange, filterChain)).verifyComplete();
+        return exchange;
+    }
+
+    @Test
+    void filter_ShouldRejectWithRetryAfter_WhenBucketIsEmpty() {
+        when(filterChain.filter(any())).thenReturn(Mono.empty());
+        send("/api/menu/dishes", 1L, UserRole.WAITER);
+        send("/api/menu/dishes", 1L, UserRole.WAITER);
+
+        MockServerWebExchange rejected = send("/api/menu/dishes", 1L, UserRole.WAITER);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+        assertEquals("10", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        verify(filterChain, times(2)).filter(any());
+        assertEquals(1, meterRegistry.counter("gateway.rate-limit.rejected", "route", "default", "role", "WAITER").count());
+    }
+
+    @Test
+    void filter_ShouldLimitEachUserSeparately() {
+        when(filterChain.filter(any())).thenReturn(Mono.empty());
+        send("/api/kitchen/queue", 1L, UserRole.CHEF);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, send("/api/kitchen/queue", 1L, UserRole.CHEF).getResponse().getStatusCode());
+        assertNull(send("/api/kitchen/queue", 2L, UserRole.CHEF).getResponse().getStatusCode());
+    }
+
+    @Test
+    void filter_ShouldApplyRoleLimitOfTheRoute() {
+        when(filterChain.filter(any())).thenReturn(Mono.empty());
+
+        for (int i = 0; i < 3; i++) {
+            assertNull(send("/api/kitchen/queue", 1L, UserRole.MANAGER).getResponse().getStatusCode());
+        }
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, send("/api/kitchen/queue", 1L, UserRole.MANAGER).getResponse().getStatusCode());
+    }
+
+    @Test
+    void filter_ShouldSkipPreflightRequests() {
+        when(filterChain.filter(any())).thenReturn(Mono.empty());
+
+        for (int i = 0; i < 5; i++) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.options("/api/kitchen/queue").build());
+            StepVerifier.create(filter.filter(exchange, filterChain)).verifyComplete();
+        }
+
+        verify(filterChain, times(5)).filter(any());
+    }
+}
@@ -0,0 +1,55 @@
+package ru.ifmo.se.restaurant.gateway.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.ifmo.se.restaurant.gateway.config.RateLimitProperties;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final RateLimitProperties.Limit limit = new RateLimitProperties.Limit(3, 1);
+
+    @Test
+    void tryAcquire_ShouldAdmitBurstThenAskToWait() {
+        RateLimiter rateLimiter = new RateLimiter(new RateLimitProperties(), 100, 10);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("user:1", limit));
+        }
+        long wait = rateLimiter.tryAcquire("user:1", limit);
+
+        assertTrue(wait > 0);
+        assertTrue(wait <= TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepSeparateBucketsPerKey() {
+        RateLimiter rateLimiter = new RateLimiter(new RateLimitProperties(), 100, 10);
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("user:1", limit);
+        }
+
+        assertTrue(rateLimiter.tryAcquire("user:1", limit) > 0);
+        assertEquals(0, rateLimiter.tryAcquire("user:2", limit));
+    }
+
+    @Test
+    void save_ShouldLetRestartedLimiterKeepDrainingBuckets(@TempDir Path dir) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setStateFile(dir.resolve("rate-limits.tsv").toString());
+        RateLimitProperties.Limit slow = new RateLimitProperties.Limit(1, 0.01);
+        RateLimiter before = new RateLimiter(properties, 100, 10);
+        before.tryAcquire("user:1", slow);
+        before.save();
+
+        RateLimiter after = new RateLimiter(properties, 100, 10);
+        after.restore();
+
+        assertTrue(after.tryAcquire("user:1", slow) > 0);
+        assertEquals(0, after.tryAcquire("user:2", slow));
+    }
+}
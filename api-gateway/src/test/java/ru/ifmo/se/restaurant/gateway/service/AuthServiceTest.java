@@ -1,9 +1,10 @@
 package ru.ifmo.se.restaurant.gateway.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -17,6 +18,9 @@ import ru.ifmo.se.restaurant.gateway.entity.User;
 import ru.ifmo.se.restaurant.gateway.entity.UserRole;
 import ru.ifmo.se.restaurant.gateway.repository.RefreshTokenRepository;
 import ru.ifmo.se.restaurant.gateway.repository.UserRepository;
+import ru.ifmo.se.restaurant.gateway.security.LoginAttemptLimiter;
+import ru.ifmo.se.restaurant.gateway.security.PasswordHasher;
+import ru.ifmo.se.restaurant.gateway.security.TokenDigest;
 
 import java.time.LocalDateTime;
 
@@ -40,7 +44,7 @@ class AuthServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
-    @InjectMocks
+    private PasswordHasher passwordHasher;
     private AuthService authService;
 
     private User testUser;
@@ -49,6 +53,11 @@ class AuthServiceTest {
 
     @BeforeEach
     void setUp() {
+        passwordHasher = new PasswordHasher(passwordEncoder, new SimpleMeterRegistry(), 1, 10);
+        RefreshTokenStore refreshTokenStore = new RefreshTokenStore(refreshTokenRepository, new SimpleMeterRegistry(),
+                100, 60000, 100);
+        authService = new AuthService(userRepository, refreshTokenStore, jwtService, passwordHasher,
+                new LoginAttemptLimiter(new SimpleMeterRegistry(), 3, 60, 100));
         testUser = new User();
         testUser.setId(1L);
         testUser.setUsername("test@restaurant.com");
@@ -69,6 +78,11 @@ class AuthServiceTest {
         registerRequest.setEmployeeId(10L);
     }
 
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
     @Test
     void initAdmin_WhenNoUsersExist_ShouldCreateAdmin() {
         when(userRepository.count()).thenReturn(Mono.just(0L));
@@ -133,6 +147,23 @@ class AuthServiceTest {
                 .verify();
     }
 
+    @Test
+    void login_AfterTooManyAttempts_ShouldThrowTooManyRequests_WithoutHashing() {
+        when(userRepository.findByUsername(anyString())).thenReturn(Mono.just(testUser));
+        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(false);
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(authService.login(loginRequest))
+                    .expectError(ResponseStatusException.class)
+                    .verify();
+        }
+
+        StepVerifier.create(authService.login(loginRequest))
+                .expectErrorMatches(e -> e instanceof ResponseStatusException &&
+                        ((ResponseStatusException) e).getStatusCode().value() == 429)
+                .verify();
+        verify(passwordEncoder, times(3)).matches(anyString(), anyString());
+    }
+
     @Test
     void login_WithDisabledAccount_ShouldThrowUnauthorized() {
         testUser.setEnabled(false);
@@ -204,7 +235,7 @@ class AuthServiceTest {
 
         when(refreshTokenRepository.findByToken(anyString())).thenReturn(Mono.just(refreshToken));
         when(userRepository.findById(1L)).thenReturn(Mono.just(testUser));
-        when(refreshTokenRepository.delete(any(RefreshToken.class))).thenReturn(Mono.empty());
+        when(refreshTokenRepository.deleteByToken(anyString())).thenReturn(Mono.just(1));
         when(jwtService.generateAccessToken(any(User.class))).thenReturn("newAccessToken");
         when(jwtService.getRefreshTokenExpiration()).thenReturn(604800000L);
         when(userRepository.save(any(User.class))).thenReturn(Mono.just(testUser));
@@ -229,12 +260,33 @@ class AuthServiceTest {
         request.setRefreshToken("expiredToken");
 
         when(refreshTokenRepository.findByToken(anyString())).thenReturn(Mono.just(refreshToken));
-        when(refreshTokenRepository.delete(any(RefreshToken.class))).thenReturn(Mono.empty());
+        when(refreshTokenRepository.deleteByToken(anyString())).thenReturn(Mono.just(1));
+
+        StepVerifier.create(authService.refreshToken(request))
+                .expectErrorMatches(e -> e instanceof ResponseStatusException &&
+                        ((ResponseStatusException) e).getStatusCode().value() == 401)
+                .verify();
+    }
+
+    @Test
+    void refreshToken_WhenAlreadyRedeemed_ShouldThrowUnauthorized() {
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setToken("validRefreshToken");
+        refreshToken.setUserId(1L);
+        refreshToken.setExpiresAt(LocalDateTime.now().plusDays(1));
+
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken("validRefreshToken");
+
+        when(refreshTokenRepository.findByToken(anyString())).thenReturn(Mono.just(refreshToken));
+        when(userRepository.findById(1L)).thenReturn(Mono.just(testUser));
+        when(refreshTokenRepository.deleteByToken(anyString())).thenReturn(Mono.just(0));
 
         StepVerifier.create(authService.refreshToken(request))
                 .expectErrorMatches(e -> e instanceof ResponseStatusException &&
                         ((ResponseStatusException) e).getStatusCode().value() == 401)
                 .verify();
+        verify(jwtService, never()).generateAccessToken(any(User.class));
     }
 
     @Test
@@ -257,7 +309,7 @@ class AuthServiceTest {
         StepVerifier.create(authService.logout("someToken"))
                 .verifyComplete();
 
-        verify(refreshTokenRepository).deleteByToken("someToken");
+        verify(refreshTokenRepository).deleteByToken(TokenDigest.sha256("someToken"));
     }
 
     @Test
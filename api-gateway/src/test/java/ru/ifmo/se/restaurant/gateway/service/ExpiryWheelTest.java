@@ -0,0 +1,101 @@
+package ru.ifmo.se.restaurant.gateway.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiryWheelTest {
+
+    private static final long TICK = 1000;
+
+    @Test
+    void advance_ShouldReportKeysOnlyOnceDue() {
+        ExpiryWheel<String> wheel = new ExpiryWheel<>(TICK, 8, 3, 0);
+        wheel.schedule("soon", 3 * TICK);
+        wheel.schedule("later", 5 * TICK);
+
+        assertTrue(wheel.advance(2 * TICK).isEmpty());
+        assertEquals(List.of("soon"), wheel.advance(3 * TICK));
+        assertEquals(List.of("later"), wheel.advance(10 * TICK));
+        assertTrue(wheel.advance(100 * TICK).isEmpty());
+    }
+
+    @Test
+    void advance_ShouldCascadeFromUpperLevels() {
+        ExpiryWheel<String> wheel = new ExpiryWheel<>(TICK, 8, 3, 0);
+        wheel.schedule("level1", 20 * TICK);
+        wheel.schedule("level2", 300 * TICK);
+
+        assertTrue(wheel.advance(19 * TICK).isEmpty());
+        assertEquals(List.of("level1"), wheel.advance(20 * TICK));
+        assertTrue(wheel.advance(299 * TICK).isEmpty());
+        assertEquals(List.of("level2"), wheel.advance(300 * TICK));
+    }
+
+    @Test
+    void advance_ShouldHoldDeadlinesBeyondTheTopLevel() {
+        ExpiryWheel<String> wheel = new ExpiryWheel<>(TICK, 4, 2, 0);
+        wheel.schedule("far", 100 * TICK);
+
+        assertTrue(wheel.advance(99 * TICK).isEmpty());
+        assertEquals(List.of("far"), wheel.advance(100 * TICK));
+    }
+
+    @Test
+    void schedule_ShouldExpireOverdueKeysOnNextAdvance() {
+        ExpiryWheel<String> wheel = new ExpiryWheel<>(TICK, 8, 3, 50 * TICK);
+        wheel.schedule("overdue", 10 * TICK);
+
+        assertEquals(List.of("overdue"), wheel.advance(50 * TICK));
+    }
+
+    @Test
+    void cancel_ShouldDropKeyFromTheWheel() {
+        ExpiryWheel<String> wheel = new ExpiryWheel<>(TICK, 8, 3, 0);
+        wheel.schedule("kept", 5 * TICK);
+        wheel.schedule("cancelled", 300 * TICK);
+
+        assertTrue(wheel.cancel("cancelled"));
+        assertFalse(wheel.cancel("cancelled"));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("kept"), wheel.advance(5 * TICK));
+        assertTrue(wheel.advance(400 * TICK).isEmpty());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void schedule_ShouldReplaceEarlierDeadlineOfTheSameKey() {
+        ExpiryWheel<String> wheel = new ExpiryWheel<>(TICK, 8, 3, 0);
+        wheel.schedule("key", 3 * TICK);
+        wheel.schedule("key", 30 * TICK);
+
+        assertEquals(1, wheel.size());
+        assertTrue(wheel.advance(29 * TICK).isEmpty());
+        assertEquals(List.of("key"), wheel.advance(30 * TICK));
+    }
+
+    @Test
+    void advance_ShouldExpireRandomDeadlinesOnTime() {
+        ExpiryWheel<Integer> wheel = new ExpiryWheel<>(TICK, 8, 3, 0);
+        Random random = new Random(42);
+        long[] deadlines = new long[500];
+        for (int key = 0; key < deadlines.length; key++) {
+            deadlines[key] = 1 + random.nextInt(2_000);
+            wheel.schedule(key, deadlines[key] * TICK);
+        }
+
+        List<Integer> expired = new ArrayList<>();
+        for (long now = 0; now <= 2_000; now++) {
+            for (Integer key : wheel.advance(now * TICK)) {
+                assertEquals(deadlines[key], now, "key " + key);
+                expired.add(key);
+            }
+        }
+        assertEquals(deadlines.length, expired.size());
+        assertEquals(0, wheel.size());
+    }
+}
@@ -1,10 +1,11 @@
 package ru.ifmo.se.restaurant.gateway.service;
 
+import io.jsonwebtoken.JwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.test.util.ReflectionTestUtils;
 import ru.ifmo.se.restaurant.gateway.entity.User;
 import ru.ifmo.se.restaurant.gateway.entity.UserRole;
+import ru.ifmo.se.restaurant.gateway.security.TokenClaims;
 
 import java.time.LocalDateTime;
 
@@ -12,16 +13,15 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class JwtServiceTest {
 
+    private static final String SECRET =
+            "dGhpcyBpcyBhIHZlcnkgc2VjdXJlIGp3dCBzZWNyZXQga2V5IGZvciByZXN0YXVyYW50IG1hbmFnZW1lbnQ=";
+
     private JwtService jwtService;
     private User testUser;
 
     @BeforeEach
     void setUp() {
-        jwtService = new JwtService();
-        ReflectionTestUtils.setField(jwtService, "secretKey",
-                "dGhpcyBpcyBhIHZlcnkgc2VjdXJlIGp3dCBzZWNyZXQga2V5IGZvciByZXN0YXVyYW50IG1hbmFnZW1lbnQ=");
-        ReflectionTestUtils.setField(jwtService, "accessTokenExpiration", 900000L);
-        ReflectionTestUtils.setField(jwtService, "refreshTokenExpiration", 604800000L);
+        jwtService = new JwtService(SECRET, 900000L, 604800000L, 100);
 
         testUser = new User();
         testUser.setId(1L);
@@ -131,7 +131,7 @@ class JwtServiceTest {
 
     @Test
     void isTokenValid_WithExpiredToken_ShouldReturnFalse() {
-        ReflectionTestUtils.setField(jwtService, "accessTokenExpiration", -1000L);
+        jwtService = new JwtService(SECRET, -1000L, 604800000L, 100);
         String token = jwtService.generateAccessToken(testUser);
 
         boolean isValid = jwtService.isTokenValid(token);
@@ -162,4 +162,42 @@ class JwtServiceTest {
             assertEquals(role, jwtService.extractRole(token));
         }
     }
+
+    @Test
+    void parseAccessToken_ShouldReturnAllClaims() {
+        String token = jwtService.generateAccessToken(testUser);
+
+        TokenClaims claims = jwtService.parseAccessToken(token);
+
+        assertEquals("test@restaurant.com", claims.getUsername());
+        assertEquals(UserRole.ADMIN, claims.getRole());
+        assertEquals(1L, claims.getUserId());
+        assertEquals(5L, claims.getEmployeeId());
+        assertNotNull(claims.getExpiresAt());
+    }
+
+    @Test
+    void parseAccessToken_ShouldReuseVerifiedClaims() {
+        String token = jwtService.generateAccessToken(testUser);
+
+        assertSame(jwtService.parseAccessToken(token), jwtService.parseAccessToken(token));
+    }
+
+    @Test
+    void parseAccessToken_WithTamperedToken_ShouldThrow() {
+        String token = jwtService.generateAccessToken(testUser);
+        jwtService.parseAccessToken(token);
+        String tampered = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtService.parseAccessToken(tampered));
+    }
+
+    @Test
+    void parseAccessToken_WithExpiredToken_ShouldThrow() {
+        jwtService = new JwtService(SECRET, -1000L, 604800000L, 100);
+        String token = jwtService.generateAccessToken(testUser);
+
+        assertThrows(JwtException.class, () -> jwtService.parseAccessToken(token));
+    }
 }
@@ -0,0 +1,124 @@
+package ru.ifmo.se.restaurant.gateway.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import ru.ifmo.se.restaurant.gateway.entity.RefreshToken;
+import ru.ifmo.se.restaurant.gateway.repository.RefreshTokenRepository;
+import ru.ifmo.se.restaurant.gateway.security.TokenDigest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenStoreTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RefreshTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        store = new RefreshTokenStore(refreshTokenRepository, meterRegistry, 100, 60000, 2);
+    }
+
+    private double scheduled() {
+        return meterRegistry.get("auth.refresh-tokens.scheduled").gauge().value();
+    }
+
+    private String issue(Duration lifetime) {
+        when(refreshTokenRepository.save(any(RefreshToken.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        return store.issue(1L, lifetime).block();
+    }
+
+    @Test
+    void issue_ShouldPersistDigestOnly() {
+        String rawToken = issue(Duration.ofDays(7));
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals(TokenDigest.sha256(rawToken), saved.getValue().getToken());
+        assertNotEquals(rawToken, saved.getValue().getToken());
+    }
+
+    @Test
+    void find_ShouldServeIssuedTokenFromMemory() {
+        String rawToken = issue(Duration.ofDays(7));
+
+        StepVerifier.create(store.find(rawToken))
+                .assertNext(token -> assertEquals(1L, token.getUserId()))
+                .verifyComplete();
+        verify(refreshTokenRepository, never()).findByToken(any());
+    }
+
+    @Test
+    void find_ShouldFallBackToDatabase_AfterTokenLeftMemory() {
+        String rawToken = issue(Duration.ofMinutes(5));
+        store.expireHotTokens(System.currentTimeMillis() + Duration.ofMinutes(10).toMillis());
+        when(refreshTokenRepository.findByToken(TokenDigest.sha256(rawToken))).thenReturn(Mono.empty());
+
+        StepVerifier.create(store.find(rawToken))
+                .verifyComplete();
+    }
+
+    @Test
+    void consume_ShouldSucceedOnlyForTheCallThatDeletedTheRow() {
+        String rawToken = issue(Duration.ofDays(7));
+        when(refreshTokenRepository.deleteByToken(TokenDigest.sha256(rawToken)))
+                .thenReturn(Mono.just(1), Mono.just(0));
+
+        StepVerifier.create(store.consume(rawToken)).expectNext(true).verifyComplete();
+        StepVerifier.create(store.consume(rawToken)).expectNext(false).verifyComplete();
+    }
+
+    @Test
+    void consume_ShouldCancelTokenExpiry() {
+        String rawToken = issue(Duration.ofDays(7));
+        when(refreshTokenRepository.deleteByToken(TokenDigest.sha256(rawToken))).thenReturn(Mono.just(1));
+        assertEquals(1, scheduled());
+
+        StepVerifier.create(store.consume(rawToken)).expectNext(true).verifyComplete();
+
+        assertEquals(0, scheduled());
+    }
+
+    @Test
+    void revokeAll_ShouldCancelExpiryOfUserTokens() {
+        issue(Duration.ofDays(7));
+        issue(Duration.ofDays(7));
+        when(refreshTokenRepository.deleteByUserId(1L)).thenReturn(Mono.empty());
+        assertEquals(2, scheduled());
+
+        StepVerifier.create(store.revokeAll(1L)).verifyComplete();
+
+        assertEquals(0, scheduled());
+    }
+
+    @Test
+    void purgeExpired_ShouldDeleteInBatchesUntilBacklogIsGone() {
+        LocalDateTime now = LocalDateTime.now();
+        when(refreshTokenRepository.deleteExpired(eq(now), anyInt()))
+                .thenReturn(Mono.just(2), Mono.just(2), Mono.just(1));
+
+        StepVerifier.create(store.purgeExpired(now))
+                .expectNext(5)
+                .verifyComplete();
+        verify(refreshTokenRepository, times(3)).deleteExpired(now, 2);
+    }
+}
@@ -1,9 +1,10 @@
 package ru.ifmo.se.restaurant.gateway.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -17,6 +18,7 @@ import ru.ifmo.se.restaurant.gateway.entity.User;
 import ru.ifmo.se.restaurant.gateway.entity.UserRole;
 import ru.ifmo.se.restaurant.gateway.repository.RefreshTokenRepository;
 import ru.ifmo.se.restaurant.gateway.repository.UserRepository;
+import ru.ifmo.se.restaurant.gateway.security.PasswordHasher;
 
 import java.time.LocalDateTime;
 
@@ -37,13 +39,17 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
-    @InjectMocks
+    private PasswordHasher passwordHasher;
     private UserService userService;
 
     private User testUser;
 
     @BeforeEach
     void setUp() {
+        passwordHasher = new PasswordHasher(passwordEncoder, new SimpleMeterRegistry(), 1, 10);
+        userService = new UserService(userRepository,
+                new RefreshTokenStore(refreshTokenRepository, new SimpleMeterRegistry(), 100, 60000, 100),
+                passwordHasher);
         testUser = new User();
         testUser.setId(1L);
         testUser.setUsername("test@restaurant.com");
@@ -54,6 +60,11 @@ class UserServiceTest {
         testUser.setCreatedAt(LocalDateTime.now());
     }
 
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
     @Test
     void getAllUsers_ShouldReturnAllUsers() {
         User user2 = new User();
@@ -0,0 +1,81 @@
+package ru.ifmo.se.restaurant.billing.domain.valueobject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.ifmo.se.restaurant.billing.domain.entity.Bill;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares bill pricing and revenue summation on {@link Money} with the previous
+ * {@link BigDecimal} arithmetic, over a batch the size of a busy shift.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BillAmountBenchmark {
+
+    private static final int BILLS = 1_000;
+    private static final BigDecimal TAX_RATE = new BigDecimal("0.10");
+    private static final BigDecimal SERVICE_CHARGE_RATE = new BigDecimal("0.05");
+
+    private BigDecimal[] decimalSubtotals;
+    private Money[] moneySubtotals;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        decimalSubtotals = new BigDecimal[BILLS];
+        moneySubtotals = new Money[BILLS];
+        for (int i = 0; i < BILLS; i++) {
+            long kopecks = 500 + random.nextInt(2_000_000);
+            decimalSubtotals[i] = BigDecimal.valueOf(kopecks, Money.SCALE);
+            moneySubtotals[i] = Money.ofMinor(kopecks);
+        }
+    }
+
+    @Benchmark
+    public void priceBillsBigDecimal(Blackhole blackhole) {
+        for (BigDecimal subtotal : decimalSubtotals) {
+            BigDecimal tax = subtotal.multiply(TAX_RATE).setScale(Money.SCALE, RoundingMode.HALF_UP);
+            BigDecimal serviceCharge = subtotal.multiply(SERVICE_CHARGE_RATE).setScale(Money.SCALE, RoundingMode.HALF_UP);
+            blackhole.consume(subtotal.add(tax).add(serviceCharge).subtract(BigDecimal.ZERO));
+        }
+    }
+
+    @Benchmark
+    public void priceBillsMoney(Blackhole blackhole) {
+        for (Money subtotal : moneySubtotals) {
+            Money tax = subtotal.percentage(Bill.TAX_RATE_BASIS_POINTS);
+            Money serviceCharge = subtotal.percentage(Bill.SERVICE_CHARGE_BASIS_POINTS);
+            blackhole.consume(subtotal.plus(tax).plus(serviceCharge).minus(Money.ZERO));
+        }
+    }
+
+    @Benchmark
+    public BigDecimal sumRevenueBigDecimal() {
+        BigDecimal revenue = BigDecimal.ZERO;
+        for (BigDecimal subtotal : decimalSubtotals) {
+            revenue = revenue.add(subtotal);
+        }
+        return revenue;
+    }
+
+    @Benchmark
+    public Money sumRevenueMoney() {
+        Money revenue = Money.ZERO;
+        for (Money subtotal : moneySubtotals) {
+            revenue = revenue.plus(subtotal);
+        }
+        return revenue;
+    }
+}
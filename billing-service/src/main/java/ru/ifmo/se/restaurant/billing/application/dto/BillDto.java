@@ -69,11 +69,11 @@ public class BillDto {
         return BillDto.builder()
                 .id(bill.getId())
                 .orderId(bill.getOrderId())
-                .totalAmount(bill.getTotalAmount())
-                .taxAmount(bill.getTaxAmount())
-                .serviceCharge(bill.getServiceCharge())
-                .discountAmount(bill.getDiscountAmount())
-                .finalAmount(bill.getFinalAmount())
+                .totalAmount(bill.getTotalAmount().toBigDecimal())
+                .taxAmount(bill.getTaxAmount().toBigDecimal())
+                .serviceCharge(bill.getServiceCharge().toBigDecimal())
+                .discountAmount(bill.getDiscountAmount().toBigDecimal())
+                .finalAmount(bill.getFinalAmount().toBigDecimal())
                 .status(bill.getStatus())
                 .paymentMethod(bill.getPaymentMethod())
                 .createdAt(bill.getCreatedAt())
@@ -0,0 +1,59 @@
+package ru.ifmo.se.restaurant.billing.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Состояние задачи массового формирования счетов")
+public class BulkBillingJobDto {
+    @Schema(description = "ID задачи", example = "3f2b8c1e-4d6a-4b8e-9c61-0a1f3e5d7b92")
+    private String jobId;
+
+    @Schema(description = "Статус задачи", example = "RUNNING")
+    private String status;
+
+    @Schema(description = "Количество заказов в задаче", example = "300")
+    private int totalOrders;
+
+    @Schema(description = "Количество обработанных заказов", example = "150")
+    private int processedOrders;
+
+    @Schema(description = "Количество сформированных счетов", example = "148")
+    private int generatedBills;
+
+    @Schema(description = "Количество оплаченных счетов", example = "148")
+    private int settledBills;
+
+    @Schema(description = "Количество заказов, для которых счет не сформирован", example = "2")
+    private int failedOrders;
+
+    @Schema(description = "Ошибки по отдельным заказам")
+    private List<OrderError> errors;
+
+    @Schema(description = "Время запуска задачи")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "Время завершения задачи")
+    private LocalDateTime finishedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Ошибка формирования счета для заказа")
+    public static class OrderError {
+        @Schema(description = "ID заказа", example = "17")
+        private Long orderId;
+
+        @Schema(description = "Описание ошибки", example = "No open draft bill for order")
+        private String message;
+    }
+}
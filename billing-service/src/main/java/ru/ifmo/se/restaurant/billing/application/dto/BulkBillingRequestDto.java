@@ -0,0 +1,42 @@
+package ru.ifmo.se.restaurant.billing.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.PaymentMethod;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Запрос на массовое формирование счетов (например, при закрытии смены)")
+public class BulkBillingRequestDto {
+    @Size(max = 5000, message = "At most 5000 orders per request")
+    @Schema(description = "ID заказов; если не указаны, используется интервал from-to", example = "[15, 16, 17]")
+    private List<Long> orderIds;
+
+    @Schema(description = "Начало интервала открытия заказов", example = "2024-01-15T10:00:00")
+    private LocalDateTime from;
+
+    @Schema(description = "Конец интервала открытия заказов", example = "2024-01-15T23:59:59")
+    private LocalDateTime to;
+
+    @Schema(description = "Способ оплаты; если указан, счета сразу отмечаются оплаченными", example = "CREDIT_CARD")
+    private PaymentMethod paymentMethod;
+
+    @JsonIgnore
+    @AssertTrue(message = "Either orderIds or both from and to must be specified")
+    public boolean isSelectionValid() {
+        boolean byIds = orderIds != null && !orderIds.isEmpty();
+        boolean byRange = from != null && to != null && !from.isAfter(to);
+        return byIds != byRange;
+    }
+}
@@ -0,0 +1,47 @@
+package ru.ifmo.se.restaurant.billing.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.BillStatus;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.PaymentMethod;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Выручка за интервал (час или день)")
+public class RevenueBucketDto {
+    @Schema(description = "Начало интервала; для итогов отчета не заполняется", example = "2024-01-15T00:00:00")
+    private LocalDateTime bucketStart;
+
+    @Schema(description = "Выручка по оплаченным счетам", example = "125400.00")
+    private BigDecimal revenue;
+
+    @Schema(description = "Сумма налога по оплаченным счетам", example = "11400.00")
+    private BigDecimal taxAmount;
+
+    @Schema(description = "Сервисный сбор по оплаченным счетам", example = "5700.00")
+    private BigDecimal serviceCharge;
+
+    @Schema(description = "Сумма скидок по оплаченным счетам", example = "1700.00")
+    private BigDecimal discountAmount;
+
+    @Schema(description = "Количество оплаченных счетов", example = "42")
+    private long paidBills;
+
+    @Schema(description = "Количество счетов, перешедших в каждый статус за интервал")
+    private Map<BillStatus, Long> billsByStatus;
+
+    @Schema(description = "Количество оплаченных счетов по способу оплаты")
+    private Map<PaymentMethod, Long> paidBillsByPaymentMethod;
+
+    @Schema(description = "Выручка по способу оплаты")
+    private Map<PaymentMethod, BigDecimal> revenueByPaymentMethod;
+}
@@ -0,0 +1,33 @@
+package ru.ifmo.se.restaurant.billing.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.RollupGranularity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Отчет о выручке")
+public class RevenueReportDto {
+    @Schema(description = "Шаг отчета", example = "DAY")
+    private RollupGranularity granularity;
+
+    @Schema(description = "Начало отчета, выровненное по шагу", example = "2024-01-01T00:00:00")
+    private LocalDateTime from;
+
+    @Schema(description = "Конец отчета (не включительно), выровненный по шагу", example = "2024-02-01T00:00:00")
+    private LocalDateTime to;
+
+    @Schema(description = "Итоги за весь период")
+    private RevenueBucketDto total;
+
+    @Schema(description = "Интервалы с движением по счетам; пустые интервалы не возвращаются")
+    private List<RevenueBucketDto> buckets;
+}
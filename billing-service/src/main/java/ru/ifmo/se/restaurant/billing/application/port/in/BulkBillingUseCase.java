@@ -0,0 +1,9 @@
+package ru.ifmo.se.restaurant.billing.application.port.in;
+
+import ru.ifmo.se.restaurant.billing.application.dto.BulkBillingJobDto;
+import ru.ifmo.se.restaurant.billing.application.dto.BulkBillingRequestDto;
+
+public interface BulkBillingUseCase {
+    BulkBillingJobDto startBulkBilling(BulkBillingRequestDto request);
+    BulkBillingJobDto getBulkBillingJob(String jobId);
+}
@@ -0,0 +1,10 @@
+package ru.ifmo.se.restaurant.billing.application.port.in;
+
+import ru.ifmo.se.restaurant.billing.application.dto.RevenueReportDto;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.RollupGranularity;
+
+import java.time.LocalDateTime;
+
+public interface GetRevenueReportUseCase {
+    RevenueReportDto getRevenueReport(RollupGranularity granularity, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,8 @@
+package ru.ifmo.se.restaurant.billing.application.port.in;
+
+import java.math.BigDecimal;
+
+public interface TrackOrderUseCase {
+    void openDraft(Long orderId, BigDecimal subtotal);
+    void updateDraft(Long orderId, BigDecimal subtotal);
+}
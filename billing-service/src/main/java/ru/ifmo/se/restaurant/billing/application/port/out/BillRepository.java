@@ -6,18 +6,55 @@ import org.springframework.data.domain.Slice;
 import ru.ifmo.se.restaurant.billing.domain.entity.Bill;
 import ru.ifmo.se.restaurant.billing.domain.valueobject.BillStatus;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface BillRepository {
     Bill save(Bill bill);
     Optional<Bill> findById(Long id);
+
+    // Draft bills are skipped here; they are only reachable by id or through findByStatus(DRAFT)
     Optional<Bill> findByOrderId(Long orderId);
     List<Bill> findAll();
     Page<Bill> findAll(Pageable pageable);
     Slice<Bill> findAllSlice(Pageable pageable);
+
     List<Bill> findByStatus(BillStatus status);
     Page<Bill> findByStatus(BillStatus status, Pageable pageable);
     boolean existsById(Long id);
     void deleteById(Long id);
+
+    /**
+     * Inserts a draft bill unless the order already has a bill.
+     */
+    void createDraftIfAbsent(Bill draft);
+
+    /**
+     * Inserts a draft bill or replaces the amounts of an existing one.
+     * Bills that are no longer drafts are left untouched.
+     *
+     * @return {@code false} if the order already has a generated bill
+     */
+    boolean saveDraft(Bill draft);
+
+    /**
+     * Turns the draft bill of an order into a pending bill.
+     *
+     * @return {@code false} if the order has no draft bill
+     */
+    boolean finalizeDraft(Long orderId, LocalDateTime generatedAt);
+
+    List<Bill> findDraftsByOrderIds(Collection<Long> orderIds);
+
+    List<Bill> findDraftsCreatedBetween(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Writes amounts, status and payment data of draft bills in one batch.
+     * Bills that stopped being drafts or whose subtotal changed in the meantime are skipped.
+     *
+     * @return the bills that were updated
+     */
+    List<Bill> finalizeDrafts(List<Bill> bills);
 }
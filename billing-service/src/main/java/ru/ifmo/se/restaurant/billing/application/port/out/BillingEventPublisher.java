@@ -2,7 +2,18 @@ package ru.ifmo.se.restaurant.billing.application.port.out;
 
 import ru.ifmo.se.restaurant.billing.domain.entity.Bill;
 
+import java.util.List;
+import java.util.Set;
+
 public interface BillingEventPublisher {
     void publishBillGenerated(Bill bill);
     void publishBillPaid(Bill bill);
+
+    /**
+     * Sends BILL_GENERATED and, for bills that are already paid, BILL_PAID events for all bills,
+     * flushes the producer once and waits for the broker to acknowledge the sends.
+     *
+     * @return ids of the bills with at least one event that was not sent
+     */
+    Set<Long> publishBills(List<Bill> bills);
 }
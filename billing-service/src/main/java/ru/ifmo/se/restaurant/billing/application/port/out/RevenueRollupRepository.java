@@ -0,0 +1,20 @@
+package ru.ifmo.se.restaurant.billing.application.port.out;
+
+import ru.ifmo.se.restaurant.billing.domain.entity.RevenueRollup;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.RevenueDelta;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.RollupGranularity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RevenueRollupRepository {
+    /**
+     * Adds the deltas to the hourly and daily rollups in the current transaction.
+     */
+    void record(List<RevenueDelta> deltas);
+
+    /**
+     * @return rollup rows with {@code from <= bucketStart < to}, ordered by bucket
+     */
+    List<RevenueRollup> findByBucketRange(RollupGranularity granularity, LocalDateTime from, LocalDateTime to);
+}
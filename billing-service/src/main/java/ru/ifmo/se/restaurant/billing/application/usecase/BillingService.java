@@ -13,21 +13,26 @@ import ru.ifmo.se.restaurant.billing.application.dto.OrderDto;
 import ru.ifmo.se.restaurant.billing.application.port.in.DeleteBillUseCase;
 import ru.ifmo.se.restaurant.billing.application.port.in.GenerateBillUseCase;
 import ru.ifmo.se.restaurant.billing.application.port.in.GetBillUseCase;
+import ru.ifmo.se.restaurant.billing.application.port.in.TrackOrderUseCase;
 import ru.ifmo.se.restaurant.billing.application.port.in.UpdateBillUseCase;
 import ru.ifmo.se.restaurant.billing.application.port.out.BillingEventPublisher;
 import ru.ifmo.se.restaurant.billing.application.port.out.BillRepository;
 import ru.ifmo.se.restaurant.billing.application.port.out.OrderServicePort;
+import ru.ifmo.se.restaurant.billing.application.port.out.RevenueRollupRepository;
 import ru.ifmo.se.restaurant.billing.domain.entity.Bill;
 import ru.ifmo.se.restaurant.billing.domain.exception.BillAlreadyExistsException;
 import ru.ifmo.se.restaurant.billing.domain.exception.BillNotFoundException;
 import ru.ifmo.se.restaurant.billing.domain.exception.InvalidBillOperationException;
 import ru.ifmo.se.restaurant.billing.domain.exception.OrderServiceException;
 import ru.ifmo.se.restaurant.billing.domain.valueobject.BillStatus;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.Money;
 import ru.ifmo.se.restaurant.billing.domain.valueobject.PaymentMethod;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.RevenueDelta;
 import ru.ifmo.se.restaurant.billing.infrastructure.util.PaginationUtil;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -35,13 +40,12 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 @Transactional
-public class BillingService implements GenerateBillUseCase, GetBillUseCase, UpdateBillUseCase, DeleteBillUseCase {
+public class BillingService implements GenerateBillUseCase, GetBillUseCase, UpdateBillUseCase, DeleteBillUseCase,
+        TrackOrderUseCase {
     private final BillRepository billRepository;
     private final OrderServicePort orderServicePort;
     private final BillingEventPublisher billingEventPublisher;
-
-    private static final BigDecimal TAX_RATE = new BigDecimal("0.10");
-    private static final BigDecimal SERVICE_CHARGE_RATE = new BigDecimal("0.05");
+    private final RevenueRollupRepository revenueRollupRepository;
 
     @Override
     @Transactional(readOnly = true)
@@ -101,43 +105,51 @@ public class BillingService implements GenerateBillUseCase, GetBillUseCase, Upda
 
     @Override
     public BillDto generateBill(Long orderId) {
-        // 1. Check if order exists
-        OrderDto order = orderServicePort.getOrder(orderId);
-        if (order == null) {
-            throw new OrderServiceException("Order service is currently unavailable or order not found");
+        // 1. Finalize the draft kept up to date from order events
+        Bill savedBill;
+        if (billRepository.finalizeDraft(orderId, LocalDateTime.now())) {
+            savedBill = billRepository.findByOrderId(orderId)
+                    .orElseThrow(() -> new BillNotFoundException("Bill not found for order: " + orderId));
+        } else {
+            savedBill = generateFromOrderService(orderId);
         }
+        revenueRollupRepository.record(List.of(RevenueDelta.entered(savedBill, savedBill.getCreatedAt())));
+
+        // 2. Publish event
+        log.info("Publishing BILL_GENERATED event for order: {}, bill: {}", orderId, savedBill.getId());
+        billingEventPublisher.publishBillGenerated(savedBill);
+
+        return BillDto.fromDomain(savedBill);
+    }
 
-        // 2. Check if bill already exists for this order
+    /**
+     * Fallback for orders without a draft, e.g. orders opened before their events reached billing.
+     */
+    private Bill generateFromOrderService(Long orderId) {
         billRepository.findByOrderId(orderId).ifPresent(existingBill -> {
             throw new BillAlreadyExistsException(orderId);
         });
 
-        // 3. Calculate amounts
-        BigDecimal totalAmount = order.getTotalAmount() != null ? order.getTotalAmount() : BigDecimal.ZERO;
-        BigDecimal taxAmount = totalAmount.multiply(TAX_RATE);
-        BigDecimal serviceCharge = totalAmount.multiply(SERVICE_CHARGE_RATE);
-        BigDecimal discountAmount = BigDecimal.ZERO;
-        BigDecimal finalAmount = totalAmount.add(taxAmount).add(serviceCharge).subtract(discountAmount);
-
-        // 4. Create bill
-        Bill bill = Bill.builder()
-                .orderId(orderId)
-                .totalAmount(totalAmount)
-                .taxAmount(taxAmount)
-                .serviceCharge(serviceCharge)
-                .discountAmount(discountAmount)
-                .finalAmount(finalAmount)
-                .status(BillStatus.PENDING)
-                .createdAt(LocalDateTime.now())
-                .build();
+        OrderDto order = orderServicePort.getOrder(orderId);
+        if (order == null) {
+            throw new OrderServiceException("Order service is currently unavailable or order not found");
+        }
 
-        Bill savedBill = billRepository.save(bill);
+        Bill bill = Bill.forSubtotal(orderId, Money.of(order.getTotalAmount()), BillStatus.PENDING, LocalDateTime.now());
+        return billRepository.save(bill);
+    }
 
-        // 5. Publish event
-        log.info("Publishing BILL_GENERATED event for order: {}, bill: {}", orderId, savedBill.getId());
-        billingEventPublisher.publishBillGenerated(savedBill);
+    @Override
+    public void openDraft(Long orderId, BigDecimal subtotal) {
+        billRepository.createDraftIfAbsent(Bill.forSubtotal(orderId, Money.of(subtotal), BillStatus.DRAFT, LocalDateTime.now()));
+    }
 
-        return BillDto.fromDomain(savedBill);
+    @Override
+    public void updateDraft(Long orderId, BigDecimal subtotal) {
+        Bill draft = Bill.forSubtotal(orderId, Money.of(subtotal), BillStatus.DRAFT, LocalDateTime.now());
+        if (!billRepository.saveDraft(draft)) {
+            log.warn("Order {} changed after its bill was generated; bill left unchanged", orderId);
+        }
     }
 
     @Override
@@ -151,27 +163,10 @@ public class BillingService implements GenerateBillUseCase, GetBillUseCase, Upda
             );
         }
 
-        BigDecimal newFinalAmount = bill.getTotalAmount()
-                .add(bill.getTaxAmount())
-                .add(bill.getServiceCharge())
-                .subtract(discountAmount);
-
-        Bill updatedBill = Bill.builder()
-                .id(bill.getId())
-                .orderId(bill.getOrderId())
-                .totalAmount(bill.getTotalAmount())
-                .taxAmount(bill.getTaxAmount())
-                .serviceCharge(bill.getServiceCharge())
-                .discountAmount(discountAmount)
-                .finalAmount(newFinalAmount)
-                .status(bill.getStatus())
-                .paymentMethod(bill.getPaymentMethod())
-                .createdAt(bill.getCreatedAt())
-                .paidAt(bill.getPaidAt())
-                .notes(bill.getNotes())
-                .build();
-
-        return BillDto.fromDomain(billRepository.save(updatedBill));
+        Bill updatedBill = bill.withDiscount(Money.of(discountAmount));
+        Bill savedBill = billRepository.save(updatedBill);
+        revenueRollupRepository.record(List.of(RevenueDelta.amountsChanged(bill, savedBill, LocalDateTime.now())));
+        return BillDto.fromDomain(savedBill);
     }
 
     @Override
@@ -185,22 +180,14 @@ public class BillingService implements GenerateBillUseCase, GetBillUseCase, Upda
             );
         }
 
-        Bill paidBill = Bill.builder()
-                .id(bill.getId())
-                .orderId(bill.getOrderId())
-                .totalAmount(bill.getTotalAmount())
-                .taxAmount(bill.getTaxAmount())
-                .serviceCharge(bill.getServiceCharge())
-                .discountAmount(bill.getDiscountAmount())
-                .finalAmount(bill.getFinalAmount())
+        Bill paidBill = bill.toBuilder()
                 .status(BillStatus.PAID)
                 .paymentMethod(paymentMethod)
-                .createdAt(bill.getCreatedAt())
                 .paidAt(LocalDateTime.now())
-                .notes(bill.getNotes())
                 .build();
 
         Bill savedBill = billRepository.save(paidBill);
+        revenueRollupRepository.record(List.of(RevenueDelta.entered(savedBill, savedBill.getPaidAt())));
 
         // Publish event
         log.info("Publishing BILL_PAID event for order: {}, bill: {}", savedBill.getOrderId(), savedBill.getId());
@@ -216,33 +203,42 @@ public class BillingService implements GenerateBillUseCase, GetBillUseCase, Upda
 
         if (!bill.canBeCancelled()) {
             throw new InvalidBillOperationException(
-                "Cannot cancel paid bill"
+                "Cannot cancel bill: must be in DRAFT or PENDING status. Current status: " + bill.getStatus()
             );
         }
 
-        Bill cancelledBill = Bill.builder()
-                .id(bill.getId())
-                .orderId(bill.getOrderId())
-                .totalAmount(bill.getTotalAmount())
-                .taxAmount(bill.getTaxAmount())
-                .serviceCharge(bill.getServiceCharge())
-                .discountAmount(bill.getDiscountAmount())
-                .finalAmount(bill.getFinalAmount())
+        Bill cancelledBill = bill.toBuilder()
                 .status(BillStatus.CANCELLED)
-                .paymentMethod(bill.getPaymentMethod())
-                .createdAt(bill.getCreatedAt())
-                .paidAt(bill.getPaidAt())
-                .notes(bill.getNotes())
                 .build();
 
-        return BillDto.fromDomain(billRepository.save(cancelledBill));
+        Bill savedBill = billRepository.save(cancelledBill);
+        // Drafts never entered the rollups, so cancelling one is not counted either
+        if (!bill.isDraft()) {
+            revenueRollupRepository.record(List.of(RevenueDelta.entered(savedBill, LocalDateTime.now())));
+        }
+        return BillDto.fromDomain(savedBill);
     }
 
     @Override
     public void deleteBill(Long id) {
-        if (!billRepository.existsById(id)) {
-            throw new BillNotFoundException(id);
-        }
+        Bill bill = billRepository.findById(id)
+                .orElseThrow(() -> new BillNotFoundException(id));
+        revenueRollupRepository.record(removedFromRollups(bill));
         billRepository.deleteById(id);
     }
+
+    /**
+     * Reverses the revenue-carrying transitions the bill recorded: PENDING at generation and PAID
+     * at payment. Cancellations carry no revenue and their time is not stored, so they stay counted.
+     */
+    private static List<RevenueDelta> removedFromRollups(Bill bill) {
+        List<RevenueDelta> deltas = new ArrayList<>(2);
+        if (bill.isPending() || bill.isPaid()) {
+            deltas.add(RevenueDelta.removed(bill, BillStatus.PENDING, bill.getCreatedAt()));
+        }
+        if (bill.isPaid()) {
+            deltas.add(RevenueDelta.removed(bill, BillStatus.PAID, bill.getPaidAt()));
+        }
+        return deltas;
+    }
 }
@@ -0,0 +1,98 @@
+package ru.ifmo.se.restaurant.billing.application.usecase;
+
+import ru.ifmo.se.restaurant.billing.application.dto.BulkBillingJobDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress of one bulk billing run. Counters are updated by chunk workers and read by status polls.
+ */
+class BulkBillingJob {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final String id;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final AtomicInteger processed = new AtomicInteger();
+    private final AtomicInteger generated = new AtomicInteger();
+    private final AtomicInteger settled = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final List<BulkBillingJobDto.OrderError> errors = new ArrayList<>();
+    private volatile int total;
+    private volatile String status = "RUNNING";
+    private volatile LocalDateTime finishedAt;
+
+    BulkBillingJob(String id) {
+        this.id = id;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    void setTotal(int total) {
+        this.total = total;
+    }
+
+    void recordChunk(int processedOrders, int generatedBills, int settledBills) {
+        processed.addAndGet(processedOrders);
+        generated.addAndGet(generatedBills);
+        settled.addAndGet(settledBills);
+    }
+
+    void recordFailure(Long orderId, String message) {
+        failed.incrementAndGet();
+        recordWarning(orderId, message);
+    }
+
+    /**
+     * Reports a problem with an order that was billed nonetheless.
+     */
+    void recordWarning(Long orderId, String message) {
+        synchronized (errors) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new BulkBillingJobDto.OrderError(orderId, message));
+            }
+        }
+    }
+
+    void complete() {
+        finish("COMPLETED");
+    }
+
+    void fail(String message) {
+        recordFailure(null, message);
+        finish("FAILED");
+    }
+
+    boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    private void finish(String finalStatus) {
+        finishedAt = LocalDateTime.now();
+        status = finalStatus;
+    }
+
+    BulkBillingJobDto toDto() {
+        List<BulkBillingJobDto.OrderError> reportedErrors;
+        synchronized (errors) {
+            reportedErrors = List.copyOf(errors);
+        }
+        return BulkBillingJobDto.builder()
+                .jobId(id)
+                .status(status)
+                .totalOrders(total)
+                .processedOrders(processed.get())
+                .generatedBills(generated.get())
+                .settledBills(settled.get())
+                .failedOrders(failed.get())
+                .errors(reportedErrors)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+}
@@ -0,0 +1,257 @@
+package ru.ifmo.se.restaurant.billing.application.usecase;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.ifmo.se.restaurant.billing.application.dto.BulkBillingJobDto;
+import ru.ifmo.se.restaurant.billing.application.dto.BulkBillingRequestDto;
+import ru.ifmo.se.restaurant.billing.application.port.in.BulkBillingUseCase;
+import ru.ifmo.se.restaurant.billing.application.port.out.BillRepository;
+import ru.ifmo.se.restaurant.billing.application.port.out.BillingEventPublisher;
+import ru.ifmo.se.restaurant.billing.application.port.out.RevenueRollupRepository;
+import ru.ifmo.se.restaurant.billing.domain.entity.Bill;
+import ru.ifmo.se.restaurant.billing.domain.exception.BillNotFoundException;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.BillStatus;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.PaymentMethod;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.RevenueDelta;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Generates, and optionally settles, bills for many orders at once, e.g. at the end of a shift.
+ * Draft bills are loaded in one query and finalized in parallel chunks with one JDBC batch and
+ * transaction per chunk; the billing events of a chunk are sent in one producer batch once it commits.
+ * Jobs run one at a time in the background; their progress is kept in memory for polling.
+ */
+@Slf4j
+@Service
+public class BulkBillingService implements BulkBillingUseCase {
+
+    private static final int RETAINED_JOBS = 50;
+
+    private final BillRepository billRepository;
+    private final BillingEventPublisher billingEventPublisher;
+    private final RevenueRollupRepository revenueRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final ExecutorService jobExecutor;
+    private final ExecutorService chunkExecutor;
+
+    private final Map<String, BulkBillingJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    public BulkBillingService(BillRepository billRepository,
+                              BillingEventPublisher billingEventPublisher,
+                              RevenueRollupRepository revenueRollupRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${billing.bulk.chunk-size:50}") int chunkSize,
+                              @Value("${billing.bulk.parallelism:4}") int parallelism) {
+        this.billRepository = billRepository;
+        this.billingEventPublisher = billingEventPublisher;
+        this.revenueRollupRepository = revenueRollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.jobExecutor = Executors.newSingleThreadExecutor();
+        this.chunkExecutor = Executors.newFixedThreadPool(parallelism);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdown();
+        chunkExecutor.shutdown();
+    }
+
+    @Override
+    public BulkBillingJobDto startBulkBilling(BulkBillingRequestDto request) {
+        BulkBillingJob job = new BulkBillingJob(UUID.randomUUID().toString());
+        retain(job);
+        log.info("Starting bulk billing job {}", job.getId());
+        jobExecutor.execute(() -> run(job, request));
+        return job.toDto();
+    }
+
+    @Override
+    public BulkBillingJobDto getBulkBillingJob(String jobId) {
+        BulkBillingJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new BillNotFoundException("Bulk billing job not found: " + jobId);
+        }
+        return job.toDto();
+    }
+
+    /**
+     * Keeps the job for polling and drops the oldest finished jobs beyond the retention limit.
+     * Queued and running jobs are never dropped, so their status stays available.
+     */
+    private void retain(BulkBillingJob job) {
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+            Iterator<BulkBillingJob> retained = jobs.values().iterator();
+            while (jobs.size() > RETAINED_JOBS && retained.hasNext()) {
+                if (retained.next().isFinished()) {
+                    retained.remove();
+                }
+            }
+        }
+    }
+
+    void run(BulkBillingJob job, BulkBillingRequestDto request) {
+        try {
+            List<Bill> drafts = loadDrafts(job, request);
+            List<CompletableFuture<Void>> chunks = new ArrayList<>();
+            for (int from = 0; from < drafts.size(); from += chunkSize) {
+                List<Bill> chunk = drafts.subList(from, Math.min(from + chunkSize, drafts.size()));
+                chunks.add(CompletableFuture.runAsync(
+                        () -> processChunk(job, chunk, request.getPaymentMethod()), chunkExecutor));
+            }
+            chunks.forEach(CompletableFuture::join);
+
+            job.complete();
+            log.info("Bulk billing job {} finished: {}", job.getId(), job.toDto());
+        } catch (Exception e) {
+            log.error("Bulk billing job {} failed: {}", job.getId(), e.getMessage(), e);
+            job.fail(e.getMessage());
+        }
+    }
+
+    private List<Bill> loadDrafts(BulkBillingJob job, BulkBillingRequestDto request) {
+        if (request.getOrderIds() == null || request.getOrderIds().isEmpty()) {
+            List<Bill> drafts = billRepository.findDraftsCreatedBetween(request.getFrom(), request.getTo());
+            job.setTotal(drafts.size());
+            return drafts;
+        }
+
+        Set<Long> orderIds = new LinkedHashSet<>(request.getOrderIds());
+        job.setTotal(orderIds.size());
+        List<Bill> drafts = billRepository.findDraftsByOrderIds(orderIds);
+        Set<Long> found = drafts.stream().map(Bill::getOrderId).collect(Collectors.toCollection(HashSet::new));
+        int missing = 0;
+        for (Long orderId : orderIds) {
+            if (!found.contains(orderId)) {
+                job.recordFailure(orderId, "No open draft bill for order");
+                missing++;
+            }
+        }
+        job.recordChunk(missing, 0, 0);
+        return drafts;
+    }
+
+    private void processChunk(BulkBillingJob job, List<Bill> drafts, PaymentMethod paymentMethod) {
+        List<Bill> updated = finalizeChunk(job, drafts, paymentMethod);
+        if (updated.isEmpty()) {
+            return;
+        }
+        // The bills are already committed, so the orders are billed; only their events are missing
+        Set<Long> unsent;
+        String reason;
+        try {
+            unsent = billingEventPublisher.publishBills(updated);
+            reason = "not acknowledged by the broker";
+        } catch (Exception e) {
+            unsent = updated.stream().map(Bill::getId).collect(Collectors.toSet());
+            reason = e.getMessage();
+        }
+        if (unsent.isEmpty()) {
+            return;
+        }
+        log.error("Bulk billing job {}: events for {} saved bills were not sent: {}", job.getId(), unsent.size(), reason);
+        for (Bill bill : updated) {
+            if (unsent.contains(bill.getId())) {
+                job.recordWarning(bill.getOrderId(), "Bill saved, events not sent: " + reason);
+            }
+        }
+    }
+
+    private List<Bill> finalizeChunk(BulkBillingJob job, List<Bill> drafts, PaymentMethod paymentMethod) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Bill> bills = drafts.stream()
+                .map(draft -> finalized(draft, paymentMethod, now))
+                .collect(Collectors.toList());
+
+        List<Bill> updated;
+        try {
+            updated = transactionTemplate.execute(status -> {
+                List<Bill> saved = billRepository.finalizeDrafts(bills);
+                revenueRollupRepository.record(revenueDeltas(saved, now));
+                return saved;
+            });
+        } catch (Exception e) {
+            log.error("Bulk billing job {}: chunk of {} bills failed: {}", job.getId(), bills.size(), e.getMessage());
+            bills.forEach(bill -> job.recordFailure(bill.getOrderId(), "Failed to save bill: " + e.getMessage()));
+            job.recordChunk(bills.size(), 0, 0);
+            return List.of();
+        }
+
+        Set<Long> updatedIds = updated.stream().map(Bill::getId).collect(Collectors.toSet());
+        List<Long> skipped = bills.stream()
+                .filter(bill -> !updatedIds.contains(bill.getId()))
+                .map(Bill::getOrderId)
+                .collect(Collectors.toList());
+        if (!skipped.isEmpty()) {
+            recordSkipped(job, skipped);
+        }
+        job.recordChunk(bills.size(), updated.size(), paymentMethod != null ? updated.size() : 0);
+        return updated;
+    }
+
+    /**
+     * A skipped bill either left the draft state or its order changed after the drafts were loaded.
+     * Only the latter can be retried.
+     */
+    private void recordSkipped(BulkBillingJob job, List<Long> orderIds) {
+        Set<Long> stillDraft;
+        try {
+            stillDraft = billRepository.findDraftsByOrderIds(orderIds).stream()
+                    .map(Bill::getOrderId)
+                    .collect(Collectors.toSet());
+        } catch (Exception e) {
+            log.warn("Bulk billing job {}: could not tell why {} bills were skipped: {}",
+                    job.getId(), orderIds.size(), e.getMessage());
+            stillDraft = Set.of();
+        }
+        for (Long orderId : orderIds) {
+            job.recordFailure(orderId, stillDraft.contains(orderId)
+                    ? "Order changed while billing, retry the order"
+                    : "Bill was generated concurrently");
+        }
+    }
+
+    private static List<RevenueDelta> revenueDeltas(List<Bill> bills, LocalDateTime now) {
+        List<RevenueDelta> deltas = new ArrayList<>(bills.size() * 2);
+        for (Bill bill : bills) {
+            if (bill.isPaid()) {
+                // Settled bills pass through PENDING as well, like a bill generated and then paid
+                deltas.add(RevenueDelta.entered(Bill.forSubtotal(bill.getOrderId(), bill.getTotalAmount(),
+                        BillStatus.PENDING, now), now));
+            }
+            deltas.add(RevenueDelta.entered(bill, now));
+        }
+        return deltas;
+    }
+
+    private Bill finalized(Bill draft, PaymentMethod paymentMethod, LocalDateTime now) {
+        BillStatus status = paymentMethod != null ? BillStatus.PAID : BillStatus.PENDING;
+        return Bill.forSubtotal(draft.getOrderId(), draft.getTotalAmount(), status, now).toBuilder()
+                .id(draft.getId())
+                .paymentMethod(paymentMethod)
+                .paidAt(paymentMethod != null ? now : null)
+                .notes(draft.getNotes())
+                .build();
+    }
+}
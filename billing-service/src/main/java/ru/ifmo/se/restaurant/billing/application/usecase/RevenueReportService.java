@@ -0,0 +1,121 @@
+package ru.ifmo.se.restaurant.billing.application.usecase;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.ifmo.se.restaurant.billing.application.dto.RevenueBucketDto;
+import ru.ifmo.se.restaurant.billing.application.dto.RevenueReportDto;
+import ru.ifmo.se.restaurant.billing.application.port.in.GetRevenueReportUseCase;
+import ru.ifmo.se.restaurant.billing.application.port.out.RevenueRollupRepository;
+import ru.ifmo.se.restaurant.billing.domain.entity.RevenueRollup;
+import ru.ifmo.se.restaurant.billing.domain.exception.InvalidReportRangeException;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.BillStatus;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.Money;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.PaymentMethod;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.RollupGranularity;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds revenue reports from the hourly and daily rollups only; bills are never scanned.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class RevenueReportService implements GetRevenueReportUseCase {
+
+    private static final Duration MAX_HOURLY_RANGE = Duration.ofDays(93);
+    private static final Duration MAX_DAILY_RANGE = Duration.ofDays(3660);
+
+    private final RevenueRollupRepository revenueRollupRepository;
+
+    @Override
+    public RevenueReportDto getRevenueReport(RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new InvalidReportRangeException("'from' must be before 'to'");
+        }
+        LocalDateTime start = granularity.bucketOf(from);
+        LocalDateTime end = granularity.bucketOf(to).equals(to) ? to : granularity.nextBucket(granularity.bucketOf(to));
+        Duration maxRange = granularity == RollupGranularity.HOUR ? MAX_HOURLY_RANGE : MAX_DAILY_RANGE;
+        if (Duration.between(start, end).compareTo(maxRange) > 0) {
+            throw new InvalidReportRangeException(
+                    "Range is too long for " + granularity + " granularity: at most " + maxRange.toDays() + " days");
+        }
+
+        Map<LocalDateTime, BucketTotals> buckets = new LinkedHashMap<>();
+        BucketTotals total = new BucketTotals(null);
+        for (RevenueRollup rollup : revenueRollupRepository.findByBucketRange(granularity, start, end)) {
+            buckets.computeIfAbsent(rollup.getBucketStart(), BucketTotals::new).add(rollup);
+            total.add(rollup);
+        }
+
+        List<RevenueBucketDto> bucketDtos = new ArrayList<>(buckets.size());
+        buckets.values().forEach(bucket -> bucketDtos.add(bucket.toDto()));
+        return RevenueReportDto.builder()
+                .granularity(granularity)
+                .from(start)
+                .to(end)
+                .total(total.toDto())
+                .buckets(bucketDtos)
+                .build();
+    }
+
+    private static final class BucketTotals {
+        private final LocalDateTime bucketStart;
+        private Money revenue = Money.ZERO;
+        private Money taxAmount = Money.ZERO;
+        private Money serviceCharge = Money.ZERO;
+        private Money discountAmount = Money.ZERO;
+        private long paidBills;
+        private final Map<BillStatus, Long> billsByStatus = new EnumMap<>(BillStatus.class);
+        private final Map<PaymentMethod, Long> paidBillsByPaymentMethod = new EnumMap<>(PaymentMethod.class);
+        private final Map<PaymentMethod, Money> revenueByPaymentMethod = new EnumMap<>(PaymentMethod.class);
+
+        private BucketTotals(LocalDateTime bucketStart) {
+            this.bucketStart = bucketStart;
+        }
+
+        private void add(RevenueRollup rollup) {
+            billsByStatus.merge(rollup.getStatus(), rollup.getBillCount(), Long::sum);
+            if (rollup.getStatus() != BillStatus.PAID) {
+                return;
+            }
+            revenue = revenue.plus(rollup.getFinalAmount());
+            taxAmount = taxAmount.plus(rollup.getTaxAmount());
+            serviceCharge = serviceCharge.plus(rollup.getServiceCharge());
+            discountAmount = discountAmount.plus(rollup.getDiscountAmount());
+            paidBills += rollup.getBillCount();
+            if (rollup.getPaymentMethod() != null) {
+                paidBillsByPaymentMethod.merge(rollup.getPaymentMethod(), rollup.getBillCount(), Long::sum);
+                revenueByPaymentMethod.merge(rollup.getPaymentMethod(), rollup.getFinalAmount(), Money::plus);
+            }
+        }
+
+        private RevenueBucketDto toDto() {
+            return RevenueBucketDto.builder()
+                    .bucketStart(bucketStart)
+                    .revenue(revenue.toBigDecimal())
+                    .taxAmount(taxAmount.toBigDecimal())
+                    .serviceCharge(serviceCharge.toBigDecimal())
+                    .discountAmount(discountAmount.toBigDecimal())
+                    .paidBills(paidBills)
+                    .billsByStatus(billsByStatus)
+                    .paidBillsByPaymentMethod(paidBillsByPaymentMethod)
+                    .revenueByPaymentMethod(decimals(revenueByPaymentMethod))
+                    .build();
+        }
+
+        private static Map<PaymentMethod, BigDecimal> decimals(Map<PaymentMethod, Money> amounts) {
+            Map<PaymentMethod, BigDecimal> result = new EnumMap<>(PaymentMethod.class);
+            amounts.forEach((method, amount) -> result.put(method, amount.toBigDecimal()));
+            return result;
+        }
+    }
+}
@@ -4,28 +4,72 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import ru.ifmo.se.restaurant.billing.domain.valueobject.BillStatus;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.Money;
 import ru.ifmo.se.restaurant.billing.domain.valueobject.PaymentMethod;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 public class Bill {
+    /** Tax rate in basis points (10%). */
+    public static final long TAX_RATE_BASIS_POINTS = 1_000;
+    /** Service charge rate in basis points (5%). */
+    public static final long SERVICE_CHARGE_BASIS_POINTS = 500;
+
     private final Long id;
     private final Long orderId;
-    private final BigDecimal totalAmount;
-    private final BigDecimal taxAmount;
-    private final BigDecimal serviceCharge;
-    private final BigDecimal discountAmount;
-    private final BigDecimal finalAmount;
+    @Builder.Default
+    private final Money totalAmount = Money.ZERO;
+    @Builder.Default
+    private final Money taxAmount = Money.ZERO;
+    @Builder.Default
+    private final Money serviceCharge = Money.ZERO;
+    @Builder.Default
+    private final Money discountAmount = Money.ZERO;
+    @Builder.Default
+    private final Money finalAmount = Money.ZERO;
     private final BillStatus status;
     private final PaymentMethod paymentMethod;
     private final LocalDateTime createdAt;
     private final LocalDateTime paidAt;
     private final String notes;
 
+    /**
+     * Builds a bill for the given order subtotal with tax and service charge applied and no discount.
+     * Tax and service charge are each rounded half-up to whole kopecks.
+     */
+    public static Bill forSubtotal(Long orderId, Money subtotal, BillStatus status, LocalDateTime createdAt) {
+        Money taxAmount = subtotal.percentage(TAX_RATE_BASIS_POINTS);
+        Money serviceCharge = subtotal.percentage(SERVICE_CHARGE_BASIS_POINTS);
+
+        return Bill.builder()
+                .orderId(orderId)
+                .totalAmount(subtotal)
+                .taxAmount(taxAmount)
+                .serviceCharge(serviceCharge)
+                .discountAmount(Money.ZERO)
+                .finalAmount(subtotal.plus(taxAmount).plus(serviceCharge))
+                .status(status)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    /**
+     * Returns a copy of this bill with the discount replaced and the final amount recomputed.
+     */
+    public Bill withDiscount(Money discount) {
+        return toBuilder()
+                .discountAmount(discount)
+                .finalAmount(totalAmount.plus(taxAmount).plus(serviceCharge).minus(discount))
+                .build();
+    }
+
+    public boolean isDraft() {
+        return status == BillStatus.DRAFT;
+    }
+
     public boolean isPaid() {
         return status == BillStatus.PAID;
     }
@@ -47,6 +91,6 @@ public class Bill {
     }
 
     public boolean canBeCancelled() {
-        return status != BillStatus.PAID;
+        return status == BillStatus.DRAFT || status == BillStatus.PENDING;
     }
 }
@@ -0,0 +1,28 @@
+package ru.ifmo.se.restaurant.billing.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.BillStatus;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.Money;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.PaymentMethod;
+
+import java.time.LocalDateTime;
+
+/**
+ * Totals of the bills that entered one status, with one payment method, during one time bucket.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class RevenueRollup {
+    private final LocalDateTime bucketStart;
+    private final BillStatus status;
+    private final PaymentMethod paymentMethod;
+    private final long billCount;
+    private final Money totalAmount;
+    private final Money taxAmount;
+    private final Money serviceCharge;
+    private final Money discountAmount;
+    private final Money finalAmount;
+}
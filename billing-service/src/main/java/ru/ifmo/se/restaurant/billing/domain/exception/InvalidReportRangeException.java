@@ -0,0 +1,7 @@
+package ru.ifmo.se.restaurant.billing.domain.exception;
+
+public class InvalidReportRangeException extends RuntimeException {
+    public InvalidReportRangeException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,7 @@
 package ru.ifmo.se.restaurant.billing.domain.valueobject;
 
 public enum BillStatus {
+    DRAFT,
     PENDING,
     PAID,
     CANCELLED
@@ -0,0 +1,104 @@
+package ru.ifmo.se.restaurant.billing.domain.valueobject;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An amount of money held as a whole number of minor units (kopecks), i.e. a decimal with a
+ * fixed scale of two. Arithmetic works on the {@code long} value only and fails on overflow
+ * instead of wrapping. Conversion to and from {@link BigDecimal} happens at the persistence,
+ * messaging and DTO boundaries; amounts with more than two decimals are rounded half-up there,
+ * the same way percentages are rounded.
+ */
+public final class Money implements Comparable<Money> {
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    private static final long BASIS_POINTS = 10_000;
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * Converts a decimal amount; {@code null} is treated as zero.
+     */
+    public static Money of(BigDecimal amount) {
+        if (amount == null || amount.signum() == 0) {
+            return ZERO;
+        }
+        return ofMinor(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    public static Money of(String amount) {
+        return of(new BigDecimal(amount));
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public Money plus(Money other) {
+        return other.minorUnits == 0 ? this : ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return other.minorUnits == 0 ? this : ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money negate() {
+        return ofMinor(Math.negateExact(minorUnits));
+    }
+
+    /**
+     * Returns the given share of this amount, e.g. {@code 1000} basis points for 10%,
+     * rounded half-up to whole minor units.
+     */
+    public Money percentage(long basisPoints) {
+        long product = Math.multiplyExact(minorUnits, basisPoints);
+        long quotient = product / BASIS_POINTS;
+        long remainder = product % BASIS_POINTS;
+        if (Math.abs(remainder) * 2 >= BASIS_POINTS) {
+            quotient += Long.signum(product);
+        }
+        return ofMinor(quotient);
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Money other && minorUnits == other.minorUnits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
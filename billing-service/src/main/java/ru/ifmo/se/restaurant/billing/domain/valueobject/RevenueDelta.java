@@ -0,0 +1,72 @@
+package ru.ifmo.se.restaurant.billing.domain.valueobject;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import ru.ifmo.se.restaurant.billing.domain.entity.Bill;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change to the revenue rollups: a bill entering {@code status} at {@code occurredAt}, or an amount
+ * correction of a bill that stays in its status ({@code billCount} is zero then).
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class RevenueDelta {
+    private final LocalDateTime occurredAt;
+    private final BillStatus status;
+    private final PaymentMethod paymentMethod;
+    private final long billCount;
+    private final Money totalAmount;
+    private final Money taxAmount;
+    private final Money serviceCharge;
+    private final Money discountAmount;
+    private final Money finalAmount;
+
+    public static RevenueDelta entered(Bill bill, LocalDateTime occurredAt) {
+        return RevenueDelta.builder()
+                .occurredAt(occurredAt)
+                .status(bill.getStatus())
+                .paymentMethod(bill.isPaid() ? bill.getPaymentMethod() : null)
+                .billCount(1)
+                .totalAmount(bill.getTotalAmount())
+                .taxAmount(bill.getTaxAmount())
+                .serviceCharge(bill.getServiceCharge())
+                .discountAmount(bill.getDiscountAmount())
+                .finalAmount(bill.getFinalAmount())
+                .build();
+    }
+
+    /**
+     * Takes a deleted bill back out of the rollups for a status it entered at {@code occurredAt}.
+     */
+    public static RevenueDelta removed(Bill bill, BillStatus status, LocalDateTime occurredAt) {
+        return RevenueDelta.builder()
+                .occurredAt(occurredAt)
+                .status(status)
+                .paymentMethod(status == BillStatus.PAID ? bill.getPaymentMethod() : null)
+                .billCount(-1)
+                .totalAmount(bill.getTotalAmount().negate())
+                .taxAmount(bill.getTaxAmount().negate())
+                .serviceCharge(bill.getServiceCharge().negate())
+                .discountAmount(bill.getDiscountAmount().negate())
+                .finalAmount(bill.getFinalAmount().negate())
+                .build();
+    }
+
+    public static RevenueDelta amountsChanged(Bill before, Bill after, LocalDateTime occurredAt) {
+        return RevenueDelta.builder()
+                .occurredAt(occurredAt)
+                .status(after.getStatus())
+                .paymentMethod(after.isPaid() ? after.getPaymentMethod() : null)
+                .billCount(0)
+                .totalAmount(after.getTotalAmount().minus(before.getTotalAmount()))
+                .taxAmount(after.getTaxAmount().minus(before.getTaxAmount()))
+                .serviceCharge(after.getServiceCharge().minus(before.getServiceCharge()))
+                .discountAmount(after.getDiscountAmount().minus(before.getDiscountAmount()))
+                .finalAmount(after.getFinalAmount().minus(before.getFinalAmount()))
+                .build();
+    }
+}
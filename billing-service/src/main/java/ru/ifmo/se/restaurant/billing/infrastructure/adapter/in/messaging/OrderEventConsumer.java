@@ -0,0 +1,65 @@
+package ru.ifmo.se.restaurant.billing.infrastructure.adapter.in.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+import ru.ifmo.se.restaurant.billing.application.port.in.TrackOrderUseCase;
+import ru.ifmo.se.restaurant.common.event.DomainEvent;
+import ru.ifmo.se.restaurant.common.event.KafkaTopics;
+import ru.ifmo.se.restaurant.common.event.order.OrderCreatedEvent;
+import ru.ifmo.se.restaurant.common.event.order.OrderItemChangedEvent;
+
+/**
+ * Keeps a draft bill per open order so that bill generation does not call order-service.
+ * Malformed messages are logged and skipped; persistence failures are rethrown so the
+ * container retries the record instead of leaving a stale draft.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderEventConsumer {
+
+    private final TrackOrderUseCase trackOrderUseCase;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(
+            topics = KafkaTopics.ORDERS_CREATED,
+            groupId = "${spring.kafka.consumer.group-id:billing-service-group}"
+    )
+    public void handleOrderCreated(String message) {
+        OrderCreatedEvent payload = read(message, OrderCreatedEvent.class);
+        if (payload == null) {
+            return;
+        }
+        log.info("Received ORDER_CREATED event for order: {}", payload.getOrderId());
+        trackOrderUseCase.openDraft(payload.getOrderId(), payload.getTotalAmount());
+    }
+
+    @KafkaListener(
+            topics = KafkaTopics.ORDERS_ITEMS_CHANGED,
+            groupId = "${spring.kafka.consumer.group-id:billing-service-group}"
+    )
+    public void handleOrderItemChanged(String message) {
+        OrderItemChangedEvent payload = read(message, OrderItemChangedEvent.class);
+        if (payload == null) {
+            return;
+        }
+        log.debug("Received order item change for order: {}, new total: {}",
+                payload.getOrderId(), payload.getOrderTotal());
+        trackOrderUseCase.updateDraft(payload.getOrderId(), payload.getOrderTotal());
+    }
+
+    private <T> T read(String message, Class<T> payloadType) {
+        try {
+            DomainEvent<T> event = objectMapper.readValue(message,
+                    objectMapper.getTypeFactory().constructParametricType(DomainEvent.class, payloadType));
+            return event.getPayload();
+        } catch (JsonProcessingException e) {
+            log.error("Error parsing {} message: {}", payloadType.getSimpleName(), e.getMessage(), e);
+            return null;
+        }
+    }
+}
@@ -7,23 +7,32 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.ifmo.se.restaurant.billing.application.dto.BillDto;
+import ru.ifmo.se.restaurant.billing.application.dto.BulkBillingJobDto;
+import ru.ifmo.se.restaurant.billing.application.dto.BulkBillingRequestDto;
 import ru.ifmo.se.restaurant.billing.application.dto.ErrorResponse;
+import ru.ifmo.se.restaurant.billing.application.dto.RevenueReportDto;
+import ru.ifmo.se.restaurant.billing.application.port.in.BulkBillingUseCase;
 import ru.ifmo.se.restaurant.billing.application.port.in.DeleteBillUseCase;
 import ru.ifmo.se.restaurant.billing.application.port.in.GenerateBillUseCase;
 import ru.ifmo.se.restaurant.billing.application.port.in.GetBillUseCase;
+import ru.ifmo.se.restaurant.billing.application.port.in.GetRevenueReportUseCase;
 import ru.ifmo.se.restaurant.billing.application.port.in.UpdateBillUseCase;
 import ru.ifmo.se.restaurant.billing.domain.valueobject.BillStatus;
 import ru.ifmo.se.restaurant.billing.domain.valueobject.PaymentMethod;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.RollupGranularity;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Tag(name = "Billing", description = "API для управления счетами ресторана")
@@ -35,6 +44,8 @@ public class BillingController {
     private final GenerateBillUseCase generateBillUseCase;
     private final UpdateBillUseCase updateBillUseCase;
     private final DeleteBillUseCase deleteBillUseCase;
+    private final BulkBillingUseCase bulkBillingUseCase;
+    private final GetRevenueReportUseCase getRevenueReportUseCase;
 
     @Operation(summary = "Получить все счета", description = "Возвращает список всех счетов без пагинации")
     @ApiResponses(value = {
@@ -152,6 +163,60 @@ public class BillingController {
                 .body(generateBillUseCase.generateBill(orderId));
     }
 
+    @Operation(summary = "Массово сформировать счета",
+            description = "Запускает фоновую задачу, которая формирует (и при указании способа оплаты сразу закрывает) " +
+                    "счета для списка заказов или для заказов, открытых в интервале from-to. " +
+                    "Прогресс доступен по GET /api/bills/bulk/{jobId}")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Задача запущена",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkBillingJobDto.class))),
+            @ApiResponse(responseCode = "400", description = "Не указаны ни заказы, ни интервал",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkBillingJobDto> startBulkBilling(@Valid @RequestBody BulkBillingRequestDto request) {
+        BulkBillingJobDto job = bulkBillingUseCase.startBulkBilling(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.LOCATION, "/api/bills/bulk/" + job.getJobId())
+                .body(job);
+    }
+
+    @Operation(summary = "Получить прогресс массового формирования счетов",
+            description = "Возвращает счетчики обработанных, сформированных и оплаченных счетов и ошибки по заказам")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Состояние задачи",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkBillingJobDto.class))),
+            @ApiResponse(responseCode = "404", description = "Задача не найдена",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/bulk/{jobId}")
+    public ResponseEntity<BulkBillingJobDto> getBulkBillingJob(
+            @Parameter(description = "ID задачи", required = true)
+            @PathVariable String jobId) {
+        return ResponseEntity.ok(bulkBillingUseCase.getBulkBillingJob(jobId));
+    }
+
+    @Operation(summary = "Отчет о выручке",
+            description = "Возвращает выручку, налоги, сервисный сбор, скидки и количество счетов по часам или дням " +
+                    "в разрезе способов оплаты и статусов. Строится только по предрасчитанным агрегатам. " +
+                    "Интервал выравнивается по шагу; для HOUR не более 93 дней, для DAY не более 3660 дней")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Отчет успешно построен",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = RevenueReportDto.class))),
+            @ApiResponse(responseCode = "400", description = "Некорректный интервал",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/reports/revenue")
+    public ResponseEntity<RevenueReportDto> getRevenueReport(
+            @Parameter(description = "Шаг отчета", example = "DAY")
+            @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+            @Parameter(description = "Начало интервала", required = true, example = "2024-01-01T00:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Конец интервала (не включительно)", required = true, example = "2024-02-01T00:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(getRevenueReportUseCase.getRevenueReport(granularity, from, to));
+    }
+
     @Operation(summary = "Применить скидку к счету", description = "Применяет скидку к счету в статусе PENDING")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Скидка успешно применена",
@@ -188,13 +253,13 @@ public class BillingController {
         return ResponseEntity.ok(updateBillUseCase.payBill(id, paymentMethod));
     }
 
-    @Operation(summary = "Отменить счет", description = "Отменяет счет, если он еще не оплачен")
+    @Operation(summary = "Отменить счет", description = "Отменяет счет, если он еще не оплачен и не отменен")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Счет успешно отменен",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = BillDto.class))),
             @ApiResponse(responseCode = "404", description = "Счет не найден",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
-            @ApiResponse(responseCode = "409", description = "Нельзя отменить оплаченный счет",
+            @ApiResponse(responseCode = "409", description = "Нельзя отменить оплаченный или уже отмененный счет",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PatchMapping("/{id}/cancel")
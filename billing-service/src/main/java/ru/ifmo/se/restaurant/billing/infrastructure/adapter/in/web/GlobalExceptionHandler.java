@@ -14,6 +14,7 @@ import ru.ifmo.se.restaurant.billing.application.dto.ErrorResponse;
 import ru.ifmo.se.restaurant.billing.domain.exception.BillAlreadyExistsException;
 import ru.ifmo.se.restaurant.billing.domain.exception.BillNotFoundException;
 import ru.ifmo.se.restaurant.billing.domain.exception.InvalidBillOperationException;
+import ru.ifmo.se.restaurant.billing.domain.exception.InvalidReportRangeException;
 import ru.ifmo.se.restaurant.billing.domain.exception.OrderServiceException;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -70,6 +71,21 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    @ExceptionHandler(InvalidReportRangeException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidReportRange(
+            InvalidReportRangeException ex,
+            HttpServletRequest request) {
+        log.warn("Invalid report range: {}", ex.getMessage());
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Bad Request")
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     @ExceptionHandler(OrderServiceException.class)
     public ResponseEntity<ErrorResponse> handleOrderServiceException(
             OrderServiceException ex,
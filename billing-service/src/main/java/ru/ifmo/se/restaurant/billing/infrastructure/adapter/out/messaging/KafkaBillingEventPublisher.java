@@ -12,27 +12,27 @@ import ru.ifmo.se.restaurant.common.event.billing.BillGeneratedEvent;
 import ru.ifmo.se.restaurant.common.event.billing.BillPaidEvent;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class KafkaBillingEventPublisher implements BillingEventPublisher {
 
+    private static final long SEND_TIMEOUT_SECONDS = 30;
+
     private final KafkaTemplate<String, Object> kafkaTemplate;
 
     @Override
     public void publishBillGenerated(Bill bill) {
-        BillGeneratedEvent payload = BillGeneratedEvent.builder()
-                .billId(bill.getId())
-                .orderId(bill.getOrderId())
-                .subtotal(bill.getTotalAmount())
-                .tax(bill.getTaxAmount())
-                .serviceCharge(bill.getServiceCharge())
-                .totalAmount(bill.getFinalAmount())
-                .generatedAt(Instant.now())
-                .build();
-
-        DomainEvent<BillGeneratedEvent> event = DomainEvent.create("BILL_GENERATED", payload);
+        DomainEvent<BillGeneratedEvent> event = billGeneratedEvent(bill);
         String key = String.valueOf(bill.getOrderId());
 
         kafkaTemplate.send(KafkaTopics.BILLING_GENERATED, key, event)
@@ -48,17 +48,23 @@ public class KafkaBillingEventPublisher implements BillingEventPublisher {
                 });
     }
 
-    @Override
-    public void publishBillPaid(Bill bill) {
-        BillPaidEvent payload = BillPaidEvent.builder()
+    private DomainEvent<BillGeneratedEvent> billGeneratedEvent(Bill bill) {
+        BillGeneratedEvent payload = BillGeneratedEvent.builder()
                 .billId(bill.getId())
                 .orderId(bill.getOrderId())
-                .amountPaid(bill.getFinalAmount())
-                .paymentMethod(bill.getPaymentMethod() != null ? bill.getPaymentMethod().name() : null)
-                .paidAt(Instant.now())
+                .subtotal(bill.getTotalAmount().toBigDecimal())
+                .tax(bill.getTaxAmount().toBigDecimal())
+                .serviceCharge(bill.getServiceCharge().toBigDecimal())
+                .totalAmount(bill.getFinalAmount().toBigDecimal())
+                .generatedAt(Instant.now())
                 .build();
 
-        DomainEvent<BillPaidEvent> event = DomainEvent.create("BILL_PAID", payload);
+        return DomainEvent.create("BILL_GENERATED", payload);
+    }
+
+    @Override
+    public void publishBillPaid(Bill bill) {
+        DomainEvent<BillPaidEvent> event = billPaidEvent(bill);
         String key = String.valueOf(bill.getOrderId());
 
         kafkaTemplate.send(KafkaTopics.BILLING_PAID, key, event)
@@ -73,4 +79,64 @@ public class KafkaBillingEventPublisher implements BillingEventPublisher {
                     }
                 });
     }
+
+    private DomainEvent<BillPaidEvent> billPaidEvent(Bill bill) {
+        BillPaidEvent payload = BillPaidEvent.builder()
+                .billId(bill.getId())
+                .orderId(bill.getOrderId())
+                .amountPaid(bill.getFinalAmount().toBigDecimal())
+                .paymentMethod(bill.getPaymentMethod() != null ? bill.getPaymentMethod().name() : null)
+                .paidAt(Instant.now())
+                .build();
+
+        return DomainEvent.create("BILL_PAID", payload);
+    }
+
+    @Override
+    public Set<Long> publishBills(List<Bill> bills) {
+        if (bills.isEmpty()) {
+            return Set.of();
+        }
+        List<Send> sends = new ArrayList<>(bills.size() * 2);
+        for (Bill bill : bills) {
+            String key = String.valueOf(bill.getOrderId());
+            sends.add(new Send(bill, kafkaTemplate.send(KafkaTopics.BILLING_GENERATED, key, billGeneratedEvent(bill))));
+            if (bill.isPaid()) {
+                sends.add(new Send(bill, kafkaTemplate.send(KafkaTopics.BILLING_PAID, key, billPaidEvent(bill))));
+            }
+        }
+        kafkaTemplate.flush();
+        awaitAll(sends);
+
+        Set<Long> failed = new HashSet<>();
+        for (Send send : sends) {
+            if (!send.future().isDone() || send.future().isCompletedExceptionally()) {
+                failed.add(send.bill().getId());
+            }
+        }
+        log.info("Published {} billing events for {} bills, {} bills failed", sends.size(), bills.size(), failed.size());
+        return failed;
+    }
+
+    /**
+     * Waits for the broker to acknowledge every send. Sends still pending after the timeout count as failed.
+     */
+    private void awaitAll(List<Send> sends) {
+        try {
+            CompletableFuture.allOf(sends.stream().map(Send::future).toArray(CompletableFuture[]::new))
+                    .get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            sends.stream()
+                    .filter(send -> send.future().isCompletedExceptionally())
+                    .forEach(send -> log.error("Failed to publish billing event for bill: {}",
+                            send.bill().getId(), send.future().exceptionNow()));
+        } catch (TimeoutException e) {
+            log.error("Billing events were not acknowledged within {} seconds", SEND_TIMEOUT_SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Send(Bill bill, CompletableFuture<?> future) {
+    }
 }
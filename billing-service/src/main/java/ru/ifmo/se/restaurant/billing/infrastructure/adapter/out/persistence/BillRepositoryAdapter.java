@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 import ru.ifmo.se.restaurant.billing.application.port.out.BillRepository;
 import ru.ifmo.se.restaurant.billing.domain.entity.Bill;
@@ -12,6 +13,12 @@ import ru.ifmo.se.restaurant.billing.domain.valueobject.BillStatus;
 import ru.ifmo.se.restaurant.billing.infrastructure.adapter.out.persistence.entity.BillJpaEntity;
 import ru.ifmo.se.restaurant.billing.infrastructure.adapter.out.persistence.repository.BillJpaRepository;
 
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,7 +26,14 @@ import java.util.Optional;
 @Component
 @RequiredArgsConstructor
 public class BillRepositoryAdapter implements BillRepository {
+    // The subtotal guard skips drafts whose order changed after they were loaded
+    private static final String FINALIZE_DRAFT_SQL =
+            "UPDATE bills SET total_amount = ?, tax_amount = ?, service_charge = ?, discount_amount = ?, " +
+            "final_amount = ?, status = ?, payment_method = ?, created_at = ?, paid_at = ? " +
+            "WHERE id = ? AND status = 'DRAFT' AND total_amount = ?";
+
     private final BillJpaRepository jpaRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
     public Bill save(Bill bill) {
@@ -39,14 +53,14 @@ public class BillRepositoryAdapter implements BillRepository {
     @Override
     public Optional<Bill> findByOrderId(Long orderId) {
         log.debug("Finding bill by orderId: {}", orderId);
-        return jpaRepository.findByOrderId(orderId)
+        return jpaRepository.findByOrderIdAndStatusNot(orderId, BillStatus.DRAFT)
                 .map(BillJpaEntity::toDomain);
     }
 
     @Override
     public List<Bill> findAll() {
         log.debug("Finding all bills");
-        return jpaRepository.findAll().stream()
+        return jpaRepository.findByStatusNot(BillStatus.DRAFT).stream()
                 .map(BillJpaEntity::toDomain)
                 .toList();
     }
@@ -54,14 +68,14 @@ public class BillRepositoryAdapter implements BillRepository {
     @Override
     public Page<Bill> findAll(Pageable pageable) {
         log.debug("Finding all bills with pagination: {}", pageable);
-        return jpaRepository.findAll(pageable)
+        return jpaRepository.findByStatusNot(BillStatus.DRAFT, pageable)
                 .map(BillJpaEntity::toDomain);
     }
 
     @Override
     public Slice<Bill> findAllSlice(Pageable pageable) {
         log.debug("Finding all bills slice with pagination: {}", pageable);
-        Page<BillJpaEntity> page = jpaRepository.findAll(pageable);
+        Page<BillJpaEntity> page = jpaRepository.findByStatusNot(BillStatus.DRAFT, pageable);
         return page.map(BillJpaEntity::toDomain);
     }
 
@@ -91,4 +105,80 @@ public class BillRepositoryAdapter implements BillRepository {
         log.debug("Deleting bill by id: {}", id);
         jpaRepository.deleteById(id);
     }
+
+    @Override
+    public void createDraftIfAbsent(Bill draft) {
+        log.debug("Creating draft bill for order: {}", draft.getOrderId());
+        jpaRepository.insertDraftIfAbsent(draft.getOrderId(), draft.getTotalAmount().toBigDecimal(),
+                draft.getTaxAmount().toBigDecimal(), draft.getServiceCharge().toBigDecimal(),
+                draft.getFinalAmount().toBigDecimal(), draft.getCreatedAt());
+    }
+
+    @Override
+    public boolean saveDraft(Bill draft) {
+        log.debug("Saving draft bill for order: {}, subtotal: {}", draft.getOrderId(), draft.getTotalAmount());
+        return jpaRepository.upsertDraft(draft.getOrderId(), draft.getTotalAmount().toBigDecimal(),
+                draft.getTaxAmount().toBigDecimal(), draft.getServiceCharge().toBigDecimal(),
+                draft.getFinalAmount().toBigDecimal(), draft.getCreatedAt()) > 0;
+    }
+
+    @Override
+    public boolean finalizeDraft(Long orderId, LocalDateTime generatedAt) {
+        log.debug("Finalizing draft bill for order: {}", orderId);
+        return jpaRepository.updateStatusIfDraft(orderId, BillStatus.PENDING, generatedAt, BillStatus.DRAFT) > 0;
+    }
+
+    @Override
+    public List<Bill> findDraftsByOrderIds(Collection<Long> orderIds) {
+        log.debug("Finding draft bills for {} orders", orderIds.size());
+        return jpaRepository.findByStatusAndOrderIdIn(BillStatus.DRAFT, orderIds).stream()
+                .map(BillJpaEntity::toDomain)
+                .toList();
+    }
+
+    @Override
+    public List<Bill> findDraftsCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        log.debug("Finding draft bills created between {} and {}", from, to);
+        return jpaRepository.findByStatusAndCreatedAtBetween(BillStatus.DRAFT, from, to).stream()
+                .map(BillJpaEntity::toDomain)
+                .toList();
+    }
+
+    @Override
+    public List<Bill> finalizeDrafts(List<Bill> bills) {
+        log.debug("Finalizing {} draft bills", bills.size());
+        if (bills.isEmpty()) {
+            return List.of();
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(FINALIZE_DRAFT_SQL, bills, bills.size(), (ps, bill) -> {
+            ps.setBigDecimal(1, bill.getTotalAmount().toBigDecimal());
+            ps.setBigDecimal(2, bill.getTaxAmount().toBigDecimal());
+            ps.setBigDecimal(3, bill.getServiceCharge().toBigDecimal());
+            ps.setBigDecimal(4, bill.getDiscountAmount().toBigDecimal());
+            ps.setBigDecimal(5, bill.getFinalAmount().toBigDecimal());
+            ps.setString(6, bill.getStatus().name());
+            if (bill.getPaymentMethod() != null) {
+                ps.setString(7, bill.getPaymentMethod().name());
+            } else {
+                ps.setNull(7, Types.VARCHAR);
+            }
+            ps.setTimestamp(8, Timestamp.valueOf(bill.getCreatedAt()));
+            if (bill.getPaidAt() != null) {
+                ps.setTimestamp(9, Timestamp.valueOf(bill.getPaidAt()));
+            } else {
+                ps.setNull(9, Types.TIMESTAMP);
+            }
+            ps.setLong(10, bill.getId());
+            ps.setBigDecimal(11, bill.getTotalAmount().toBigDecimal());
+        });
+
+        List<Bill> updated = new ArrayList<>(bills.size());
+        for (int i = 0; i < bills.size(); i++) {
+            int count = counts[0][i];
+            if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                updated.add(bills.get(i));
+            }
+        }
+        return updated;
+    }
 }
@@ -0,0 +1,130 @@
+package ru.ifmo.se.restaurant.billing.infrastructure.adapter.out.persistence;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.ifmo.se.restaurant.billing.application.port.out.RevenueRollupRepository;
+import ru.ifmo.se.restaurant.billing.domain.entity.RevenueRollup;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.BillStatus;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.Money;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.PaymentMethod;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.RevenueDelta;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.RollupGranularity;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RevenueRollupRepositoryAdapter implements RevenueRollupRepository {
+    private static final String NO_PAYMENT_METHOD = "";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO %s AS r (bucket_start, status, payment_method, bill_count, total_amount, tax_amount, " +
+            "service_charge, discount_amount, final_amount) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (bucket_start, status, payment_method) DO UPDATE SET " +
+            "bill_count = r.bill_count + EXCLUDED.bill_count, " +
+            "total_amount = r.total_amount + EXCLUDED.total_amount, " +
+            "tax_amount = r.tax_amount + EXCLUDED.tax_amount, " +
+            "service_charge = r.service_charge + EXCLUDED.service_charge, " +
+            "discount_amount = r.discount_amount + EXCLUDED.discount_amount, " +
+            "final_amount = r.final_amount + EXCLUDED.final_amount";
+
+    private static final String SELECT_RANGE_SQL =
+            "SELECT bucket_start, status, payment_method, bill_count, total_amount, tax_amount, service_charge, " +
+            "discount_amount, final_amount FROM %s WHERE bucket_start >= ? AND bucket_start < ? " +
+            "ORDER BY bucket_start, status, payment_method";
+
+    // Rows are written in key order so concurrent transactions lock shared rows in the same order
+    private static final Comparator<BucketKey> KEY_ORDER = Comparator
+            .comparing(BucketKey::bucketStart)
+            .thenComparing(key -> key.status().name())
+            .thenComparing(BucketKey::paymentMethod);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void record(List<RevenueDelta> deltas) {
+        log.debug("Recording {} revenue deltas", deltas.size());
+        if (deltas.isEmpty()) {
+            return;
+        }
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            Map<BucketKey, Totals> rows = new TreeMap<>(KEY_ORDER);
+            for (RevenueDelta delta : deltas) {
+                BucketKey key = new BucketKey(granularity.bucketOf(delta.getOccurredAt()), delta.getStatus(),
+                        delta.getPaymentMethod() != null ? delta.getPaymentMethod().name() : NO_PAYMENT_METHOD);
+                rows.computeIfAbsent(key, k -> new Totals()).add(delta);
+            }
+            List<Map.Entry<BucketKey, Totals>> batch = new ArrayList<>(rows.entrySet());
+            jdbcTemplate.batchUpdate(UPSERT_SQL.formatted(tableName(granularity)), batch, batch.size(), (ps, row) -> {
+                BucketKey key = row.getKey();
+                Totals totals = row.getValue();
+                ps.setTimestamp(1, Timestamp.valueOf(key.bucketStart()));
+                ps.setString(2, key.status().name());
+                ps.setString(3, key.paymentMethod());
+                ps.setLong(4, totals.billCount);
+                ps.setBigDecimal(5, totals.totalAmount.toBigDecimal());
+                ps.setBigDecimal(6, totals.taxAmount.toBigDecimal());
+                ps.setBigDecimal(7, totals.serviceCharge.toBigDecimal());
+                ps.setBigDecimal(8, totals.discountAmount.toBigDecimal());
+                ps.setBigDecimal(9, totals.finalAmount.toBigDecimal());
+            });
+        }
+    }
+
+    @Override
+    public List<RevenueRollup> findByBucketRange(RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        log.debug("Finding {} revenue rollups from {} to {}", granularity, from, to);
+        return jdbcTemplate.query(SELECT_RANGE_SQL.formatted(tableName(granularity)), (rs, rowNum) -> {
+            String paymentMethod = rs.getString("payment_method");
+            return RevenueRollup.builder()
+                    .bucketStart(rs.getTimestamp("bucket_start").toLocalDateTime())
+                    .status(BillStatus.valueOf(rs.getString("status")))
+                    .paymentMethod(paymentMethod == null || paymentMethod.isEmpty()
+                            ? null : PaymentMethod.valueOf(paymentMethod))
+                    .billCount(rs.getLong("bill_count"))
+                    .totalAmount(Money.of(rs.getBigDecimal("total_amount")))
+                    .taxAmount(Money.of(rs.getBigDecimal("tax_amount")))
+                    .serviceCharge(Money.of(rs.getBigDecimal("service_charge")))
+                    .discountAmount(Money.of(rs.getBigDecimal("discount_amount")))
+                    .finalAmount(Money.of(rs.getBigDecimal("final_amount")))
+                    .build();
+        }, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    private static String tableName(RollupGranularity granularity) {
+        return switch (granularity) {
+            case HOUR -> "revenue_rollup_hourly";
+            case DAY -> "revenue_rollup_daily";
+        };
+    }
+
+    private record BucketKey(LocalDateTime bucketStart, BillStatus status, String paymentMethod) {
+    }
+
+    private static final class Totals {
+        private long billCount;
+        private Money totalAmount = Money.ZERO;
+        private Money taxAmount = Money.ZERO;
+        private Money serviceCharge = Money.ZERO;
+        private Money discountAmount = Money.ZERO;
+        private Money finalAmount = Money.ZERO;
+
+        private void add(RevenueDelta delta) {
+            billCount += delta.getBillCount();
+            totalAmount = totalAmount.plus(delta.getTotalAmount());
+            taxAmount = taxAmount.plus(delta.getTaxAmount());
+            serviceCharge = serviceCharge.plus(delta.getServiceCharge());
+            discountAmount = discountAmount.plus(delta.getDiscountAmount());
+            finalAmount = finalAmount.plus(delta.getFinalAmount());
+        }
+    }
+}
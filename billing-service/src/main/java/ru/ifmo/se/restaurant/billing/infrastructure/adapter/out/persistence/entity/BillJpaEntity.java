@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.*;
 import ru.ifmo.se.restaurant.billing.domain.entity.Bill;
 import ru.ifmo.se.restaurant.billing.domain.valueobject.BillStatus;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.Money;
 import ru.ifmo.se.restaurant.billing.domain.valueobject.PaymentMethod;
 
 import java.math.BigDecimal;
@@ -60,11 +61,11 @@ public class BillJpaEntity {
         return BillJpaEntity.builder()
                 .id(domain.getId())
                 .orderId(domain.getOrderId())
-                .totalAmount(domain.getTotalAmount())
-                .taxAmount(domain.getTaxAmount())
-                .serviceCharge(domain.getServiceCharge())
-                .discountAmount(domain.getDiscountAmount())
-                .finalAmount(domain.getFinalAmount())
+                .totalAmount(domain.getTotalAmount().toBigDecimal())
+                .taxAmount(domain.getTaxAmount().toBigDecimal())
+                .serviceCharge(domain.getServiceCharge().toBigDecimal())
+                .discountAmount(domain.getDiscountAmount().toBigDecimal())
+                .finalAmount(domain.getFinalAmount().toBigDecimal())
                 .status(domain.getStatus())
                 .paymentMethod(domain.getPaymentMethod())
                 .createdAt(domain.getCreatedAt())
@@ -77,11 +78,11 @@ public class BillJpaEntity {
         return Bill.builder()
                 .id(id)
                 .orderId(orderId)
-                .totalAmount(totalAmount)
-                .taxAmount(taxAmount)
-                .serviceCharge(serviceCharge)
-                .discountAmount(discountAmount)
-                .finalAmount(finalAmount)
+                .totalAmount(Money.of(totalAmount))
+                .taxAmount(Money.of(taxAmount))
+                .serviceCharge(Money.of(serviceCharge))
+                .discountAmount(Money.of(discountAmount))
+                .finalAmount(Money.of(finalAmount))
                 .status(status)
                 .paymentMethod(paymentMethod)
                 .createdAt(createdAt)
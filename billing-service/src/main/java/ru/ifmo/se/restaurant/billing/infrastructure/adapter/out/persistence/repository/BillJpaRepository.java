@@ -3,16 +3,60 @@ package ru.ifmo.se.restaurant.billing.infrastructure.adapter.out.persistence.rep
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.ifmo.se.restaurant.billing.domain.valueobject.BillStatus;
 import ru.ifmo.se.restaurant.billing.infrastructure.adapter.out.persistence.entity.BillJpaEntity;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BillJpaRepository extends JpaRepository<BillJpaEntity, Long> {
     Optional<BillJpaEntity> findByOrderId(Long orderId);
+    Optional<BillJpaEntity> findByOrderIdAndStatusNot(Long orderId, BillStatus status);
+    List<BillJpaEntity> findByStatusNot(BillStatus status);
+    Page<BillJpaEntity> findByStatusNot(BillStatus status, Pageable pageable);
     List<BillJpaEntity> findByStatus(BillStatus status);
     Page<BillJpaEntity> findByStatus(BillStatus status, Pageable pageable);
+    List<BillJpaEntity> findByStatusAndOrderIdIn(BillStatus status, Collection<Long> orderIds);
+    List<BillJpaEntity> findByStatusAndCreatedAtBetween(BillStatus status, LocalDateTime from, LocalDateTime to);
+
+    String INSERT_DRAFT = "INSERT INTO bills (order_id, total_amount, tax_amount, service_charge, discount_amount, " +
+            "final_amount, status, created_at) " +
+            "VALUES (:orderId, :totalAmount, :taxAmount, :serviceCharge, 0, :finalAmount, 'DRAFT', :createdAt) ";
+
+    @Modifying
+    @Query(value = INSERT_DRAFT + "ON CONFLICT (order_id) DO NOTHING", nativeQuery = true)
+    int insertDraftIfAbsent(@Param("orderId") Long orderId,
+                            @Param("totalAmount") BigDecimal totalAmount,
+                            @Param("taxAmount") BigDecimal taxAmount,
+                            @Param("serviceCharge") BigDecimal serviceCharge,
+                            @Param("finalAmount") BigDecimal finalAmount,
+                            @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query(value = INSERT_DRAFT + "ON CONFLICT (order_id) DO UPDATE SET " +
+            "total_amount = EXCLUDED.total_amount, tax_amount = EXCLUDED.tax_amount, " +
+            "service_charge = EXCLUDED.service_charge, final_amount = EXCLUDED.final_amount " +
+            "WHERE bills.status = 'DRAFT'", nativeQuery = true)
+    int upsertDraft(@Param("orderId") Long orderId,
+                    @Param("totalAmount") BigDecimal totalAmount,
+                    @Param("taxAmount") BigDecimal taxAmount,
+                    @Param("serviceCharge") BigDecimal serviceCharge,
+                    @Param("finalAmount") BigDecimal finalAmount,
+                    @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE BillJpaEntity b SET b.status = :status, b.createdAt = :generatedAt " +
+            "WHERE b.orderId = :orderId AND b.status = :draftStatus")
+    int updateStatusIfDraft(@Param("orderId") Long orderId,
+                            @Param("status") BillStatus status,
+                            @Param("generatedAt") LocalDateTime generatedAt,
+                            @Param("draftStatus") BillStatus draftStatus);
 }
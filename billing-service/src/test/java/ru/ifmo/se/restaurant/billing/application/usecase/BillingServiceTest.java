@@ -3,6 +3,7 @@ package ru.ifmo.se.restaurant.billing.application.usecase;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -11,10 +12,13 @@ import ru.ifmo.se.restaurant.billing.application.dto.OrderDto;
 import ru.ifmo.se.restaurant.billing.application.port.out.BillingEventPublisher;
 import ru.ifmo.se.restaurant.billing.application.port.out.BillRepository;
 import ru.ifmo.se.restaurant.billing.application.port.out.OrderServicePort;
+import ru.ifmo.se.restaurant.billing.application.port.out.RevenueRollupRepository;
 import ru.ifmo.se.restaurant.billing.domain.entity.Bill;
 import ru.ifmo.se.restaurant.billing.domain.exception.BillNotFoundException;
 import ru.ifmo.se.restaurant.billing.domain.valueobject.BillStatus;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.Money;
 import ru.ifmo.se.restaurant.billing.domain.valueobject.PaymentMethod;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.RevenueDelta;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -38,6 +42,7 @@ class BillingServiceTest {
     @Mock private BillRepository billRepository;
     @Mock private OrderServicePort orderServicePort;
     @Mock private BillingEventPublisher billingEventPublisher;
+    @Mock private RevenueRollupRepository revenueRollupRepository;
     @InjectMocks private BillingService billingService;
 
     private Bill testBill;
@@ -46,11 +51,11 @@ class BillingServiceTest {
     void setUp() {
         testBill = Bill.builder()
                 .id(1L).orderId(100L)
-                .totalAmount(new BigDecimal("100.00"))
-                .taxAmount(new BigDecimal("10.00"))
-                .serviceCharge(new BigDecimal("5.00"))
-                .discountAmount(BigDecimal.ZERO)
-                .finalAmount(new BigDecimal("115.00"))
+                .totalAmount(Money.of("100.00"))
+                .taxAmount(Money.of("10.00"))
+                .serviceCharge(Money.of("5.00"))
+                .discountAmount(Money.ZERO)
+                .finalAmount(Money.of("115.00"))
                 .status(BillStatus.PENDING)
                 .createdAt(LocalDateTime.now())
                 .build();
@@ -89,6 +94,8 @@ class BillingServiceTest {
         BillDto result = billingService.generateBill(100L);
         assertNotNull(result);
         verify(billRepository).save(any(Bill.class));
+        verify(revenueRollupRepository).record(argThat(deltas ->
+                deltas.size() == 1 && deltas.get(0).getStatus() == BillStatus.PENDING));
     }
 
     @Test
@@ -114,14 +121,43 @@ class BillingServiceTest {
 
     @Test
     void deleteBill_ShouldDelete() {
-        when(billRepository.existsById(1L)).thenReturn(true);
+        when(billRepository.findById(1L)).thenReturn(Optional.of(testBill));
         doNothing().when(billRepository).deleteById(1L);
         assertDoesNotThrow(() -> billingService.deleteBill(1L));
+        verify(billRepository).deleteById(1L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deleteBill_ShouldReverseRollupsOfPaidBill() {
+        LocalDateTime paidAt = LocalDateTime.now();
+        Bill paid = Bill.forSubtotal(100L, Money.of("100.00"), BillStatus.PAID, paidAt.minusHours(2)).toBuilder()
+                .id(1L)
+                .paymentMethod(PaymentMethod.CREDIT_CARD)
+                .paidAt(paidAt)
+                .build();
+        when(billRepository.findById(1L)).thenReturn(Optional.of(paid));
+
+        billingService.deleteBill(1L);
+
+        ArgumentCaptor<List<RevenueDelta>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(revenueRollupRepository).record(deltas.capture());
+        assertEquals(2, deltas.getValue().size());
+        RevenueDelta pending = deltas.getValue().get(0);
+        assertEquals(BillStatus.PENDING, pending.getStatus());
+        assertEquals(paid.getCreatedAt(), pending.getOccurredAt());
+        assertEquals(-1, pending.getBillCount());
+        RevenueDelta settled = deltas.getValue().get(1);
+        assertEquals(BillStatus.PAID, settled.getStatus());
+        assertEquals(PaymentMethod.CREDIT_CARD, settled.getPaymentMethod());
+        assertEquals(paidAt, settled.getOccurredAt());
+        assertEquals(Money.of("-115.00"), settled.getFinalAmount());
+        verify(billRepository).deleteById(1L);
     }
 
     @Test
     void deleteBill_ShouldThrow_WhenNotFound() {
-        when(billRepository.existsById(999L)).thenReturn(false);
+        when(billRepository.findById(999L)).thenReturn(Optional.empty());
         assertThrows(BillNotFoundException.class, () -> billingService.deleteBill(999L));
     }
 
@@ -177,11 +213,45 @@ class BillingServiceTest {
 
     @Test
     void generateBill_ShouldThrow_WhenBillExists() {
-        OrderDto order = new OrderDto();
-        order.setId(100L);
-        when(orderServicePort.getOrder(100L)).thenReturn(order);
         when(billRepository.findByOrderId(100L)).thenReturn(Optional.of(testBill));
         assertThrows(BillAlreadyExistsException.class, () -> billingService.generateBill(100L));
+        verifyNoInteractions(orderServicePort);
+    }
+
+    @Test
+    void generateBill_ShouldFinalizeDraft_WithoutCallingOrderService() {
+        when(billRepository.finalizeDraft(eq(100L), any(LocalDateTime.class))).thenReturn(true);
+        when(billRepository.findByOrderId(100L)).thenReturn(Optional.of(testBill));
+
+        BillDto result = billingService.generateBill(100L);
+
+        assertEquals(1L, result.getId());
+        verify(billingEventPublisher).publishBillGenerated(testBill);
+        verify(billRepository, never()).save(any(Bill.class));
+        verifyNoInteractions(orderServicePort);
+    }
+
+    @Test
+    void updateDraft_ShouldPriceSubtotal() {
+        when(billRepository.saveDraft(any(Bill.class))).thenReturn(true);
+
+        billingService.updateDraft(100L, new BigDecimal("200.00"));
+
+        ArgumentCaptor<Bill> captor = ArgumentCaptor.forClass(Bill.class);
+        verify(billRepository).saveDraft(captor.capture());
+        Bill draft = captor.getValue();
+        assertEquals(BillStatus.DRAFT, draft.getStatus());
+        assertEquals(Money.of("20.00"), draft.getTaxAmount());
+        assertEquals(Money.of("10.00"), draft.getServiceCharge());
+        assertEquals(Money.of("230.00"), draft.getFinalAmount());
+    }
+
+    @Test
+    void openDraft_ShouldCreateEmptyDraft_WhenTotalMissing() {
+        billingService.openDraft(100L, null);
+
+        verify(billRepository).createDraftIfAbsent(argThat(draft ->
+                draft.isDraft() && draft.getOrderId().equals(100L) && draft.getFinalAmount().isZero()));
     }
 
     @Test
@@ -206,6 +276,37 @@ class BillingServiceTest {
         assertNotNull(result);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void applyDiscount_ShouldRecordAmountChange_WithoutCountingBillAgain() {
+        when(billRepository.findById(1L)).thenReturn(Optional.of(testBill));
+        when(billRepository.save(any(Bill.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        billingService.applyDiscount(1L, new BigDecimal("10.00"));
+
+        ArgumentCaptor<List<RevenueDelta>> captor = ArgumentCaptor.forClass(List.class);
+        verify(revenueRollupRepository).record(captor.capture());
+        RevenueDelta delta = captor.getValue().get(0);
+        assertEquals(0, delta.getBillCount());
+        assertEquals(BillStatus.PENDING, delta.getStatus());
+        assertEquals(Money.of("10.00"), delta.getDiscountAmount());
+        assertEquals(Money.of("-10.00"), delta.getFinalAmount());
+    }
+
+    @Test
+    void payBill_ShouldRecordPaidRevenueByPaymentMethod() {
+        when(billRepository.findById(1L)).thenReturn(Optional.of(testBill));
+        when(billRepository.save(any(Bill.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        billingService.payBill(1L, PaymentMethod.DEBIT_CARD);
+
+        verify(revenueRollupRepository).record(argThat(deltas -> deltas.size() == 1
+                && deltas.get(0).getStatus() == BillStatus.PAID
+                && deltas.get(0).getPaymentMethod() == PaymentMethod.DEBIT_CARD
+                && deltas.get(0).getBillCount() == 1
+                && deltas.get(0).getOccurredAt() != null));
+    }
+
     @Test
     void applyDiscount_ShouldThrow_WhenNotPending() {
         Bill paidBill = Bill.builder().id(1L).status(BillStatus.PAID).build();
@@ -243,6 +344,27 @@ class BillingServiceTest {
         assertThrows(InvalidBillOperationException.class, () -> billingService.cancelBill(1L));
     }
 
+    @Test
+    void cancelBill_ShouldThrow_WhenAlreadyCancelled() {
+        Bill cancelledBill = testBill.toBuilder().status(BillStatus.CANCELLED).build();
+        when(billRepository.findById(1L)).thenReturn(Optional.of(cancelledBill));
+        assertThrows(InvalidBillOperationException.class, () -> billingService.cancelBill(1L));
+        verify(billRepository, never()).save(any());
+        verifyNoInteractions(revenueRollupRepository);
+    }
+
+    @Test
+    void cancelBill_ShouldNotRecordRevenueDelta_WhenDraft() {
+        Bill draft = testBill.toBuilder().status(BillStatus.DRAFT).build();
+        when(billRepository.findById(1L)).thenReturn(Optional.of(draft));
+        when(billRepository.save(any(Bill.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BillDto result = billingService.cancelBill(1L);
+
+        assertEquals(BillStatus.CANCELLED, result.getStatus());
+        verifyNoInteractions(revenueRollupRepository);
+    }
+
     @Test
     void cancelBill_ShouldThrow_WhenNotFound() {
         when(billRepository.findById(999L)).thenReturn(Optional.empty());
@@ -0,0 +1,242 @@
+package ru.ifmo.se.restaurant.billing.application.usecase;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.ifmo.se.restaurant.billing.application.dto.BulkBillingJobDto;
+import ru.ifmo.se.restaurant.billing.application.dto.BulkBillingRequestDto;
+import ru.ifmo.se.restaurant.billing.application.port.out.BillRepository;
+import ru.ifmo.se.restaurant.billing.application.port.out.BillingEventPublisher;
+import ru.ifmo.se.restaurant.billing.application.port.out.RevenueRollupRepository;
+import ru.ifmo.se.restaurant.billing.domain.entity.Bill;
+import ru.ifmo.se.restaurant.billing.domain.exception.BillNotFoundException;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.BillStatus;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.Money;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.PaymentMethod;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.RevenueDelta;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkBillingServiceTest {
+
+    @Mock
+    private BillRepository billRepository;
+
+    @Mock
+    private BillingEventPublisher billingEventPublisher;
+
+    @Mock
+    private RevenueRollupRepository revenueRollupRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BulkBillingService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BulkBillingService(billRepository, billingEventPublisher, revenueRollupRepository, transactionManager, 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private Bill draft(long orderId) {
+        return Bill.builder()
+                .id(orderId + 1000)
+                .orderId(orderId)
+                .totalAmount(Money.of("100.00"))
+                .status(BillStatus.DRAFT)
+                .createdAt(LocalDateTime.now().minusHours(3))
+                .build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void run_ShouldSettleDraftsInChunks_AndPublishEachChunk() {
+        List<Long> orderIds = LongStream.rangeClosed(1, 5).boxed().collect(Collectors.toList());
+        when(billRepository.findDraftsByOrderIds(containingExactly(orderIds)))
+                .thenReturn(orderIds.stream().map(this::draft).collect(Collectors.toList()));
+        when(billRepository.finalizeDrafts(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BulkBillingJob job = new BulkBillingJob("job");
+        service.run(job, BulkBillingRequestDto.builder().orderIds(orderIds).paymentMethod(PaymentMethod.CASH).build());
+
+        verify(billRepository, times(3)).finalizeDrafts(anyList());
+        ArgumentCaptor<List<Bill>> published = ArgumentCaptor.forClass(List.class);
+        verify(billingEventPublisher, times(3)).publishBills(published.capture());
+        List<Bill> publishedBills = published.getAllValues().stream().flatMap(List::stream).collect(Collectors.toList());
+        assertEquals(5, publishedBills.size());
+        Bill bill = publishedBills.get(0);
+        assertEquals(BillStatus.PAID, bill.getStatus());
+        assertEquals(PaymentMethod.CASH, bill.getPaymentMethod());
+        assertNotNull(bill.getPaidAt());
+        assertEquals(Money.of("115.00"), bill.getFinalAmount());
+
+        ArgumentCaptor<List<RevenueDelta>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(revenueRollupRepository, times(3)).record(deltas.capture());
+        List<RevenueDelta> recorded = deltas.getAllValues().stream().flatMap(List::stream).collect(Collectors.toList());
+        assertEquals(5, recorded.stream().filter(delta -> delta.getStatus() == BillStatus.PENDING).count());
+        assertEquals(5, recorded.stream().filter(delta -> delta.getStatus() == BillStatus.PAID
+                && delta.getPaymentMethod() == PaymentMethod.CASH).count());
+
+        BulkBillingJobDto progress = job.toDto();
+        assertEquals("COMPLETED", progress.getStatus());
+        assertEquals(5, progress.getTotalOrders());
+        assertEquals(5, progress.getProcessedOrders());
+        assertEquals(5, progress.getGeneratedBills());
+        assertEquals(5, progress.getSettledBills());
+        assertEquals(0, progress.getFailedOrders());
+    }
+
+    @Test
+    void run_ShouldReportOrdersWithoutDraft_AndConcurrentlyGeneratedBills() {
+        when(billRepository.findDraftsByOrderIds(containingExactly(List.of(1L, 2L, 3L))))
+                .thenReturn(List.of(draft(1L), draft(2L)));
+        when(billRepository.finalizeDrafts(anyList())).thenAnswer(invocation -> {
+            List<Bill> bills = invocation.getArgument(0);
+            return new ArrayList<>(bills.subList(0, 1));
+        });
+        when(billRepository.findDraftsByOrderIds(List.of(2L))).thenReturn(List.of());
+
+        BulkBillingJob job = new BulkBillingJob("job");
+        service.run(job, BulkBillingRequestDto.builder().orderIds(List.of(1L, 2L, 3L)).build());
+
+        BulkBillingJobDto progress = job.toDto();
+        assertEquals(3, progress.getProcessedOrders());
+        assertEquals(1, progress.getGeneratedBills());
+        assertEquals(0, progress.getSettledBills());
+        assertEquals(2, progress.getFailedOrders());
+        assertTrue(progress.getErrors().stream().anyMatch(error -> error.getOrderId().equals(3L)));
+    }
+
+    @Test
+    void run_ShouldReportRetryableFailure_WhenOrderChangedAfterDraftsWereLoaded() {
+        when(billRepository.findDraftsByOrderIds(containingExactly(List.of(1L))))
+                .thenReturn(List.of(draft(1L)));
+        when(billRepository.finalizeDrafts(anyList())).thenReturn(List.of());
+
+        BulkBillingJob job = new BulkBillingJob("job");
+        service.run(job, BulkBillingRequestDto.builder().orderIds(List.of(1L)).build());
+
+        BulkBillingJobDto progress = job.toDto();
+        assertEquals(0, progress.getGeneratedBills());
+        assertEquals(1, progress.getFailedOrders());
+        assertEquals("Order changed while billing, retry the order", progress.getErrors().get(0).getMessage());
+        verifyNoInteractions(billingEventPublisher);
+    }
+
+    @Test
+    void run_ShouldReportUnsentEvents_WithoutFailingCommittedBills() {
+        when(billRepository.findDraftsByOrderIds(containingExactly(List.of(1L, 2L, 3L))))
+                .thenReturn(List.of(draft(1L), draft(2L), draft(3L)));
+        when(billRepository.finalizeDrafts(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(billingEventPublisher.publishBills(anyList())).thenAnswer(invocation -> {
+            List<Bill> bills = invocation.getArgument(0);
+            return bills.stream()
+                    .filter(bill -> bill.getOrderId().equals(2L))
+                    .map(Bill::getId)
+                    .collect(Collectors.toSet());
+        });
+
+        BulkBillingJob job = new BulkBillingJob("job");
+        service.run(job, BulkBillingRequestDto.builder().orderIds(List.of(1L, 2L, 3L)).build());
+
+        BulkBillingJobDto progress = job.toDto();
+        assertEquals("COMPLETED", progress.getStatus());
+        assertEquals(3, progress.getGeneratedBills());
+        assertEquals(0, progress.getFailedOrders());
+        assertEquals(1, progress.getErrors().size());
+        assertEquals(2L, progress.getErrors().get(0).getOrderId());
+        assertTrue(progress.getErrors().get(0).getMessage().startsWith("Bill saved, events not sent"));
+    }
+
+    @Test
+    void run_ShouldSelectDraftsByTimeRange() {
+        LocalDateTime from = LocalDateTime.now().minusHours(8);
+        LocalDateTime to = LocalDateTime.now();
+        when(billRepository.findDraftsCreatedBetween(from, to)).thenReturn(List.of(draft(1L)));
+        when(billRepository.finalizeDrafts(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BulkBillingJob job = new BulkBillingJob("job");
+        service.run(job, BulkBillingRequestDto.builder().from(from).to(to).build());
+
+        assertEquals(1, job.toDto().getGeneratedBills());
+        verify(billRepository, never()).findDraftsByOrderIds(anyList());
+    }
+
+    @Test
+    void run_ShouldMarkJobFailed_WhenDraftsCannotBeLoaded() {
+        LocalDateTime now = LocalDateTime.now();
+        when(billRepository.findDraftsCreatedBetween(now, now)).thenThrow(new IllegalStateException("db down"));
+
+        BulkBillingJob job = new BulkBillingJob("job");
+        service.run(job, BulkBillingRequestDto.builder().from(now).to(now).build());
+
+        assertEquals("FAILED", job.toDto().getStatus());
+        verifyNoInteractions(billingEventPublisher);
+    }
+
+    @Test
+    void getBulkBillingJob_ShouldReturnStartedJob() throws Exception {
+        when(billRepository.findDraftsByOrderIds(containingExactly(List.of(1L)))).thenReturn(List.of());
+
+        BulkBillingJobDto started = service.startBulkBilling(BulkBillingRequestDto.builder().orderIds(List.of(1L)).build());
+
+        BulkBillingJobDto progress = service.getBulkBillingJob(started.getJobId());
+        for (int i = 0; i < 100 && !"COMPLETED".equals(progress.getStatus()); i++) {
+            Thread.sleep(20);
+            progress = service.getBulkBillingJob(started.getJobId());
+        }
+        assertEquals("COMPLETED", progress.getStatus());
+        assertEquals(1, progress.getFailedOrders());
+    }
+
+    @Test
+    void getBulkBillingJob_ShouldKeepRunningJobs_WhenMoreThanRetainedAreQueued() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(billRepository.findDraftsByOrderIds(anyCollection())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        try {
+            BulkBillingJobDto running = service.startBulkBilling(BulkBillingRequestDto.builder().orderIds(List.of(1L)).build());
+            for (int i = 0; i < 60; i++) {
+                service.startBulkBilling(BulkBillingRequestDto.builder().orderIds(List.of(1L)).build());
+            }
+
+            assertEquals("RUNNING", service.getBulkBillingJob(running.getJobId()).getStatus());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void getBulkBillingJob_ShouldThrow_WhenUnknown() {
+        assertThrows(BillNotFoundException.class, () -> service.getBulkBillingJob("missing"));
+    }
+
+    private static <T> java.util.Collection<T> containingExactly(java.util.Collection<T> expected) {
+        return argThat(actual -> actual != null && actual.size() == expected.size() && actual.containsAll(expected));
+    }
+}
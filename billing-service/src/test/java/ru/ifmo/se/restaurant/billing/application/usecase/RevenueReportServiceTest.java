@@ -0,0 +1,96 @@
+package ru.ifmo.se.restaurant.billing.application.usecase;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.ifmo.se.restaurant.billing.application.dto.RevenueBucketDto;
+import ru.ifmo.se.restaurant.billing.application.dto.RevenueReportDto;
+import ru.ifmo.se.restaurant.billing.application.port.out.RevenueRollupRepository;
+import ru.ifmo.se.restaurant.billing.domain.entity.RevenueRollup;
+import ru.ifmo.se.restaurant.billing.domain.exception.InvalidReportRangeException;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.BillStatus;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.Money;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.PaymentMethod;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.RollupGranularity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RevenueReportServiceTest {
+
+    @Mock
+    private RevenueRollupRepository revenueRollupRepository;
+
+    @InjectMocks
+    private RevenueReportService service;
+
+    private RevenueRollup rollup(LocalDateTime bucketStart, BillStatus status, PaymentMethod paymentMethod,
+                                 long count, String finalAmount) {
+        return RevenueRollup.builder()
+                .bucketStart(bucketStart)
+                .status(status)
+                .paymentMethod(paymentMethod)
+                .billCount(count)
+                .totalAmount(Money.ZERO)
+                .taxAmount(Money.ZERO)
+                .serviceCharge(Money.ZERO)
+                .discountAmount(Money.ZERO)
+                .finalAmount(Money.of(finalAmount))
+                .build();
+    }
+
+    @Test
+    void getRevenueReport_ShouldAggregateRollupsPerBucketAndInTotal() {
+        LocalDateTime day1 = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime day2 = day1.plusDays(1);
+        when(revenueRollupRepository.findByBucketRange(RollupGranularity.DAY, day1, day1.plusDays(2)))
+                .thenReturn(List.of(
+                        rollup(day1, BillStatus.PAID, PaymentMethod.CASH, 2, "230.00"),
+                        rollup(day1, BillStatus.PAID, PaymentMethod.CREDIT_CARD, 1, "115.00"),
+                        rollup(day1, BillStatus.PENDING, null, 4, "460.00"),
+                        rollup(day2, BillStatus.PAID, PaymentMethod.CASH, 1, "100.00")));
+
+        RevenueReportDto report = service.getRevenueReport(RollupGranularity.DAY, day1.plusHours(5), day2.plusHours(3));
+
+        assertEquals(day1, report.getFrom());
+        assertEquals(day1.plusDays(2), report.getTo());
+        assertEquals(2, report.getBuckets().size());
+
+        RevenueBucketDto first = report.getBuckets().get(0);
+        assertEquals(day1, first.getBucketStart());
+        assertEquals(0, new BigDecimal("345.00").compareTo(first.getRevenue()));
+        assertEquals(3, first.getPaidBills());
+        assertEquals(4L, first.getBillsByStatus().get(BillStatus.PENDING));
+        assertEquals(2L, first.getPaidBillsByPaymentMethod().get(PaymentMethod.CASH));
+
+        RevenueBucketDto total = report.getTotal();
+        assertEquals(0, new BigDecimal("445.00").compareTo(total.getRevenue()));
+        assertEquals(4, total.getPaidBills());
+        assertEquals(0, new BigDecimal("330.00").compareTo(total.getRevenueByPaymentMethod().get(PaymentMethod.CASH)));
+    }
+
+    @Test
+    void getRevenueReport_ShouldThrow_WhenFromIsNotBeforeTo() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThrows(InvalidReportRangeException.class,
+                () -> service.getRevenueReport(RollupGranularity.HOUR, now, now));
+        verifyNoInteractions(revenueRollupRepository);
+    }
+
+    @Test
+    void getRevenueReport_ShouldThrow_WhenHourlyRangeIsTooLong() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        assertThrows(InvalidReportRangeException.class,
+                () -> service.getRevenueReport(RollupGranularity.HOUR, from, from.plusDays(120)));
+        verifyNoInteractions(revenueRollupRepository);
+    }
+}
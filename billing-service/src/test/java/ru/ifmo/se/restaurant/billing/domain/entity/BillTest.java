@@ -2,8 +2,8 @@ package ru.ifmo.se.restaurant.billing.domain.entity;
 
 import org.junit.jupiter.api.Test;
 import ru.ifmo.se.restaurant.billing.domain.valueobject.BillStatus;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.Money;
 import ru.ifmo.se.restaurant.billing.domain.valueobject.PaymentMethod;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -14,11 +14,11 @@ class BillTest {
         Bill bill = Bill.builder()
                 .id(1L)
                 .orderId(100L)
-                .totalAmount(new BigDecimal("100.00"))
-                .taxAmount(new BigDecimal("10.00"))
-                .serviceCharge(new BigDecimal("5.00"))
-                .discountAmount(BigDecimal.ZERO)
-                .finalAmount(new BigDecimal("115.00"))
+                .totalAmount(Money.of("100.00"))
+                .taxAmount(Money.of("10.00"))
+                .serviceCharge(Money.of("5.00"))
+                .discountAmount(Money.ZERO)
+                .finalAmount(Money.of("115.00"))
                 .status(BillStatus.PENDING)
                 .createdAt(LocalDateTime.now())
                 .build();
@@ -42,6 +42,13 @@ class BillTest {
         assertFalse(bill.isPaid());
     }
 
+    @Test
+    void isDraft_ShouldReturnTrue_WhenStatusIsDraft() {
+        Bill bill = Bill.builder().status(BillStatus.DRAFT).build();
+        assertTrue(bill.isDraft());
+        assertFalse(bill.canBePaid());
+    }
+
     @Test
     void isCancelled_ShouldReturnTrue_WhenStatusIsCancelled() {
         Bill bill = Bill.builder().status(BillStatus.CANCELLED).build();
@@ -65,10 +72,34 @@ class BillTest {
     }
 
     @Test
-    void canBeCancelled_ShouldReturnTrue_WhenNotPaid() {
+    void canBeCancelled_ShouldReturnTrue_WhenDraftOrPending() {
+        Bill draft = Bill.builder().status(BillStatus.DRAFT).build();
         Bill pending = Bill.builder().status(BillStatus.PENDING).build();
         Bill paid = Bill.builder().status(BillStatus.PAID).build();
+        Bill cancelled = Bill.builder().status(BillStatus.CANCELLED).build();
+        assertTrue(draft.canBeCancelled());
         assertTrue(pending.canBeCancelled());
         assertFalse(paid.canBeCancelled());
+        assertFalse(cancelled.canBeCancelled());
+    }
+
+    @Test
+    void forSubtotal_ShouldRoundTaxAndServiceChargeToKopecks() {
+        Bill bill = Bill.forSubtotal(1L, Money.of("33.33"), BillStatus.PENDING, LocalDateTime.now());
+
+        assertEquals(Money.of("3.33"), bill.getTaxAmount());
+        assertEquals(Money.of("1.67"), bill.getServiceCharge());
+        assertEquals(Money.of("38.33"), bill.getFinalAmount());
+    }
+
+    @Test
+    void withDiscount_ShouldRecomputeFinalAmount() {
+        Bill bill = Bill.forSubtotal(1L, Money.of("100.00"), BillStatus.PENDING, LocalDateTime.now());
+
+        Bill discounted = bill.withDiscount(Money.of("15.00"));
+
+        assertEquals(Money.of("15.00"), discounted.getDiscountAmount());
+        assertEquals(Money.of("100.00"), discounted.getFinalAmount());
+        assertEquals(bill.getCreatedAt(), discounted.getCreatedAt());
     }
 }
@@ -0,0 +1,53 @@
+package ru.ifmo.se.restaurant.billing.domain.valueobject;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void of_ShouldConvertExactly_WhenScaleIsAtMostTwo() {
+        assertEquals(12345, Money.of(new BigDecimal("123.45")).getMinorUnits());
+        assertEquals(12300, Money.of(new BigDecimal("123")).getMinorUnits());
+        assertEquals(new BigDecimal("123.45"), Money.of("123.45").toBigDecimal());
+    }
+
+    @Test
+    void of_ShouldRoundHalfUp_WhenScaleExceedsTwo() {
+        assertEquals(Money.of("10.01"), Money.of(new BigDecimal("10.005")));
+        assertEquals(Money.of("10.00"), Money.of(new BigDecimal("10.0049")));
+        assertEquals(Money.of("-10.01"), Money.of(new BigDecimal("-10.005")));
+    }
+
+    @Test
+    void of_ShouldTreatNullAsZero() {
+        assertSame(Money.ZERO, Money.of((BigDecimal) null));
+    }
+
+    @Test
+    void percentage_ShouldRoundHalfUpToWholeKopecks() {
+        assertEquals(Money.of("10.00"), Money.of("100.00").percentage(1_000));
+        assertEquals(Money.of("0.17"), Money.of("3.33").percentage(500));
+        assertEquals(Money.of("0.03"), Money.of("0.25").percentage(1_000));
+        assertEquals(Money.of("-0.03"), Money.of("-0.25").percentage(1_000));
+    }
+
+    @Test
+    void plusAndMinus_ShouldBeExact() {
+        Money total = Money.of("0.10").plus(Money.of("0.20"));
+
+        assertEquals(Money.of("0.30"), total);
+        assertEquals(Money.of("-0.05"), total.minus(Money.of("0.35")));
+        assertTrue(total.minus(Money.of("0.35")).isNegative());
+    }
+
+    @Test
+    void plus_ShouldThrow_OnOverflow() {
+        Money max = Money.ofMinor(Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofMinor(1)));
+    }
+}
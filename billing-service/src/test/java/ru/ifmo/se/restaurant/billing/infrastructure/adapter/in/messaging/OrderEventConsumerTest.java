@@ -0,0 +1,88 @@
+package ru.ifmo.se.restaurant.billing.infrastructure.adapter.in.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.ifmo.se.restaurant.billing.application.port.in.TrackOrderUseCase;
+import ru.ifmo.se.restaurant.common.event.DomainEvent;
+import ru.ifmo.se.restaurant.common.event.order.OrderCreatedEvent;
+import ru.ifmo.se.restaurant.common.event.order.OrderItemChangedEvent;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderEventConsumerTest {
+
+    @Mock
+    private TrackOrderUseCase trackOrderUseCase;
+
+    private ObjectMapper objectMapper;
+    private OrderEventConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        consumer = new OrderEventConsumer(trackOrderUseCase, objectMapper);
+    }
+
+    @Test
+    void handleOrderCreated_ShouldOpenDraft() throws Exception {
+        OrderCreatedEvent payload = OrderCreatedEvent.builder()
+                .orderId(100L)
+                .tableId(5L)
+                .createdAt(Instant.now())
+                .items(List.of())
+                .totalAmount(BigDecimal.ZERO)
+                .build();
+
+        consumer.handleOrderCreated(objectMapper.writeValueAsString(DomainEvent.create("ORDER_CREATED", payload)));
+
+        verify(trackOrderUseCase).openDraft(100L, BigDecimal.ZERO);
+    }
+
+    @Test
+    void handleOrderItemChanged_ShouldUpdateDraftWithOrderTotal() throws Exception {
+        OrderItemChangedEvent payload = OrderItemChangedEvent.builder()
+                .orderId(100L)
+                .itemId(7L)
+                .quantity(2)
+                .price(new BigDecimal("15.00"))
+                .orderTotal(new BigDecimal("45.00"))
+                .changedAt(Instant.now())
+                .build();
+
+        consumer.handleOrderItemChanged(objectMapper.writeValueAsString(DomainEvent.create("ORDER_ITEM_ADDED", payload)));
+
+        verify(trackOrderUseCase).updateDraft(100L, new BigDecimal("45.00"));
+    }
+
+    @Test
+    void handleOrderItemChanged_ShouldSkipMalformedMessage() {
+        consumer.handleOrderItemChanged("not json");
+
+        verifyNoInteractions(trackOrderUseCase);
+    }
+
+    @Test
+    void handleOrderItemChanged_ShouldPropagatePersistenceFailure() throws Exception {
+        OrderItemChangedEvent payload = OrderItemChangedEvent.builder()
+                .orderId(100L)
+                .orderTotal(new BigDecimal("45.00"))
+                .build();
+        doThrow(new IllegalStateException("db down")).when(trackOrderUseCase).updateDraft(100L, new BigDecimal("45.00"));
+
+        String message = objectMapper.writeValueAsString(DomainEvent.create("ORDER_ITEM_ADDED", payload));
+
+        assertThrows(IllegalStateException.class, () -> consumer.handleOrderItemChanged(message));
+    }
+}
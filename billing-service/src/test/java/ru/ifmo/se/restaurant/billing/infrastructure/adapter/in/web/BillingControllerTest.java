@@ -15,16 +15,24 @@ import org.springframework.http.converter.json.MappingJackson2HttpMessageConvert
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ru.ifmo.se.restaurant.billing.application.dto.BillDto;
+import ru.ifmo.se.restaurant.billing.application.dto.BulkBillingJobDto;
+import ru.ifmo.se.restaurant.billing.application.dto.BulkBillingRequestDto;
+import ru.ifmo.se.restaurant.billing.application.dto.RevenueBucketDto;
+import ru.ifmo.se.restaurant.billing.application.dto.RevenueReportDto;
+import ru.ifmo.se.restaurant.billing.application.port.in.BulkBillingUseCase;
 import ru.ifmo.se.restaurant.billing.application.port.in.DeleteBillUseCase;
 import ru.ifmo.se.restaurant.billing.application.port.in.GenerateBillUseCase;
 import ru.ifmo.se.restaurant.billing.application.port.in.GetBillUseCase;
+import ru.ifmo.se.restaurant.billing.application.port.in.GetRevenueReportUseCase;
 import ru.ifmo.se.restaurant.billing.application.port.in.UpdateBillUseCase;
 import ru.ifmo.se.restaurant.billing.domain.valueobject.BillStatus;
 import ru.ifmo.se.restaurant.billing.domain.valueobject.PaymentMethod;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.RollupGranularity;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -50,6 +58,12 @@ class BillingControllerTest {
     @Mock
     private DeleteBillUseCase deleteBillUseCase;
 
+    @Mock
+    private BulkBillingUseCase bulkBillingUseCase;
+
+    @Mock
+    private GetRevenueReportUseCase getRevenueReportUseCase;
+
     @InjectMocks
     private BillingController billingController;
 
@@ -181,4 +195,64 @@ class BillingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.paymentMethod").value("CREDIT_CARD"));
     }
+
+    @Test
+    void startBulkBilling_ShouldReturnAcceptedJob() throws Exception {
+        BulkBillingJobDto job = BulkBillingJobDto.builder().jobId("job-1").status("RUNNING").totalOrders(0).build();
+        when(bulkBillingUseCase.startBulkBilling(any(BulkBillingRequestDto.class))).thenReturn(job);
+
+        BulkBillingRequestDto request = BulkBillingRequestDto.builder()
+                .orderIds(Arrays.asList(100L, 101L))
+                .paymentMethod(PaymentMethod.CASH)
+                .build();
+
+        mockMvc.perform(post("/api/bills/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/bills/bulk/job-1"))
+                .andExpect(jsonPath("$.jobId").value("job-1"));
+    }
+
+    @Test
+    void startBulkBilling_ShouldRejectRequestWithoutSelection() throws Exception {
+        mockMvc.perform(post("/api/bills/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"paymentMethod\":\"CASH\"}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bulkBillingUseCase);
+    }
+
+    @Test
+    void getBulkBillingJob_ShouldReturnProgress() throws Exception {
+        BulkBillingJobDto job = BulkBillingJobDto.builder()
+                .jobId("job-1").status("COMPLETED").totalOrders(2).processedOrders(2).generatedBills(2).build();
+        when(bulkBillingUseCase.getBulkBillingJob("job-1")).thenReturn(job);
+
+        mockMvc.perform(get("/api/bills/bulk/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processedOrders").value(2))
+                .andExpect(jsonPath("$.status").value("COMPLETED"));
+    }
+
+    @Test
+    void getRevenueReport_ShouldReturnReport() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 1, 2, 0, 0);
+        RevenueReportDto report = RevenueReportDto.builder()
+                .granularity(RollupGranularity.HOUR).from(from).to(to)
+                .total(RevenueBucketDto.builder().revenue(new BigDecimal("230.00")).paidBills(2).build())
+                .buckets(List.of())
+                .build();
+        when(getRevenueReportUseCase.getRevenueReport(RollupGranularity.HOUR, from, to)).thenReturn(report);
+
+        mockMvc.perform(get("/api/bills/reports/revenue")
+                        .param("granularity", "HOUR")
+                        .param("from", "2024-01-01T00:00:00")
+                        .param("to", "2024-01-02T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.granularity").value("HOUR"))
+                .andExpect(jsonPath("$.total.paidBills").value(2));
+    }
 }
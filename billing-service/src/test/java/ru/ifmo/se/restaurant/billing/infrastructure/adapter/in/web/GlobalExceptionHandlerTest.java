@@ -10,6 +10,7 @@ import ru.ifmo.se.restaurant.billing.application.dto.ErrorResponse;
 import ru.ifmo.se.restaurant.billing.domain.exception.BillAlreadyExistsException;
 import ru.ifmo.se.restaurant.billing.domain.exception.BillNotFoundException;
 import ru.ifmo.se.restaurant.billing.domain.exception.InvalidBillOperationException;
+import ru.ifmo.se.restaurant.billing.domain.exception.InvalidReportRangeException;
 import ru.ifmo.se.restaurant.billing.domain.exception.OrderServiceException;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -51,6 +52,18 @@ class GlobalExceptionHandlerTest {
         assertEquals("Conflict", response.getBody().getError());
     }
 
+    @Test
+    void handleInvalidReportRange_ShouldReturn400() {
+        InvalidReportRangeException ex = new InvalidReportRangeException("'from' must be before 'to'");
+
+        ResponseEntity<ErrorResponse> response = handler.handleInvalidReportRange(ex, request);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(400, response.getBody().getStatus());
+        assertEquals("'from' must be before 'to'", response.getBody().getMessage());
+    }
+
     @Test
     void handleInvalidBillOperation_ShouldReturn409() {
         InvalidBillOperationException ex = new InvalidBillOperationException("Cannot pay already paid bill");
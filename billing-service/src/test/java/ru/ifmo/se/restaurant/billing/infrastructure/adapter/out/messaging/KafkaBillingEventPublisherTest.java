@@ -11,11 +11,11 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import ru.ifmo.se.restaurant.billing.domain.entity.Bill;
 import ru.ifmo.se.restaurant.billing.domain.valueobject.BillStatus;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.Money;
 import ru.ifmo.se.restaurant.billing.domain.valueobject.PaymentMethod;
 import ru.ifmo.se.restaurant.common.event.DomainEvent;
 import ru.ifmo.se.restaurant.common.event.KafkaTopics;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.concurrent.CompletableFuture;
 
@@ -40,10 +40,10 @@ class KafkaBillingEventPublisherTest {
         testBill = Bill.builder()
                 .id(1L)
                 .orderId(100L)
-                .totalAmount(new BigDecimal("100.00"))
-                .taxAmount(new BigDecimal("10.00"))
-                .serviceCharge(new BigDecimal("5.00"))
-                .finalAmount(new BigDecimal("115.00"))
+                .totalAmount(Money.of("100.00"))
+                .taxAmount(Money.of("10.00"))
+                .serviceCharge(Money.of("5.00"))
+                .finalAmount(Money.of("115.00"))
                 .status(BillStatus.PENDING)
                 .createdAt(LocalDateTime.now())
                 .build();
@@ -74,8 +74,8 @@ class KafkaBillingEventPublisherTest {
         testBill = Bill.builder()
                 .id(1L)
                 .orderId(100L)
-                .totalAmount(new BigDecimal("100.00"))
-                .finalAmount(new BigDecimal("115.00"))
+                .totalAmount(Money.of("100.00"))
+                .finalAmount(Money.of("115.00"))
                 .status(BillStatus.PAID)
                 .paymentMethod(PaymentMethod.CASH)
                 .createdAt(LocalDateTime.now())
@@ -101,4 +101,43 @@ class KafkaBillingEventPublisherTest {
 
         verify(kafkaTemplate).send(eq(KafkaTopics.BILLING_PAID), any(String.class), any());
     }
+
+    @Test
+    void publishBills_ShouldSendPaidEventsOnlyForPaidBills_AndFlushOnce() {
+        Bill paidBill = Bill.builder()
+                .id(2L)
+                .orderId(101L)
+                .totalAmount(Money.of("50.00"))
+                .finalAmount(Money.of("57.50"))
+                .status(BillStatus.PAID)
+                .paymentMethod(PaymentMethod.CASH)
+                .build();
+        when(kafkaTemplate.send(any(String.class), any(String.class), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertTrue(publisher.publishBills(java.util.List.of(testBill, paidBill)).isEmpty());
+
+        verify(kafkaTemplate).send(eq(KafkaTopics.BILLING_GENERATED), eq("100"), any());
+        verify(kafkaTemplate).send(eq(KafkaTopics.BILLING_GENERATED), eq("101"), any());
+        verify(kafkaTemplate).send(eq(KafkaTopics.BILLING_PAID), eq("101"), any());
+        verify(kafkaTemplate, never()).send(eq(KafkaTopics.BILLING_PAID), eq("100"), any());
+        verify(kafkaTemplate, times(1)).flush();
+    }
+
+    @Test
+    void publishBills_ShouldReturnBillsWhoseEventsWereRejected() {
+        Bill otherBill = Bill.builder()
+                .id(2L)
+                .orderId(101L)
+                .totalAmount(Money.of("50.00"))
+                .finalAmount(Money.of("57.50"))
+                .status(BillStatus.PENDING)
+                .build();
+        when(kafkaTemplate.send(eq(KafkaTopics.BILLING_GENERATED), eq("100"), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaTemplate.send(eq(KafkaTopics.BILLING_GENERATED), eq("101"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        assertEquals(java.util.Set.of(2L), publisher.publishBills(java.util.List.of(testBill, otherBill)));
+    }
 }
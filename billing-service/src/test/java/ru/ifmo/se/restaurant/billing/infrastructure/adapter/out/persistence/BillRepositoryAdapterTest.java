@@ -7,8 +7,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
 import ru.ifmo.se.restaurant.billing.domain.entity.Bill;
 import ru.ifmo.se.restaurant.billing.domain.valueobject.BillStatus;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.Money;
 import ru.ifmo.se.restaurant.billing.infrastructure.adapter.out.persistence.entity.BillJpaEntity;
 import ru.ifmo.se.restaurant.billing.infrastructure.adapter.out.persistence.repository.BillJpaRepository;
 
@@ -20,6 +23,10 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +35,9 @@ class BillRepositoryAdapterTest {
     @Mock
     private BillJpaRepository jpaRepository;
 
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
     @InjectMocks
     private BillRepositoryAdapter adapter;
 
@@ -49,8 +59,8 @@ class BillRepositoryAdapterTest {
         testDomain = Bill.builder()
                 .id(1L)
                 .orderId(100L)
-                .totalAmount(new BigDecimal("100.00"))
-                .finalAmount(new BigDecimal("115.00"))
+                .totalAmount(Money.of("100.00"))
+                .finalAmount(Money.of("115.00"))
                 .status(BillStatus.PENDING)
                 .createdAt(now)
                 .build();
@@ -88,7 +98,7 @@ class BillRepositoryAdapterTest {
 
     @Test
     void findByOrderId_ShouldReturnDomain_WhenFound() {
-        when(jpaRepository.findByOrderId(100L)).thenReturn(Optional.of(testEntity));
+        when(jpaRepository.findByOrderIdAndStatusNot(100L, BillStatus.DRAFT)).thenReturn(Optional.of(testEntity));
 
         Optional<Bill> result = adapter.findByOrderId(100L);
 
@@ -97,8 +107,8 @@ class BillRepositoryAdapterTest {
     }
 
     @Test
-    void findAll_ShouldReturnAllDomains() {
-        when(jpaRepository.findAll()).thenReturn(Arrays.asList(testEntity));
+    void findAll_ShouldReturnNonDraftDomains() {
+        when(jpaRepository.findByStatusNot(BillStatus.DRAFT)).thenReturn(Arrays.asList(testEntity));
 
         List<Bill> result = adapter.findAll();
 
@@ -109,7 +119,7 @@ class BillRepositoryAdapterTest {
     void findAll_WithPageable_ShouldReturnPage() {
         Pageable pageable = PageRequest.of(0, 10);
         Page<BillJpaEntity> page = new PageImpl<>(Arrays.asList(testEntity), pageable, 1);
-        when(jpaRepository.findAll(pageable)).thenReturn(page);
+        when(jpaRepository.findByStatusNot(BillStatus.DRAFT, pageable)).thenReturn(page);
 
         Page<Bill> result = adapter.findAll(pageable);
 
@@ -120,7 +130,7 @@ class BillRepositoryAdapterTest {
     void findAllSlice_ShouldReturnSlice() {
         Pageable pageable = PageRequest.of(0, 10);
         Page<BillJpaEntity> page = new PageImpl<>(Arrays.asList(testEntity), pageable, 1);
-        when(jpaRepository.findAll(pageable)).thenReturn(page);
+        when(jpaRepository.findByStatusNot(BillStatus.DRAFT, pageable)).thenReturn(page);
 
         Slice<Bill> result = adapter.findAllSlice(pageable);
 
@@ -170,4 +180,56 @@ class BillRepositoryAdapterTest {
 
         verify(jpaRepository).deleteById(1L);
     }
+
+    @Test
+    void saveDraft_ShouldReturnFalse_WhenBillAlreadyGenerated() {
+        when(jpaRepository.upsertDraft(eq(100L), any(), any(), any(), any(), any())).thenReturn(0);
+
+        assertFalse(adapter.saveDraft(testDomain));
+    }
+
+    @Test
+    void createDraftIfAbsent_ShouldInsertDraft() {
+        adapter.createDraftIfAbsent(testDomain);
+
+        verify(jpaRepository).insertDraftIfAbsent(eq(100L), eq(new BigDecimal("100.00")), any(), any(),
+                eq(new BigDecimal("115.00")), eq(testDomain.getCreatedAt()));
+    }
+
+    @Test
+    void finalizeDraft_ShouldMoveDraftToPending() {
+        LocalDateTime now = LocalDateTime.now();
+        when(jpaRepository.updateStatusIfDraft(100L, BillStatus.PENDING, now, BillStatus.DRAFT)).thenReturn(1);
+
+        assertTrue(adapter.finalizeDraft(100L, now));
+    }
+
+    @Test
+    void findDraftsByOrderIds_ShouldQueryDraftStatus() {
+        when(jpaRepository.findByStatusAndOrderIdIn(BillStatus.DRAFT, List.of(100L))).thenReturn(List.of(testEntity));
+
+        List<Bill> result = adapter.findDraftsByOrderIds(List.of(100L));
+
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void finalizeDrafts_ShouldReturnOnlyUpdatedBills() {
+        Bill other = Bill.builder().id(2L).orderId(101L).status(BillStatus.PENDING).build();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[][]{{1, 0}});
+
+        List<Bill> result = adapter.finalizeDrafts(List.of(testDomain, other));
+
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).getId());        verify(jdbcTemplate).batchUpdate(contains("AND total_amount = ?"), anyList(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    void finalizeDrafts_ShouldSkipEmptyBatch() {
+        assertTrue(adapter.finalizeDrafts(List.of()).isEmpty());
+        verifyNoInteractions(jdbcTemplate);
+    }
 }
@@ -0,0 +1,90 @@
+package ru.ifmo.se.restaurant.billing.infrastructure.adapter.out.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import ru.ifmo.se.restaurant.billing.domain.entity.Bill;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.BillStatus;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.Money;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.PaymentMethod;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.RevenueDelta;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RevenueRollupRepositoryAdapterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private RevenueRollupRepositoryAdapter adapter;
+
+    private Bill paidBill(PaymentMethod paymentMethod) {
+        return Bill.builder()
+                .orderId(1L)
+                .totalAmount(Money.of("100.00"))
+                .taxAmount(Money.of("10.00"))
+                .serviceCharge(Money.of("5.00"))
+                .discountAmount(Money.ZERO)
+                .finalAmount(Money.of("115.00"))
+                .status(BillStatus.PAID)
+                .paymentMethod(paymentMethod)
+                .build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void record_ShouldMergeDeltasPerBucket_AndWriteOneBatchPerTable() {
+        LocalDateTime morning = LocalDateTime.of(2024, 1, 15, 9, 10);
+        List<RevenueDelta> deltas = List.of(
+                RevenueDelta.entered(paidBill(PaymentMethod.CASH), morning),
+                RevenueDelta.entered(paidBill(PaymentMethod.CASH), morning.plusMinutes(20)),
+                RevenueDelta.entered(paidBill(PaymentMethod.CASH), morning.plusHours(2)));
+
+        adapter.record(deltas);
+
+        ArgumentCaptor<List<Object>> hourly = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("revenue_rollup_hourly"), hourly.capture(), eq(2),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(2, hourly.getValue().size());
+
+        ArgumentCaptor<List<Object>> daily = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("revenue_rollup_daily"), daily.capture(), eq(1),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(1, daily.getValue().size());
+    }
+
+    @Test
+    void record_ShouldDoNothing_WhenNoDeltas() {
+        adapter.record(List.of());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void record_ShouldKeepPaymentMethodsApart() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 15, 9, 10);
+
+        adapter.record(List.of(
+                RevenueDelta.entered(paidBill(PaymentMethod.CASH), now),
+                RevenueDelta.entered(paidBill(PaymentMethod.MOBILE_PAYMENT), now)));
+
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList(), eq(2),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+}
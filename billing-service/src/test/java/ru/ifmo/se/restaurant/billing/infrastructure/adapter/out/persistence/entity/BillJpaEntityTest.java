@@ -3,6 +3,7 @@ package ru.ifmo.se.restaurant.billing.infrastructure.adapter.out.persistence.ent
 import org.junit.jupiter.api.Test;
 import ru.ifmo.se.restaurant.billing.domain.entity.Bill;
 import ru.ifmo.se.restaurant.billing.domain.valueobject.BillStatus;
+import ru.ifmo.se.restaurant.billing.domain.valueobject.Money;
 import ru.ifmo.se.restaurant.billing.domain.valueobject.PaymentMethod;
 
 import java.math.BigDecimal;
@@ -18,11 +19,11 @@ class BillJpaEntityTest {
         Bill domain = Bill.builder()
                 .id(1L)
                 .orderId(100L)
-                .totalAmount(new BigDecimal("100.00"))
-                .taxAmount(new BigDecimal("10.00"))
-                .serviceCharge(new BigDecimal("5.00"))
-                .discountAmount(BigDecimal.ZERO)
-                .finalAmount(new BigDecimal("115.00"))
+                .totalAmount(Money.of("100.00"))
+                .taxAmount(Money.of("10.00"))
+                .serviceCharge(Money.of("5.00"))
+                .discountAmount(Money.ZERO)
+                .finalAmount(Money.of("115.00"))
                 .status(BillStatus.PENDING)
                 .createdAt(now)
                 .build();
@@ -68,8 +69,8 @@ class BillJpaEntityTest {
         Bill original = Bill.builder()
                 .id(1L)
                 .orderId(100L)
-                .totalAmount(new BigDecimal("100.00"))
-                .finalAmount(new BigDecimal("100.00"))
+                .totalAmount(Money.of("100.00"))
+                .finalAmount(Money.of("100.00"))
                 .status(BillStatus.PENDING)
                 .createdAt(now)
                 .build();
@@ -5,6 +5,7 @@ public final class KafkaTopics {
 
     public static final String ORDERS_CREATED = "restaurant.orders.created";
     public static final String ORDERS_SENT_TO_KITCHEN = "restaurant.orders.sent-to-kitchen";
+    public static final String ORDERS_ITEMS_CHANGED = "restaurant.orders.items-changed";
     public static final String KITCHEN_DISH_READY = "restaurant.kitchen.dish-ready";
     public static final String BILLING_GENERATED = "restaurant.billing.generated";
     public static final String BILLING_PAID = "restaurant.billing.paid";
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.Instant;
+import java.util.List;
 
 @Data
 @Builder
@@ -20,4 +21,5 @@ public class FileUploadedEvent {
     private String category;
     private Long entityId;
     private Instant uploadedAt;
+    private List<String> variants;
 }
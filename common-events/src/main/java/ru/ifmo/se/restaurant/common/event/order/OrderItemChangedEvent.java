@@ -0,0 +1,29 @@
+package ru.ifmo.se.restaurant.common.event.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Published when an item is added to or removed from an order.
+ * {@code orderTotal} is the order total after the change, so consumers can apply events idempotently.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderItemChangedEvent {
+    private Long orderId;
+    private Long itemId;
+    private Long dishId;
+    private String dishName;
+    private Integer quantity;
+    private BigDecimal price;
+    private boolean removed;
+    private BigDecimal orderTotal;
+    private Instant changedAt;
+}
@@ -0,0 +1,100 @@
+package ru.ifmo.se.restaurant.file.infrastructure.adapter.out.storage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.util.unit.DataSize;
+import ru.ifmo.se.restaurant.file.application.port.out.FileStoragePort;
+import ru.ifmo.se.restaurant.file.infrastructure.config.FileSystemStorageProperties;
+import ru.ifmo.se.restaurant.file.infrastructure.config.MinioConfig;
+import ru.ifmo.se.restaurant.file.infrastructure.config.MinioProperties;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares store and retrieve throughput of the filesystem and MinIO storage adapters for a
+ * typical image and a file close to the upload limit. The MinIO case talks to the server at
+ * {@code MINIO_ENDPOINT}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StorageThroughputBenchmark {
+
+    @Param({"filesystem", "minio"})
+    public String storage;
+
+    @Param({"262144", "8388608"})
+    public int size;
+
+    private FileStoragePort adapter;
+    private Path root;
+    private byte[] content;
+
+    @Setup
+    public void setUp() throws IOException {
+        content = new byte[size];
+        new Random(42).nextBytes(content);
+        if ("filesystem".equals(storage)) {
+            root = Files.createTempDirectory("storage-benchmark");
+            FileSystemStorageProperties properties = new FileSystemStorageProperties();
+            properties.setRoot(root.toString());
+            adapter = new FileSystemFileStorageAdapter(properties);
+        } else {
+            MinioProperties properties = new MinioProperties();
+            properties.setEndpoint(env("MINIO_ENDPOINT", "http://localhost:9000"));
+            properties.setAccessKey(env("MINIO_ACCESS_KEY", "minioadmin"));
+            properties.setSecretKey(env("MINIO_SECRET_KEY", "minioadmin"));
+            properties.setBucket("storage-benchmark");
+            MinioConfig config = new MinioConfig(properties);
+            adapter = new MinioFileStorageAdapter(config.minioClient(), config.multipartMinioClient(4), properties,
+                    DataSize.ofMegabytes(5), DataSize.ofMegabytes(8), 4);
+        }
+        adapter.store("read-target.bin", new ByteArrayInputStream(content), "application/octet-stream", size);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        adapter.delete("read-target.bin");
+        adapter.delete("write-target.bin");
+        if (root != null) {
+            try (Stream<Path> paths = Files.walk(root)) {
+                for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public String store() {
+        return adapter.store("write-target.bin", new ByteArrayInputStream(content), "application/octet-stream", size);
+    }
+
+    @Benchmark
+    public long retrieve() throws IOException {
+        try (InputStream in = adapter.retrieve("read-target.bin")) {
+            return in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null ? value : defaultValue;
+    }
+}
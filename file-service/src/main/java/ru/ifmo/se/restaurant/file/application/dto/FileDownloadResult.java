@@ -2,14 +2,22 @@ package ru.ifmo.se.restaurant.file.application.dto;
 
 import lombok.Builder;
 import lombok.Value;
+import ru.ifmo.se.restaurant.file.domain.valueobject.FileCategory;
+import ru.ifmo.se.restaurant.file.domain.valueobject.ImageVariant;
 
 import java.io.InputStream;
+import java.time.Instant;
 
 @Value
 @Builder
 public class FileDownloadResult {
     String fileName;
+    String storedName;
     String contentType;
     Long fileSize;
+    String checksum;
+    FileCategory category;
+    Instant uploadedAt;
+    ImageVariant variant;
     InputStream inputStream;
 }
@@ -14,6 +14,7 @@ public class FileResponse {
     String originalName;
     String contentType;
     Long fileSize;
+    String checksum;
     String fileUrl;
     FileCategory category;
     Long entityId;
@@ -26,6 +27,7 @@ public class FileResponse {
                 .originalName(metadata.getOriginalName())
                 .contentType(metadata.getContentType())
                 .fileSize(metadata.getFileSize())
+                .checksum(metadata.getChecksum())
                 .fileUrl(metadata.getFileUrl())
                 .category(metadata.getCategory())
                 .entityId(metadata.getEntityId())
@@ -2,6 +2,7 @@ package ru.ifmo.se.restaurant.file.application.dto;
 
 import lombok.Builder;
 import lombok.Value;
+import org.springframework.core.io.InputStreamSource;
 import ru.ifmo.se.restaurant.file.domain.valueobject.FileCategory;
 
 import java.io.InputStream;
@@ -13,6 +14,11 @@ public class FileUploadCommand {
     String contentType;
     Long fileSize;
     InputStream inputStream;
+    /**
+     * Re-readable content, e.g. an already buffered multipart part. When set it is used instead
+     * of {@link #inputStream}, so duplicates are recognised before anything is written.
+     */
+    InputStreamSource source;
     FileCategory category;
     Long entityId;
     String uploadedBy;
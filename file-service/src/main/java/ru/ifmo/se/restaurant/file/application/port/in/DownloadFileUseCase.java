@@ -1,7 +1,23 @@
 package ru.ifmo.se.restaurant.file.application.port.in;
 
 import ru.ifmo.se.restaurant.file.application.dto.FileDownloadResult;
+import ru.ifmo.se.restaurant.file.domain.valueobject.ImageVariant;
+
+import java.io.InputStream;
 
 public interface DownloadFileUseCase {
     FileDownloadResult download(String fileId);
+
+    /**
+     * Looks the file up without opening its content, so conditional requests can be answered
+     * from metadata alone. The returned result has no input stream. When a variant is requested
+     * but has not been generated, the original is described instead.
+     */
+    FileDownloadResult describe(String fileId, ImageVariant variant);
+
+    /**
+     * Opens {@code length} bytes of a described file starting at {@code offset};
+     * a range covering the whole file is read as a plain download.
+     */
+    InputStream openRange(FileDownloadResult file, long offset, long length);
 }
@@ -1,7 +1,10 @@
 package ru.ifmo.se.restaurant.file.application.port.out;
 
 import ru.ifmo.se.restaurant.file.domain.entity.FileMetadata;
+import ru.ifmo.se.restaurant.file.domain.valueobject.ImageVariant;
+
+import java.util.List;
 
 public interface FileEventPublisher {
-    void publishFileUploaded(FileMetadata fileMetadata);
+    void publishFileUploaded(FileMetadata fileMetadata, List<ImageVariant> variants);
 }
@@ -3,8 +3,11 @@ package ru.ifmo.se.restaurant.file.application.port.out;
 import ru.ifmo.se.restaurant.file.domain.entity.FileMetadata;
 import ru.ifmo.se.restaurant.file.domain.valueobject.FileCategory;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface FileMetadataRepository {
     FileMetadata save(FileMetadata fileMetadata);
@@ -12,4 +15,23 @@ public interface FileMetadataRepository {
     List<FileMetadata> findByCategory(FileCategory category);
     List<FileMetadata> findByEntityId(Long entityId);
     void deleteById(String id);
+
+    /**
+     * Finds the oldest file holding content with this SHA-256 and locks it, so the object
+     * cannot lose its last reference while a duplicate is being attached to it.
+     */
+    Optional<FileMetadata> findStoredByChecksum(String checksum);
+
+    /**
+     * Counts the files that reference a stored object, locking them until the transaction ends.
+     */
+    long countReferences(String storedName);
+
+    /**
+     * Returns the next page of files in the category uploaded before the cutoff, ordered by id
+     * and starting after {@code afterId}, so a walk over the table never holds more than a page.
+     */
+    List<FileMetadata> findPageAfter(FileCategory category, String afterId, Instant uploadedBefore, int limit);
+    void deleteAllById(Collection<String> ids);
+    Set<String> findReferencedStoredNames(Collection<String> storedNames);
 }
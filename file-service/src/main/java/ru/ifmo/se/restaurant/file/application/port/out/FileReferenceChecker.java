@@ -0,0 +1,14 @@
+package ru.ifmo.se.restaurant.file.application.port.out;
+
+import ru.ifmo.se.restaurant.file.domain.valueobject.FileCategory;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface FileReferenceChecker {
+    /**
+     * Returns those of the given file URLs that entities of the owning service still point to.
+     * Fails rather than answering when the owner cannot be asked.
+     */
+    Set<String> findReferencedUrls(FileCategory category, Collection<String> fileUrls);
+}
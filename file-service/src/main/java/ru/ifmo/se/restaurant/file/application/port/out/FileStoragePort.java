@@ -1,10 +1,26 @@
 package ru.ifmo.se.restaurant.file.application.port.out;
 
 import java.io.InputStream;
+import java.util.Collection;
 
 public interface FileStoragePort {
+    /**
+     * Stores the stream under the given name, reading it as it arrives.
+     *
+     * @param size content length, or {@code -1} if unknown
+     */
     String store(String fileName, InputStream inputStream, String contentType, long size);
     InputStream retrieve(String storedName);
+
+    /**
+     * Reads {@code length} bytes starting at {@code offset} without fetching the rest of the object.
+     */
+    InputStream retrieve(String storedName, long offset, long length);
     void delete(String storedName);
+
+    /**
+     * Removes several objects at once, in as few storage calls as the backend allows.
+     */
+    void deleteAll(Collection<String> storedNames);
     String getFileUrl(String storedName);
 }
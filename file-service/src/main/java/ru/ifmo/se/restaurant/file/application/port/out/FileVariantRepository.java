@@ -0,0 +1,20 @@
+package ru.ifmo.se.restaurant.file.application.port.out;
+
+import ru.ifmo.se.restaurant.file.domain.entity.FileVariant;
+import ru.ifmo.se.restaurant.file.domain.valueobject.ImageVariant;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface FileVariantRepository {
+    List<FileVariant> saveAll(List<FileVariant> variants);
+    List<FileVariant> findByFileId(String fileId);
+    Optional<FileVariant> findByFileIdAndVariant(String fileId, ImageVariant variant);
+    void deleteByFileId(String fileId);
+    boolean existsByStoredName(String storedName);
+    List<FileVariant> findByFileIds(Collection<String> fileIds);
+    void deleteByFileIds(Collection<String> fileIds);
+    Set<String> findReferencedStoredNames(Collection<String> storedNames);
+}
@@ -0,0 +1,17 @@
+package ru.ifmo.se.restaurant.file.application.port.out;
+
+import ru.ifmo.se.restaurant.file.domain.valueobject.ImageVariant;
+
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Set;
+
+public interface ImageResizer {
+    /**
+     * Decodes the image once and encodes a copy for each requested variant, never upscaling.
+     * Returns an empty map if the image format cannot be decoded.
+     */
+    Map<ImageVariant, byte[]> resize(InputStream image, Set<ImageVariant> variants);
+    String getContentType();
+    String getFileExtension();
+}
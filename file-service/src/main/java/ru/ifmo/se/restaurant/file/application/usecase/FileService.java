@@ -3,6 +3,7 @@ package ru.ifmo.se.restaurant.file.application.usecase;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.ifmo.se.restaurant.file.application.dto.FileDownloadResult;
 import ru.ifmo.se.restaurant.file.application.dto.FileResponse;
@@ -14,14 +15,21 @@ import ru.ifmo.se.restaurant.file.application.port.in.UploadFileUseCase;
 import ru.ifmo.se.restaurant.file.application.port.out.FileEventPublisher;
 import ru.ifmo.se.restaurant.file.application.port.out.FileMetadataRepository;
 import ru.ifmo.se.restaurant.file.application.port.out.FileStoragePort;
+import ru.ifmo.se.restaurant.file.application.port.out.FileVariantRepository;
 import ru.ifmo.se.restaurant.file.domain.entity.FileMetadata;
+import ru.ifmo.se.restaurant.file.domain.entity.FileVariant;
 import ru.ifmo.se.restaurant.file.domain.exception.FileNotFoundException;
+import ru.ifmo.se.restaurant.file.domain.exception.FileUploadException;
 import ru.ifmo.se.restaurant.file.domain.exception.InvalidFileException;
 import ru.ifmo.se.restaurant.file.domain.valueobject.FileCategory;
+import ru.ifmo.se.restaurant.file.domain.valueobject.ImageVariant;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
@@ -39,29 +47,139 @@ public class FileService implements UploadFileUseCase, DownloadFileUseCase, GetF
     private final FileStoragePort fileStorage;
     private final FileMetadataRepository metadataRepository;
     private final FileEventPublisher eventPublisher;
+    private final FileVariantRepository variantRepository;
+    private final ImageVariantService imageVariantService;
 
     @Override
     public FileResponse upload(FileUploadCommand command) {
         validateFile(command);
 
         String fileId = UUID.randomUUID().toString();
-        String storedName = generateStoredName(fileId, command.getOriginalFileName());
+        FileMetadata saved = command.getSource() != null
+                ? uploadBuffered(fileId, command)
+                : uploadStreamed(fileId, command);
 
+        log.info("File uploaded successfully: {}", fileId);
+        return FileResponse.fromDomain(saved);
+    }
+
+    /**
+     * Hashes content that is already buffered locally before touching storage: a duplicate only
+     * gets a new reference, new content is stored under its hash.
+     */
+    private FileMetadata uploadBuffered(String fileId, FileUploadCommand command) {
+        String checksum;
+        long fileSize;
+        try (MeteredInputStream content = new MeteredInputStream(command.getSource().getInputStream(), MAX_FILE_SIZE)) {
+            content.transferTo(OutputStream.nullOutputStream());
+            checksum = content.getChecksum();
+            fileSize = content.getBytesRead();
+        } catch (IOException e) {
+            throw new FileUploadException("Failed to read file: " + command.getOriginalFileName(), e);
+        }
+
+        Optional<FileMetadata> stored = metadataRepository.findStoredByChecksum(checksum);
+        if (stored.isPresent()) {
+            return saveReference(fileId, command, stored.get());
+        }
+
+        String storedName = checksum + extensionOf(command.getOriginalFileName());
         log.info("Uploading file: {} as {}", command.getOriginalFileName(), storedName);
 
-        String fileUrl = fileStorage.store(
-                storedName,
-                command.getInputStream(),
-                command.getContentType(),
-                command.getFileSize()
-        );
+        String fileUrl;
+        try (InputStream content = command.getSource().getInputStream()) {
+            fileUrl = fileStorage.store(storedName, content, command.getContentType(), fileSize);
+        } catch (IOException e) {
+            throw new FileUploadException("Failed to read file: " + command.getOriginalFileName(), e);
+        }
+        return saveUploaded(fileId, command, storedName, fileUrl, fileSize, checksum);
+    }
+
+    /**
+     * Streams content straight into storage under the file id, as its hash is only known once it
+     * has been read. A duplicate's fresh object is removed again in favour of the stored one.
+     */
+    private FileMetadata uploadStreamed(String fileId, FileUploadCommand command) {
+        String storedName = fileId + extensionOf(command.getOriginalFileName());
+
+        log.info("Uploading file: {} as {}", command.getOriginalFileName(), storedName);
+
+        MeteredInputStream content = new MeteredInputStream(command.getInputStream(), MAX_FILE_SIZE);
+        String fileUrl;
+        try {
+            fileUrl = fileStorage.store(
+                    storedName,
+                    content,
+                    command.getContentType(),
+                    command.getFileSize() != null ? command.getFileSize() : -1
+            );
+        } catch (RuntimeException e) {
+            // Storage adapters may wrap the limit violation raised while they read the stream
+            if (content.isLimitExceeded()) {
+                throw new InvalidFileException("File size exceeds maximum allowed size of 10MB");
+            }
+            throw e;
+        }
+        String checksum = content.getChecksum();
+
+        Optional<FileMetadata> stored = metadataRepository.findStoredByChecksum(checksum);
+        if (stored.isPresent()) {
+            fileStorage.delete(storedName);
+            return saveReference(fileId, command, stored.get());
+        }
+
+        long fileSize = command.getFileSize() != null ? command.getFileSize() : content.getBytesRead();
+        return saveUploaded(fileId, command, storedName, fileUrl, fileSize, checksum);
+    }
+
+    private FileMetadata saveUploaded(String fileId, FileUploadCommand command, String storedName,
+                                      String fileUrl, long fileSize, String checksum) {
+        FileMetadata saved = metadataRepository.save(
+                toMetadata(fileId, command, storedName, fileUrl, fileSize, checksum));
+        if (imageVariantService.supports(saved)) {
+            // Announced once the variants exist, so consumers can link to them straight away
+            imageVariantService.generateAfterCommit(saved);
+        } else {
+            eventPublisher.publishFileUploaded(saved, List.of());
+        }
+        return saved;
+    }
+
+    /**
+     * Adds a file for content that is already stored; it shares the object and, when they are
+     * ready, the image variants of the file found by hash.
+     */
+    private FileMetadata saveReference(String fileId, FileUploadCommand command, FileMetadata stored) {
+        log.info("File {} has the same content as {}, reusing {}",
+                command.getOriginalFileName(), stored.getId(), stored.getStoredName());
+
+        FileMetadata saved = metadataRepository.save(toMetadata(fileId, command, stored.getStoredName(),
+                stored.getFileUrl(), stored.getFileSize(), stored.getChecksum()));
+        if (!imageVariantService.supports(saved)) {
+            eventPublisher.publishFileUploaded(saved, List.of());
+            return saved;
+        }
 
-        FileMetadata metadata = FileMetadata.builder()
+        List<FileVariant> variants = variantRepository.findByFileId(stored.getId());
+        if (variants.isEmpty()) {
+            // Variants are named after the content, so generating them again reuses the same objects
+            imageVariantService.generateAfterCommit(saved);
+        } else {
+            variantRepository.saveAll(variants.stream().map(variant -> variant.forFile(fileId)).toList());
+            eventPublisher.publishFileUploaded(saved, variants.stream().map(FileVariant::getVariant).toList());
+        }
+        return saved;
+    }
+
+    private FileMetadata toMetadata(String fileId, FileUploadCommand command, String storedName,
+                                    String fileUrl, long fileSize, String checksum) {
+        return FileMetadata.builder()
                 .id(fileId)
                 .originalName(command.getOriginalFileName())
                 .storedName(storedName)
                 .contentType(command.getContentType())
-                .fileSize(command.getFileSize())
+                .fileSize(fileSize)
+                .checksum(checksum)
                 .bucket(getBucketForCategory(command.getCategory()))
                 .fileUrl(fileUrl)
                 .category(command.getCategory())
@@ -69,12 +187,6 @@ public class FileService implements UploadFileUseCase, DownloadFileUseCase, GetF
                 .uploadedAt(Instant.now())
                 .uploadedBy(command.getUploadedBy())
                 .build();
-
-        FileMetadata saved = metadataRepository.save(metadata);
-        eventPublisher.publishFileUploaded(saved);
-
-        log.info("File uploaded successfully: {}", fileId);
-        return FileResponse.fromDomain(saved);
     }
 
     @Override
@@ -85,12 +197,31 @@ public class FileService implements UploadFileUseCase, DownloadFileUseCase, GetF
 
         InputStream inputStream = fileStorage.retrieve(metadata.getStoredName());
 
-        return FileDownloadResult.builder()
-                .fileName(metadata.getOriginalName())
-                .contentType(metadata.getContentType())
-                .fileSize(metadata.getFileSize())
-                .inputStream(inputStream)
-                .build();
+        return toDownloadResult(metadata, inputStream);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FileDownloadResult describe(String fileId, ImageVariant variant) {
+        FileMetadata metadata = metadataRepository.findById(fileId)
+                .orElseThrow(() -> new FileNotFoundException(fileId));
+
+        if (variant != null) {
+            Optional<FileVariant> resized = variantRepository.findByFileIdAndVariant(fileId, variant);
+            if (resized.isPresent()) {
+                return toVariantDownloadResult(metadata, resized.get());
+            }
+        }
+        return toDownloadResult(metadata, null);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public InputStream openRange(FileDownloadResult file, long offset, long length) {
+        if (offset == 0 && length == file.getFileSize()) {
+            return fileStorage.retrieve(file.getStoredName());
+        }
+        return fileStorage.retrieve(file.getStoredName(), offset, length);
     }
 
     @Override
@@ -124,14 +255,28 @@ public class FileService implements UploadFileUseCase, DownloadFileUseCase, GetF
 
         log.info("Deleting file: {}", fileId);
 
-        fileStorage.delete(metadata.getStoredName());
+        // Locks every file sharing the object, so no upload can take a new reference meanwhile
+        long references = metadataRepository.countReferences(metadata.getStoredName());
+        List<FileVariant> variants = variantRepository.findByFileId(fileId);
+        variantRepository.deleteByFileId(fileId);
         metadataRepository.deleteById(fileId);
 
+        for (FileVariant variant : variants) {
+            if (!variantRepository.existsByStoredName(variant.getStoredName())) {
+                fileStorage.delete(variant.getStoredName());
+            }
+        }
+        if (references <= 1) {
+            fileStorage.delete(metadata.getStoredName());
+        } else {
+            log.info("Keeping {} for {} other files", metadata.getStoredName(), references - 1);
+        }
+
         log.info("File deleted successfully: {}", fileId);
     }
 
     private void validateFile(FileUploadCommand command) {
-        if (command.getFileSize() > MAX_FILE_SIZE) {
+        if (command.getFileSize() != null && command.getFileSize() > MAX_FILE_SIZE) {
             throw new InvalidFileException("File size exceeds maximum allowed size of 10MB");
         }
 
@@ -143,12 +288,39 @@ public class FileService implements UploadFileUseCase, DownloadFileUseCase, GetF
         }
     }
 
-    private String generateStoredName(String fileId, String originalName) {
-        String extension = "";
-        if (originalName != null && originalName.contains(".")) {
-            extension = originalName.substring(originalName.lastIndexOf("."));
+    private FileDownloadResult toDownloadResult(FileMetadata metadata, InputStream inputStream) {
+        return FileDownloadResult.builder()
+                .fileName(metadata.getOriginalName())
+                .storedName(metadata.getStoredName())
+                .contentType(metadata.getContentType())
+                .fileSize(metadata.getFileSize())
+                .checksum(metadata.getChecksum())
+                .category(metadata.getCategory())
+                .uploadedAt(metadata.getUploadedAt())
+                .inputStream(inputStream)
+                .build();
+    }
+
+    private FileDownloadResult toVariantDownloadResult(FileMetadata metadata, FileVariant variant) {
+        String originalName = metadata.getOriginalName();
+        String baseName = originalName.substring(0, originalName.length() - extensionOf(originalName).length());
+        return FileDownloadResult.builder()
+                .fileName(baseName + "-" + variant.getVariant().getValue() + extensionOf(variant.getStoredName()))
+                .storedName(variant.getStoredName())
+                .contentType(variant.getContentType())
+                .fileSize(variant.getFileSize())
+                .checksum(variant.getChecksum())
+                .category(metadata.getCategory())
+                .uploadedAt(variant.getCreatedAt())
+                .variant(variant.getVariant())
+                .build();
+    }
+
+    private String extensionOf(String name) {
+        if (name != null && name.contains(".")) {
+            return name.substring(name.lastIndexOf("."));
         }
-        return fileId + extension;
+        return "";
     }
 
     private String getBucketForCategory(FileCategory category) {
@@ -0,0 +1,145 @@
+package ru.ifmo.se.restaurant.file.application.usecase;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.ifmo.se.restaurant.file.application.port.out.FileEventPublisher;
+import ru.ifmo.se.restaurant.file.application.port.out.FileStoragePort;
+import ru.ifmo.se.restaurant.file.application.port.out.FileVariantRepository;
+import ru.ifmo.se.restaurant.file.application.port.out.ImageResizer;
+import ru.ifmo.se.restaurant.file.domain.entity.FileMetadata;
+import ru.ifmo.se.restaurant.file.domain.entity.FileVariant;
+import ru.ifmo.se.restaurant.file.domain.valueobject.FileCategory;
+import ru.ifmo.se.restaurant.file.domain.valueobject.ImageVariant;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates resized copies of uploaded images on a bounded worker pool once the upload has
+ * committed, stores them next to the original and then announces the upload together with the
+ * variants that were produced.
+ */
+@Slf4j
+@Service
+public class ImageVariantService {
+
+    private static final Set<FileCategory> IMAGE_CATEGORIES = EnumSet.of(
+            FileCategory.DISH_IMAGE, FileCategory.CATEGORY_IMAGE
+    );
+
+    private final FileStoragePort fileStorage;
+    private final FileVariantRepository variantRepository;
+    private final FileEventPublisher eventPublisher;
+    private final ImageResizer imageResizer;
+    private final ExecutorService workers;
+
+    public ImageVariantService(FileStoragePort fileStorage,
+                               FileVariantRepository variantRepository,
+                               FileEventPublisher eventPublisher,
+                               ImageResizer imageResizer,
+                               @Value("${file.variants.workers:2}") int workers,
+                               @Value("${file.variants.queue-capacity:100}") int queueCapacity) {
+        this.fileStorage = fileStorage;
+        this.variantRepository = variantRepository;
+        this.eventPublisher = eventPublisher;
+        this.imageResizer = imageResizer;
+        this.workers = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    public boolean supports(FileMetadata file) {
+        return IMAGE_CATEGORIES.contains(file.getCategory()) && file.isImage();
+    }
+
+    /**
+     * Queues variant generation for when the current transaction commits. If the queue is full
+     * the upload is announced right away without variants.
+     */
+    public void generateAfterCommit(FileMetadata file) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(file);
+                }
+            });
+        } else {
+            submit(file);
+        }
+    }
+
+    void generate(FileMetadata file) {
+        List<ImageVariant> generated = List.of();
+        try {
+            generated = createVariants(file).stream().map(FileVariant::getVariant).toList();
+            log.info("Generated {} variants for file: {}", generated.size(), file.getId());
+        } catch (RuntimeException e) {
+            log.error("Failed to generate variants for file: {}", file.getId(), e);
+        }
+        eventPublisher.publishFileUploaded(file, generated);
+    }
+
+    private void submit(FileMetadata file) {
+        try {
+            workers.execute(() -> generate(file));
+        } catch (RejectedExecutionException e) {
+            log.warn("Variant queue is full, publishing file {} without variants", file.getId());
+            eventPublisher.publishFileUploaded(file, List.of());
+        }
+    }
+
+    private List<FileVariant> createVariants(FileMetadata file) {
+        Map<ImageVariant, byte[]> images;
+        try (InputStream original = fileStorage.retrieve(file.getStoredName())) {
+            images = imageResizer.resize(original, EnumSet.allOf(ImageVariant.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (images.isEmpty()) {
+            log.info("File {} cannot be decoded as an image, no variants generated", file.getId());
+            return List.of();
+        }
+
+        List<FileVariant> variants = new ArrayList<>();
+        for (Map.Entry<ImageVariant, byte[]> image : images.entrySet()) {
+            byte[] bytes = image.getValue();
+            // Named after the content, so files sharing an original also share its variants
+            String owner = file.getChecksum() != null ? file.getChecksum() : file.getId();
+            String storedName = owner + "-" + image.getKey().getValue() + imageResizer.getFileExtension();
+            MeteredInputStream content = new MeteredInputStream(new ByteArrayInputStream(bytes), bytes.length);
+            fileStorage.store(storedName, content, imageResizer.getContentType(), bytes.length);
+            variants.add(FileVariant.builder()
+                    .fileId(file.getId())
+                    .variant(image.getKey())
+                    .storedName(storedName)
+                    .contentType(imageResizer.getContentType())
+                    .fileSize((long) bytes.length)
+                    .checksum(content.getChecksum())
+                    .createdAt(Instant.now())
+                    .build());
+        }
+        return variantRepository.saveAll(variants);
+    }
+}
@@ -0,0 +1,97 @@
+package ru.ifmo.se.restaurant.file.application.usecase;
+
+import ru.ifmo.se.restaurant.file.domain.exception.InvalidFileException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Counts and hashes upload bytes as storage reads them, and fails the read once more than
+ * {@code maxBytes} have passed, so the size limit holds even when the length is not known upfront.
+ */
+final class MeteredInputStream extends FilterInputStream {
+
+    private final long maxBytes;
+    private final MessageDigest digest;
+    private long bytesRead;
+
+    MeteredInputStream(InputStream in, long maxBytes) {
+        super(in);
+        this.maxBytes = maxBytes;
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b >= 0) {
+            count(1);
+            digest.update((byte) b);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int n = in.read(buffer, offset, length);
+        if (n > 0) {
+            count(n);
+            digest.update(buffer, offset, n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // Skipped bytes are read so that they still count towards the size and checksum
+        if (n <= 0) {
+            return 0;
+        }
+        int read = read(new byte[(int) Math.min(n, 8192)]);
+        return Math.max(read, 0);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(int readlimit) {
+    }
+
+    @Override
+    public void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    boolean isLimitExceeded() {
+        return bytesRead > maxBytes;
+    }
+
+    long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * Hex SHA-256 of the bytes read so far; call once storage has consumed the stream.
+     */
+    String getChecksum() {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private void count(int n) {
+        bytesRead += n;
+        if (bytesRead > maxBytes) {
+            throw new InvalidFileException("File size exceeds maximum allowed size of 10MB");
+        }
+    }
+}
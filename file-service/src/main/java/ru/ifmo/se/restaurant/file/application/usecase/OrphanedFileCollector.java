@@ -0,0 +1,153 @@
+package ru.ifmo.se.restaurant.file.application.usecase;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.ifmo.se.restaurant.file.application.port.out.FileMetadataRepository;
+import ru.ifmo.se.restaurant.file.application.port.out.FileReferenceChecker;
+import ru.ifmo.se.restaurant.file.application.port.out.FileStoragePort;
+import ru.ifmo.se.restaurant.file.application.port.out.FileVariantRepository;
+import ru.ifmo.se.restaurant.file.domain.entity.FileMetadata;
+import ru.ifmo.se.restaurant.file.domain.entity.FileVariant;
+import ru.ifmo.se.restaurant.file.domain.valueobject.FileCategory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Periodically deletes dish images that no dish points to any more, e.g. after the dish was
+ * removed or got a new image. Files are walked in id order one page at a time, each page is
+ * checked with a single call to the owning service, and orphans go together with their variants.
+ * A stored object is removed only once no other file shares it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "file.gc.enabled", havingValue = "true", matchIfMissing = true)
+public class OrphanedFileCollector {
+
+    private static final List<FileCategory> COLLECTED_CATEGORIES = List.of(FileCategory.DISH_IMAGE);
+
+    private final FileMetadataRepository metadataRepository;
+    private final FileVariantRepository variantRepository;
+    private final FileStoragePort fileStorage;
+    private final FileReferenceChecker referenceChecker;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long batchPauseMs;
+    private final Duration gracePeriod;
+
+    private final Timer runTimer;
+    private final Counter scannedFiles;
+    private final Counter collectedFiles;
+    private final Counter removedObjects;
+    private final Counter reclaimedBytes;
+    private final Counter failedRuns;
+
+    public OrphanedFileCollector(FileMetadataRepository metadataRepository,
+                                 FileVariantRepository variantRepository,
+                                 FileStoragePort fileStorage,
+                                 FileReferenceChecker referenceChecker,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${file.gc.batch-size:200}") int batchSize,
+                                 @Value("${file.gc.batch-pause-ms:1000}") long batchPauseMs,
+                                 @Value("${file.gc.grace-period-hours:24}") long gracePeriodHours) {
+        this.metadataRepository = metadataRepository;
+        this.variantRepository = variantRepository;
+        this.fileStorage = fileStorage;
+        this.referenceChecker = referenceChecker;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.batchPauseMs = batchPauseMs;
+        this.gracePeriod = Duration.ofHours(gracePeriodHours);
+        this.runTimer = meterRegistry.timer("file.gc.run");
+        this.scannedFiles = meterRegistry.counter("file.gc.files.scanned");
+        this.collectedFiles = meterRegistry.counter("file.gc.files.collected");
+        this.removedObjects = meterRegistry.counter("file.gc.objects.removed");
+        this.reclaimedBytes = meterRegistry.counter("file.gc.bytes.reclaimed");
+        this.failedRuns = meterRegistry.counter("file.gc.failures");
+    }
+
+    /**
+     * Files younger than the grace period are left alone, as their owner may not have linked
+     * them yet.
+     */
+    @Scheduled(fixedDelayString = "${file.gc.interval-ms:3600000}",
+            initialDelayString = "${file.gc.initial-delay-ms:300000}")
+    public void collect() {
+        Instant uploadedBefore = Instant.now().minus(gracePeriod);
+        runTimer.record(() -> {
+            try {
+                for (FileCategory category : COLLECTED_CATEGORIES) {
+                    collect(category, uploadedBefore);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                failedRuns.increment();
+                log.error("Orphaned file collection failed: {}", e.getMessage(), e);
+            }
+        });
+    }
+
+    private void collect(FileCategory category, Instant uploadedBefore) throws InterruptedException {
+        String cursor = "";
+        while (true) {
+            List<FileMetadata> page = metadataRepository.findPageAfter(category, cursor, uploadedBefore, batchSize);
+            if (page.isEmpty()) {
+                return;
+            }
+            cursor = page.get(page.size() - 1).getId();
+            scannedFiles.increment(page.size());
+
+            Set<String> referenced = referenceChecker.findReferencedUrls(category,
+                    page.stream().map(FileMetadata::getFileUrl).distinct().toList());
+            List<FileMetadata> orphans = page.stream()
+                    .filter(file -> !referenced.contains(file.getFileUrl()))
+                    .toList();
+            if (!orphans.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> remove(orphans));
+            }
+
+            if (page.size() < batchSize) {
+                return;
+            }
+            Thread.sleep(batchPauseMs);
+        }
+    }
+
+    private void remove(List<FileMetadata> orphans) {
+        List<String> ids = orphans.stream().map(FileMetadata::getId).toList();
+        List<FileVariant> variants = variantRepository.findByFileIds(ids);
+        variantRepository.deleteByFileIds(ids);
+        metadataRepository.deleteAllById(ids);
+
+        Map<String, Long> objectSizes = new HashMap<>();
+        orphans.forEach(file -> objectSizes.put(file.getStoredName(), sizeOf(file.getFileSize())));
+        variants.forEach(variant -> objectSizes.put(variant.getStoredName(), sizeOf(variant.getFileSize())));
+        // Checked after the rows are gone, so only files outside this batch keep an object
+        objectSizes.keySet().removeAll(metadataRepository.findReferencedStoredNames(objectSizes.keySet()));
+        objectSizes.keySet().removeAll(variantRepository.findReferencedStoredNames(objectSizes.keySet()));
+        fileStorage.deleteAll(objectSizes.keySet());
+
+        collectedFiles.increment(orphans.size());
+        removedObjects.increment(objectSizes.size());
+        reclaimedBytes.increment(objectSizes.values().stream().mapToLong(Long::longValue).sum());
+        log.info("Collected {} orphaned files, removed {} stored objects", orphans.size(), objectSizes.size());
+    }
+
+    private static long sizeOf(Long fileSize) {
+        return fileSize != null ? fileSize : 0;
+    }
+}
@@ -16,6 +16,7 @@ public class FileMetadata {
     private final String storedName;
     private final String contentType;
     private final Long fileSize;
+    private final String checksum;
     private final String bucket;
     private final String fileUrl;
     private final FileCategory category;
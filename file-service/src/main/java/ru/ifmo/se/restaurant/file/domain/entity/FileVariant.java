@@ -0,0 +1,28 @@
+package ru.ifmo.se.restaurant.file.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import ru.ifmo.se.restaurant.file.domain.valueobject.ImageVariant;
+
+import java.time.Instant;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class FileVariant {
+    private final String fileId;
+    private final ImageVariant variant;
+    private final String storedName;
+    private final String contentType;
+    private final Long fileSize;
+    private final String checksum;
+    private final Instant createdAt;
+
+    /**
+     * The same stored variant attached to another file with identical content.
+     */
+    public FileVariant forFile(String otherFileId) {
+        return new FileVariant(otherFileId, variant, storedName, contentType, fileSize, checksum, Instant.now());
+    }
+}
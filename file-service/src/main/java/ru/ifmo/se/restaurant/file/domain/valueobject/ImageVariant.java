@@ -0,0 +1,37 @@
+package ru.ifmo.se.restaurant.file.domain.valueobject;
+
+import ru.ifmo.se.restaurant.file.domain.exception.InvalidFileException;
+
+import java.util.Locale;
+
+/**
+ * Resized copies generated for uploaded images, each bounded by the length of its longest side.
+ */
+public enum ImageVariant {
+    THUMBNAIL(200),
+    CARD(640),
+    FULL(1600);
+
+    private final int maxDimension;
+
+    ImageVariant(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    public String getValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static ImageVariant fromValue(String value) {
+        for (ImageVariant variant : values()) {
+            if (variant.name().equalsIgnoreCase(value)) {
+                return variant;
+            }
+        }
+        throw new InvalidFileException("Unknown image variant: " + value);
+    }
+}
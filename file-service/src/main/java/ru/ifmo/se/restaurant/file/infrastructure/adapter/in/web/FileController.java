@@ -3,9 +3,13 @@ package ru.ifmo.se.restaurant.file.infrastructure.adapter.in.web;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,9 +22,14 @@ import ru.ifmo.se.restaurant.file.application.port.in.DownloadFileUseCase;
 import ru.ifmo.se.restaurant.file.application.port.in.GetFileMetadataUseCase;
 import ru.ifmo.se.restaurant.file.application.port.in.UploadFileUseCase;
 import ru.ifmo.se.restaurant.file.domain.valueobject.FileCategory;
+import ru.ifmo.se.restaurant.file.domain.valueobject.ImageVariant;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/files")
@@ -28,6 +37,11 @@ import java.util.List;
 @Tag(name = "File Management", description = "API for uploading, downloading and managing files")
 public class FileController {
 
+    private static final Duration CACHE_MAX_AGE = Duration.ofDays(365);
+    private static final Set<FileCategory> PUBLIC_CATEGORIES = EnumSet.of(
+            FileCategory.DISH_IMAGE, FileCategory.CATEGORY_IMAGE
+    );
+
     private final UploadFileUseCase uploadFileUseCase;
     private final DownloadFileUseCase downloadFileUseCase;
     private final GetFileMetadataUseCase getFileMetadataUseCase;
@@ -42,12 +56,40 @@ public class FileController {
             @RequestParam(value = "entityId", required = false) Long entityId,
             @Parameter(description = "Optional: User ID (auto-filled from JWT)", required = false, hidden = true)
             @RequestHeader(value = "X-User-Id", required = false) String userId
-    ) throws IOException {
+    ) {
         FileUploadCommand command = FileUploadCommand.builder()
                 .originalFileName(file.getOriginalFilename())
                 .contentType(file.getContentType())
                 .fileSize(file.getSize())
-                .inputStream(file.getInputStream())
+                .source(file)
+                .category(category)
+                .entityId(entityId)
+                .uploadedBy(userId)
+                .build();
+
+        FileResponse response = uploadFileUseCase.upload(command);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping(value = "/stream", consumes = "!" + MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Upload a file as the request body",
+            description = "Streams the raw request body straight into storage without buffering it; "
+                    + "the Content-Type header is taken as the file type. Use for large files.")
+    public ResponseEntity<FileResponse> uploadStream(
+            @RequestParam("fileName") String fileName,
+            @RequestParam("category") FileCategory category,
+            @Parameter(description = "Optional: ID of related entity (e.g., dish ID)", required = false)
+            @RequestParam(value = "entityId", required = false) Long entityId,
+            @Parameter(description = "Optional: User ID (auto-filled from JWT)", required = false, hidden = true)
+            @RequestHeader(value = "X-User-Id", required = false) String userId,
+            HttpServletRequest request
+    ) throws IOException {
+        long contentLength = request.getContentLengthLong();
+        FileUploadCommand command = FileUploadCommand.builder()
+                .originalFileName(fileName)
+                .contentType(contentType(request.getContentType()))
+                .fileSize(contentLength >= 0 ? contentLength : null)
+                .inputStream(request.getInputStream())
                 .category(category)
                 .entityId(entityId)
                 .uploadedBy(userId)
@@ -58,15 +100,49 @@ public class FileController {
     }
 
     @GetMapping("/{fileId}")
-    @Operation(summary = "Download a file", description = "Download a file by its ID")
-    public ResponseEntity<InputStreamResource> download(@PathVariable String fileId) {
-        FileDownloadResult result = downloadFileUseCase.download(fileId);
-
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + result.getFileName() + "\"")
-                .contentType(MediaType.parseMediaType(result.getContentType()))
-                .contentLength(result.getFileSize())
-                .body(new InputStreamResource(result.getInputStream()));
+    @Operation(summary = "Download a file",
+            description = "Download a file by its ID. Supports a single byte range and revalidation with "
+                    + "If-None-Match or If-Modified-Since; file contents never change, so responses are cacheable.")
+    public ResponseEntity<InputStreamResource> download(
+            @PathVariable String fileId,
+            @Parameter(description = "Optional: resized image variant (thumbnail, card, full); "
+                    + "the original is returned until the variant has been generated", required = false)
+            @RequestParam(value = "variant", required = false) String variant,
+            @Parameter(hidden = true) @RequestHeader HttpHeaders headers
+    ) {
+        ImageVariant requested = variant != null ? ImageVariant.fromValue(variant) : null;
+        FileDownloadResult file = downloadFileUseCase.describe(fileId, requested);
+        CacheControl cacheControl = cacheControl(file, requested);
+        String eTag = file.getChecksum() != null ? "\"" + file.getChecksum() + "\"" : null;
+
+        if (isNotModified(headers, eTag, file.getUploadedAt())) {
+            return withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), cacheControl, file, eTag).build();
+        }
+
+        long size = file.getFileSize();
+        long offset = 0;
+        long length = size;
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        HttpRange range = requestedRange(headers, eTag);
+        if (range != null) {
+            offset = range.getRangeStart(size);
+            length = range.getRangeEnd(size) - offset + 1;
+            if (offset >= size || length <= 0) {
+                return withValidators(ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE),
+                        cacheControl, file, eTag)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                        .build();
+            }
+            response = ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes " + offset + "-" + (offset + length - 1) + "/" + size);
+        }
+
+        return withValidators(response, cacheControl, file, eTag)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .contentType(MediaType.parseMediaType(file.getContentType()))
+                .contentLength(length)
+                .body(new InputStreamResource(downloadFileUseCase.openRange(file, offset, length)));
     }
 
     @GetMapping("/{fileId}/metadata")
@@ -96,4 +172,61 @@ public class FileController {
         deleteFileUseCase.delete(fileId);
         return ResponseEntity.noContent().build();
     }
+
+    private static boolean isNotModified(HttpHeaders headers, String eTag, Instant lastModified) {
+        List<String> ifNoneMatch = headers.getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            // If-None-Match takes precedence over If-Modified-Since and uses weak comparison
+            return eTag != null && ifNoneMatch.stream()
+                    .anyMatch(tag -> tag.equals("*") || tag.replaceFirst("^W/", "").equals(eTag));
+        }
+        long ifModifiedSince = headers.getIfModifiedSince();
+        return ifModifiedSince >= 0 && lastModified != null
+                && lastModified.getEpochSecond() <= ifModifiedSince / 1000;
+    }
+
+    private static HttpRange requestedRange(HttpHeaders headers, String eTag) {
+        String ifRange = headers.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(eTag)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = headers.getRange();
+            // Multi-range requests are answered with the whole file rather than a multipart body
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static CacheControl cacheControl(FileDownloadResult file, ImageVariant requested) {
+        if (file.getVariant() != requested) {
+            // The original stands in for a variant that is not generated yet, so it must be revalidated
+            return CacheControl.noCache();
+        }
+        // A file id always refers to the same content, so clients never need to revalidate it early
+        CacheControl cacheControl = CacheControl.maxAge(CACHE_MAX_AGE).immutable();
+        return PUBLIC_CATEGORIES.contains(file.getCategory()) ? cacheControl.cachePublic() : cacheControl.cachePrivate();
+    }
+
+    private static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder response,
+                                                             CacheControl cacheControl,
+                                                             FileDownloadResult file, String eTag) {
+        response.cacheControl(cacheControl);
+        if (eTag != null) {
+            response.eTag(eTag);
+        }
+        if (file.getUploadedAt() != null) {
+            response.lastModified(file.getUploadedAt());
+        }
+        return response;
+    }
+
+    private static String contentType(String header) {
+        if (header == null) {
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+        int parameters = header.indexOf(';');
+        return (parameters >= 0 ? header.substring(0, parameters) : header).trim();
+    }
 }
@@ -0,0 +1,30 @@
+package ru.ifmo.se.restaurant.file.infrastructure.adapter.out.client;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.ifmo.se.restaurant.file.application.port.out.FileReferenceChecker;
+import ru.ifmo.se.restaurant.file.domain.valueobject.FileCategory;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MenuFileReferenceChecker implements FileReferenceChecker {
+
+    private final MenuServiceClient menuServiceClient;
+
+    @Override
+    public Set<String> findReferencedUrls(FileCategory category, Collection<String> fileUrls) {
+        if (category != FileCategory.DISH_IMAGE) {
+            // No other owner can be asked yet, so everything else counts as referenced
+            return new HashSet<>(fileUrls);
+        }
+        log.debug("Checking {} dish image URLs against menu-service", fileUrls.size());
+        return new HashSet<>(menuServiceClient.findReferencedImageUrls(List.copyOf(fileUrls)));
+    }
+}
@@ -0,0 +1,14 @@
+package ru.ifmo.se.restaurant.file.infrastructure.adapter.out.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.List;
+
+@FeignClient(name = "menu-service")
+public interface MenuServiceClient {
+
+    @PostMapping("/api/dishes/image-references")
+    List<String> findReferencedImageUrls(@RequestBody List<String> imageUrls);
+}
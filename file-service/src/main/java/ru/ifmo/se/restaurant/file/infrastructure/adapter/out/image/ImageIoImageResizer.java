@@ -0,0 +1,141 @@
+package ru.ifmo.se.restaurant.file.infrastructure.adapter.out.image;
+
+import org.springframework.stereotype.Component;
+import ru.ifmo.se.restaurant.file.application.port.out.ImageResizer;
+import ru.ifmo.se.restaurant.file.domain.valueobject.ImageVariant;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resizes with the JDK image codecs and encodes variants as baseline JPEG. Transparent areas
+ * are flattened onto white.
+ */
+@Component
+public class ImageIoImageResizer implements ImageResizer {
+
+    private static final float JPEG_QUALITY = 0.8f;
+
+    @Override
+    public Map<ImageVariant, byte[]> resize(InputStream image, Set<ImageVariant> variants) {
+        if (variants.isEmpty()) {
+            return Map.of();
+        }
+        List<ImageVariant> largestFirst = variants.stream()
+                .sorted(Comparator.comparingInt(ImageVariant::getMaxDimension).reversed())
+                .toList();
+        try (ImageInputStream input = ImageIO.createImageInputStream(image)) {
+            BufferedImage current = decode(input, largestFirst.get(0).getMaxDimension());
+            if (current == null) {
+                return Map.of();
+            }
+            Map<ImageVariant, byte[]> resized = new EnumMap<>(ImageVariant.class);
+            // Each variant is scaled from the previous, larger one rather than from the original
+            for (ImageVariant variant : largestFirst) {
+                current = scaleDown(current, variant.getMaxDimension());
+                resized.put(variant, encode(current));
+            }
+            return resized;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to resize image", e);
+        }
+    }
+
+    @Override
+    public String getContentType() {
+        return "image/jpeg";
+    }
+
+    @Override
+    public String getFileExtension() {
+        return ".jpg";
+    }
+
+    private static BufferedImage decode(ImageInputStream input, int maxDimension) throws IOException {
+        if (input == null) {
+            return null;
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        if (!readers.hasNext()) {
+            return null;
+        }
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(input, true, true);
+            int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+            // Subsampling while decoding keeps large photos from being expanded into memory at full
+            // resolution; twice the target size is kept so the final scaling still has detail to filter
+            int subsampling = Math.max(1, longest / (maxDimension * 2));
+            ImageReadParam param = reader.getDefaultReadParam();
+            param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+            return reader.read(0, param);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    private static BufferedImage scaleDown(BufferedImage image, int maxDimension) {
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(image.getWidth(), image.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+        // Bilinear filtering skips source pixels below half size, so large reductions go in halving steps
+        BufferedImage current = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            current = draw(current, width, height);
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] encode(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
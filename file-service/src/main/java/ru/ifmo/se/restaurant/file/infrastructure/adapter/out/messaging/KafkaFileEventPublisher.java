@@ -9,6 +9,9 @@ import ru.ifmo.se.restaurant.common.event.KafkaTopics;
 import ru.ifmo.se.restaurant.common.event.file.FileUploadedEvent;
 import ru.ifmo.se.restaurant.file.application.port.out.FileEventPublisher;
 import ru.ifmo.se.restaurant.file.domain.entity.FileMetadata;
+import ru.ifmo.se.restaurant.file.domain.valueobject.ImageVariant;
+
+import java.util.List;
 
 @Slf4j
 @Component
@@ -18,7 +21,7 @@ public class KafkaFileEventPublisher implements FileEventPublisher {
     private final KafkaTemplate<String, Object> kafkaTemplate;
 
     @Override
-    public void publishFileUploaded(FileMetadata fileMetadata) {
+    public void publishFileUploaded(FileMetadata fileMetadata, List<ImageVariant> variants) {
         FileUploadedEvent payload = FileUploadedEvent.builder()
                 .fileId(fileMetadata.getId())
                 .fileName(fileMetadata.getOriginalName())
@@ -28,6 +31,7 @@ public class KafkaFileEventPublisher implements FileEventPublisher {
                 .category(fileMetadata.getCategory().name())
                 .entityId(fileMetadata.getEntityId())
                 .uploadedAt(fileMetadata.getUploadedAt())
+                .variants(variants.stream().map(ImageVariant::getValue).toList())
                 .build();
 
         DomainEvent<FileUploadedEvent> event = DomainEvent.create("FILE_UPLOADED", payload);
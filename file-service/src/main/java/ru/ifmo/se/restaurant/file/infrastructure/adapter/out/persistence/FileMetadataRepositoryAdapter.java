@@ -1,6 +1,7 @@
 package ru.ifmo.se.restaurant.file.infrastructure.adapter.out.persistence;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 import ru.ifmo.se.restaurant.file.application.port.out.FileMetadataRepository;
 import ru.ifmo.se.restaurant.file.domain.entity.FileMetadata;
@@ -8,8 +9,12 @@ import ru.ifmo.se.restaurant.file.domain.valueobject.FileCategory;
 import ru.ifmo.se.restaurant.file.infrastructure.adapter.out.persistence.entity.FileMetadataJpaEntity;
 import ru.ifmo.se.restaurant.file.infrastructure.adapter.out.persistence.repository.FileMetadataJpaRepository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Component
 @RequiredArgsConstructor
@@ -48,4 +53,32 @@ public class FileMetadataRepositoryAdapter implements FileMetadataRepository {
     public void deleteById(String id) {
         jpaRepository.deleteById(id);
     }
+
+    @Override
+    public Optional<FileMetadata> findStoredByChecksum(String checksum) {
+        return jpaRepository.findFirstByChecksumOrderByUploadedAtAsc(checksum)
+                .map(FileMetadataJpaEntity::toDomain);
+    }
+
+    @Override
+    public long countReferences(String storedName) {
+        return jpaRepository.findByStoredName(storedName).size();
+    }
+
+    @Override
+    public List<FileMetadata> findPageAfter(FileCategory category, String afterId, Instant uploadedBefore, int limit) {
+        return jpaRepository.findPageAfter(category, afterId, uploadedBefore, Limit.of(limit)).stream()
+                .map(FileMetadataJpaEntity::toDomain)
+                .toList();
+    }
+
+    @Override
+    public void deleteAllById(Collection<String> ids) {
+        jpaRepository.deleteByIdIn(ids);
+    }
+
+    @Override
+    public Set<String> findReferencedStoredNames(Collection<String> storedNames) {
+        return new HashSet<>(jpaRepository.findStoredNamesIn(storedNames));
+    }
 }
@@ -0,0 +1,72 @@
+package ru.ifmo.se.restaurant.file.infrastructure.adapter.out.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.ifmo.se.restaurant.file.application.port.out.FileVariantRepository;
+import ru.ifmo.se.restaurant.file.domain.entity.FileVariant;
+import ru.ifmo.se.restaurant.file.domain.valueobject.ImageVariant;
+import ru.ifmo.se.restaurant.file.infrastructure.adapter.out.persistence.entity.FileVariantJpaEntity;
+import ru.ifmo.se.restaurant.file.infrastructure.adapter.out.persistence.repository.FileVariantJpaRepository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+public class FileVariantRepositoryAdapter implements FileVariantRepository {
+
+    private final FileVariantJpaRepository jpaRepository;
+
+    @Override
+    public List<FileVariant> saveAll(List<FileVariant> variants) {
+        List<FileVariantJpaEntity> entities = variants.stream()
+                .map(FileVariantJpaEntity::fromDomain)
+                .toList();
+        return jpaRepository.saveAll(entities).stream()
+                .map(FileVariantJpaEntity::toDomain)
+                .toList();
+    }
+
+    @Override
+    public List<FileVariant> findByFileId(String fileId) {
+        return jpaRepository.findByFileId(fileId).stream()
+                .map(FileVariantJpaEntity::toDomain)
+                .toList();
+    }
+
+    @Override
+    public Optional<FileVariant> findByFileIdAndVariant(String fileId, ImageVariant variant) {
+        return jpaRepository.findByFileIdAndVariant(fileId, variant)
+                .map(FileVariantJpaEntity::toDomain);
+    }
+
+    @Override
+    public void deleteByFileId(String fileId) {
+        jpaRepository.deleteByFileId(fileId);
+    }
+
+    @Override
+    public boolean existsByStoredName(String storedName) {
+        return jpaRepository.existsByStoredName(storedName);
+    }
+
+    @Override
+    public List<FileVariant> findByFileIds(Collection<String> fileIds) {
+        return jpaRepository.findByFileIdIn(fileIds).stream()
+                .map(FileVariantJpaEntity::toDomain)
+                .toList();
+    }
+
+    @Override
+    public void deleteByFileIds(Collection<String> fileIds) {
+        jpaRepository.deleteByFileIdIn(fileIds);
+    }
+
+    @Override
+    public Set<String> findReferencedStoredNames(Collection<String> storedNames) {
+        return new HashSet<>(jpaRepository.findStoredNamesIn(storedNames));
+    }
+}
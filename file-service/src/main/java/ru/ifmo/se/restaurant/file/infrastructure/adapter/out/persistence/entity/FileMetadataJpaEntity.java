@@ -32,6 +32,9 @@ public class FileMetadataJpaEntity {
     @Column(name = "file_size", nullable = false)
     private Long fileSize;
 
+    @Column(name = "checksum", length = 64)
+    private String checksum;
+
     @Column(name = "bucket", nullable = false, length = 100)
     private String bucket;
 
@@ -58,6 +61,7 @@ public class FileMetadataJpaEntity {
                 .storedName(domain.getStoredName())
                 .contentType(domain.getContentType())
                 .fileSize(domain.getFileSize())
+                .checksum(domain.getChecksum())
                 .bucket(domain.getBucket())
                 .fileUrl(domain.getFileUrl())
                 .category(domain.getCategory())
@@ -74,6 +78,7 @@ public class FileMetadataJpaEntity {
                 .storedName(storedName)
                 .contentType(contentType)
                 .fileSize(fileSize)
+                .checksum(checksum)
                 .bucket(bucket)
                 .fileUrl(fileUrl)
                 .category(category)
@@ -0,0 +1,78 @@
+package ru.ifmo.se.restaurant.file.infrastructure.adapter.out.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import ru.ifmo.se.restaurant.file.domain.entity.FileVariant;
+import ru.ifmo.se.restaurant.file.domain.valueobject.ImageVariant;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+@Entity
+@Table(name = "file_variants")
+@IdClass(FileVariantJpaEntity.Key.class)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileVariantJpaEntity {
+
+    @Id
+    @Column(name = "file_id", nullable = false, length = 36)
+    private String fileId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "variant", nullable = false, length = 20)
+    private ImageVariant variant;
+
+    @Column(name = "stored_name", nullable = false)
+    private String storedName;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(name = "file_size", nullable = false)
+    private Long fileSize;
+
+    @Column(name = "checksum", length = 64)
+    private String checksum;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public static FileVariantJpaEntity fromDomain(FileVariant domain) {
+        return FileVariantJpaEntity.builder()
+                .storedName(domain.getStoredName())
+                .fileId(domain.getFileId())
+                .variant(domain.getVariant())
+                .contentType(domain.getContentType())
+                .fileSize(domain.getFileSize())
+                .checksum(domain.getChecksum())
+                .createdAt(domain.getCreatedAt())
+                .build();
+    }
+
+    public FileVariant toDomain() {
+        return FileVariant.builder()
+                .fileId(fileId)
+                .variant(variant)
+                .storedName(storedName)
+                .contentType(contentType)
+                .fileSize(fileSize)
+                .checksum(checksum)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String fileId;
+        private ImageVariant variant;
+    }
+}
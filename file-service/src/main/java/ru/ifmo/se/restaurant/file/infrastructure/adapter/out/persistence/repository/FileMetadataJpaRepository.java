@@ -1,14 +1,43 @@
 package ru.ifmo.se.restaurant.file.infrastructure.adapter.out.persistence.repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.ifmo.se.restaurant.file.domain.valueobject.FileCategory;
 import ru.ifmo.se.restaurant.file.infrastructure.adapter.out.persistence.entity.FileMetadataJpaEntity;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface FileMetadataJpaRepository extends JpaRepository<FileMetadataJpaEntity, String> {
     List<FileMetadataJpaEntity> findByCategory(FileCategory category);
     List<FileMetadataJpaEntity> findByEntityId(Long entityId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<FileMetadataJpaEntity> findFirstByChecksumOrderByUploadedAtAsc(String checksum);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<FileMetadataJpaEntity> findByStoredName(String storedName);
+
+    @Query("SELECT f FROM FileMetadataJpaEntity f WHERE f.category = :category AND f.id > :afterId "
+            + "AND f.uploadedAt < :uploadedBefore ORDER BY f.id")
+    List<FileMetadataJpaEntity> findPageAfter(@Param("category") FileCategory category,
+                                              @Param("afterId") String afterId,
+                                              @Param("uploadedBefore") Instant uploadedBefore,
+                                              Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM FileMetadataJpaEntity f WHERE f.id IN :ids")
+    void deleteByIdIn(@Param("ids") Collection<String> ids);
+
+    @Query("SELECT DISTINCT f.storedName FROM FileMetadataJpaEntity f WHERE f.storedName IN :storedNames")
+    List<String> findStoredNamesIn(@Param("storedNames") Collection<String> storedNames);
 }
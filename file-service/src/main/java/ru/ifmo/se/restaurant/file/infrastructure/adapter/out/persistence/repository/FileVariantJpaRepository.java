@@ -0,0 +1,32 @@
+package ru.ifmo.se.restaurant.file.infrastructure.adapter.out.persistence.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.ifmo.se.restaurant.file.domain.valueobject.ImageVariant;
+import ru.ifmo.se.restaurant.file.infrastructure.adapter.out.persistence.entity.FileVariantJpaEntity;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FileVariantJpaRepository extends JpaRepository<FileVariantJpaEntity, FileVariantJpaEntity.Key> {
+    List<FileVariantJpaEntity> findByFileId(String fileId);
+    Optional<FileVariantJpaEntity> findByFileIdAndVariant(String fileId, ImageVariant variant);
+    boolean existsByStoredName(String storedName);
+    List<FileVariantJpaEntity> findByFileIdIn(Collection<String> fileIds);
+
+    @Modifying
+    @Query("DELETE FROM FileVariantJpaEntity v WHERE v.fileId = :fileId")
+    void deleteByFileId(@Param("fileId") String fileId);
+
+    @Modifying
+    @Query("DELETE FROM FileVariantJpaEntity v WHERE v.fileId IN :fileIds")
+    void deleteByFileIdIn(@Param("fileIds") Collection<String> fileIds);
+
+    @Query("SELECT DISTINCT v.storedName FROM FileVariantJpaEntity v WHERE v.storedName IN :storedNames")
+    List<String> findStoredNamesIn(@Param("storedNames") Collection<String> storedNames);
+}
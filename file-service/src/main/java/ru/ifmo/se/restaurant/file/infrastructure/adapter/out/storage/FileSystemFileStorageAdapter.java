@@ -0,0 +1,193 @@
+package ru.ifmo.se.restaurant.file.infrastructure.adapter.out.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.ifmo.se.restaurant.file.application.port.out.FileStoragePort;
+import ru.ifmo.se.restaurant.file.domain.exception.FileUploadException;
+import ru.ifmo.se.restaurant.file.infrastructure.config.FileSystemStorageProperties;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+
+/**
+ * Stores files on the local filesystem for single-node deployments and tests that run without
+ * MinIO. Files are spread over two levels of 256 directories keyed by a hash of the stored name,
+ * written to a temporary file in the target directory and renamed into place, so readers never
+ * see a partial file. Content is moved with {@link FileChannel#transferFrom}, and read streams are
+ * channel-backed so that copying them to another channel uses {@link FileChannel#transferTo}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "file.storage.type", havingValue = "filesystem")
+public class FileSystemFileStorageAdapter implements FileStoragePort {
+
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024;
+
+    private final Path root;
+    private final String baseUrl;
+
+    public FileSystemFileStorageAdapter(FileSystemStorageProperties properties) {
+        this.root = Path.of(properties.getRoot()).toAbsolutePath().normalize();
+        String url = properties.getBaseUrl() != null ? properties.getBaseUrl() : root.toUri().toString();
+        this.baseUrl = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    @Override
+    public String store(String fileName, InputStream inputStream, String contentType, long size) {
+        Path target = resolve(fileName);
+        Path temp = null;
+        try {
+            Files.createDirectories(target.getParent());
+            temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+            try (ReadableByteChannel source = Channels.newChannel(inputStream);
+                 FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                long position = 0;
+                long transferred;
+                while ((transferred = channel.transferFrom(source, position, TRANSFER_CHUNK)) > 0) {
+                    position += transferred;
+                }
+                channel.force(false);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            log.debug("File stored on disk: {}", fileName);
+            return getFileUrl(fileName);
+
+        } catch (Exception e) {
+            deleteQuietly(temp);
+            log.error("Failed to store file on disk: {}", fileName, e);
+            throw new FileUploadException("Failed to store file: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public InputStream retrieve(String storedName) {
+        try {
+            return Channels.newInputStream(FileChannel.open(resolve(storedName), StandardOpenOption.READ));
+        } catch (IOException e) {
+            log.error("Failed to retrieve file from disk: {}", storedName, e);
+            throw new FileUploadException("Failed to retrieve file: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public InputStream retrieve(String storedName, long offset, long length) {
+        try {
+            FileChannel channel = FileChannel.open(resolve(storedName), StandardOpenOption.READ);
+            return new RangeInputStream(channel.position(offset), length);
+        } catch (IOException e) {
+            log.error("Failed to retrieve range {}+{} of file from disk: {}", offset, length, storedName, e);
+            throw new FileUploadException("Failed to retrieve file: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void delete(String storedName) {
+        try {
+            Files.deleteIfExists(resolve(storedName));
+            log.debug("File deleted from disk: {}", storedName);
+        } catch (IOException e) {
+            log.error("Failed to delete file from disk: {}", storedName, e);
+            throw new FileUploadException("Failed to delete file: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void deleteAll(Collection<String> storedNames) {
+        for (String storedName : storedNames) {
+            delete(storedName);
+        }
+    }
+
+    @Override
+    public String getFileUrl(String storedName) {
+        return baseUrl + "/" + shardOf(storedName) + "/" + storedName;
+    }
+
+    private Path resolve(String storedName) {
+        Path shard = root.resolve(shardOf(storedName));
+        Path path = shard.resolve(storedName).normalize();
+        if (!shard.equals(path.getParent())) {
+            throw new FileUploadException("Invalid stored name: " + storedName);
+        }
+        return path;
+    }
+
+    private static String shardOf(String storedName) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(storedName.getBytes(StandardCharsets.UTF_8));
+            HexFormat hex = HexFormat.of();
+            return hex.toHexDigits(hash[0]) + "/" + hex.toHexDigits(hash[1]);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void deleteQuietly(Path temp) {
+        if (temp == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            log.warn("Failed to remove temporary file: {}", temp, e);
+        }
+    }
+
+    /**
+     * Reads at most {@code remaining} bytes from the channel's current position.
+     */
+    private static final class RangeInputStream extends InputStream {
+        private final FileChannel channel;
+        private final InputStream in;
+        private long remaining;
+
+        private RangeInputStream(FileChannel channel, long length) {
+            this.channel = channel;
+            this.in = Channels.newInputStream(channel);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = in.read(buffer, offset, (int) Math.min(length, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -1,39 +1,90 @@
 package ru.ifmo.se.restaurant.file.infrastructure.adapter.out.storage;
 
 import io.minio.*;
-import lombok.RequiredArgsConstructor;
+import io.minio.errors.ErrorResponseException;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import io.minio.messages.Part;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 import ru.ifmo.se.restaurant.file.application.port.out.FileStoragePort;
 import ru.ifmo.se.restaurant.file.domain.exception.FileUploadException;
 import ru.ifmo.se.restaurant.file.infrastructure.config.MinioProperties;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
+@ConditionalOnProperty(name = "file.storage.type", havingValue = "minio", matchIfMissing = true)
 public class MinioFileStorageAdapter implements FileStoragePort {
 
     private final MinioClient minioClient;
+    private final MultipartMinioClient multipartClient;
     private final MinioProperties minioProperties;
+    private final int partSize;
+    private final long multipartThreshold;
+    private final int partsInFlight;
+    private volatile boolean bucketReady;
+
+    public MinioFileStorageAdapter(MinioClient minioClient,
+                                   MultipartMinioClient multipartClient,
+                                   MinioProperties minioProperties,
+                                   @Value("${minio.upload.part-size:5MB}") DataSize partSize,
+                                   @Value("${minio.upload.multipart-threshold:8MB}") DataSize multipartThreshold,
+                                   @Value("${minio.upload.workers:4}") int partsInFlight) {
+        this.minioClient = minioClient;
+        this.multipartClient = multipartClient;
+        this.minioProperties = minioProperties;
+        // S3 rejects parts below 5MB other than the last one
+        this.partSize = (int) Math.max(partSize.toBytes(), ObjectWriteArgs.MIN_MULTIPART_SIZE);
+        this.multipartThreshold = multipartThreshold.toBytes();
+        this.partsInFlight = partsInFlight;
+    }
+
+    /**
+     * Checks the bucket once at startup; if MinIO is not reachable yet, the first upload retries.
+     */
+    @PostConstruct
+    public void verifyBucket() {
+        try {
+            ensureBucketExists();
+        } catch (FileUploadException e) {
+            log.warn("Could not verify MinIO bucket at startup, will retry on first upload: {}", e.getMessage());
+        }
+    }
 
     @Override
     public String store(String fileName, InputStream inputStream, String contentType, long size) {
         try {
             ensureBucketExists();
 
-            minioClient.putObject(PutObjectArgs.builder()
-                    .bucket(minioProperties.getBucket())
-                    .object(fileName)
-                    .stream(inputStream, size, -1)
-                    .contentType(contentType)
-                    .build());
+            if (size >= 0 && size < multipartThreshold) {
+                putObject(fileName, inputStream, size, contentType);
+            } else {
+                storeInParts(fileName, inputStream, contentType);
+            }
 
             log.debug("File stored in MinIO: {}", fileName);
             return getFileUrl(fileName);
 
         } catch (Exception e) {
+            if (isMissingBucket(e)) {
+                bucketReady = false;
+            }
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
             log.error("Failed to store file in MinIO: {}", fileName, e);
             throw new FileUploadException("Failed to store file: " + e.getMessage(), e);
         }
@@ -52,6 +103,21 @@ public class MinioFileStorageAdapter implements FileStoragePort {
         }
     }
 
+    @Override
+    public InputStream retrieve(String storedName, long offset, long length) {
+        try {
+            return minioClient.getObject(GetObjectArgs.builder()
+                    .bucket(minioProperties.getBucket())
+                    .object(storedName)
+                    .offset(offset)
+                    .length(length)
+                    .build());
+        } catch (Exception e) {
+            log.error("Failed to retrieve range {}+{} of file from MinIO: {}", offset, length, storedName, e);
+            throw new FileUploadException("Failed to retrieve file: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public void delete(String storedName) {
         try {
@@ -66,6 +132,33 @@ public class MinioFileStorageAdapter implements FileStoragePort {
         }
     }
 
+    @Override
+    public void deleteAll(Collection<String> storedNames) {
+        if (storedNames.isEmpty()) {
+            return;
+        }
+        List<String> failed = new ArrayList<>();
+        try {
+            // Sent as multi-object deletes of up to 1000 keys; the lazy results only report failures
+            Iterable<Result<DeleteError>> results = minioClient.removeObjects(RemoveObjectsArgs.builder()
+                    .bucket(minioProperties.getBucket())
+                    .objects(storedNames.stream().map(DeleteObject::new).toList())
+                    .build());
+            for (Result<DeleteError> result : results) {
+                DeleteError error = result.get();
+                log.error("Failed to delete file from MinIO: {} ({})", error.objectName(), error.message());
+                failed.add(error.objectName());
+            }
+        } catch (Exception e) {
+            log.error("Failed to delete {} files from MinIO", storedNames.size(), e);
+            throw new FileUploadException("Failed to delete files: " + e.getMessage(), e);
+        }
+        if (!failed.isEmpty()) {
+            throw new FileUploadException("Failed to delete files: " + failed);
+        }
+        log.debug("Deleted {} files from MinIO", storedNames.size());
+    }
+
     @Override
     public String getFileUrl(String storedName) {
         return String.format("%s/%s/%s",
@@ -74,21 +167,100 @@ public class MinioFileStorageAdapter implements FileStoragePort {
                 storedName);
     }
 
-    private void ensureBucketExists() {
+    private void putObject(String fileName, InputStream inputStream, long size, String contentType) throws Exception {
+        minioClient.putObject(PutObjectArgs.builder()
+                .bucket(minioProperties.getBucket())
+                .object(fileName)
+                .stream(inputStream, size, -1)
+                .contentType(contentType)
+                .build());
+    }
+
+    /**
+     * Reads the stream one part at a time and sends the parts concurrently, keeping at most
+     * {@code partsInFlight} parts of this upload in memory. Content that turns out to fit into a
+     * single part is sent with one plain PUT instead.
+     */
+    private void storeInParts(String fileName, InputStream inputStream, String contentType) throws Exception {
+        String bucket = minioProperties.getBucket();
+        byte[] part = inputStream.readNBytes(partSize);
+        if (part.length < partSize) {
+            putObject(fileName, new ByteArrayInputStream(part), part.length, contentType);
+            return;
+        }
+
+        String uploadId = multipartClient.createMultipartUpload(bucket, fileName, contentType).join();
+        Semaphore inFlight = new Semaphore(partsInFlight);
+        CompletableFuture<Void> failed = new CompletableFuture<>();
+        List<CompletableFuture<Part>> uploads = new ArrayList<>();
         try {
-            boolean exists = minioClient.bucketExists(BucketExistsArgs.builder()
-                    .bucket(minioProperties.getBucket())
-                    .build());
+            for (int partNumber = 1; part.length > 0; partNumber++) {
+                inFlight.acquire();
+                if (failed.isCompletedExceptionally()) {
+                    failed.join();
+                }
+                CompletableFuture<Part> upload = multipartClient.uploadPart(
+                        bucket, fileName, uploadId, partNumber, part, part.length);
+                upload.whenComplete((uploaded, error) -> {
+                    inFlight.release();
+                    if (error != null) {
+                        failed.completeExceptionally(error);
+                    }
+                });
+                uploads.add(upload);
+                part = part.length < partSize ? new byte[0] : inputStream.readNBytes(partSize);
+            }
 
-            if (!exists) {
-                minioClient.makeBucket(MakeBucketArgs.builder()
+            Part[] parts = new Part[uploads.size()];
+            for (int i = 0; i < parts.length; i++) {
+                parts[i] = uploads.get(i).join();
+            }
+            multipartClient.completeMultipartUpload(bucket, fileName, uploadId, parts).join();
+            log.debug("File stored in MinIO in {} parts: {}", parts.length, fileName);
+        } catch (Exception e) {
+            uploads.forEach(upload -> upload.cancel(true));
+            abortMultipartUpload(bucket, fileName, uploadId);
+            throw e;
+        }
+    }
+
+    private void abortMultipartUpload(String bucket, String fileName, String uploadId) {
+        try {
+            multipartClient.abortMultipartUpload(bucket, fileName, uploadId).join();
+        } catch (Exception e) {
+            log.warn("Failed to abort multipart upload {} of {}", uploadId, fileName, e);
+        }
+    }
+
+    private void ensureBucketExists() {
+        if (bucketReady) {
+            return;
+        }
+        synchronized (this) {
+            if (bucketReady) {
+                return;
+            }
+            try {
+                boolean exists = minioClient.bucketExists(BucketExistsArgs.builder()
                         .bucket(minioProperties.getBucket())
                         .build());
-                log.info("Created MinIO bucket: {}", minioProperties.getBucket());
+
+                if (!exists) {
+                    minioClient.makeBucket(MakeBucketArgs.builder()
+                            .bucket(minioProperties.getBucket())
+                            .build());
+                    log.info("Created MinIO bucket: {}", minioProperties.getBucket());
+                }
+                bucketReady = true;
+            } catch (Exception e) {
+                log.error("Failed to ensure bucket exists", e);
+                throw new FileUploadException("Failed to ensure bucket exists: " + e.getMessage(), e);
             }
-        } catch (Exception e) {
-            log.error("Failed to ensure bucket exists", e);
-            throw new FileUploadException("Failed to ensure bucket exists: " + e.getMessage(), e);
         }
     }
+
+    private boolean isMissingBucket(Exception e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof ErrorResponseException error && "NoSuchBucket".equals(error.errorResponse().code());
+    }
 }
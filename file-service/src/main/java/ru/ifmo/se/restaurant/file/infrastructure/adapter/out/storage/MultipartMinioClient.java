@@ -0,0 +1,54 @@
+package ru.ifmo.se.restaurant.file.infrastructure.adapter.out.storage;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+import io.minio.CreateMultipartUploadResponse;
+import io.minio.MinioAsyncClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.errors.MinioException;
+import io.minio.messages.Part;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Exposes the S3 multipart calls that {@link MinioAsyncClient} keeps protected, so the parts of
+ * one object can be sent concurrently instead of one after another.
+ */
+public class MultipartMinioClient extends MinioAsyncClient {
+
+    public MultipartMinioClient(MinioAsyncClient client) {
+        super(client);
+    }
+
+    public CompletableFuture<String> createMultipartUpload(String bucket, String object, String contentType)
+            throws MinioException, IOException, GeneralSecurityException {
+        Multimap<String, String> headers = HashMultimap.create();
+        if (contentType != null) {
+            headers.put("Content-Type", contentType);
+        }
+        return createMultipartUploadAsync(bucket, null, object, headers, null)
+                .thenApply(CreateMultipartUploadResponse::result)
+                .thenApply(result -> result.uploadId());
+    }
+
+    public CompletableFuture<Part> uploadPart(String bucket, String object, String uploadId,
+                                              int partNumber, byte[] data, int length)
+            throws MinioException, IOException, GeneralSecurityException {
+        return uploadPartAsync(bucket, null, object, data, length, uploadId, partNumber, null, null)
+                .thenApply(response -> new Part(partNumber, response.etag()));
+    }
+
+    public CompletableFuture<ObjectWriteResponse> completeMultipartUpload(String bucket, String object,
+                                                                          String uploadId, Part[] parts)
+            throws MinioException, IOException, GeneralSecurityException {
+        return completeMultipartUploadAsync(bucket, null, object, uploadId, parts, null, null);
+    }
+
+    public CompletableFuture<Void> abortMultipartUpload(String bucket, String object, String uploadId)
+            throws MinioException, IOException, GeneralSecurityException {
+        return abortMultipartUploadAsync(bucket, null, object, uploadId, null, null)
+                .thenApply(response -> null);
+    }
+}
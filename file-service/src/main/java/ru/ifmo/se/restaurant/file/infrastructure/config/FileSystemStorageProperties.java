@@ -0,0 +1,18 @@
+package ru.ifmo.se.restaurant.file.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "file.storage.filesystem")
+public class FileSystemStorageProperties {
+    private String root = "data/files";
+    /**
+     * Prefix for the URLs recorded with stored files; defaults to a {@code file:} URL of the root.
+     */
+    private String baseUrl;
+}
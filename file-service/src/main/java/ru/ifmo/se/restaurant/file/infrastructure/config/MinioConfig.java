@@ -1,14 +1,26 @@
 package ru.ifmo.se.restaurant.file.infrastructure.config;
 
+import io.minio.MinioAsyncClient;
 import io.minio.MinioClient;
+import io.minio.http.HttpUtils;
 import lombok.RequiredArgsConstructor;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import ru.ifmo.se.restaurant.file.infrastructure.adapter.out.storage.MultipartMinioClient;
+
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "file.storage.type", havingValue = "minio", matchIfMissing = true)
 public class MinioConfig {
 
+    private static final long HTTP_TIMEOUT = TimeUnit.MINUTES.toMillis(5);
+
     private final MinioProperties minioProperties;
 
     @Bean
@@ -18,4 +30,24 @@ public class MinioConfig {
                 .credentials(minioProperties.getAccessKey(), minioProperties.getSecretKey())
                 .build();
     }
+
+    /**
+     * Client for multipart uploads with its own bounded dispatcher, so all large uploads together
+     * never have more than {@code minio.upload.workers} parts on the wire.
+     */
+    @Bean
+    public MultipartMinioClient multipartMinioClient(@Value("${minio.upload.workers:4}") int workers) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(workers);
+        dispatcher.setMaxRequestsPerHost(workers);
+        OkHttpClient httpClient = HttpUtils.newDefaultHttpClient(HTTP_TIMEOUT, HTTP_TIMEOUT, HTTP_TIMEOUT)
+                .newBuilder()
+                .dispatcher(dispatcher)
+                .build();
+        return new MultipartMinioClient(MinioAsyncClient.builder()
+                .endpoint(minioProperties.getEndpoint())
+                .credentials(minioProperties.getAccessKey(), minioProperties.getSecretKey())
+                .httpClient(httpClient)
+                .build());
+    }
 }
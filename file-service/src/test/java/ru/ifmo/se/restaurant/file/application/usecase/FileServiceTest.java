@@ -6,25 +6,34 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
 import ru.ifmo.se.restaurant.file.application.dto.FileDownloadResult;
 import ru.ifmo.se.restaurant.file.application.dto.FileResponse;
 import ru.ifmo.se.restaurant.file.application.dto.FileUploadCommand;
 import ru.ifmo.se.restaurant.file.application.port.out.FileEventPublisher;
 import ru.ifmo.se.restaurant.file.application.port.out.FileMetadataRepository;
 import ru.ifmo.se.restaurant.file.application.port.out.FileStoragePort;
+import ru.ifmo.se.restaurant.file.application.port.out.FileVariantRepository;
 import ru.ifmo.se.restaurant.file.domain.entity.FileMetadata;
+import ru.ifmo.se.restaurant.file.domain.entity.FileVariant;
 import ru.ifmo.se.restaurant.file.domain.exception.FileNotFoundException;
+import ru.ifmo.se.restaurant.file.domain.exception.FileUploadException;
 import ru.ifmo.se.restaurant.file.domain.exception.InvalidFileException;
 import ru.ifmo.se.restaurant.file.domain.valueobject.FileCategory;
+import ru.ifmo.se.restaurant.file.domain.valueobject.ImageVariant;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
 import java.time.Instant;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -41,6 +50,12 @@ class FileServiceTest {
     @Mock
     private FileEventPublisher eventPublisher;
 
+    @Mock
+    private FileVariantRepository variantRepository;
+
+    @Mock
+    private ImageVariantService imageVariantService;
+
     @InjectMocks
     private FileService fileService;
 
@@ -79,7 +94,7 @@ class FileServiceTest {
         when(fileStorage.store(anyString(), any(InputStream.class), anyString(), anyLong()))
                 .thenReturn("http://minio:9000/dish-images/test.jpg");
         when(metadataRepository.save(any(FileMetadata.class))).thenReturn(testMetadata);
-        doNothing().when(eventPublisher).publishFileUploaded(any(FileMetadata.class));
+        doNothing().when(eventPublisher).publishFileUploaded(any(FileMetadata.class), anyList());
 
         FileResponse response = fileService.upload(testCommand);
 
@@ -88,7 +103,75 @@ class FileServiceTest {
         assertEquals("test.jpg", response.getOriginalName());
         verify(fileStorage).store(anyString(), any(InputStream.class), eq("image/jpeg"), eq(1024L));
         verify(metadataRepository).save(any(FileMetadata.class));
-        verify(eventPublisher).publishFileUploaded(any(FileMetadata.class));
+        verify(eventPublisher).publishFileUploaded(any(FileMetadata.class), anyList());
+    }
+
+    @Test
+    void upload_ShouldLeaveAnnouncementToVariantGeneration_ForImages() {
+        when(fileStorage.store(anyString(), any(InputStream.class), anyString(), anyLong()))
+                .thenReturn("http://minio:9000/dish-images/test.jpg");
+        when(metadataRepository.save(any(FileMetadata.class))).thenReturn(testMetadata);
+        when(imageVariantService.supports(testMetadata)).thenReturn(true);
+
+        fileService.upload(testCommand);
+
+        verify(imageVariantService).generateAfterCommit(testMetadata);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void upload_ShouldStoreBufferedContentUnderItsHash() throws Exception {
+        byte[] bytes = "dish photo".getBytes();
+        String checksum = sha256(bytes);
+        when(fileStorage.store(eq(checksum + ".jpg"), any(InputStream.class), eq("image/jpeg"), eq(10L)))
+                .thenReturn("http://minio:9000/dish-images/" + checksum + ".jpg");
+        when(metadataRepository.save(any(FileMetadata.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        FileResponse response = fileService.upload(bufferedCommand(bytes));
+
+        assertEquals(checksum, response.getChecksum());
+        assertEquals("http://minio:9000/dish-images/" + checksum + ".jpg", response.getFileUrl());
+        verify(metadataRepository).findStoredByChecksum(checksum);
+    }
+
+    @Test
+    void upload_ShouldReuseStoredObject_WhenBufferedContentIsKnown() throws Exception {
+        byte[] bytes = "dish photo".getBytes();
+        FileMetadata stored = storedCopy(sha256(bytes));
+        when(metadataRepository.findStoredByChecksum(stored.getChecksum())).thenReturn(Optional.of(stored));
+        when(metadataRepository.save(any(FileMetadata.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(imageVariantService.supports(any(FileMetadata.class))).thenReturn(true);
+        when(variantRepository.findByFileId("stored-id")).thenReturn(List.of(FileVariant.builder()
+                .fileId("stored-id")
+                .variant(ImageVariant.CARD)
+                .storedName(stored.getChecksum() + "-card.jpg")
+                .build()));
+
+        FileResponse response = fileService.upload(bufferedCommand(bytes));
+
+        assertNotEquals("stored-id", response.getId());
+        assertEquals(stored.getFileUrl(), response.getFileUrl());
+        assertEquals(FileCategory.DISH_IMAGE, response.getCategory());
+        verifyNoInteractions(fileStorage);
+        verify(variantRepository).saveAll(argThat(variants -> variants.size() == 1
+                && variants.get(0).getFileId().equals(response.getId())
+                && variants.get(0).getStoredName().equals(stored.getChecksum() + "-card.jpg")));
+        verify(eventPublisher).publishFileUploaded(any(FileMetadata.class), eq(List.of(ImageVariant.CARD)));
+        verify(imageVariantService, never()).generateAfterCommit(any(FileMetadata.class));
+    }
+
+    @Test
+    void upload_ShouldDropStreamedObject_WhenContentIsDuplicate() {
+        FileMetadata stored = storedCopy("abc123");
+        when(metadataRepository.findStoredByChecksum(anyString())).thenReturn(Optional.of(stored));
+        when(metadataRepository.save(any(FileMetadata.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        FileResponse response = fileService.upload(testCommand);
+
+        verify(fileStorage).store(anyString(), any(InputStream.class), eq("image/jpeg"), eq(1024L));
+        verify(fileStorage).delete(argThat(name -> name.startsWith(response.getId())));
+        assertEquals(stored.getFileUrl(), response.getFileUrl());
+        verify(eventPublisher).publishFileUploaded(any(FileMetadata.class), eq(List.of()));
     }
 
     @Test
@@ -105,6 +188,48 @@ class FileServiceTest {
         verify(fileStorage, never()).store(anyString(), any(InputStream.class), anyString(), anyLong());
     }
 
+    @Test
+    void upload_ShouldMeasureSizeAndChecksum_WhenSizeUnknown() {
+        FileUploadCommand streamed = FileUploadCommand.builder()
+                .originalFileName("menu.pdf")
+                .contentType("application/pdf")
+                .inputStream(new ByteArrayInputStream("abc".getBytes()))
+                .category(FileCategory.REPORT)
+                .build();
+        when(fileStorage.store(anyString(), any(InputStream.class), anyString(), anyLong())).thenAnswer(invocation -> {
+            invocation.getArgument(1, InputStream.class).transferTo(OutputStream.nullOutputStream());
+            return "http://minio:9000/documents/menu.pdf";
+        });
+        when(metadataRepository.save(any(FileMetadata.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        FileResponse response = fileService.upload(streamed);
+
+        verify(fileStorage).store(anyString(), any(InputStream.class), eq("application/pdf"), eq(-1L));
+        assertEquals(3L, response.getFileSize());
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", response.getChecksum());
+    }
+
+    @Test
+    void upload_ShouldRejectStream_WhenLimitExceededWhileReading() {
+        FileUploadCommand streamed = FileUploadCommand.builder()
+                .originalFileName("huge.bin")
+                .contentType("application/octet-stream")
+                .inputStream(new ByteArrayInputStream(new byte[10 * 1024 * 1024 + 1]))
+                .category(FileCategory.OTHER)
+                .build();
+        when(fileStorage.store(anyString(), any(InputStream.class), anyString(), anyLong())).thenAnswer(invocation -> {
+            try {
+                invocation.getArgument(1, InputStream.class).transferTo(OutputStream.nullOutputStream());
+            } catch (RuntimeException e) {
+                throw new FileUploadException("Failed to store file: " + e.getMessage(), e);
+            }
+            return "url";
+        });
+
+        assertThrows(InvalidFileException.class, () -> fileService.upload(streamed));
+        verify(metadataRepository, never()).save(any(FileMetadata.class));
+    }
+
     @Test
     void upload_ShouldThrowException_WhenInvalidImageType() {
         FileUploadCommand invalidType = FileUploadCommand.builder()
@@ -132,7 +257,7 @@ class FileServiceTest {
         when(fileStorage.store(anyString(), any(InputStream.class), anyString(), anyLong()))
                 .thenReturn("http://minio:9000/documents/receipt.pdf");
         when(metadataRepository.save(any(FileMetadata.class))).thenReturn(testMetadata);
-        doNothing().when(eventPublisher).publishFileUploaded(any(FileMetadata.class));
+        doNothing().when(eventPublisher).publishFileUploaded(any(FileMetadata.class), anyList());
 
         FileResponse response = fileService.upload(pdfReceipt);
 
@@ -154,6 +279,70 @@ class FileServiceTest {
         assertNotNull(result.getInputStream());
     }
 
+    @Test
+    void describe_ShouldNotTouchStorage() {
+        when(metadataRepository.findById("test-file-id")).thenReturn(Optional.of(testMetadata));
+
+        FileDownloadResult result = fileService.describe("test-file-id", null);
+
+        assertEquals("test-file-id.jpg", result.getStoredName());
+        assertEquals(testMetadata.getUploadedAt(), result.getUploadedAt());
+        assertNull(result.getInputStream());
+        verifyNoInteractions(fileStorage);
+    }
+
+    @Test
+    void describe_ShouldReturnVariant_WhenGenerated() {
+        when(metadataRepository.findById("test-file-id")).thenReturn(Optional.of(testMetadata));
+        when(variantRepository.findByFileIdAndVariant("test-file-id", ImageVariant.THUMBNAIL))
+                .thenReturn(Optional.of(FileVariant.builder()
+                        .fileId("test-file-id")
+                        .variant(ImageVariant.THUMBNAIL)
+                        .storedName("test-file-id-thumbnail.jpg")
+                        .contentType("image/jpeg")
+                        .fileSize(2048L)
+                        .checksum("def456")
+                        .createdAt(Instant.now())
+                        .build()));
+
+        FileDownloadResult result = fileService.describe("test-file-id", ImageVariant.THUMBNAIL);
+
+        assertEquals(ImageVariant.THUMBNAIL, result.getVariant());
+        assertEquals("test-file-id-thumbnail.jpg", result.getStoredName());
+        assertEquals("test-thumbnail.jpg", result.getFileName());
+        assertEquals(2048L, result.getFileSize());
+        assertEquals("def456", result.getChecksum());
+    }
+
+    @Test
+    void describe_ShouldFallBackToOriginal_WhenVariantMissing() {
+        when(metadataRepository.findById("test-file-id")).thenReturn(Optional.of(testMetadata));
+        when(variantRepository.findByFileIdAndVariant("test-file-id", ImageVariant.CARD)).thenReturn(Optional.empty());
+
+        FileDownloadResult result = fileService.describe("test-file-id", ImageVariant.CARD);
+
+        assertNull(result.getVariant());
+        assertEquals("test-file-id.jpg", result.getStoredName());
+    }
+
+    @Test
+    void openRange_ShouldReadOnlyRequestedBytes() {
+        FileDownloadResult file = FileDownloadResult.builder().storedName("test-file-id.jpg").fileSize(1024L).build();
+        when(fileStorage.retrieve("test-file-id.jpg", 100L, 50L)).thenReturn(new ByteArrayInputStream(new byte[50]));
+
+        assertNotNull(fileService.openRange(file, 100, 50));
+        verify(fileStorage, never()).retrieve("test-file-id.jpg");
+    }
+
+    @Test
+    void openRange_ShouldReadWholeObject_WhenRangeCoversFile() {
+        FileDownloadResult file = FileDownloadResult.builder().storedName("test-file-id.jpg").fileSize(1024L).build();
+        when(fileStorage.retrieve("test-file-id.jpg")).thenReturn(new ByteArrayInputStream(new byte[1024]));
+
+        assertNotNull(fileService.openRange(file, 0, 1024));
+        verify(fileStorage, never()).retrieve(anyString(), anyLong(), anyLong());
+    }
+
     @Test
     void download_ShouldThrowException_WhenFileNotFound() {
         when(metadataRepository.findById("non-existent")).thenReturn(Optional.empty());
@@ -224,6 +413,40 @@ class FileServiceTest {
         verify(metadataRepository).deleteById("test-file-id");
     }
 
+    @Test
+    void delete_ShouldRemoveVariants() {
+        when(metadataRepository.findById("test-file-id")).thenReturn(Optional.of(testMetadata));
+        when(variantRepository.findByFileId("test-file-id")).thenReturn(List.of(FileVariant.builder()
+                .fileId("test-file-id")
+                .variant(ImageVariant.CARD)
+                .storedName("test-file-id-card.jpg")
+                .build()));
+
+        fileService.delete("test-file-id");
+
+        verify(fileStorage).delete("test-file-id-card.jpg");
+        verify(fileStorage).delete("test-file-id.jpg");
+        verify(variantRepository).deleteByFileId("test-file-id");
+    }
+
+    @Test
+    void delete_ShouldKeepSharedObjects_WhileOtherFilesReferenceThem() {
+        when(metadataRepository.findById("test-file-id")).thenReturn(Optional.of(testMetadata));
+        when(metadataRepository.countReferences("test-file-id.jpg")).thenReturn(2L);
+        when(variantRepository.findByFileId("test-file-id")).thenReturn(List.of(FileVariant.builder()
+                .fileId("test-file-id")
+                .variant(ImageVariant.CARD)
+                .storedName("test-file-id-card.jpg")
+                .build()));
+        when(variantRepository.existsByStoredName("test-file-id-card.jpg")).thenReturn(true);
+
+        fileService.delete("test-file-id");
+
+        verify(fileStorage, never()).delete(anyString());
+        verify(variantRepository).deleteByFileId("test-file-id");
+        verify(metadataRepository).deleteById("test-file-id");
+    }
+
     @Test
     void delete_ShouldThrowException_WhenFileNotFound() {
         when(metadataRepository.findById("non-existent")).thenReturn(Optional.empty());
@@ -245,10 +468,39 @@ class FileServiceTest {
         when(fileStorage.store(anyString(), any(InputStream.class), anyString(), anyLong()))
                 .thenReturn("http://minio:9000/general/testfile");
         when(metadataRepository.save(any(FileMetadata.class))).thenReturn(testMetadata);
-        doNothing().when(eventPublisher).publishFileUploaded(any(FileMetadata.class));
+        doNothing().when(eventPublisher).publishFileUploaded(any(FileMetadata.class), anyList());
 
         FileResponse response = fileService.upload(noExtension);
 
         assertNotNull(response);
     }
+
+    private FileUploadCommand bufferedCommand(byte[] bytes) {
+        return FileUploadCommand.builder()
+                .originalFileName("photo.jpg")
+                .contentType("image/jpeg")
+                .fileSize((long) bytes.length)
+                .source(new ByteArrayResource(bytes))
+                .category(FileCategory.DISH_IMAGE)
+                .build();
+    }
+
+    private FileMetadata storedCopy(String checksum) {
+        return FileMetadata.builder()
+                .id("stored-id")
+                .originalName("menu.jpg")
+                .storedName(checksum + ".jpg")
+                .contentType("image/jpeg")
+                .fileSize(10L)
+                .checksum(checksum)
+                .bucket("general")
+                .fileUrl("http://minio:9000/general/" + checksum + ".jpg")
+                .category(FileCategory.OTHER)
+                .uploadedAt(Instant.now())
+                .build();
+    }
+
+    private static String sha256(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
 }
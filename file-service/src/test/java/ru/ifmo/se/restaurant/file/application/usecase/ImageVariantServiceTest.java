@@ -0,0 +1,138 @@
+package ru.ifmo.se.restaurant.file.application.usecase;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.ifmo.se.restaurant.file.application.port.out.FileEventPublisher;
+import ru.ifmo.se.restaurant.file.application.port.out.FileStoragePort;
+import ru.ifmo.se.restaurant.file.application.port.out.FileVariantRepository;
+import ru.ifmo.se.restaurant.file.application.port.out.ImageResizer;
+import ru.ifmo.se.restaurant.file.domain.entity.FileMetadata;
+import ru.ifmo.se.restaurant.file.domain.entity.FileVariant;
+import ru.ifmo.se.restaurant.file.domain.valueobject.FileCategory;
+import ru.ifmo.se.restaurant.file.domain.valueobject.ImageVariant;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageVariantServiceTest {
+
+    @Mock
+    private FileStoragePort fileStorage;
+
+    @Mock
+    private FileVariantRepository variantRepository;
+
+    @Mock
+    private FileEventPublisher eventPublisher;
+
+    @Mock
+    private ImageResizer imageResizer;
+
+    private ImageVariantService service;
+
+    private FileMetadata image;
+
+    @BeforeEach
+    void setUp() {
+        service = new ImageVariantService(fileStorage, variantRepository, eventPublisher, imageResizer, 1, 1);
+        image = FileMetadata.builder()
+                .id("test-id")
+                .originalName("dish.png")
+                .storedName("test-id.png")
+                .contentType("image/png")
+                .fileSize(4096L)
+                .category(FileCategory.DISH_IMAGE)
+                .uploadedAt(Instant.now())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void supports_ShouldAcceptOnlyImagesInImageCategories() {
+        assertTrue(service.supports(image));
+        assertFalse(service.supports(FileMetadata.builder()
+                .contentType("image/png").category(FileCategory.RECEIPT).build()));
+        assertFalse(service.supports(FileMetadata.builder()
+                .contentType("application/pdf").category(FileCategory.DISH_IMAGE).build()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void generate_ShouldStoreVariantsAndAnnounceThem() {
+        when(fileStorage.retrieve("test-id.png")).thenReturn(new ByteArrayInputStream(new byte[4096]));
+        when(imageResizer.resize(any(InputStream.class), any())).thenReturn(Map.of(
+                ImageVariant.THUMBNAIL, new byte[]{1, 2, 3},
+                ImageVariant.CARD, new byte[]{4, 5, 6, 7}));
+        when(imageResizer.getContentType()).thenReturn("image/jpeg");
+        when(imageResizer.getFileExtension()).thenReturn(".jpg");
+        when(fileStorage.store(anyString(), any(InputStream.class), anyString(), anyLong())).thenAnswer(invocation -> {
+            invocation.getArgument(1, InputStream.class).readAllBytes();
+            return "http://minio:9000/bucket/" + invocation.getArgument(0);
+        });
+        when(variantRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service.generate(image);
+
+        verify(fileStorage).store(eq("test-id-thumbnail.jpg"), any(InputStream.class), eq("image/jpeg"), eq(3L));
+        verify(fileStorage).store(eq("test-id-card.jpg"), any(InputStream.class), eq("image/jpeg"), eq(4L));
+        ArgumentCaptor<List<FileVariant>> saved = ArgumentCaptor.forClass(List.class);
+        verify(variantRepository).saveAll(saved.capture());
+        assertTrue(saved.getValue().stream().allMatch(variant -> variant.getChecksum().length() == 64));
+        ArgumentCaptor<List<ImageVariant>> announced = ArgumentCaptor.forClass(List.class);
+        verify(eventPublisher).publishFileUploaded(eq(image), announced.capture());
+        assertEquals(2, announced.getValue().size());
+        assertTrue(announced.getValue().containsAll(List.of(ImageVariant.THUMBNAIL, ImageVariant.CARD)));
+    }
+
+    @Test
+    void generate_ShouldAnnounceWithoutVariants_WhenImageCannotBeDecoded() {
+        when(fileStorage.retrieve("test-id.png")).thenReturn(new ByteArrayInputStream(new byte[16]));
+        when(imageResizer.resize(any(InputStream.class), any())).thenReturn(Map.of());
+
+        service.generate(image);
+
+        verify(fileStorage, never()).store(anyString(), any(InputStream.class), anyString(), anyLong());
+        verify(eventPublisher).publishFileUploaded(image, List.of());
+    }
+
+    @Test
+    void generate_ShouldStillAnnounce_WhenGenerationFails() {
+        when(fileStorage.retrieve("test-id.png")).thenThrow(new IllegalStateException("storage down"));
+
+        service.generate(image);
+
+        verify(eventPublisher).publishFileUploaded(image, List.of());
+        verifyNoInteractions(variantRepository);
+    }
+
+    @Test
+    void generateAfterCommit_ShouldRunOnWorkerPool_WhenNoTransactionIsActive() {
+        when(fileStorage.retrieve("test-id.png")).thenReturn(new ByteArrayInputStream(new byte[16]));
+        when(imageResizer.resize(any(InputStream.class), any())).thenReturn(Map.of());
+
+        service.generateAfterCommit(image);
+
+        verify(eventPublisher, timeout(2000)).publishFileUploaded(image, List.of());
+    }
+}
@@ -0,0 +1,41 @@
+package ru.ifmo.se.restaurant.file.application.usecase;
+
+import org.junit.jupiter.api.Test;
+import ru.ifmo.se.restaurant.file.domain.exception.InvalidFileException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeteredInputStreamTest {
+
+    @Test
+    void read_ShouldCountAndHashAllBytes() throws IOException {
+        MeteredInputStream stream = new MeteredInputStream(new ByteArrayInputStream("abc".getBytes()), 10);
+
+        assertEquals('a', stream.read());
+        stream.transferTo(OutputStream.nullOutputStream());
+
+        assertEquals(3, stream.getBytesRead());
+        assertFalse(stream.isLimitExceeded());
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", stream.getChecksum());
+    }
+
+    @Test
+    void skip_ShouldStillCountSkippedBytes() throws IOException {
+        MeteredInputStream stream = new MeteredInputStream(new ByteArrayInputStream(new byte[8]), 10);
+
+        assertEquals(5, stream.skip(5));
+        assertEquals(5, stream.getBytesRead());
+    }
+
+    @Test
+    void read_ShouldFail_WhenLimitExceeded() {
+        MeteredInputStream stream = new MeteredInputStream(new ByteArrayInputStream(new byte[11]), 10);
+
+        assertThrows(InvalidFileException.class, () -> stream.transferTo(OutputStream.nullOutputStream()));
+        assertTrue(stream.isLimitExceeded());
+    }
+}
@@ -0,0 +1,130 @@
+package ru.ifmo.se.restaurant.file.application.usecase;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.ifmo.se.restaurant.file.application.port.out.FileMetadataRepository;
+import ru.ifmo.se.restaurant.file.application.port.out.FileReferenceChecker;
+import ru.ifmo.se.restaurant.file.application.port.out.FileStoragePort;
+import ru.ifmo.se.restaurant.file.application.port.out.FileVariantRepository;
+import ru.ifmo.se.restaurant.file.domain.entity.FileMetadata;
+import ru.ifmo.se.restaurant.file.domain.entity.FileVariant;
+import ru.ifmo.se.restaurant.file.domain.valueobject.FileCategory;
+import ru.ifmo.se.restaurant.file.domain.valueobject.ImageVariant;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrphanedFileCollectorTest {
+
+    @Mock
+    private FileMetadataRepository metadataRepository;
+
+    @Mock
+    private FileVariantRepository variantRepository;
+
+    @Mock
+    private FileStoragePort fileStorage;
+
+    @Mock
+    private FileReferenceChecker referenceChecker;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrphanedFileCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        collector = new OrphanedFileCollector(metadataRepository, variantRepository, fileStorage,
+                referenceChecker, transactionManager, meterRegistry, 2, 0, 24);
+    }
+
+    private FileMetadata file(String id, String storedName) {
+        return FileMetadata.builder()
+                .id(id)
+                .storedName(storedName)
+                .fileSize(100L)
+                .fileUrl("http://minio:9000/dish-images/" + id + ".jpg")
+                .category(FileCategory.DISH_IMAGE)
+                .uploadedAt(Instant.now().minusSeconds(172_800))
+                .build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void collect_ShouldDeleteOrphans_AndKeepSharedObjects() {
+        FileMetadata used = file("a", "a.jpg");
+        FileMetadata orphan = file("b", "b.jpg");
+        FileMetadata orphanSharingObject = file("c", "shared.jpg");
+        when(metadataRepository.findPageAfter(eq(FileCategory.DISH_IMAGE), eq(""), any(Instant.class), eq(2)))
+                .thenReturn(List.of(used, orphan));
+        when(metadataRepository.findPageAfter(eq(FileCategory.DISH_IMAGE), eq("b"), any(Instant.class), eq(2)))
+                .thenReturn(List.of(orphanSharingObject));
+        when(referenceChecker.findReferencedUrls(eq(FileCategory.DISH_IMAGE), anyCollection()))
+                .thenReturn(Set.of(used.getFileUrl()), Set.of());
+        when(variantRepository.findByFileIds(anyCollection())).thenReturn(List.of(FileVariant.builder()
+                .fileId("b").variant(ImageVariant.THUMBNAIL).storedName("b-thumbnail.jpg").fileSize(10L).build()),
+                List.of());
+        when(metadataRepository.findReferencedStoredNames(anyCollection()))
+                .thenReturn(Set.of(), Set.of("shared.jpg"));
+        when(variantRepository.findReferencedStoredNames(anyCollection())).thenReturn(Set.of());
+
+        collector.collect();
+
+        verify(metadataRepository).deleteAllById(List.of("b"));
+        verify(metadataRepository).deleteAllById(List.of("c"));
+        verify(variantRepository).deleteByFileIds(List.of("b"));
+        ArgumentCaptor<Collection<String>> removed = ArgumentCaptor.forClass(Collection.class);
+        verify(fileStorage, times(2)).deleteAll(removed.capture());
+        assertEquals(Set.of("b.jpg", "b-thumbnail.jpg"), Set.copyOf(removed.getAllValues().get(0)));
+        assertTrue(removed.getAllValues().get(1).isEmpty());
+
+        assertEquals(3, meterRegistry.counter("file.gc.files.scanned").count());
+        assertEquals(2, meterRegistry.counter("file.gc.files.collected").count());
+        assertEquals(2, meterRegistry.counter("file.gc.objects.removed").count());
+        assertEquals(110, meterRegistry.counter("file.gc.bytes.reclaimed").count());
+    }
+
+    @Test
+    void collect_ShouldStop_WhenNothingIsOldEnough() {
+        when(metadataRepository.findPageAfter(eq(FileCategory.DISH_IMAGE), eq(""), any(Instant.class), anyInt()))
+                .thenReturn(List.of());
+
+        collector.collect();
+
+        verifyNoInteractions(referenceChecker, fileStorage);
+    }
+
+    @Test
+    void collect_ShouldDeleteNothing_WhenReferencesCannotBeChecked() {
+        when(metadataRepository.findPageAfter(eq(FileCategory.DISH_IMAGE), anyString(), any(Instant.class), anyInt()))
+                .thenReturn(List.of(file("a", "a.jpg")));
+        when(referenceChecker.findReferencedUrls(eq(FileCategory.DISH_IMAGE), anyCollection()))
+                .thenThrow(new IllegalStateException("menu-service unavailable"));
+
+        assertDoesNotThrow(() -> collector.collect());
+
+        verify(metadataRepository, never()).deleteAllById(anyCollection());
+        verifyNoInteractions(fileStorage);
+        assertEquals(1, meterRegistry.counter("file.gc.failures").count());
+    }
+}
@@ -23,6 +23,7 @@ class FileMetadataTest {
                 .storedName("test-id.jpg")
                 .contentType("image/jpeg")
                 .fileSize(1024L)
+                .checksum("abc123")
                 .bucket("dish-images")
                 .fileUrl("http://minio:9000/dish-images/test-id.jpg")
                 .category(FileCategory.DISH_IMAGE)
@@ -36,6 +37,7 @@ class FileMetadataTest {
         assertEquals("test-id.jpg", metadata.getStoredName());
         assertEquals("image/jpeg", metadata.getContentType());
         assertEquals(1024L, metadata.getFileSize());
+        assertEquals("abc123", metadata.getChecksum());
         assertEquals("dish-images", metadata.getBucket());
         assertEquals("http://minio:9000/dish-images/test-id.jpg", metadata.getFileUrl());
         assertEquals(FileCategory.DISH_IMAGE, metadata.getCategory());
@@ -137,7 +139,7 @@ class FileMetadataTest {
 
         FileMetadata metadata = new FileMetadata(
                 "id", "original.jpg", "stored.jpg", "image/jpeg",
-                1024L, "bucket", "http://url", FileCategory.DISH_IMAGE,
+                1024L, "abc123", "bucket", "http://url", FileCategory.DISH_IMAGE,
                 1L, now, "user"
         );
 
@@ -0,0 +1,31 @@
+package ru.ifmo.se.restaurant.file.domain.valueobject;
+
+import org.junit.jupiter.api.Test;
+import ru.ifmo.se.restaurant.file.domain.exception.InvalidFileException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageVariantTest {
+
+    @Test
+    void maxDimension_ShouldGrowFromThumbnailToFull() {
+        assertTrue(ImageVariant.THUMBNAIL.getMaxDimension() < ImageVariant.CARD.getMaxDimension());
+        assertTrue(ImageVariant.CARD.getMaxDimension() < ImageVariant.FULL.getMaxDimension());
+    }
+
+    @Test
+    void getValue_ShouldBeLowerCaseName() {
+        assertEquals("thumbnail", ImageVariant.THUMBNAIL.getValue());
+    }
+
+    @Test
+    void fromValue_ShouldIgnoreCase() {
+        assertEquals(ImageVariant.CARD, ImageVariant.fromValue("card"));
+        assertEquals(ImageVariant.CARD, ImageVariant.fromValue("CARD"));
+    }
+
+    @Test
+    void fromValue_ShouldThrow_WhenUnknown() {
+        assertThrows(InvalidFileException.class, () -> ImageVariant.fromValue("poster"));
+    }
+}
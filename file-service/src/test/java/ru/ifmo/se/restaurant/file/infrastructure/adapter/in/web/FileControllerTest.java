@@ -3,12 +3,15 @@ package ru.ifmo.se.restaurant.file.infrastructure.adapter.in.web;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockMultipartFile;
 import ru.ifmo.se.restaurant.file.application.dto.FileDownloadResult;
 import ru.ifmo.se.restaurant.file.application.dto.FileResponse;
@@ -17,7 +20,9 @@ import ru.ifmo.se.restaurant.file.application.port.in.DeleteFileUseCase;
 import ru.ifmo.se.restaurant.file.application.port.in.DownloadFileUseCase;
 import ru.ifmo.se.restaurant.file.application.port.in.GetFileMetadataUseCase;
 import ru.ifmo.se.restaurant.file.application.port.in.UploadFileUseCase;
+import ru.ifmo.se.restaurant.file.domain.exception.InvalidFileException;
 import ru.ifmo.se.restaurant.file.domain.valueobject.FileCategory;
+import ru.ifmo.se.restaurant.file.domain.valueobject.ImageVariant;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -26,6 +31,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -96,23 +102,177 @@ class FileControllerTest {
     }
 
     @Test
-    void download_ShouldReturnFileAsResource() {
-        byte[] content = "file content".getBytes();
-        FileDownloadResult downloadResult = FileDownloadResult.builder()
+    void uploadStream_ShouldPassRequestBodyAsUploadStream() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/files/stream");
+        request.setContentType("image/png; charset=binary");
+        request.setContent("png content".getBytes());
+        when(uploadFileUseCase.upload(any(FileUploadCommand.class))).thenReturn(sampleResponse);
+
+        ResponseEntity<FileResponse> response = fileController.uploadStream(
+                "photo.png", FileCategory.DISH_IMAGE, 1L, "user1", request
+        );
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ArgumentCaptor<FileUploadCommand> captor = ArgumentCaptor.forClass(FileUploadCommand.class);
+        verify(uploadFileUseCase).upload(captor.capture());
+        FileUploadCommand command = captor.getValue();
+        assertEquals("photo.png", command.getOriginalFileName());
+        assertEquals("image/png", command.getContentType());
+        assertEquals(11L, command.getFileSize());
+        assertArrayEquals("png content".getBytes(), command.getInputStream().readAllBytes());
+    }
+
+    @Test
+    void uploadStream_WithoutContentType_ShouldUseOctetStream() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/files/stream");
+        request.setContent(new byte[4]);
+        when(uploadFileUseCase.upload(any(FileUploadCommand.class))).thenReturn(sampleResponse);
+
+        fileController.uploadStream("report.bin", FileCategory.REPORT, null, null, request);
+
+        verify(uploadFileUseCase).upload(argThat(command ->
+                "application/octet-stream".equals(command.getContentType())));
+    }
+
+    private FileDownloadResult describedFile(long size) {
+        return FileDownloadResult.builder()
                 .fileName("test.jpg")
+                .storedName("test-id.jpg")
                 .contentType("image/jpeg")
-                .fileSize((long) content.length)
-                .inputStream(new ByteArrayInputStream(content))
+                .fileSize(size)
+                .checksum("abc123")
+                .category(FileCategory.DISH_IMAGE)
+                .uploadedAt(Instant.parse("2024-01-01T12:00:00Z"))
                 .build();
-        when(downloadFileUseCase.download("test-id")).thenReturn(downloadResult);
+    }
+
+    @Test
+    void download_ShouldReturnFileAsResource() {
+        byte[] content = "file content".getBytes();
+        FileDownloadResult file = describedFile(content.length);
+        when(downloadFileUseCase.describe("test-id", null)).thenReturn(file);
+        when(downloadFileUseCase.openRange(file, 0, content.length)).thenReturn(new ByteArrayInputStream(content));
 
-        ResponseEntity<InputStreamResource> response = fileController.download("test-id");
+        ResponseEntity<InputStreamResource> response = fileController.download("test-id", null, new HttpHeaders());
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertTrue(response.getHeaders().getContentDisposition().toString().contains("test.jpg"));
         assertEquals("image/jpeg", response.getHeaders().getContentType().toString());
         assertEquals(content.length, response.getHeaders().getContentLength());
+        assertEquals("\"abc123\"", response.getHeaders().getETag());
+        assertEquals("bytes", response.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES));
+        assertTrue(response.getHeaders().getCacheControl().contains("immutable"));
+    }
+
+    @Test
+    void download_ShouldServeRequestedVariant() {
+        FileDownloadResult variant = FileDownloadResult.builder()
+                .fileName("test-thumbnail.jpg")
+                .storedName("test-id-thumbnail.jpg")
+                .contentType("image/jpeg")
+                .fileSize(64L)
+                .checksum("def456")
+                .category(FileCategory.DISH_IMAGE)
+                .uploadedAt(Instant.parse("2024-01-01T12:00:05Z"))
+                .variant(ImageVariant.THUMBNAIL)
+                .build();
+        when(downloadFileUseCase.describe("test-id", ImageVariant.THUMBNAIL)).thenReturn(variant);
+        when(downloadFileUseCase.openRange(variant, 0, 64)).thenReturn(new ByteArrayInputStream(new byte[64]));
+
+        ResponseEntity<InputStreamResource> response = fileController.download("test-id", "thumbnail", new HttpHeaders());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(64, response.getHeaders().getContentLength());
+        assertTrue(response.getHeaders().getCacheControl().contains("immutable"));
+    }
+
+    @Test
+    void download_ShouldNotCacheOriginal_WhenVariantNotGeneratedYet() {
+        FileDownloadResult original = describedFile(1000);
+        when(downloadFileUseCase.describe("test-id", ImageVariant.CARD)).thenReturn(original);
+        when(downloadFileUseCase.openRange(original, 0, 1000)).thenReturn(new ByteArrayInputStream(new byte[1000]));
+
+        ResponseEntity<InputStreamResource> response = fileController.download("test-id", "card", new HttpHeaders());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("no-cache", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    void download_ShouldRejectUnknownVariant() {
+        assertThrows(InvalidFileException.class,
+                () -> fileController.download("test-id", "huge", new HttpHeaders()));
+        verifyNoInteractions(downloadFileUseCase);
+    }
+
+    @Test
+    void download_ShouldReturnNotModified_WhenETagMatches() {
+        when(downloadFileUseCase.describe("test-id", null)).thenReturn(describedFile(12));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch("W/\"abc123\"");
+
+        ResponseEntity<InputStreamResource> response = fileController.download("test-id", null, headers);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals("\"abc123\"", response.getHeaders().getETag());
+        verify(downloadFileUseCase, never()).openRange(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void download_ShouldReturnNotModified_WhenNotModifiedSince() {
+        when(downloadFileUseCase.describe("test-id", null)).thenReturn(describedFile(12));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfModifiedSince(Instant.parse("2024-01-01T12:00:00Z"));
+
+        ResponseEntity<InputStreamResource> response = fileController.download("test-id", null, headers);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        verify(downloadFileUseCase, never()).openRange(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void download_ShouldReturnPartialContent_ForRange() {
+        FileDownloadResult file = describedFile(1000);
+        when(downloadFileUseCase.describe("test-id", null)).thenReturn(file);
+        when(downloadFileUseCase.openRange(file, 100, 100)).thenReturn(new ByteArrayInputStream(new byte[100]));
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RANGE, "bytes=100-199");
+
+        ResponseEntity<InputStreamResource> response = fileController.download("test-id", null, headers);
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals("bytes 100-199/1000", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals(100, response.getHeaders().getContentLength());
+    }
+
+    @Test
+    void download_ShouldReturnWholeFile_WhenIfRangeDoesNotMatch() {
+        FileDownloadResult file = describedFile(1000);
+        when(downloadFileUseCase.describe("test-id", null)).thenReturn(file);
+        when(downloadFileUseCase.openRange(file, 0, 1000)).thenReturn(new ByteArrayInputStream(new byte[1000]));
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RANGE, "bytes=100-199");
+        headers.set(HttpHeaders.IF_RANGE, "\"stale\"");
+
+        ResponseEntity<InputStreamResource> response = fileController.download("test-id", null, headers);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1000, response.getHeaders().getContentLength());
+    }
+
+    @Test
+    void download_ShouldRejectUnsatisfiableRange() {
+        when(downloadFileUseCase.describe("test-id", null)).thenReturn(describedFile(1000));
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RANGE, "bytes=1000-");
+
+        ResponseEntity<InputStreamResource> response = fileController.download("test-id", null, headers);
+
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatusCode());
+        assertEquals("bytes */1000", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        verify(downloadFileUseCase, never()).openRange(any(), anyLong(), anyLong());
     }
 
     @Test
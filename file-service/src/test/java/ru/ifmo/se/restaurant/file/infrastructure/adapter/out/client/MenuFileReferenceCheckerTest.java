@@ -0,0 +1,41 @@
+package ru.ifmo.se.restaurant.file.infrastructure.adapter.out.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.ifmo.se.restaurant.file.domain.valueobject.FileCategory;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MenuFileReferenceCheckerTest {
+
+    @Mock
+    private MenuServiceClient menuServiceClient;
+
+    @InjectMocks
+    private MenuFileReferenceChecker checker;
+
+    @Test
+    void findReferencedUrls_ShouldAskMenuService_ForDishImages() {
+        when(menuServiceClient.findReferencedImageUrls(List.of("a.jpg", "b.jpg"))).thenReturn(List.of("a.jpg"));
+
+        Set<String> referenced = checker.findReferencedUrls(FileCategory.DISH_IMAGE, List.of("a.jpg", "b.jpg"));
+
+        assertEquals(Set.of("a.jpg"), referenced);
+    }
+
+    @Test
+    void findReferencedUrls_ShouldTreatOtherCategoriesAsReferenced() {
+        Set<String> referenced = checker.findReferencedUrls(FileCategory.RECEIPT, List.of("a.pdf"));
+
+        assertEquals(Set.of("a.pdf"), referenced);
+        verifyNoInteractions(menuServiceClient);
+    }
+}
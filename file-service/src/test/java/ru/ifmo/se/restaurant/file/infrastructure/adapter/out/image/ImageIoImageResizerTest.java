@@ -0,0 +1,74 @@
+package ru.ifmo.se.restaurant.file.infrastructure.adapter.out.image;
+
+import org.junit.jupiter.api.Test;
+import ru.ifmo.se.restaurant.file.domain.valueobject.ImageVariant;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageIoImageResizerTest {
+
+    private final ImageIoImageResizer resizer = new ImageIoImageResizer();
+
+    @Test
+    void resize_ShouldBoundLongestSideAndKeepAspectRatio() throws IOException {
+        byte[] png = png(4000, 2000, BufferedImage.TYPE_INT_ARGB);
+
+        Map<ImageVariant, byte[]> variants = resizer.resize(new ByteArrayInputStream(png),
+                EnumSet.allOf(ImageVariant.class));
+
+        assertEquals(3, variants.size());
+        for (ImageVariant variant : ImageVariant.values()) {
+            BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(variants.get(variant)));
+            assertEquals(variant.getMaxDimension(), decoded.getWidth());
+            assertEquals(variant.getMaxDimension() / 2, decoded.getHeight());
+        }
+        assertTrue(variants.get(ImageVariant.THUMBNAIL).length < variants.get(ImageVariant.FULL).length);
+    }
+
+    @Test
+    void resize_ShouldNotUpscaleSmallImages() throws IOException {
+        byte[] png = png(300, 150, BufferedImage.TYPE_INT_RGB);
+
+        Map<ImageVariant, byte[]> variants = resizer.resize(new ByteArrayInputStream(png),
+                Set.of(ImageVariant.THUMBNAIL, ImageVariant.FULL));
+
+        assertEquals(300, ImageIO.read(new ByteArrayInputStream(variants.get(ImageVariant.FULL))).getWidth());
+        assertEquals(200, ImageIO.read(new ByteArrayInputStream(variants.get(ImageVariant.THUMBNAIL))).getWidth());
+    }
+
+    @Test
+    void resize_ShouldReturnEmpty_WhenNotAnImage() {
+        Map<ImageVariant, byte[]> variants = resizer.resize(new ByteArrayInputStream("not an image".getBytes()),
+                EnumSet.allOf(ImageVariant.class));
+
+        assertTrue(variants.isEmpty());
+    }
+
+    @Test
+    void getContentType_ShouldBeJpeg() {
+        assertEquals("image/jpeg", resizer.getContentType());
+        assertEquals(".jpg", resizer.getFileExtension());
+    }
+
+    private static byte[] png(int width, int height, int type) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.ORANGE);
+        graphics.fillOval(0, 0, width, height);
+        graphics.dispose();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", bytes);
+        return bytes.toByteArray();
+    }
+}
@@ -13,10 +13,13 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import ru.ifmo.se.restaurant.common.event.DomainEvent;
 import ru.ifmo.se.restaurant.common.event.KafkaTopics;
+import ru.ifmo.se.restaurant.common.event.file.FileUploadedEvent;
 import ru.ifmo.se.restaurant.file.domain.entity.FileMetadata;
 import ru.ifmo.se.restaurant.file.domain.valueobject.FileCategory;
+import ru.ifmo.se.restaurant.file.domain.valueobject.ImageVariant;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -45,7 +48,7 @@ class KafkaFileEventPublisherTest {
 
         when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(future);
 
-        publisher.publishFileUploaded(metadata);
+        publisher.publishFileUploaded(metadata, List.of());
 
         verify(kafkaTemplate).send(eq(KafkaTopics.FILES_UPLOADED), eq("test-id"), any(DomainEvent.class));
     }
@@ -58,7 +61,7 @@ class KafkaFileEventPublisherTest {
 
         when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(future);
 
-        assertDoesNotThrow(() -> publisher.publishFileUploaded(metadata));
+        assertDoesNotThrow(() -> publisher.publishFileUploaded(metadata, List.of()));
         verify(kafkaTemplate).send(anyString(), anyString(), any());
     }
 
@@ -72,13 +75,29 @@ class KafkaFileEventPublisherTest {
         ArgumentCaptor<DomainEvent> eventCaptor = ArgumentCaptor.forClass(DomainEvent.class);
         when(kafkaTemplate.send(anyString(), anyString(), eventCaptor.capture())).thenReturn(future);
 
-        publisher.publishFileUploaded(metadata);
+        publisher.publishFileUploaded(metadata, List.of());
 
         DomainEvent capturedEvent = eventCaptor.getValue();
         assertNotNull(capturedEvent);
         assertEquals("FILE_UPLOADED", capturedEvent.getEventType());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void publishFileUploaded_ShouldListVariants() {
+        FileMetadata metadata = createTestMetadata();
+        CompletableFuture<SendResult<String, Object>> future = new CompletableFuture<>();
+        future.complete(createMockSendResult());
+
+        ArgumentCaptor<DomainEvent> eventCaptor = ArgumentCaptor.forClass(DomainEvent.class);
+        when(kafkaTemplate.send(anyString(), anyString(), eventCaptor.capture())).thenReturn(future);
+
+        publisher.publishFileUploaded(metadata, List.of(ImageVariant.THUMBNAIL, ImageVariant.CARD));
+
+        FileUploadedEvent payload = ((DomainEvent<FileUploadedEvent>) eventCaptor.getValue()).getPayload();
+        assertEquals(List.of("thumbnail", "card"), payload.getVariants());
+    }
+
     @Test
     void publishFileUploaded_ShouldUseCorrectTopic() {
         FileMetadata metadata = createTestMetadata();
@@ -88,7 +107,7 @@ class KafkaFileEventPublisherTest {
         ArgumentCaptor<String> topicCaptor = ArgumentCaptor.forClass(String.class);
         when(kafkaTemplate.send(topicCaptor.capture(), anyString(), any())).thenReturn(future);
 
-        publisher.publishFileUploaded(metadata);
+        publisher.publishFileUploaded(metadata, List.of());
 
         assertEquals(KafkaTopics.FILES_UPLOADED, topicCaptor.getValue());
     }
@@ -102,7 +121,7 @@ class KafkaFileEventPublisherTest {
         ArgumentCaptor<String> keyCaptor = ArgumentCaptor.forClass(String.class);
         when(kafkaTemplate.send(anyString(), keyCaptor.capture(), any())).thenReturn(future);
 
-        publisher.publishFileUploaded(metadata);
+        publisher.publishFileUploaded(metadata, List.of());
 
         assertEquals("test-id", keyCaptor.getValue());
     }
@@ -128,7 +147,7 @@ class KafkaFileEventPublisherTest {
 
         when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(future);
 
-        assertDoesNotThrow(() -> publisher.publishFileUploaded(metadata));
+        assertDoesNotThrow(() -> publisher.publishFileUploaded(metadata, List.of()));
     }
 
     private FileMetadata createTestMetadata() {
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import ru.ifmo.se.restaurant.file.domain.entity.FileMetadata;
 import ru.ifmo.se.restaurant.file.domain.valueobject.FileCategory;
 import ru.ifmo.se.restaurant.file.infrastructure.adapter.out.persistence.entity.FileMetadataJpaEntity;
@@ -14,6 +15,7 @@ import ru.ifmo.se.restaurant.file.infrastructure.adapter.out.persistence.reposit
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -171,4 +173,40 @@ class FileMetadataRepositoryAdapterTest {
 
         assertEquals(2, result.size());
     }
+
+    @Test
+    void findStoredByChecksum_ShouldReturnOldestFileWithContent() {
+        when(jpaRepository.findFirstByChecksumOrderByUploadedAtAsc("abc123")).thenReturn(Optional.of(sampleEntity));
+
+        Optional<FileMetadata> result = adapter.findStoredByChecksum("abc123");
+
+        assertTrue(result.isPresent());
+        assertEquals("test-id", result.get().getId());
+    }
+
+    @Test
+    void countReferences_ShouldCountFilesSharingObject() {
+        when(jpaRepository.findByStoredName("test-id.jpg")).thenReturn(List.of(sampleEntity, sampleEntity));
+
+        assertEquals(2, adapter.countReferences("test-id.jpg"));
+    }
+
+    @Test
+    void findPageAfter_ShouldReturnPageAfterCursor() {
+        Instant cutoff = Instant.now();
+        when(jpaRepository.findPageAfter(FileCategory.DISH_IMAGE, "abc", cutoff, Limit.of(50)))
+                .thenReturn(List.of(sampleEntity));
+
+        List<FileMetadata> page = adapter.findPageAfter(FileCategory.DISH_IMAGE, "abc", cutoff, 50);
+
+        assertEquals(1, page.size());
+        assertEquals("test-id", page.get(0).getId());
+    }
+
+    @Test
+    void findReferencedStoredNames_ShouldReturnNamesStillInUse() {
+        when(jpaRepository.findStoredNamesIn(List.of("a.jpg", "test-id.jpg"))).thenReturn(List.of("test-id.jpg"));
+
+        assertEquals(Set.of("test-id.jpg"), adapter.findReferencedStoredNames(List.of("a.jpg", "test-id.jpg")));
+    }
 }
@@ -0,0 +1,95 @@
+package ru.ifmo.se.restaurant.file.infrastructure.adapter.out.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.ifmo.se.restaurant.file.domain.entity.FileVariant;
+import ru.ifmo.se.restaurant.file.domain.valueobject.ImageVariant;
+import ru.ifmo.se.restaurant.file.infrastructure.adapter.out.persistence.entity.FileVariantJpaEntity;
+import ru.ifmo.se.restaurant.file.infrastructure.adapter.out.persistence.repository.FileVariantJpaRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FileVariantRepositoryAdapterTest {
+
+    @Mock
+    private FileVariantJpaRepository jpaRepository;
+
+    @InjectMocks
+    private FileVariantRepositoryAdapter adapter;
+
+    private final Instant now = Instant.now();
+
+    private FileVariantJpaEntity entity() {
+        return FileVariantJpaEntity.builder()
+                .storedName("test-id-card.jpg")
+                .fileId("test-id")
+                .variant(ImageVariant.CARD)
+                .contentType("image/jpeg")
+                .fileSize(2048L)
+                .checksum("abc123")
+                .createdAt(now)
+                .build();
+    }
+
+    @Test
+    void saveAll_ShouldMapToEntitiesAndBack() {
+        when(jpaRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        FileVariant variant = entity().toDomain();
+
+        List<FileVariant> saved = adapter.saveAll(List.of(variant));
+
+        assertEquals(1, saved.size());
+        assertEquals("test-id-card.jpg", saved.get(0).getStoredName());
+        assertEquals(ImageVariant.CARD, saved.get(0).getVariant());
+        assertEquals("abc123", saved.get(0).getChecksum());
+    }
+
+    @Test
+    void findByFileIdAndVariant_ShouldReturnVariant() {
+        when(jpaRepository.findByFileIdAndVariant("test-id", ImageVariant.CARD)).thenReturn(Optional.of(entity()));
+
+        Optional<FileVariant> result = adapter.findByFileIdAndVariant("test-id", ImageVariant.CARD);
+
+        assertTrue(result.isPresent());
+        assertEquals(2048L, result.get().getFileSize());
+        assertEquals(now, result.get().getCreatedAt());
+    }
+
+    @Test
+    void findByFileId_ShouldReturnAllVariants() {
+        when(jpaRepository.findByFileId("test-id")).thenReturn(List.of(entity()));
+
+        assertEquals(1, adapter.findByFileId("test-id").size());
+    }
+
+    @Test
+    void deleteByFileId_ShouldDelegate() {
+        adapter.deleteByFileId("test-id");
+
+        verify(jpaRepository).deleteByFileId("test-id");
+    }
+
+    @Test
+    void findByFileIds_ShouldReturnVariantsOfAllFiles() {
+        when(jpaRepository.findByFileIdIn(List.of("test-id"))).thenReturn(List.of(entity()));
+
+        assertEquals("test-id-card.jpg", adapter.findByFileIds(List.of("test-id")).get(0).getStoredName());
+    }
+
+    @Test
+    void deleteByFileIds_ShouldDelegate() {
+        adapter.deleteByFileIds(List.of("test-id"));
+
+        verify(jpaRepository).deleteByFileIdIn(List.of("test-id"));
+    }
+}
@@ -149,7 +149,7 @@ class FileMetadataJpaEntityTest {
         Instant now = Instant.now();
         FileMetadataJpaEntity entity = new FileMetadataJpaEntity(
                 "id", "name.jpg", "stored.jpg", "image/jpeg",
-                1024L, "bucket", "http://url", FileCategory.OTHER,
+                1024L, "abc123", "bucket", "http://url", FileCategory.OTHER,
                 10L, now, "uploader"
         );
 
@@ -158,6 +158,7 @@ class FileMetadataJpaEntityTest {
         assertEquals("stored.jpg", entity.getStoredName());
         assertEquals("image/jpeg", entity.getContentType());
         assertEquals(1024L, entity.getFileSize());
+        assertEquals("abc123", entity.getChecksum());
         assertEquals("bucket", entity.getBucket());
         assertEquals("http://url", entity.getFileUrl());
         assertEquals(FileCategory.OTHER, entity.getCategory());
@@ -0,0 +1,126 @@
+package ru.ifmo.se.restaurant.file.infrastructure.adapter.out.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.ifmo.se.restaurant.file.domain.exception.FileUploadException;
+import ru.ifmo.se.restaurant.file.infrastructure.config.FileSystemStorageProperties;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSystemFileStorageAdapterTest {
+
+    @TempDir
+    Path root;
+
+    private FileSystemFileStorageAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        FileSystemStorageProperties properties = new FileSystemStorageProperties();
+        properties.setRoot(root.toString());
+        properties.setBaseUrl("http://files.local/");
+        adapter = new FileSystemFileStorageAdapter(properties);
+    }
+
+    @Test
+    void store_ShouldWriteFileIntoShardedDirectory() throws IOException {
+        String url = adapter.store("test-id.jpg", new ByteArrayInputStream("content".getBytes()), "image/jpeg", -1);
+
+        assertTrue(url.matches("http://files\\.local/[0-9a-f]{2}/[0-9a-f]{2}/test-id\\.jpg"), url);
+        List<Path> files = listFiles();
+        assertEquals(1, files.size());
+        assertEquals(root, files.get(0).getParent().getParent().getParent());
+        assertEquals("content", Files.readString(files.get(0)));
+    }
+
+    @Test
+    void store_ShouldReplaceExistingFile() throws IOException {
+        adapter.store("test-id.jpg", new ByteArrayInputStream("old".getBytes()), "image/jpeg", 3);
+        adapter.store("test-id.jpg", new ByteArrayInputStream("new".getBytes()), "image/jpeg", 3);
+
+        try (InputStream in = adapter.retrieve("test-id.jpg")) {
+            assertEquals("new", new String(in.readAllBytes()));
+        }
+    }
+
+    @Test
+    void store_ShouldLeaveNothingBehind_WhenStreamFails() throws IOException {
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("connection reset");
+            }
+        };
+
+        assertThrows(FileUploadException.class, () -> adapter.store("test-id.jpg", failing, "image/jpeg", -1));
+        assertTrue(listFiles().isEmpty());
+    }
+
+    @Test
+    void retrieve_ShouldReturnWholeFile() throws IOException {
+        byte[] content = new byte[3 * 1024 * 1024];
+        Arrays.fill(content, (byte) 7);
+        adapter.store("big.bin", new ByteArrayInputStream(content), "application/octet-stream", content.length);
+
+        try (InputStream in = adapter.retrieve("big.bin")) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void retrieve_ShouldReturnOnlyTheRange() throws IOException {
+        adapter.store("digits.txt", new ByteArrayInputStream("0123456789".getBytes()), "text/plain", 10);
+
+        try (InputStream in = adapter.retrieve("digits.txt", 3, 4)) {
+            assertEquals("3456", new String(in.readAllBytes()));
+        }
+    }
+
+    @Test
+    void retrieve_ShouldThrow_WhenMissing() {
+        assertThrows(FileUploadException.class, () -> adapter.retrieve("missing.jpg"));
+    }
+
+    @Test
+    void delete_ShouldRemoveFile() throws IOException {
+        adapter.store("test-id.jpg", new ByteArrayInputStream("content".getBytes()), "image/jpeg", 7);
+
+        adapter.delete("test-id.jpg");
+
+        assertTrue(listFiles().isEmpty());
+        assertDoesNotThrow(() -> adapter.delete("test-id.jpg"));
+    }
+
+    @Test
+    void deleteAll_ShouldRemoveEveryFile() throws IOException {
+        adapter.store("first.jpg", new ByteArrayInputStream("a".getBytes()), "image/jpeg", 1);
+        adapter.store("second.jpg", new ByteArrayInputStream("b".getBytes()), "image/jpeg", 1);
+
+        adapter.deleteAll(List.of("first.jpg", "second.jpg"));
+
+        assertTrue(listFiles().isEmpty());
+    }
+
+    @Test
+    void store_ShouldRejectNamesOutsideTheShard() {
+        assertThrows(FileUploadException.class, () -> adapter.store("../../../escape.txt",
+                new ByteArrayInputStream(new byte[1]), "text/plain", 1));
+        assertThrows(FileUploadException.class, () -> adapter.retrieve("../../../escape.txt"));
+    }
+
+    private List<Path> listFiles() throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            return paths.filter(Files::isRegularFile).toList();
+        }
+    }
+}
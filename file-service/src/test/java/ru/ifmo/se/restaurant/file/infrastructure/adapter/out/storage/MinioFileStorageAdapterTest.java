@@ -1,19 +1,27 @@
 package ru.ifmo.se.restaurant.file.infrastructure.adapter.out.storage;
 
 import io.minio.*;
+import io.minio.messages.DeleteError;
+import io.minio.messages.Part;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
 import ru.ifmo.se.restaurant.file.domain.exception.FileUploadException;
 import ru.ifmo.se.restaurant.file.infrastructure.config.MinioProperties;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,6 +30,9 @@ class MinioFileStorageAdapterTest {
     @Mock
     private MinioClient minioClient;
 
+    @Mock
+    private MultipartMinioClient multipartClient;
+
     @Mock
     private MinioProperties minioProperties;
 
@@ -29,7 +40,8 @@ class MinioFileStorageAdapterTest {
 
     @BeforeEach
     void setUp() {
-        adapter = new MinioFileStorageAdapter(minioClient, minioProperties);
+        adapter = new MinioFileStorageAdapter(minioClient, multipartClient, minioProperties,
+                DataSize.ofMegabytes(5), DataSize.ofMegabytes(8), 2);
     }
 
     @Test
@@ -62,6 +74,90 @@ class MinioFileStorageAdapterTest {
         verify(minioClient).makeBucket(any(MakeBucketArgs.class));
     }
 
+    @Test
+    void store_ShouldPutSmallStreamAtOnce_WhenSizeUnknown() throws Exception {
+        when(minioProperties.getBucket()).thenReturn("test-bucket");
+        when(minioProperties.getEndpoint()).thenReturn("http://minio:9000");
+        when(minioClient.bucketExists(any(BucketExistsArgs.class))).thenReturn(true);
+        when(minioClient.putObject(any(PutObjectArgs.class))).thenReturn(null);
+
+        adapter.store("stream.bin", new ByteArrayInputStream(new byte[16]), "application/octet-stream", -1);
+
+        verify(minioClient).putObject(argThat(args -> args.objectSize() == 16));
+        verifyNoInteractions(multipartClient);
+    }
+
+    @Test
+    void store_ShouldUploadLargeFileInParts() throws Exception {
+        when(minioProperties.getBucket()).thenReturn("test-bucket");
+        when(minioProperties.getEndpoint()).thenReturn("http://minio:9000");
+        when(minioClient.bucketExists(any(BucketExistsArgs.class))).thenReturn(true);
+        when(multipartClient.createMultipartUpload("test-bucket", "report.zip", "application/zip"))
+                .thenReturn(CompletableFuture.completedFuture("upload-1"));
+        when(multipartClient.uploadPart(eq("test-bucket"), eq("report.zip"), eq("upload-1"), anyInt(), any(byte[].class), anyInt()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(
+                        new Part(invocation.getArgument(3), "etag-" + invocation.getArgument(3))));
+        when(multipartClient.completeMultipartUpload(eq("test-bucket"), eq("report.zip"), eq("upload-1"), any(Part[].class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        int size = 11 * 1024 * 1024;
+        adapter.store("report.zip", new ByteArrayInputStream(new byte[size]), "application/zip", size);
+
+        verify(multipartClient).uploadPart(eq("test-bucket"), eq("report.zip"), eq("upload-1"), eq(1),
+                any(byte[].class), eq(5 * 1024 * 1024));
+        verify(multipartClient, times(3)).uploadPart(anyString(), anyString(), anyString(), anyInt(), any(byte[].class), anyInt());
+        verify(multipartClient).completeMultipartUpload(eq("test-bucket"), eq("report.zip"), eq("upload-1"),
+                argThat(parts -> parts.length == 3 && parts[2].partNumber() == 3 && parts[2].etag().equals("etag-3")));
+        verify(minioClient, never()).putObject(any(PutObjectArgs.class));
+    }
+
+    @Test
+    void store_ShouldAbortMultipartUpload_WhenPartFails() throws Exception {
+        when(minioProperties.getBucket()).thenReturn("test-bucket");
+        when(minioClient.bucketExists(any(BucketExistsArgs.class))).thenReturn(true);
+        when(multipartClient.createMultipartUpload(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture("upload-1"));
+        when(multipartClient.uploadPart(anyString(), anyString(), anyString(), anyInt(), any(byte[].class), anyInt()))
+                .thenReturn(CompletableFuture.failedFuture(new IOException("connection reset")));
+        when(multipartClient.abortMultipartUpload("test-bucket", "report.zip", "upload-1"))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        int size = 11 * 1024 * 1024;
+        assertThrows(FileUploadException.class, () ->
+                adapter.store("report.zip", new ByteArrayInputStream(new byte[size]), "application/zip", size));
+
+        verify(multipartClient).abortMultipartUpload("test-bucket", "report.zip", "upload-1");
+        verify(multipartClient, never()).completeMultipartUpload(anyString(), anyString(), anyString(), any(Part[].class));
+    }
+
+    @Test
+    void store_ShouldCheckBucketOnlyOnce() throws Exception {
+        when(minioProperties.getBucket()).thenReturn("test-bucket");
+        when(minioProperties.getEndpoint()).thenReturn("http://minio:9000");
+        when(minioClient.bucketExists(any(BucketExistsArgs.class))).thenReturn(true);
+
+        adapter.verifyBucket();
+        adapter.store("a.jpg", new ByteArrayInputStream(new byte[4]), "image/jpeg", 4L);
+        adapter.store("b.jpg", new ByteArrayInputStream(new byte[4]), "image/jpeg", 4L);
+
+        verify(minioClient, times(1)).bucketExists(any(BucketExistsArgs.class));
+        verify(minioClient, times(2)).putObject(any(PutObjectArgs.class));
+    }
+
+    @Test
+    void verifyBucket_ShouldLeaveCheckToFirstUpload_WhenMinioUnavailable() throws Exception {
+        when(minioProperties.getBucket()).thenReturn("test-bucket");
+        when(minioProperties.getEndpoint()).thenReturn("http://minio:9000");
+        when(minioClient.bucketExists(any(BucketExistsArgs.class)))
+                .thenThrow(new IOException("Connection refused"))
+                .thenReturn(true);
+
+        assertDoesNotThrow(() -> adapter.verifyBucket());
+        adapter.store("a.jpg", new ByteArrayInputStream(new byte[4]), "image/jpeg", 4L);
+
+        verify(minioClient, times(2)).bucketExists(any(BucketExistsArgs.class));
+    }
+
     @Test
     void store_ShouldThrowException_OnError() throws Exception {
         when(minioProperties.getBucket()).thenReturn("bucket");
@@ -85,6 +181,16 @@ class MinioFileStorageAdapterTest {
         verify(minioClient).getObject(any(GetObjectArgs.class));
     }
 
+    @Test
+    void retrieve_ShouldRequestOnlyTheRange() throws Exception {
+        when(minioProperties.getBucket()).thenReturn("bucket");
+        when(minioClient.getObject(any(GetObjectArgs.class))).thenReturn(mock(GetObjectResponse.class));
+
+        adapter.retrieve("stored-name.jpg", 100, 50);
+
+        verify(minioClient).getObject(argThat(args -> args.offset() == 100L && args.length() == 50L));
+    }
+
     @Test
     void retrieve_ShouldThrowException_OnError() throws Exception {
         when(minioProperties.getBucket()).thenReturn("bucket");
@@ -112,6 +218,33 @@ class MinioFileStorageAdapterTest {
         assertThrows(FileUploadException.class, () -> adapter.delete("file.jpg"));
     }
 
+    @Test
+    void deleteAll_ShouldRemoveObjectsInOneRequest() throws Exception {
+        when(minioProperties.getBucket()).thenReturn("bucket");
+        when(minioClient.removeObjects(any(RemoveObjectsArgs.class))).thenReturn(List.of());
+
+        adapter.deleteAll(List.of("a.jpg", "b.jpg"));
+
+        verify(minioClient).removeObjects(argThat(args -> args.bucket().equals("bucket")));
+    }
+
+    @Test
+    void deleteAll_ShouldThrowException_WhenObjectNotDeleted() throws Exception {
+        DeleteError error = mock(DeleteError.class);
+        when(error.objectName()).thenReturn("a.jpg");
+        when(minioProperties.getBucket()).thenReturn("bucket");
+        when(minioClient.removeObjects(any(RemoveObjectsArgs.class))).thenReturn(List.of(new Result<>(error)));
+
+        assertThrows(FileUploadException.class, () -> adapter.deleteAll(List.of("a.jpg")));
+    }
+
+    @Test
+    void deleteAll_ShouldSkipEmptyBatch() {
+        adapter.deleteAll(List.of());
+
+        verifyNoInteractions(minioClient);
+    }
+
     @Test
     void getFileUrl_ShouldReturnCorrectUrl() {
         when(minioProperties.getEndpoint()).thenReturn("http://minio:9000");
@@ -0,0 +1,40 @@
+package ru.ifmo.se.restaurant.inventory.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Результат импорта инвентаря из CSV")
+public class ImportResultDto {
+    @Schema(description = "Количество обработанных строк данных", example = "50000")
+    private int processedRows;
+
+    @Schema(description = "Количество импортированных строк", example = "49998")
+    private int importedRows;
+
+    @Schema(description = "Количество строк с ошибками", example = "2")
+    private int failedRows;
+
+    @Schema(description = "Ошибки по строкам (не более первых 1000)")
+    private List<RowError> errors;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Ошибка в строке CSV")
+    public static class RowError {
+        @Schema(description = "Номер строки в файле (заголовок - строка 1)", example = "17")
+        private long line;
+
+        @Schema(description = "Описание ошибки", example = "quantity must be a non-negative number")
+        private String message;
+    }
+}
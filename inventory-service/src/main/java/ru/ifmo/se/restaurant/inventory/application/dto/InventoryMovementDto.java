@@ -0,0 +1,48 @@
+package ru.ifmo.se.restaurant.inventory.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.ifmo.se.restaurant.inventory.domain.entity.InventoryMovement;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.MovementType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Движение по складу")
+public class InventoryMovementDto {
+    @Schema(description = "ID движения", example = "1024")
+    private Long id;
+
+    @Schema(description = "ID позиции инвентаря", example = "1")
+    private Long inventoryId;
+
+    @Schema(description = "Тип движения", example = "CONSUMPTION")
+    private MovementType type;
+
+    @Schema(description = "Изменение количества (отрицательное при списании)", example = "-2.50")
+    private BigDecimal quantity;
+
+    @Schema(description = "Время движения", example = "2025-12-11T10:30:00")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Учтено ли движение в остатке на складе", example = "true")
+    private boolean compacted;
+
+    public static InventoryMovementDto fromDomain(InventoryMovement movement) {
+        return InventoryMovementDto.builder()
+            .id(movement.getId())
+            .inventoryId(movement.getInventoryId())
+            .type(movement.getType())
+            .quantity(movement.getQuantity())
+            .createdAt(movement.getCreatedAt())
+            .compacted(movement.isCompacted())
+            .build();
+    }
+}
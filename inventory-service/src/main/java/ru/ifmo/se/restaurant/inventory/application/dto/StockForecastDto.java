@@ -0,0 +1,55 @@
+package ru.ifmo.se.restaurant.inventory.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.StockForecast;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Прогноз расхода и исчерпания запаса ингредиента")
+public class StockForecastDto {
+    @Schema(description = "ID записи инвентаря", example = "1")
+    private Long inventoryId;
+
+    @Schema(description = "ID ингредиента", example = "8")
+    private Long ingredientId;
+
+    @Schema(description = "Название ингредиента", example = "Говядина мраморная")
+    private String ingredientName;
+
+    @Schema(description = "Текущее количество на складе", example = "45.5")
+    private BigDecimal quantity;
+
+    @Schema(description = "Минимальное количество (порог для заказа)", example = "10.0")
+    private BigDecimal minQuantity;
+
+    @Schema(description = "Сглаженный расход в час", example = "1.250")
+    private BigDecimal consumptionPerHour;
+
+    @Schema(description = "Прогнозируемое время исчерпания запаса (null, если расхода нет)", example = "2025-12-13T02:00:00")
+    private LocalDateTime predictedStockOut;
+
+    public static StockForecastDto fromDomain(StockForecast forecast) {
+        return StockForecastDto.builder()
+            .inventoryId(forecast.getInventoryId())
+            .ingredientId(forecast.getIngredient().getId())
+            .ingredientName(forecast.getIngredient().getName())
+            .quantity(forecast.getQuantity())
+            .minQuantity(forecast.getMinQuantity())
+            .consumptionPerHour(BigDecimal.valueOf(forecast.getConsumptionPerHour()).setScale(3, RoundingMode.HALF_UP))
+            .predictedStockOut(forecast.getPredictedStockOut() != null
+                ? LocalDateTime.ofInstant(forecast.getPredictedStockOut(), ZoneId.systemDefault())
+                : null)
+            .build();
+    }
+}
@@ -0,0 +1,11 @@
+package ru.ifmo.se.restaurant.inventory.application.port.in;
+
+import ru.ifmo.se.restaurant.inventory.application.dto.StockForecastDto;
+import ru.ifmo.se.restaurant.inventory.application.dto.SupplyOrderDto;
+
+import java.util.List;
+
+public interface ForecastInventoryUseCase {
+    List<StockForecastDto> getStockForecasts();
+    List<SupplyOrderDto> draftReplenishmentOrders();
+}
@@ -3,6 +3,8 @@ package ru.ifmo.se.restaurant.inventory.application.port.in;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Slice;
 import ru.ifmo.se.restaurant.inventory.application.dto.InventoryDto;
+import ru.ifmo.se.restaurant.inventory.application.dto.InventoryMovementDto;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.MovementType;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -15,6 +17,7 @@ public interface ManageInventoryUseCase {
     List<InventoryDto> getLowStockInventory();
     InventoryDto createInventory(InventoryDto dto);
     InventoryDto updateInventory(Long id, InventoryDto dto);
-    InventoryDto adjustInventory(Long id, BigDecimal quantity);
+    InventoryDto adjustInventory(Long id, BigDecimal quantity, MovementType type);
+    Page<InventoryMovementDto> getInventoryMovements(Long id, int page, int size);
     void deleteInventory(Long id);
 }
@@ -0,0 +1,12 @@
+package ru.ifmo.se.restaurant.inventory.application.port.in;
+
+import ru.ifmo.se.restaurant.inventory.application.dto.ImportResultDto;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+public interface TransferInventoryUseCase {
+    ImportResultDto importInventory(Reader csv) throws IOException;
+    void exportInventory(Writer csv) throws IOException;
+}
@@ -5,12 +5,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import ru.ifmo.se.restaurant.inventory.domain.entity.Ingredient;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface IngredientRepository {
     Ingredient save(Ingredient ingredient);
     Optional<Ingredient> findById(Long id);
+    List<Ingredient> findAllById(Collection<Long> ids);
     List<Ingredient> findAll();
     Page<Ingredient> findAll(Pageable pageable);
     Slice<Ingredient> findAllSlice(Pageable pageable);
@@ -2,6 +2,8 @@ package ru.ifmo.se.restaurant.inventory.application.port.out;
 
 import ru.ifmo.se.restaurant.inventory.domain.entity.Inventory;
 
+import java.util.List;
+
 /**
  * Output port for publishing inventory domain events.
  * This is part of Clean Architecture - the application layer defines the port,
@@ -15,4 +17,11 @@ public interface InventoryEventPublisher {
      * @param inventory the inventory item with low stock
      */
     void publishLowStock(Inventory inventory);
+
+    /**
+     * Publishes LOW_STOCK events for a batch of coalesced threshold crossings.
+     *
+     * @param inventories the inventory items that crossed below minimum threshold
+     */
+    void publishLowStock(List<Inventory> inventories);
 }
@@ -0,0 +1,25 @@
+package ru.ifmo.se.restaurant.inventory.application.port.out;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import ru.ifmo.se.restaurant.inventory.domain.entity.InventoryMovement;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Append-only stock ledger. Movements are never updated except for being marked as compacted
+ * once their quantity has been folded into the inventory snapshot.
+ */
+public interface InventoryMovementRepository {
+    InventoryMovement append(InventoryMovement movement);
+    Page<InventoryMovement> findByInventoryId(Long inventoryId, Pageable pageable);
+    List<InventoryMovement> findCreatedSince(LocalDateTime since);
+
+    /**
+     * Folds up to {@code batchSize} uncompacted movements into the inventory snapshot in one statement.
+     *
+     * @return number of movements compacted
+     */
+    int compact(int batchSize);
+}
@@ -4,18 +4,58 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import ru.ifmo.se.restaurant.inventory.domain.entity.Inventory;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.DeliveryReceipt;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.StockRecord;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.StocktakeReceipt;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+/**
+ * Inventory snapshots. Quantities returned by reads include movements that are not compacted yet.
+ */
 public interface InventoryRepository {
+    /**
+     * Creates an item with its initial quantity or updates thresholds of an existing one.
+     * Quantity of an existing item changes only through {@link InventoryMovementRepository}.
+     */
     Inventory save(Inventory inventory);
     Optional<Inventory> findById(Long id);
+
+    /**
+     * Loads the item and locks its row until the transaction ends, so stock checks made on the
+     * result hold until the movement is recorded.
+     */
+    Optional<Inventory> findByIdForUpdate(Long id);
     List<Inventory> findAll();
     Page<Inventory> findAll(Pageable pageable);
     Slice<Inventory> findAllSlice(Pageable pageable);
     Optional<Inventory> findByIngredientId(Long ingredientId);
     List<Inventory> findLowStockItems();
+
+    /**
+     * Appends a delivery movement for each ingredient in one batched statement.
+     *
+     * @param quantitiesByIngredientId delivered quantity per ingredient id
+     * @return updated inventory rows and the ingredients that have no inventory row
+     */
+    DeliveryReceipt receiveDelivery(Map<Long, BigDecimal> quantitiesByIngredientId);
+
+    /**
+     * Upserts ingredients and inventory for one chunk of stocktake records in batched statements.
+     * Counted quantities that differ from current stock of existing items are recorded as adjustment movements.
+     *
+     * @return inventory of the imported ingredients after the upsert, with the adjustments recorded for each
+     */
+    StocktakeReceipt importStock(List<StockRecord> records);
+
+    /**
+     * Streams all inventory, ordered by ingredient name, through a forward-only cursor.
+     */
+    void forEachStockRecord(Consumer<StockRecord> consumer);
     boolean existsById(Long id);
     void deleteById(Long id);
 }
@@ -0,0 +1,16 @@
+package ru.ifmo.se.restaurant.inventory.application.port.out;
+
+/**
+ * Output port for locks shared by all service instances, so that a scheduled job runs on one
+ * instance at a time.
+ */
+public interface JobLock {
+
+    /**
+     * Takes the named lock for the current transaction without waiting. The lock is released
+     * when the transaction ends.
+     *
+     * @return {@code false} if another instance holds the lock
+     */
+    boolean tryLockForTransaction(String name);
+}
@@ -1,10 +1,19 @@
 package ru.ifmo.se.restaurant.inventory.application.port.out;
 
 import ru.ifmo.se.restaurant.inventory.domain.entity.SupplyOrderItem;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.SupplyOrderStatus;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.SupplySource;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public interface SupplyOrderItemRepository {
     SupplyOrderItem save(SupplyOrderItem item);
+    void saveAll(Long supplyOrderId, List<SupplyOrderItem> items);
     List<SupplyOrderItem> findBySupplyOrderId(Long supplyOrderId);
+    Map<Long, List<SupplyOrderItem>> findBySupplyOrderIds(Collection<Long> supplyOrderIds);
+    Map<Long, SupplySource> findLatestSupplySources(Collection<Long> ingredientIds);
+    Set<Long> findIngredientIdsBySupplyOrderStatus(Collection<SupplyOrderStatus> statuses);
 }
@@ -0,0 +1,143 @@
+package ru.ifmo.se.restaurant.inventory.application.usecase;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.ifmo.se.restaurant.inventory.application.port.out.InventoryMovementRepository;
+import ru.ifmo.se.restaurant.inventory.application.port.out.InventoryRepository;
+import ru.ifmo.se.restaurant.inventory.domain.entity.Inventory;
+import ru.ifmo.se.restaurant.inventory.domain.entity.InventoryMovement;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.ConsumptionRate;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.StockForecast;
+import ru.ifmo.se.restaurant.inventory.infrastructure.util.TransactionUtil;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps an exponentially weighted consumption rate and the latest stock level per ingredient,
+ * updated incrementally from stock movements. Forecasts are computed from this in-memory state
+ * only; on startup current quantities are loaded once and rates are rebuilt by replaying the
+ * recent part of the movement ledger.
+ */
+@Slf4j
+@Component
+public class ConsumptionForecaster {
+
+    private static final int REPLAYED_HALF_LIVES = 4;
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryMovementRepository inventoryMovementRepository;
+    private final Duration halfLife;
+
+    private final Map<Long, StockState> states = new ConcurrentHashMap<>();
+
+    public ConsumptionForecaster(InventoryRepository inventoryRepository,
+                                 InventoryMovementRepository inventoryMovementRepository,
+                                 @Value("${inventory.forecast.half-life-hours:24}") long halfLifeHours) {
+        this.inventoryRepository = inventoryRepository;
+        this.inventoryMovementRepository = inventoryMovementRepository;
+        this.halfLife = Duration.ofHours(halfLifeHours);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Instant now = Instant.now();
+        Map<Long, ConsumptionRate> rates = replayLedger(now.minus(halfLife.multipliedBy(REPLAYED_HALF_LIVES)));
+        List<Inventory> items = inventoryRepository.findAll();
+        for (Inventory inventory : items) {
+            ConsumptionRate rate = rates.getOrDefault(inventory.getId(), ConsumptionRate.startingAt(now));
+            states.putIfAbsent(inventory.getIngredient().getId(), new StockState(inventory, rate));
+        }
+        log.info("Consumption forecaster initialized with {} inventory items", items.size());
+    }
+
+    private Map<Long, ConsumptionRate> replayLedger(Instant since) {
+        ZoneId zone = ZoneId.systemDefault();
+        Map<Long, ConsumptionRate> rates = new HashMap<>();
+        for (InventoryMovement movement : inventoryMovementRepository.findCreatedSince(LocalDateTime.ofInstant(since, zone))) {
+            Instant observedAt = movement.getCreatedAt().atZone(zone).toInstant();
+            rates.compute(movement.getInventoryId(), (inventoryId, rate) ->
+                (rate != null ? rate : ConsumptionRate.startingAt(since))
+                    .record(consumed(movement.getQuantity()), observedAt, halfLife));
+        }
+        return rates;
+    }
+
+    /**
+     * Records a stock movement after the current transaction commits.
+     *
+     * @param inventory the inventory state after the movement
+     * @param delta     signed quantity change; negative values count as consumption
+     */
+    public void onStockMovement(Inventory inventory, BigDecimal delta) {
+        Instant observedAt = Instant.now();
+        TransactionUtil.afterCommit(() -> apply(inventory, delta, observedAt));
+    }
+
+    public void onInventoryDeleted(Long inventoryId) {
+        states.values().removeIf(state -> state.inventory.getId().equals(inventoryId));
+    }
+
+    public List<StockForecast> getForecasts() {
+        return getForecasts(Instant.now());
+    }
+
+    List<StockForecast> getForecasts(Instant now) {
+        return states.values().stream()
+            .map(state -> forecast(state, now))
+            .sorted(Comparator.comparing(StockForecast::getInventoryId))
+            .collect(Collectors.toList());
+    }
+
+    void apply(Inventory inventory, BigDecimal delta, Instant observedAt) {
+        BigDecimal consumed = consumed(delta);
+        states.compute(inventory.getIngredient().getId(), (ingredientId, state) -> {
+            ConsumptionRate rate = state == null
+                ? ConsumptionRate.startingAt(observedAt)
+                : state.rate.record(consumed, observedAt, halfLife);
+            return new StockState(inventory, rate);
+        });
+    }
+
+    private static BigDecimal consumed(BigDecimal delta) {
+        return delta.signum() < 0 ? delta.negate() : BigDecimal.ZERO;
+    }
+
+    private StockForecast forecast(StockState state, Instant now) {
+        Inventory inventory = state.inventory;
+        double perHour = state.rate.perHour(now, halfLife);
+        Instant stockOut = null;
+        if (perHour > 0.0) {
+            double hoursLeft = inventory.getQuantity().doubleValue() / perHour;
+            stockOut = now.plusSeconds((long) Math.min(hoursLeft * 3600.0, Duration.ofDays(3650).toSeconds()));
+        }
+        return StockForecast.builder()
+            .inventoryId(inventory.getId())
+            .ingredient(inventory.getIngredient())
+            .quantity(inventory.getQuantity())
+            .minQuantity(inventory.getMinQuantity())
+            .maxQuantity(inventory.getMaxQuantity())
+            .consumptionPerHour(perHour)
+            .predictedStockOut(stockOut)
+            .build();
+    }
+
+    @AllArgsConstructor
+    private static final class StockState {
+        private final Inventory inventory;
+        private final ConsumptionRate rate;
+    }
+}
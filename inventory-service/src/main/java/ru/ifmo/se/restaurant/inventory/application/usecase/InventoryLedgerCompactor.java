@@ -0,0 +1,47 @@
+package ru.ifmo.se.restaurant.inventory.application.usecase;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.ifmo.se.restaurant.inventory.application.port.out.InventoryMovementRepository;
+
+/**
+ * Periodically folds pending ledger movements into the inventory snapshot.
+ * Each batch is compacted atomically, and instances skip batches claimed by each other.
+ */
+@Slf4j
+@Component
+public class InventoryLedgerCompactor {
+
+    private final InventoryMovementRepository inventoryMovementRepository;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public InventoryLedgerCompactor(InventoryMovementRepository inventoryMovementRepository,
+                                    @Value("${inventory.ledger.compaction-batch-size:1000}") int batchSize,
+                                    @Value("${inventory.ledger.compaction-max-batches:50}") int maxBatchesPerRun) {
+        this.inventoryMovementRepository = inventoryMovementRepository;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.ledger.compaction-interval-ms:5000}")
+    public void compact() {
+        try {
+            int total = 0;
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                int compacted = inventoryMovementRepository.compact(batchSize);
+                total += compacted;
+                if (compacted < batchSize) {
+                    break;
+                }
+            }
+            if (total > 0) {
+                log.debug("Compacted {} inventory movements", total);
+            }
+        } catch (Exception e) {
+            log.error("Inventory ledger compaction failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -10,15 +10,19 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.ifmo.se.restaurant.inventory.application.dto.IngredientDto;
 import ru.ifmo.se.restaurant.inventory.application.dto.InventoryDto;
+import ru.ifmo.se.restaurant.inventory.application.dto.InventoryMovementDto;
 import ru.ifmo.se.restaurant.inventory.application.port.in.ManageIngredientUseCase;
 import ru.ifmo.se.restaurant.inventory.application.port.in.ManageInventoryUseCase;
 import ru.ifmo.se.restaurant.inventory.application.port.out.IngredientRepository;
-import ru.ifmo.se.restaurant.inventory.application.port.out.InventoryEventPublisher;
+import ru.ifmo.se.restaurant.inventory.application.port.out.InventoryMovementRepository;
 import ru.ifmo.se.restaurant.inventory.application.port.out.InventoryRepository;
 import ru.ifmo.se.restaurant.inventory.domain.entity.Ingredient;
 import ru.ifmo.se.restaurant.inventory.domain.entity.Inventory;
+import ru.ifmo.se.restaurant.inventory.domain.entity.InventoryMovement;
+import ru.ifmo.se.restaurant.inventory.domain.exception.BusinessConflictException;
 import ru.ifmo.se.restaurant.inventory.domain.exception.ResourceNotFoundException;
 import ru.ifmo.se.restaurant.inventory.domain.exception.ValidationException;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.MovementType;
 import ru.ifmo.se.restaurant.inventory.infrastructure.util.PaginationUtil;
 
 import java.math.BigDecimal;
@@ -33,8 +37,10 @@ import java.util.stream.Collectors;
 public class InventoryManagementService implements ManageInventoryUseCase, ManageIngredientUseCase {
 
     private final InventoryRepository inventoryRepository;
+    private final InventoryMovementRepository inventoryMovementRepository;
     private final IngredientRepository ingredientRepository;
-    private final InventoryEventPublisher inventoryEventPublisher;
+    private final LowStockTracker lowStockTracker;
+    private final ConsumptionForecaster consumptionForecaster;
 
     // Inventory Management
 
@@ -73,7 +79,7 @@ public class InventoryManagementService implements ManageInventoryUseCase, Manag
     @Override
     @Transactional(readOnly = true)
     public List<InventoryDto> getLowStockInventory() {
-        return inventoryRepository.findLowStockItems().stream()
+        return lowStockTracker.getLowStockItems().stream()
             .map(InventoryDto::fromDomain)
             .collect(Collectors.toList());
     }
@@ -82,6 +88,9 @@ public class InventoryManagementService implements ManageInventoryUseCase, Manag
     public InventoryDto createInventory(InventoryDto dto) {
         Ingredient ingredient = ingredientRepository.findById(dto.getIngredientId())
             .orElseThrow(() -> new ResourceNotFoundException("Ingredient not found"));
+        if (inventoryRepository.findByIngredientId(ingredient.getId()).isPresent()) {
+            throw new BusinessConflictException("Inventory already exists for ingredient " + ingredient.getId());
+        }
 
         Inventory inventory = Inventory.builder()
             .ingredient(ingredient)
@@ -92,41 +101,47 @@ public class InventoryManagementService implements ManageInventoryUseCase, Manag
             .build();
 
         Inventory saved = inventoryRepository.save(inventory);
+        lowStockTracker.onInventoryChanged(saved);
+        consumptionForecaster.onStockMovement(saved, BigDecimal.ZERO);
         return InventoryDto.fromDomain(saved);
     }
 
     @Override
     public InventoryDto updateInventory(Long id, InventoryDto dto) {
-        Inventory inventory = inventoryRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Inventory not found"));
+        // An absolute quantity may lower the stock, so it is checked under the row lock like a withdrawal
+        Inventory inventory = load(id, dto.getQuantity() != null);
 
         Inventory updated = inventory;
-        if (dto.getQuantity() != null) {
-            updated = updated.updateQuantity(dto.getQuantity());
-        }
         if (dto.getMinQuantity() != null || dto.getMaxQuantity() != null) {
             updated = updated.updateThresholds(dto.getMinQuantity(), dto.getMaxQuantity());
+            inventoryRepository.save(updated);
         }
-
-        Inventory saved = inventoryRepository.save(updated);
-
-        // Check for low stock and publish event
-        if (saved.isLowStock()) {
-            log.warn("Low stock detected for ingredient '{}': current={}, minimum={}",
-                saved.getIngredient().getName(),
-                saved.getQuantity(),
-                saved.getMinQuantity());
-            inventoryEventPublisher.publishLowStock(saved);
+        BigDecimal delta = BigDecimal.ZERO;
+        if (dto.getQuantity() != null) {
+            delta = dto.getQuantity().subtract(updated.getQuantity());
+            updated = updated.updateQuantity(dto.getQuantity());
+            if (delta.signum() != 0) {
+                recordMovement(updated, MovementType.ADJUSTMENT, delta);
+            }
         }
 
-        return InventoryDto.fromDomain(saved);
+        lowStockTracker.onInventoryChanged(updated);
+        consumptionForecaster.onStockMovement(updated, delta);
+
+        return InventoryDto.fromDomain(updated);
     }
 
     @Override
-    public InventoryDto adjustInventory(Long id, BigDecimal quantity) {
-        Inventory inventory = inventoryRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Inventory not found"));
+    public InventoryDto adjustInventory(Long id, BigDecimal quantity, MovementType type) {
+        Inventory inventory = load(id, quantity.signum() < 0);
 
+        if (!type.allows(quantity)) {
+            throw new ValidationException(
+                "Quantity " + quantity + " is not allowed for movement type " + type,
+                "quantity",
+                quantity
+            );
+        }
         if (!inventory.canAdjust(quantity)) {
             throw new ValidationException(
                 "Adjustment would result in negative inventory. Current: " +
@@ -137,18 +152,22 @@ public class InventoryManagementService implements ManageInventoryUseCase, Manag
         }
 
         Inventory adjusted = inventory.adjustQuantity(quantity);
-        Inventory saved = inventoryRepository.save(adjusted);
-
-        // Check for low stock and publish event
-        if (saved.isLowStock()) {
-            log.warn("Low stock detected for ingredient '{}': current={}, minimum={}",
-                saved.getIngredient().getName(),
-                saved.getQuantity(),
-                saved.getMinQuantity());
-            inventoryEventPublisher.publishLowStock(saved);
-        }
+        recordMovement(adjusted, type, quantity);
+        lowStockTracker.onInventoryChanged(adjusted);
+        consumptionForecaster.onStockMovement(adjusted, quantity);
 
-        return InventoryDto.fromDomain(saved);
+        return InventoryDto.fromDomain(adjusted);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<InventoryMovementDto> getInventoryMovements(Long id, int page, int size) {
+        if (!inventoryRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Inventory not found");
+        }
+        Pageable pageable = PaginationUtil.createPageable(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
+        return inventoryMovementRepository.findByInventoryId(id, pageable)
+            .map(InventoryMovementDto::fromDomain);
     }
 
     @Override
@@ -157,6 +176,25 @@ public class InventoryManagementService implements ManageInventoryUseCase, Manag
             throw new ResourceNotFoundException("Inventory not found");
         }
         inventoryRepository.deleteById(id);
+        lowStockTracker.onInventoryDeleted(id);
+        consumptionForecaster.onInventoryDeleted(id);
+    }
+
+    /**
+     * Only changes that can take stock below zero lock the row; additions stay insert-only.
+     */
+    private Inventory load(Long id, boolean mayLowerStock) {
+        return (mayLowerStock ? inventoryRepository.findByIdForUpdate(id) : inventoryRepository.findById(id))
+            .orElseThrow(() -> new ResourceNotFoundException("Inventory not found"));
+    }
+
+    private void recordMovement(Inventory inventory, MovementType type, BigDecimal quantity) {
+        inventoryMovementRepository.append(InventoryMovement.builder()
+            .inventoryId(inventory.getId())
+            .type(type)
+            .quantity(quantity)
+            .createdAt(inventory.getLastUpdated())
+            .build());
     }
 
     // Ingredient Management
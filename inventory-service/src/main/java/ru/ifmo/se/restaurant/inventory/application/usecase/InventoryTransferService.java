@@ -0,0 +1,199 @@
+package ru.ifmo.se.restaurant.inventory.application.usecase;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.ifmo.se.restaurant.inventory.application.dto.ImportResultDto;
+import ru.ifmo.se.restaurant.inventory.application.port.in.TransferInventoryUseCase;
+import ru.ifmo.se.restaurant.inventory.application.port.out.InventoryRepository;
+import ru.ifmo.se.restaurant.inventory.domain.entity.Inventory;
+import ru.ifmo.se.restaurant.inventory.domain.exception.BadRequestException;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.StockRecord;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.StocktakeReceipt;
+import ru.ifmo.se.restaurant.inventory.infrastructure.util.CsvUtil;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV stocktake import and export. Both directions stream line by line: the import holds one
+ * chunk of parsed records at a time and writes each chunk in its own transaction, the export
+ * writes rows straight from a database cursor. Re-running an import converges to the same state,
+ * so a failed import can simply be repeated.
+ */
+@Slf4j
+@Service
+public class InventoryTransferService implements TransferInventoryUseCase {
+
+    static final List<String> HEADER = List.of("ingredient", "unit", "quantity", "min_quantity", "max_quantity");
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final int MAX_NAME_LENGTH = 100;
+    private static final int MAX_UNIT_LENGTH = 50;
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("99999999.99");
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final InventoryRepository inventoryRepository;
+    private final LowStockTracker lowStockTracker;
+    private final ConsumptionForecaster consumptionForecaster;
+    private final int chunkSize;
+
+    public InventoryTransferService(InventoryRepository inventoryRepository,
+                                    LowStockTracker lowStockTracker,
+                                    ConsumptionForecaster consumptionForecaster,
+                                    @Value("${inventory.import.chunk-size:500}") int chunkSize) {
+        this.inventoryRepository = inventoryRepository;
+        this.lowStockTracker = lowStockTracker;
+        this.consumptionForecaster = consumptionForecaster;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public ImportResultDto importInventory(Reader csv) throws IOException {
+        BufferedReader reader = csv instanceof BufferedReader buffered ? buffered : new BufferedReader(csv);
+        String header = reader.readLine();
+        if (header == null) {
+            throw new BadRequestException("CSV is empty");
+        }
+        if (!header.isEmpty() && header.charAt(0) == BYTE_ORDER_MARK) {
+            header = header.substring(1);
+        }
+        if (!HEADER.equals(CsvUtil.parseLine(header.toLowerCase()))) {
+            throw new BadRequestException("CSV header must be: " + String.join(",", HEADER));
+        }
+
+        List<StockRecord> chunk = new ArrayList<>(chunkSize);
+        List<ImportResultDto.RowError> errors = new ArrayList<>();
+        long lineNumber = 1;
+        int processed = 0;
+        int imported = 0;
+        int failed = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            processed++;
+            try {
+                chunk.add(parseRecord(line));
+            } catch (IllegalArgumentException e) {
+                failed++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(new ImportResultDto.RowError(lineNumber, e.getMessage()));
+                }
+                continue;
+            }
+            if (chunk.size() >= chunkSize) {
+                imported += writeChunk(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += writeChunk(chunk);
+        }
+
+        log.info("Inventory import finished: {} rows processed, {} imported, {} rejected", processed, imported, failed);
+        return ImportResultDto.builder()
+            .processedRows(processed)
+            .importedRows(imported)
+            .failedRows(failed)
+            .errors(errors)
+            .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportInventory(Writer csv) throws IOException {
+        csv.write(CsvUtil.formatLine(HEADER.toArray()));
+        csv.write('\n');
+        try {
+            inventoryRepository.forEachStockRecord(record -> {
+                try {
+                    csv.write(CsvUtil.formatLine(
+                        record.getIngredientName(),
+                        record.getUnit(),
+                        record.getQuantity(),
+                        record.getMinQuantity(),
+                        record.getMaxQuantity()));
+                    csv.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        csv.flush();
+    }
+
+    private int writeChunk(List<StockRecord> chunk) {
+        StocktakeReceipt receipt = inventoryRepository.importStock(chunk);
+        for (Inventory inventory : receipt.getUpdatedInventory()) {
+            lowStockTracker.onInventoryChanged(inventory);
+            // Feed the forecaster the same adjustments its startup replay will read from the ledger
+            List<BigDecimal> adjustments = receipt.adjustmentsOf(inventory);
+            if (adjustments.isEmpty()) {
+                consumptionForecaster.onStockMovement(inventory, BigDecimal.ZERO);
+            }
+            for (BigDecimal adjustment : adjustments) {
+                consumptionForecaster.onStockMovement(inventory, adjustment);
+            }
+        }
+        return chunk.size();
+    }
+
+    StockRecord parseRecord(String line) {
+        List<String> fields = CsvUtil.parseLine(line);
+        if (fields.size() < HEADER.size() - 1 || fields.size() > HEADER.size()) {
+            throw new IllegalArgumentException("expected " + HEADER.size() + " columns but found " + fields.size());
+        }
+        String name = fields.get(0);
+        if (name.isEmpty() || name.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("ingredient name is required and must be at most " + MAX_NAME_LENGTH + " characters");
+        }
+        String unit = fields.get(1);
+        if (unit.length() > MAX_UNIT_LENGTH) {
+            throw new IllegalArgumentException("unit must be at most " + MAX_UNIT_LENGTH + " characters");
+        }
+        BigDecimal quantity = parseAmount(fields.get(2), "quantity");
+        BigDecimal minQuantity = parseAmount(fields.get(3), "min_quantity");
+        if (quantity == null || minQuantity == null) {
+            throw new IllegalArgumentException("quantity and min_quantity are required");
+        }
+        BigDecimal maxQuantity = fields.size() > 4 ? parseAmount(fields.get(4), "max_quantity") : null;
+        if (maxQuantity != null && maxQuantity.compareTo(minQuantity) < 0) {
+            throw new IllegalArgumentException("max_quantity must not be less than min_quantity");
+        }
+        return StockRecord.builder()
+            .ingredientName(name)
+            .unit(unit.isEmpty() ? null : unit)
+            .quantity(quantity)
+            .minQuantity(minQuantity)
+            .maxQuantity(maxQuantity)
+            .build();
+    }
+
+    private static BigDecimal parseAmount(String value, String column) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a number: " + value);
+        }
+        if (amount.signum() < 0 || amount.compareTo(MAX_AMOUNT) > 0 || amount.stripTrailingZeros().scale() > 2) {
+            throw new IllegalArgumentException(column + " must be between 0 and " + MAX_AMOUNT + " with at most 2 decimals");
+        }
+        return amount;
+    }
+}
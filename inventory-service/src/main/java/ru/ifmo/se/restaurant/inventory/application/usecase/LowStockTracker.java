@@ -0,0 +1,137 @@
+package ru.ifmo.se.restaurant.inventory.application.usecase;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.ifmo.se.restaurant.inventory.application.port.out.InventoryEventPublisher;
+import ru.ifmo.se.restaurant.inventory.application.port.out.InventoryRepository;
+import ru.ifmo.se.restaurant.inventory.domain.entity.Inventory;
+import ru.ifmo.se.restaurant.inventory.infrastructure.util.TransactionUtil;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks low-stock state per inventory item.
+ * A LOW_STOCK event fires only when stock crosses the minimum downward; the item is re-armed
+ * once stock is restored above {@code minQuantity * (1 + hysteresisRatio)}. Crossings within
+ * one coalescing window are published together by {@link #flush()}.
+ * The tracker also holds the set of currently-low items, so low-stock reads do not scan the table.
+ * State is per instance and is rebuilt from the database on startup.
+ */
+@Slf4j
+@Component
+public class LowStockTracker {
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryEventPublisher inventoryEventPublisher;
+    private final BigDecimal rearmFactor;
+
+    private final Map<Long, Inventory> lowStock = new ConcurrentHashMap<>();
+    private final Set<Long> disarmed = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Inventory> pending = new ConcurrentHashMap<>();
+
+    public LowStockTracker(InventoryRepository inventoryRepository,
+                           InventoryEventPublisher inventoryEventPublisher,
+                           @Value("${inventory.low-stock.hysteresis-ratio:0.1}") BigDecimal hysteresisRatio) {
+        this.inventoryRepository = inventoryRepository;
+        this.inventoryEventPublisher = inventoryEventPublisher;
+        this.rearmFactor = BigDecimal.ONE.add(hysteresisRatio);
+    }
+
+    /**
+     * Loads items that are already low so they are reported but not re-announced after a restart.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        List<Inventory> items = inventoryRepository.findLowStockItems();
+        for (Inventory inventory : items) {
+            lowStock.put(inventory.getId(), inventory);
+            disarmed.add(inventory.getId());
+        }
+        log.info("Low stock tracker initialized with {} items below minimum", items.size());
+    }
+
+    /**
+     * Records a saved inventory state. Inside a transaction the state is applied after commit,
+     * so rolled-back writes never trigger events.
+     */
+    public void onInventoryChanged(Inventory inventory) {
+        TransactionUtil.afterCommit(() -> apply(inventory));
+    }
+
+    public void onInventoryDeleted(Long inventoryId) {
+        lowStock.compute(inventoryId, (id, current) -> {
+            disarmed.remove(id);
+            pending.remove(id);
+            return null;
+        });
+    }
+
+    public List<Inventory> getLowStockItems() {
+        List<Inventory> items = new ArrayList<>(lowStock.values());
+        items.sort(Comparator.comparing(Inventory::getId));
+        return items;
+    }
+
+    /**
+     * All three views of an item are updated inside one {@code compute} on its id, so concurrent
+     * updates of the same item are applied one after another.
+     */
+    void apply(Inventory inventory) {
+        lowStock.compute(inventory.getId(), (id, current) -> inventory.isLowStock()
+                ? markLow(id, inventory)
+                : markRecovered(id, inventory));
+    }
+
+    private Inventory markLow(Long id, Inventory inventory) {
+        if (disarmed.add(id)) {
+            log.warn("Low stock detected for ingredient '{}': current={}, minimum={}",
+                inventory.getIngredient().getName(),
+                inventory.getQuantity(),
+                inventory.getMinQuantity());
+            pending.put(id, inventory);
+        } else {
+            pending.computeIfPresent(id, (key, previous) -> inventory);
+        }
+        return inventory;
+    }
+
+    private Inventory markRecovered(Long id, Inventory inventory) {
+        // Recovered before the window closed: nothing was announced, so the alert stays armed
+        if (pending.remove(id) != null) {
+            disarmed.remove(id);
+            return null;
+        }
+        BigDecimal rearmLevel = inventory.getMinQuantity().multiply(rearmFactor);
+        if (inventory.getQuantity().compareTo(rearmLevel) >= 0 && disarmed.remove(id)) {
+            log.debug("Low stock alert re-armed for inventory {}", id);
+        }
+        return null;
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.low-stock.coalesce-window-ms:500}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Inventory> batch = new ArrayList<>(pending.size());
+        for (Long id : List.copyOf(pending.keySet())) {
+            Inventory inventory = pending.remove(id);
+            if (inventory != null) {
+                batch.add(inventory);
+            }
+        }
+        if (!batch.isEmpty()) {
+            inventoryEventPublisher.publishLowStock(batch);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package ru.ifmo.se.restaurant.inventory.application.usecase;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.ifmo.se.restaurant.inventory.application.dto.StockForecastDto;
+import ru.ifmo.se.restaurant.inventory.application.dto.SupplyOrderDto;
+import ru.ifmo.se.restaurant.inventory.application.dto.SupplyOrderItemDto;
+import ru.ifmo.se.restaurant.inventory.application.port.in.ForecastInventoryUseCase;
+import ru.ifmo.se.restaurant.inventory.application.port.in.ManageSupplyOrderUseCase;
+import ru.ifmo.se.restaurant.inventory.application.port.out.JobLock;
+import ru.ifmo.se.restaurant.inventory.application.port.out.SupplyOrderItemRepository;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.StockForecast;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.SupplyOrderStatus;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.SupplySource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Serves stock-out forecasts and drafts supply orders, grouped per supplier, for ingredients
+ * predicted to run out within the supplier lead time. The supplier and price of an ingredient
+ * are taken from its most recent non-cancelled supply order; ingredients that already have an
+ * open order are skipped. Drafting holds a lock shared by all instances until its orders are
+ * committed, so replicas never draft the same ingredient twice.
+ */
+@Slf4j
+@Service
+public class ReplenishmentService implements ForecastInventoryUseCase {
+
+    private static final List<SupplyOrderStatus> OPEN_STATUSES =
+        List.of(SupplyOrderStatus.PENDING, SupplyOrderStatus.CONFIRMED, SupplyOrderStatus.SHIPPED);
+    static final String DRAFT_NOTES = "Auto-generated replenishment draft";
+    static final String LOCK_NAME = "inventory-replenishment";
+
+    private final ConsumptionForecaster consumptionForecaster;
+    private final SupplyOrderItemRepository supplyOrderItemRepository;
+    private final ManageSupplyOrderUseCase manageSupplyOrderUseCase;
+    private final JobLock jobLock;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration leadTime;
+    private final boolean enabled;
+
+    public ReplenishmentService(ConsumptionForecaster consumptionForecaster,
+                                SupplyOrderItemRepository supplyOrderItemRepository,
+                                ManageSupplyOrderUseCase manageSupplyOrderUseCase,
+                                JobLock jobLock,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${inventory.replenishment.lead-time-hours:48}") long leadTimeHours,
+                                @Value("${inventory.replenishment.enabled:true}") boolean enabled) {
+        this.consumptionForecaster = consumptionForecaster;
+        this.supplyOrderItemRepository = supplyOrderItemRepository;
+        this.manageSupplyOrderUseCase = manageSupplyOrderUseCase;
+        this.jobLock = jobLock;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.leadTime = Duration.ofHours(leadTimeHours);
+        this.enabled = enabled;
+    }
+
+    @Override
+    public List<StockForecastDto> getStockForecasts() {
+        return consumptionForecaster.getForecasts().stream()
+            .map(StockForecastDto::fromDomain)
+            .collect(Collectors.toList());
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.replenishment.interval-ms:900000}",
+               initialDelayString = "${inventory.replenishment.initial-delay-ms:60000}")
+    public void scheduledReplenishment() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<SupplyOrderDto> drafts = draftReplenishmentOrders();
+            if (!drafts.isEmpty()) {
+                log.info("Drafted {} replenishment supply orders", drafts.size());
+            }
+        } catch (Exception e) {
+            log.error("Replenishment run failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<SupplyOrderDto> draftReplenishmentOrders() {
+        return transactionTemplate.execute(status -> {
+            if (!jobLock.tryLockForTransaction(LOCK_NAME)) {
+                log.info("Replenishment is already being drafted by another instance");
+                return List.<SupplyOrderDto>of();
+            }
+            return draftUnderLock();
+        });
+    }
+
+    private List<SupplyOrderDto> draftUnderLock() {
+        Instant now = Instant.now();
+        List<StockForecast> atRisk = consumptionForecaster.getForecasts(now).stream()
+            .filter(forecast -> forecast.runsOutWithin(now, leadTime))
+            .collect(Collectors.toList());
+        if (atRisk.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> alreadyOrdered = supplyOrderItemRepository.findIngredientIdsBySupplyOrderStatus(OPEN_STATUSES);
+        List<StockForecast> candidates = atRisk.stream()
+            .filter(forecast -> !alreadyOrdered.contains(forecast.getIngredient().getId()))
+            .collect(Collectors.toList());
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, SupplySource> sources = supplyOrderItemRepository.findLatestSupplySources(
+            candidates.stream().map(forecast -> forecast.getIngredient().getId()).collect(Collectors.toList()));
+
+        Map<Long, List<SupplyOrderItemDto>> linesBySupplier = new LinkedHashMap<>();
+        for (StockForecast forecast : candidates) {
+            SupplySource source = sources.get(forecast.getIngredient().getId());
+            if (source == null) {
+                log.warn("Ingredient '{}' is predicted to run out at {} but has no known supplier",
+                    forecast.getIngredient().getName(), forecast.getPredictedStockOut());
+                continue;
+            }
+            BigDecimal quantity = reorderQuantity(forecast);
+            if (quantity.signum() <= 0) {
+                continue;
+            }
+            linesBySupplier.computeIfAbsent(source.getSupplier().getId(), id -> new ArrayList<>())
+                .add(SupplyOrderItemDto.builder()
+                    .ingredientId(forecast.getIngredient().getId())
+                    .quantity(quantity)
+                    .unitPrice(source.getUnitPrice())
+                    .build());
+        }
+
+        List<SupplyOrderDto> drafts = new ArrayList<>();
+        linesBySupplier.forEach((supplierId, lines) -> drafts.add(
+            manageSupplyOrderUseCase.createSupplyOrder(SupplyOrderDto.builder()
+                .supplierId(supplierId)
+                .notes(DRAFT_NOTES)
+                .items(lines)
+                .build())));
+        return drafts;
+    }
+
+    /**
+     * Orders enough to reach the maximum level (or twice the minimum when no maximum is set),
+     * counting what is expected to be consumed before the delivery arrives.
+     */
+    BigDecimal reorderQuantity(StockForecast forecast) {
+        BigDecimal target = forecast.getMaxQuantity() != null
+            ? forecast.getMaxQuantity()
+            : forecast.getMinQuantity().multiply(BigDecimal.valueOf(2));
+        BigDecimal consumedDuringLeadTime = BigDecimal.valueOf(forecast.getConsumptionPerHour() * leadTime.toHours());
+        BigDecimal projected = forecast.getQuantity().subtract(consumedDuringLeadTime).max(BigDecimal.ZERO);
+        return target.subtract(projected).setScale(2, RoundingMode.CEILING);
+    }
+}
@@ -21,13 +21,18 @@ import ru.ifmo.se.restaurant.inventory.application.port.out.SupplyOrderRepositor
 import ru.ifmo.se.restaurant.inventory.domain.entity.*;
 import ru.ifmo.se.restaurant.inventory.domain.exception.ResourceNotFoundException;
 import ru.ifmo.se.restaurant.inventory.domain.exception.ValidationException;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.DeliveryReceipt;
 import ru.ifmo.se.restaurant.inventory.domain.valueobject.SupplyOrderStatus;
 import ru.ifmo.se.restaurant.inventory.infrastructure.util.PaginationUtil;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -41,6 +46,8 @@ public class SupplierManagementService implements ManageSupplierUseCase, ManageS
     private final SupplyOrderItemRepository supplyOrderItemRepository;
     private final IngredientRepository ingredientRepository;
     private final InventoryRepository inventoryRepository;
+    private final LowStockTracker lowStockTracker;
+    private final ConsumptionForecaster consumptionForecaster;
 
     // Supplier Management
 
@@ -120,25 +127,25 @@ public class SupplierManagementService implements ManageSupplierUseCase, ManageS
     @Override
     @Transactional(readOnly = true)
     public List<SupplyOrderDto> getAllSupplyOrders() {
-        return supplyOrderRepository.findAll().stream()
-            .map(this::toDto)
-            .collect(Collectors.toList());
+        return toDtos(supplyOrderRepository.findAll());
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<SupplyOrderDto> getAllSupplyOrdersPaginated(int page, int size) {
         Pageable pageable = PaginationUtil.createPageable(page, size, Sort.by(Sort.Direction.DESC, "orderDate"));
-        return supplyOrderRepository.findAll(pageable)
-            .map(this::toDto);
+        Page<SupplyOrder> supplyOrders = supplyOrderRepository.findAll(pageable);
+        Map<Long, List<SupplyOrderItem>> items = loadItems(supplyOrders.getContent());
+        return supplyOrders.map(supplyOrder -> toDto(supplyOrder, itemsOf(items, supplyOrder)));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Slice<SupplyOrderDto> getAllSupplyOrdersSlice(int page, int size) {
         Pageable pageable = PaginationUtil.createPageable(page, size, Sort.by(Sort.Direction.DESC, "orderDate"));
-        return supplyOrderRepository.findAllSlice(pageable)
-            .map(this::toDto);
+        Slice<SupplyOrder> supplyOrders = supplyOrderRepository.findAllSlice(pageable);
+        Map<Long, List<SupplyOrderItem>> items = loadItems(supplyOrders.getContent());
+        return supplyOrders.map(supplyOrder -> toDto(supplyOrder, itemsOf(items, supplyOrder)));
     }
 
     @Override
@@ -152,9 +159,7 @@ public class SupplierManagementService implements ManageSupplierUseCase, ManageS
     @Override
     @Transactional(readOnly = true)
     public List<SupplyOrderDto> getSupplyOrdersByStatus(SupplyOrderStatus status) {
-        return supplyOrderRepository.findByStatus(status).stream()
-            .map(this::toDto)
-            .collect(Collectors.toList());
+        return toDtos(supplyOrderRepository.findByStatus(status));
     }
 
     @Override
@@ -167,9 +172,17 @@ public class SupplierManagementService implements ManageSupplierUseCase, ManageS
         List<SupplyOrderItem> items = new ArrayList<>();
 
         if (dto.getItems() != null && !dto.getItems().isEmpty()) {
+            Set<Long> ingredientIds = dto.getItems().stream()
+                .map(SupplyOrderItemDto::getIngredientId)
+                .collect(Collectors.toSet());
+            Map<Long, Ingredient> ingredients = ingredientRepository.findAllById(ingredientIds).stream()
+                .collect(Collectors.toMap(Ingredient::getId, Function.identity()));
+
             for (SupplyOrderItemDto itemDto : dto.getItems()) {
-                Ingredient ingredient = ingredientRepository.findById(itemDto.getIngredientId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Ingredient not found"));
+                Ingredient ingredient = ingredients.get(itemDto.getIngredientId());
+                if (ingredient == null) {
+                    throw new ResourceNotFoundException("Ingredient not found");
+                }
 
                 SupplyOrderItem item = SupplyOrderItem.builder()
                     .ingredient(ingredient)
@@ -196,10 +209,7 @@ public class SupplierManagementService implements ManageSupplierUseCase, ManageS
 
         SupplyOrder saved = supplyOrderRepository.save(supplyOrder);
 
-        // Save items
-        for (SupplyOrderItem item : items) {
-            supplyOrderItemRepository.save(item);
-        }
+        supplyOrderItemRepository.saveAll(saved.getId(), items);
 
         return toDto(saved);
     }
@@ -214,12 +224,19 @@ public class SupplierManagementService implements ManageSupplierUseCase, ManageS
         // If delivered, update inventory
         if (status == SupplyOrderStatus.DELIVERED) {
             List<SupplyOrderItem> items = supplyOrderItemRepository.findBySupplyOrderId(id);
-            for (SupplyOrderItem item : items) {
-                inventoryRepository.findByIngredientId(item.getIngredient().getId())
-                    .ifPresent(inventory -> {
-                        Inventory adjusted = inventory.adjustQuantity(item.getQuantity());
-                        inventoryRepository.save(adjusted);
-                    });
+            Map<Long, BigDecimal> quantities = items.stream()
+                .collect(Collectors.groupingBy(
+                    item -> item.getIngredient().getId(),
+                    Collectors.reducing(BigDecimal.ZERO, SupplyOrderItem::getQuantity, BigDecimal::add)));
+
+            DeliveryReceipt receipt = inventoryRepository.receiveDelivery(quantities);
+            for (Inventory inventory : receipt.getUpdatedInventory()) {
+                lowStockTracker.onInventoryChanged(inventory);
+                consumptionForecaster.onStockMovement(inventory, quantities.get(inventory.getIngredient().getId()));
+            }
+            if (receipt.hasMissingIngredients()) {
+                log.warn("Supply order {} delivered ingredients without inventory records: {}",
+                    id, receipt.getMissingIngredientIds());
             }
         }
 
@@ -235,7 +252,29 @@ public class SupplierManagementService implements ManageSupplierUseCase, ManageS
         supplyOrderRepository.deleteById(id);
     }
 
+    private List<SupplyOrderDto> toDtos(List<SupplyOrder> supplyOrders) {
+        Map<Long, List<SupplyOrderItem>> items = loadItems(supplyOrders);
+        return supplyOrders.stream()
+            .map(supplyOrder -> toDto(supplyOrder, itemsOf(items, supplyOrder)))
+            .collect(Collectors.toList());
+    }
+
+    private Map<Long, List<SupplyOrderItem>> loadItems(List<SupplyOrder> supplyOrders) {
+        List<Long> ids = supplyOrders.stream()
+            .map(SupplyOrder::getId)
+            .collect(Collectors.toList());
+        return supplyOrderItemRepository.findBySupplyOrderIds(ids);
+    }
+
+    private List<SupplyOrderItem> itemsOf(Map<Long, List<SupplyOrderItem>> items, SupplyOrder supplyOrder) {
+        return items.getOrDefault(supplyOrder.getId(), Collections.emptyList());
+    }
+
     private SupplyOrderDto toDto(SupplyOrder supplyOrder) {
+        return toDto(supplyOrder, supplyOrderItemRepository.findBySupplyOrderId(supplyOrder.getId()));
+    }
+
+    private SupplyOrderDto toDto(SupplyOrder supplyOrder, List<SupplyOrderItem> items) {
         if (supplyOrder.getSupplier() == null) {
             log.error("SupplyOrder {} has null supplier - data integrity issue", supplyOrder.getId());
             throw new ValidationException(
@@ -245,8 +284,6 @@ public class SupplierManagementService implements ManageSupplierUseCase, ManageS
             );
         }
 
-        List<SupplyOrderItem> items = supplyOrderItemRepository.findBySupplyOrderId(supplyOrder.getId());
-
         return SupplyOrderDto.builder()
             .id(supplyOrder.getId())
             .supplierId(supplyOrder.getSupplier().getId())
@@ -0,0 +1,21 @@
+package ru.ifmo.se.restaurant.inventory.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.MovementType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class InventoryMovement {
+    private final Long id;
+    private final Long inventoryId;
+    private final MovementType type;
+    private final BigDecimal quantity;
+    private final LocalDateTime createdAt;
+    private final boolean compacted;
+}
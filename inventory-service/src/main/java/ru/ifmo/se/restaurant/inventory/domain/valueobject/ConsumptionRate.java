@@ -0,0 +1,55 @@
+package ru.ifmo.se.restaurant.inventory.domain.valueobject;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Exponentially weighted consumption rate of one ingredient.
+ * Both consumed quantity and observed time decay with the same half-life, so the rate
+ * adapts to irregular movement intervals while keeping constant-size state.
+ */
+@Getter
+@AllArgsConstructor
+public class ConsumptionRate {
+    private static final double SECONDS_PER_HOUR = 3600.0;
+
+    private final double decayedConsumption;
+    private final double decayedSeconds;
+    private final Instant lastObservedAt;
+
+    public static ConsumptionRate startingAt(Instant observedAt) {
+        return new ConsumptionRate(0.0, 0.0, observedAt);
+    }
+
+    public ConsumptionRate record(BigDecimal consumed, Instant observedAt, Duration halfLife) {
+        double elapsed = elapsedSeconds(observedAt);
+        double decay = decay(elapsed, halfLife);
+        return new ConsumptionRate(
+            decayedConsumption * decay + consumed.max(BigDecimal.ZERO).doubleValue(),
+            decayedSeconds * decay + elapsed,
+            observedAt.isAfter(lastObservedAt) ? observedAt : lastObservedAt
+        );
+    }
+
+    public double perHour(Instant now, Duration halfLife) {
+        double idle = elapsedSeconds(now);
+        double decay = decay(idle, halfLife);
+        double seconds = decayedSeconds * decay + idle;
+        if (seconds <= 0.0) {
+            return 0.0;
+        }
+        return decayedConsumption * decay / seconds * SECONDS_PER_HOUR;
+    }
+
+    private double elapsedSeconds(Instant at) {
+        return Math.max(0L, Duration.between(lastObservedAt, at).toMillis()) / 1000.0;
+    }
+
+    private static double decay(double elapsedSeconds, Duration halfLife) {
+        return Math.pow(0.5, elapsedSeconds / halfLife.toSeconds());
+    }
+}
@@ -0,0 +1,23 @@
+package ru.ifmo.se.restaurant.inventory.domain.valueobject;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import ru.ifmo.se.restaurant.inventory.domain.entity.Inventory;
+
+import java.util.List;
+
+/**
+ * Outcome of applying a delivered supply order to inventory.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class DeliveryReceipt {
+    private final List<Inventory> updatedInventory;
+    private final List<Long> missingIngredientIds;
+
+    public boolean hasMissingIngredients() {
+        return !missingIngredientIds.isEmpty();
+    }
+}
@@ -0,0 +1,21 @@
+package ru.ifmo.se.restaurant.inventory.domain.valueobject;
+
+import java.math.BigDecimal;
+
+public enum MovementType {
+    DELIVERY,
+    CONSUMPTION,
+    ADJUSTMENT,
+    WASTE;
+
+    /**
+     * Deliveries only add stock, consumption and waste only remove it; manual adjustments go either way.
+     */
+    public boolean allows(BigDecimal quantity) {
+        return switch (this) {
+            case DELIVERY -> quantity.signum() > 0;
+            case CONSUMPTION, WASTE -> quantity.signum() < 0;
+            case ADJUSTMENT -> quantity.signum() != 0;
+        };
+    }
+}
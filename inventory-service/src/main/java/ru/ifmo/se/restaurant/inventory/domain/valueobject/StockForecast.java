@@ -0,0 +1,27 @@
+package ru.ifmo.se.restaurant.inventory.domain.valueobject;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import ru.ifmo.se.restaurant.inventory.domain.entity.Ingredient;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class StockForecast {
+    private final Long inventoryId;
+    private final Ingredient ingredient;
+    private final BigDecimal quantity;
+    private final BigDecimal minQuantity;
+    private final BigDecimal maxQuantity;
+    private final double consumptionPerHour;
+    private final Instant predictedStockOut;
+
+    public boolean runsOutWithin(Instant now, Duration horizon) {
+        return predictedStockOut != null && predictedStockOut.isBefore(now.plus(horizon));
+    }
+}
@@ -0,0 +1,21 @@
+package ru.ifmo.se.restaurant.inventory.domain.valueobject;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * One stocktake line: counted quantity and thresholds of an ingredient, identified by name.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class StockRecord {
+    private final String ingredientName;
+    private final String unit;
+    private final BigDecimal quantity;
+    private final BigDecimal minQuantity;
+    private final BigDecimal maxQuantity;
+}
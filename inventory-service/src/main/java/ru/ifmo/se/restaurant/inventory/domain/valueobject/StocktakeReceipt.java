@@ -0,0 +1,26 @@
+package ru.ifmo.se.restaurant.inventory.domain.valueobject;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import ru.ifmo.se.restaurant.inventory.domain.entity.Inventory;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of importing one chunk of stocktake records.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class StocktakeReceipt {
+    private final List<Inventory> updatedInventory;
+    /** Adjustment movements recorded for counted quantities, in the order they were written. */
+    private final Map<Long, List<BigDecimal>> adjustmentsByInventoryId;
+
+    public List<BigDecimal> adjustmentsOf(Inventory inventory) {
+        return adjustmentsByInventoryId.getOrDefault(inventory.getId(), List.of());
+    }
+}
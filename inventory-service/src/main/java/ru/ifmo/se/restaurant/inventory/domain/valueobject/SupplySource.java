@@ -0,0 +1,20 @@
+package ru.ifmo.se.restaurant.inventory.domain.valueobject;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import ru.ifmo.se.restaurant.inventory.domain.entity.Supplier;
+
+import java.math.BigDecimal;
+
+/**
+ * The supplier and price an ingredient was last ordered with.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class SupplySource {
+    private final Long ingredientId;
+    private final Supplier supplier;
+    private final BigDecimal unitPrice;
+}
@@ -8,6 +8,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Slice;
@@ -16,12 +17,23 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.ifmo.se.restaurant.inventory.application.dto.ErrorResponse;
+import ru.ifmo.se.restaurant.inventory.application.dto.ImportResultDto;
 import ru.ifmo.se.restaurant.inventory.application.dto.IngredientDto;
 import ru.ifmo.se.restaurant.inventory.application.dto.InventoryDto;
+import ru.ifmo.se.restaurant.inventory.application.dto.InventoryMovementDto;
+import ru.ifmo.se.restaurant.inventory.application.dto.StockForecastDto;
+import ru.ifmo.se.restaurant.inventory.application.dto.SupplyOrderDto;
+import ru.ifmo.se.restaurant.inventory.application.port.in.ForecastInventoryUseCase;
 import ru.ifmo.se.restaurant.inventory.application.port.in.ManageIngredientUseCase;
 import ru.ifmo.se.restaurant.inventory.application.port.in.ManageInventoryUseCase;
+import ru.ifmo.se.restaurant.inventory.application.port.in.TransferInventoryUseCase;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.MovementType;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @Tag(name = "Inventory", description = "API для управления запасами и ингредиентами ресторана")
@@ -31,6 +43,8 @@ import java.util.List;
 public class InventoryController {
     private final ManageInventoryUseCase manageInventoryUseCase;
     private final ManageIngredientUseCase manageIngredientUseCase;
+    private final ForecastInventoryUseCase forecastInventoryUseCase;
+    private final TransferInventoryUseCase transferInventoryUseCase;
 
     @Operation(summary = "Получить весь инвентарь", description = "Возвращает список всех позиций инвентаря без пагинации")
     @ApiResponses(value = {
@@ -114,6 +128,28 @@ public class InventoryController {
         return ResponseEntity.ok(manageInventoryUseCase.getLowStockInventory());
     }
 
+    @Operation(summary = "Получить прогноз исчерпания запасов",
+            description = "Возвращает сглаженный расход в час и прогнозируемое время исчерпания для каждой позиции инвентаря. Прогноз рассчитывается из памяти без обращения к БД.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Прогноз успешно получен",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = StockForecastDto.class)))
+    })
+    @GetMapping("/forecast")
+    public ResponseEntity<List<StockForecastDto>> getStockForecasts() {
+        return ResponseEntity.ok(forecastInventoryUseCase.getStockForecasts());
+    }
+
+    @Operation(summary = "Сформировать заказы на пополнение",
+            description = "Создает черновики заказов поставки, сгруппированные по поставщикам, для ингредиентов, которые закончатся раньше срока поставки")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Список созданных черновиков заказов",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SupplyOrderDto.class)))
+    })
+    @PostMapping("/replenishment")
+    public ResponseEntity<List<SupplyOrderDto>> draftReplenishmentOrders() {
+        return ResponseEntity.ok(forecastInventoryUseCase.draftReplenishmentOrders());
+    }
+
     @Operation(
         summary = "Создать новую позицию инвентаря",
         description = "Создает новую позицию инвентаря для указанного ингредиента",
@@ -178,8 +214,67 @@ public class InventoryController {
             @Parameter(description = "ID инвентаря", required = true, example = "1")
             @PathVariable Long id,
             @Parameter(description = "Количество для корректировки (может быть отрицательным)", required = true, example = "10.0")
-            @RequestParam BigDecimal quantity) {
-        return ResponseEntity.ok(manageInventoryUseCase.adjustInventory(id, quantity));
+            @RequestParam BigDecimal quantity,
+            @Parameter(description = "Тип движения: DELIVERY, CONSUMPTION, ADJUSTMENT или WASTE", example = "ADJUSTMENT")
+            @RequestParam(defaultValue = "ADJUSTMENT") MovementType type) {
+        return ResponseEntity.ok(manageInventoryUseCase.adjustInventory(id, quantity, type));
+    }
+
+    @Operation(summary = "Получить историю движений",
+            description = "Возвращает страницу движений по позиции инвентаря, новые первыми. Максимум 50 записей за запрос.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "История движений успешно получена",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "404", description = "Инвентарь не найден",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/{id}/movements")
+    public ResponseEntity<Page<InventoryMovementDto>> getInventoryMovements(
+            @Parameter(description = "ID инвентаря", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Номер страницы (начиная с 0)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Размер страницы (максимум 50)", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+
+        Page<InventoryMovementDto> movements = manageInventoryUseCase.getInventoryMovements(id, page, size);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-Total-Count", String.valueOf(movements.getTotalElements()));
+        headers.add("X-Total-Pages", String.valueOf(movements.getTotalPages()));
+        headers.add("X-Page-Number", String.valueOf(movements.getNumber()));
+        headers.add("X-Page-Size", String.valueOf(movements.getSize()));
+
+        return ResponseEntity.ok().headers(headers).body(movements);
+    }
+
+    @Operation(summary = "Импортировать инвентарь из CSV",
+            description = "Потоково загружает CSV с колонками ingredient,unit,quantity,min_quantity,max_quantity. " +
+                    "Ингредиенты и позиции создаются или обновляются, расхождения с текущим остатком записываются как корректировки. " +
+                    "Строки с ошибками пропускаются и перечисляются в ответе.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Импорт выполнен",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Пустой файл или неверный заголовок",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping(value = "/import", consumes = {"text/csv", "text/plain"})
+    public ResponseEntity<ImportResultDto> importInventory(InputStream body) throws IOException {
+        return ResponseEntity.ok(transferInventoryUseCase.importInventory(
+                new InputStreamReader(body, StandardCharsets.UTF_8)));
+    }
+
+    @Operation(summary = "Экспортировать инвентарь в CSV",
+            description = "Потоково выгружает весь инвентарь в CSV в формате импорта, отсортированный по названию ингредиента")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "CSV успешно сформирован",
+                    content = @Content(mediaType = "text/csv"))
+    })
+    @GetMapping(value = "/export", produces = "text/csv")
+    public void exportInventory(HttpServletResponse response) throws IOException {
+        response.setContentType("text/csv;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"inventory.csv\"");
+        transferInventoryUseCase.exportInventory(response.getWriter());
     }
 
     @Operation(summary = "Удалить позицию инвентаря", description = "Полностью удаляет позицию инвентаря из системы")
@@ -12,6 +12,7 @@ import ru.ifmo.se.restaurant.inventory.application.port.out.InventoryEventPublis
 import ru.ifmo.se.restaurant.inventory.domain.entity.Inventory;
 
 import java.time.Instant;
+import java.util.List;
 
 /**
  * Kafka implementation of InventoryEventPublisher.
@@ -27,6 +28,19 @@ public class KafkaInventoryEventPublisher implements InventoryEventPublisher {
 
     @Override
     public void publishLowStock(Inventory inventory) {
+        send(inventory);
+    }
+
+    @Override
+    public void publishLowStock(List<Inventory> inventories) {
+        for (Inventory inventory : inventories) {
+            send(inventory);
+        }
+        kafkaTemplate.flush();
+        log.info("Published batch of {} LOW_STOCK events", inventories.size());
+    }
+
+    private void send(Inventory inventory) {
         try {
             LowStockEvent payload = LowStockEvent.builder()
                     .inventoryId(inventory.getId())
@@ -0,0 +1,23 @@
+package ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.ifmo.se.restaurant.inventory.application.port.out.JobLock;
+
+/**
+ * Job locks backed by Postgres transaction-level advisory locks, keyed by a hash of the name.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdvisoryJobLockAdapter implements JobLock {
+
+    private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_xact_lock(hashtext(?))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean tryLockForTransaction(String name) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_SQL, Boolean.class, name));
+    }
+}
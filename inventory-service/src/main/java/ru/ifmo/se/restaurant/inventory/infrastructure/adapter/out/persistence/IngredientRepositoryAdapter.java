@@ -11,6 +11,7 @@ import ru.ifmo.se.restaurant.inventory.domain.entity.Ingredient;
 import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.entity.IngredientJpaEntity;
 import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.repository.IngredientJpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -37,6 +38,14 @@ public class IngredientRepositoryAdapter implements IngredientRepository {
             .map(IngredientJpaEntity::toDomain);
     }
 
+    @Override
+    public List<Ingredient> findAllById(Collection<Long> ids) {
+        log.debug("Finding ingredients by ids: {}", ids);
+        return jpaRepository.multiLoadById(ids).stream()
+            .map(IngredientJpaEntity::toDomain)
+            .collect(Collectors.toList());
+    }
+
     @Override
     public List<Ingredient> findAll() {
         log.debug("Finding all ingredients");
@@ -0,0 +1,86 @@
+package ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.ifmo.se.restaurant.inventory.application.port.out.InventoryMovementRepository;
+import ru.ifmo.se.restaurant.inventory.domain.entity.InventoryMovement;
+import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.entity.InventoryMovementJpaEntity;
+import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.repository.InventoryMovementJpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventoryMovementRepositoryAdapter implements InventoryMovementRepository {
+
+    /*
+     * Claims a batch of pending movements (skipping rows another compactor holds), marks them
+     * compacted and adds their sum to the snapshot. All CTEs run in one statement, so readers
+     * see either the movements as pending or the snapshot that includes them, never both.
+     */
+    private static final String COMPACT_SQL = """
+        WITH batch AS (
+            SELECT id FROM inventory_movements
+            WHERE compacted = FALSE
+            ORDER BY id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+        ), marked AS (
+            UPDATE inventory_movements m SET compacted = TRUE
+            FROM batch b
+            WHERE m.id = b.id
+            RETURNING m.inventory_id, m.quantity, m.created_at
+        ), totals AS (
+            SELECT inventory_id, SUM(quantity) AS delta, MAX(created_at) AS latest
+            FROM marked
+            GROUP BY inventory_id
+        ), applied AS (
+            UPDATE inventory i
+            SET quantity = i.quantity + t.delta,
+                last_updated = GREATEST(COALESCE(i.last_updated, t.latest), t.latest)
+            FROM totals t
+            WHERE i.id = t.inventory_id
+            RETURNING i.id
+        )
+        SELECT COUNT(*) FROM marked
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InventoryMovementJpaRepository jpaRepository;
+
+    @Override
+    public InventoryMovement append(InventoryMovement movement) {
+        log.debug("Appending {} movement of {} to inventory {}",
+            movement.getType(), movement.getQuantity(), movement.getInventoryId());
+        return jpaRepository.save(InventoryMovementJpaEntity.fromDomain(movement)).toDomain();
+    }
+
+    @Override
+    public Page<InventoryMovement> findByInventoryId(Long inventoryId, Pageable pageable) {
+        log.debug("Finding movements of inventory {} with pagination: {}", inventoryId, pageable);
+        return jpaRepository.findByInventoryId(inventoryId, pageable)
+            .map(InventoryMovementJpaEntity::toDomain);
+    }
+
+    @Override
+    public List<InventoryMovement> findCreatedSince(LocalDateTime since) {
+        log.debug("Finding movements created since {}", since);
+        return jpaRepository.findByCreatedAtGreaterThanEqualOrderByCreatedAtAsc(since).stream()
+            .map(InventoryMovementJpaEntity::toDomain)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public int compact(int batchSize) {
+        log.debug("Compacting up to {} inventory movements", batchSize);
+        Integer compacted = jdbcTemplate.queryForObject(COMPACT_SQL, Integer.class, batchSize);
+        return compacted != null ? compacted : 0;
+    }
+}
@@ -1,20 +1,43 @@
 package ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence;
 
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 import ru.ifmo.se.restaurant.inventory.application.port.out.InventoryRepository;
 import ru.ifmo.se.restaurant.inventory.domain.entity.Inventory;
+import ru.ifmo.se.restaurant.inventory.domain.exception.BusinessConflictException;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.DeliveryReceipt;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.StockRecord;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.StocktakeReceipt;
 import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.entity.IngredientJpaEntity;
 import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.entity.InventoryJpaEntity;
 import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.repository.IngredientJpaRepository;
 import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.repository.InventoryJpaRepository;
+import ru.ifmo.se.restaurant.inventory.infrastructure.util.TransactionUtil;
 
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -22,8 +45,47 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class InventoryRepositoryAdapter implements InventoryRepository {
 
+    /**
+     * Run as a JDBC batch of one statement per ingredient rather than a single multi-row
+     * statement, so the count of each tells which ingredients have no inventory row.
+     */
+    private static final String RECEIVE_DELIVERY_SQL =
+        "INSERT INTO inventory_movements (inventory_id, movement_type, quantity, created_at, compacted) "
+            + "SELECT id, 'DELIVERY', ?, ?, FALSE FROM inventory WHERE ingredient_id = ?";
+
+    private static final String UPSERT_INGREDIENT_SQL =
+        "INSERT INTO ingredients (name, unit) VALUES (?, ?) "
+            + "ON CONFLICT (name) DO UPDATE SET unit = COALESCE(EXCLUDED.unit, ingredients.unit)";
+
+    private static final String UPSERT_INVENTORY_SQL =
+        "INSERT INTO inventory (ingredient_id, quantity, min_quantity, max_quantity, last_updated) "
+            + "SELECT id, ?, ?, ?, ? FROM ingredients WHERE name = ? "
+            + "ON CONFLICT (ingredient_id) DO UPDATE SET min_quantity = EXCLUDED.min_quantity, "
+            + "max_quantity = COALESCE(EXCLUDED.max_quantity, inventory.max_quantity), "
+            + "last_updated = EXCLUDED.last_updated";
+
+    // New rows already hold the counted quantity, so only existing rows produce a non-zero delta.
+    private static final String RECORD_STOCKTAKE_SQL =
+        "INSERT INTO inventory_movements (inventory_id, movement_type, quantity, created_at, compacted) "
+            + "SELECT s.id, 'ADJUSTMENT', s.delta, ?, FALSE FROM ("
+            + "SELECT i.id, ? - i.quantity - COALESCE((SELECT SUM(m.quantity) FROM inventory_movements m "
+            + "WHERE m.inventory_id = i.id AND m.compacted = FALSE), 0) AS delta "
+            + "FROM inventory i JOIN ingredients g ON g.id = i.ingredient_id WHERE g.name = ?"
+            + ") s WHERE s.delta <> 0";
+
+    private static final String EXPORT_SQL =
+        "SELECT g.name, g.unit, i.quantity + COALESCE(p.pending, 0) AS quantity, i.min_quantity, i.max_quantity "
+            + "FROM inventory i JOIN ingredients g ON g.id = i.ingredient_id "
+            + "LEFT JOIN (SELECT inventory_id, SUM(quantity) AS pending FROM inventory_movements "
+            + "WHERE compacted = FALSE GROUP BY inventory_id) p ON p.inventory_id = i.id "
+            + "ORDER BY g.name";
+
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
     private final InventoryJpaRepository jpaRepository;
     private final IngredientJpaRepository ingredientJpaRepository;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Override
     public Inventory save(Inventory inventory) {
@@ -32,8 +94,16 @@ public class InventoryRepositoryAdapter implements InventoryRepository {
             .orElseThrow(() -> new IllegalArgumentException("Ingredient not found"));
 
         InventoryJpaEntity entity = InventoryJpaEntity.fromDomain(inventory, ingredientEntity);
-        InventoryJpaEntity saved = jpaRepository.save(entity);
-        return saved.toDomain();
+        try {
+            return jpaRepository.save(entity).toDomain();
+        } catch (DataIntegrityViolationException e) {
+            // Identity inserts run immediately, so a concurrent create for the ingredient fails here
+            if (inventory.getId() == null) {
+                throw new BusinessConflictException(
+                    "Inventory already exists for ingredient " + inventory.getIngredient().getId());
+            }
+            throw e;
+        }
     }
 
     @Override
@@ -43,6 +113,13 @@ public class InventoryRepositoryAdapter implements InventoryRepository {
             .map(InventoryJpaEntity::toDomain);
     }
 
+    @Override
+    public Optional<Inventory> findByIdForUpdate(Long id) {
+        log.debug("Locking inventory by id: {}", id);
+        return jpaRepository.findByIdForUpdate(id)
+            .map(InventoryJpaEntity::toDomain);
+    }
+
     @Override
     public List<Inventory> findAll() {
         log.debug("Finding all inventory items");
@@ -80,6 +157,145 @@ public class InventoryRepositoryAdapter implements InventoryRepository {
             .collect(Collectors.toList());
     }
 
+    @Override
+    public DeliveryReceipt receiveDelivery(Map<Long, BigDecimal> quantitiesByIngredientId) {
+        if (quantitiesByIngredientId.isEmpty()) {
+            return new DeliveryReceipt(Collections.emptyList(), Collections.emptyList());
+        }
+        log.debug("Receiving delivery for {} ingredients", quantitiesByIngredientId.size());
+
+        List<Map.Entry<Long, BigDecimal>> entries = new ArrayList<>(quantitiesByIngredientId.entrySet());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[] updateCounts = jdbcTemplate.batchUpdate(RECEIVE_DELIVERY_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<Long, BigDecimal> entry = entries.get(i);
+                ps.setBigDecimal(1, entry.getValue());
+                ps.setTimestamp(2, now);
+                ps.setLong(3, entry.getKey());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entries.size();
+            }
+        });
+
+        List<Long> updatedIds = new ArrayList<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            if (updateCounts[i] == 0) {
+                missingIds.add(entries.get(i).getKey());
+            } else {
+                updatedIds.add(entries.get(i).getKey());
+            }
+        }
+
+        List<Inventory> updated = updatedIds.isEmpty()
+            ? Collections.emptyList()
+            : jpaRepository.findByIngredientIdIn(updatedIds).stream()
+                .map(InventoryJpaEntity::toDomain)
+                .collect(Collectors.toList());
+        return new DeliveryReceipt(updated, missingIds);
+    }
+
+    @Override
+    @Transactional
+    public StocktakeReceipt importStock(List<StockRecord> records) {
+        if (records.isEmpty()) {
+            return new StocktakeReceipt(Collections.emptyList(), Collections.emptyMap());
+        }
+        log.debug("Importing stock for {} ingredients", records.size());
+
+        List<String> names = records.stream()
+            .map(StockRecord::getIngredientName)
+            .distinct()
+            .collect(Collectors.toList());
+        Map<String, BigDecimal> currentByName = new HashMap<>();
+        for (InventoryJpaEntity entity : jpaRepository.findByIngredientNameIn(names)) {
+            Inventory inventory = entity.toDomain();
+            currentByName.put(inventory.getIngredient().getName(), inventory.getQuantity());
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_INGREDIENT_SQL, records, records.size(), (ps, record) -> {
+            ps.setString(1, record.getIngredientName());
+            ps.setString(2, record.getUnit());
+        });
+        TransactionUtil.afterCommit(this::evictCachedIngredients);
+        jdbcTemplate.batchUpdate(UPSERT_INVENTORY_SQL, records, records.size(), (ps, record) -> {
+            ps.setBigDecimal(1, record.getQuantity());
+            ps.setBigDecimal(2, record.getMinQuantity());
+            ps.setBigDecimal(3, record.getMaxQuantity());
+            ps.setTimestamp(4, now);
+            ps.setString(5, record.getIngredientName());
+        });
+        jdbcTemplate.batchUpdate(RECORD_STOCKTAKE_SQL, records, records.size(), (ps, record) -> {
+            ps.setTimestamp(1, now);
+            ps.setBigDecimal(2, record.getQuantity());
+            ps.setString(3, record.getIngredientName());
+        });
+
+        List<Inventory> updated = jpaRepository.findByIngredientNameIn(names).stream()
+            .map(InventoryJpaEntity::toDomain)
+            .collect(Collectors.toList());
+        Map<String, List<BigDecimal>> adjustmentsByName = stocktakeAdjustments(records, currentByName);
+        Map<Long, List<BigDecimal>> adjustmentsById = new HashMap<>();
+        for (Inventory inventory : updated) {
+            List<BigDecimal> adjustments = adjustmentsByName.get(inventory.getIngredient().getName());
+            if (adjustments != null) {
+                adjustmentsById.put(inventory.getId(), adjustments);
+            }
+        }
+        return new StocktakeReceipt(updated, adjustmentsById);
+    }
+
+    /**
+     * Replays RECORD_STOCKTAKE_SQL over the quantities read before the import: each record of an
+     * existing item moves the stock to its counted quantity, and new items start at their first count.
+     */
+    private static Map<String, List<BigDecimal>> stocktakeAdjustments(List<StockRecord> records,
+                                                                      Map<String, BigDecimal> currentByName) {
+        Map<String, List<BigDecimal>> adjustments = new HashMap<>();
+        for (StockRecord record : records) {
+            BigDecimal current = currentByName.put(record.getIngredientName(), record.getQuantity());
+            if (current == null) {
+                continue;
+            }
+            BigDecimal delta = record.getQuantity().subtract(current);
+            if (delta.signum() != 0) {
+                adjustments.computeIfAbsent(record.getIngredientName(), name -> new ArrayList<>()).add(delta);
+            }
+        }
+        return adjustments;
+    }
+
+    /**
+     * Ingredients are upserted with plain JDBC, which bypasses the second-level cache.
+     */
+    private void evictCachedIngredients() {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        cache.evictEntityData(IngredientJpaEntity.class);
+        cache.evictQueryRegions();
+    }
+
+    @Override
+    public void forEachStockRecord(Consumer<StockRecord> consumer) {
+        log.debug("Streaming inventory stock records");
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(EXPORT_SQL,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(EXPORT_FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(StockRecord.builder()
+            .ingredientName(rs.getString("name"))
+            .unit(rs.getString("unit"))
+            .quantity(rs.getBigDecimal("quantity"))
+            .minQuantity(rs.getBigDecimal("min_quantity"))
+            .maxQuantity(rs.getBigDecimal("max_quantity"))
+            .build()));
+    }
+
     @Override
     public boolean existsById(Long id) {
         log.debug("Checking if inventory exists by id: {}", id);
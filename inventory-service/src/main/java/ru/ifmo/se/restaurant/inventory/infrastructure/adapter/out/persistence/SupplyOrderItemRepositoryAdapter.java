@@ -2,9 +2,12 @@ package ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 import ru.ifmo.se.restaurant.inventory.application.port.out.SupplyOrderItemRepository;
 import ru.ifmo.se.restaurant.inventory.domain.entity.SupplyOrderItem;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.SupplyOrderStatus;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.SupplySource;
 import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.entity.IngredientJpaEntity;
 import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.entity.SupplyOrderIngredientJpaEntity;
 import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.entity.SupplyOrderJpaEntity;
@@ -12,7 +15,12 @@ import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.re
 import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.repository.SupplyOrderIngredientJpaRepository;
 import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.repository.SupplyOrderJpaRepository;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -20,6 +28,11 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class SupplyOrderItemRepositoryAdapter implements SupplyOrderItemRepository {
 
+    private static final String INSERT_ITEM_SQL =
+        "INSERT INTO supply_order_ingredients (supply_order_id, ingredient_id, quantity, unit_price) VALUES (?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 100;
+
+    private final JdbcTemplate jdbcTemplate;
     private final SupplyOrderIngredientJpaRepository jpaRepository;
     private final SupplyOrderJpaRepository supplyOrderJpaRepository;
     private final IngredientJpaRepository ingredientJpaRepository;
@@ -39,6 +52,20 @@ public class SupplyOrderItemRepositoryAdapter implements SupplyOrderItemReposito
         return saved.toDomain();
     }
 
+    @Override
+    public void saveAll(Long supplyOrderId, List<SupplyOrderItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        log.debug("Batch inserting {} items for supply order {}", items.size(), supplyOrderId);
+        jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, items, BATCH_SIZE, (ps, item) -> {
+            ps.setLong(1, supplyOrderId);
+            ps.setLong(2, item.getIngredient().getId());
+            ps.setBigDecimal(3, item.getQuantity());
+            ps.setBigDecimal(4, item.getUnitPrice());
+        });
+    }
+
     @Override
     public List<SupplyOrderItem> findBySupplyOrderId(Long supplyOrderId) {
         log.debug("Finding supply order items by supply order id: {}", supplyOrderId);
@@ -46,4 +73,42 @@ public class SupplyOrderItemRepositoryAdapter implements SupplyOrderItemReposito
             .map(SupplyOrderIngredientJpaEntity::toDomain)
             .collect(Collectors.toList());
     }
+
+    @Override
+    public Map<Long, List<SupplyOrderItem>> findBySupplyOrderIds(Collection<Long> supplyOrderIds) {
+        if (supplyOrderIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        log.debug("Finding supply order items for {} supply orders", supplyOrderIds.size());
+        return jpaRepository.findBySupplyOrderIdIn(supplyOrderIds).stream()
+            .collect(Collectors.groupingBy(
+                entity -> entity.getSupplyOrder().getId(),
+                Collectors.mapping(SupplyOrderIngredientJpaEntity::toDomain, Collectors.toList())));
+    }
+
+    @Override
+    public Map<Long, SupplySource> findLatestSupplySources(Collection<Long> ingredientIds) {
+        if (ingredientIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        log.debug("Finding latest supply sources for {} ingredients", ingredientIds.size());
+        Map<Long, SupplySource> sources = new LinkedHashMap<>();
+        // Only lines of each ingredient's latest order are loaded; orders placed at the same time
+        // come newest id first
+        for (SupplyOrderIngredientJpaEntity entity :
+                jpaRepository.findLatestOrderLinesByIngredientIdIn(ingredientIds, SupplyOrderStatus.CANCELLED)) {
+            sources.putIfAbsent(entity.getIngredient().getId(), SupplySource.builder()
+                .ingredientId(entity.getIngredient().getId())
+                .supplier(entity.getSupplyOrder().getSupplier().toDomain())
+                .unitPrice(entity.getUnitPrice())
+                .build());
+        }
+        return sources;
+    }
+
+    @Override
+    public Set<Long> findIngredientIdsBySupplyOrderStatus(Collection<SupplyOrderStatus> statuses) {
+        log.debug("Finding ingredient ids in supply orders with statuses: {}", statuses);
+        return jpaRepository.findIngredientIdsBySupplyOrderStatusIn(statuses);
+    }
 }
@@ -2,6 +2,7 @@ package ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.e
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Formula;
 import ru.ifmo.se.restaurant.inventory.domain.entity.Inventory;
 
 import java.math.BigDecimal;
@@ -23,9 +24,17 @@ public class InventoryJpaEntity {
     @JoinColumn(name = "ingredient_id", nullable = false)
     private IngredientJpaEntity ingredient;
 
-    @Column(nullable = false, precision = 10, scale = 2)
+    /**
+     * Compacted snapshot. After insert it is changed only by the ledger compactor,
+     * so entity updates never overwrite stock folded in concurrently.
+     */
+    @Column(nullable = false, updatable = false, precision = 10, scale = 2)
     private BigDecimal quantity;
 
+    @Formula("(SELECT COALESCE(SUM(m.quantity), 0) FROM inventory_movements m "
+        + "WHERE m.inventory_id = id AND m.compacted = FALSE)")
+    private BigDecimal pendingQuantity;
+
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal minQuantity;
 
@@ -50,7 +59,7 @@ public class InventoryJpaEntity {
         return Inventory.builder()
             .id(id)
             .ingredient(ingredient.toDomain())
-            .quantity(quantity)
+            .quantity(pendingQuantity != null ? quantity.add(pendingQuantity) : quantity)
             .minQuantity(minQuantity)
             .maxQuantity(maxQuantity)
             .lastUpdated(lastUpdated)
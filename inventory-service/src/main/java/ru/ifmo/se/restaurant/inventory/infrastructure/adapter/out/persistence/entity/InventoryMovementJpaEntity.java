@@ -0,0 +1,60 @@
+package ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import ru.ifmo.se.restaurant.inventory.domain.entity.InventoryMovement;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.MovementType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "inventory_movements")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryMovementJpaEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "inventory_id", nullable = false, updatable = false)
+    private Long inventoryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "movement_type", nullable = false, updatable = false, length = 20)
+    private MovementType type;
+
+    @Column(nullable = false, updatable = false, precision = 10, scale = 2)
+    private BigDecimal quantity;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private boolean compacted;
+
+    public static InventoryMovementJpaEntity fromDomain(InventoryMovement domain) {
+        return InventoryMovementJpaEntity.builder()
+            .id(domain.getId())
+            .inventoryId(domain.getInventoryId())
+            .type(domain.getType())
+            .quantity(domain.getQuantity())
+            .createdAt(domain.getCreatedAt())
+            .compacted(domain.isCompacted())
+            .build();
+    }
+
+    public InventoryMovement toDomain() {
+        return InventoryMovement.builder()
+            .id(id)
+            .inventoryId(inventoryId)
+            .type(type)
+            .quantity(quantity)
+            .createdAt(createdAt)
+            .compacted(compacted)
+            .build();
+    }
+}
@@ -2,9 +2,14 @@ package ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.e
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.ifmo.se.restaurant.inventory.domain.entity.Supplier;
+import ru.ifmo.se.restaurant.inventory.infrastructure.config.HibernateCacheConfig;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.SUPPLIERS_REGION)
 @Table(name = "suppliers")
 @Getter
 @Setter
@@ -2,6 +2,7 @@ package ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.e
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.Hibernate;
 import ru.ifmo.se.restaurant.inventory.domain.entity.SupplyOrder;
 import ru.ifmo.se.restaurant.inventory.domain.valueobject.SupplyOrderStatus;
 
@@ -58,6 +59,10 @@ public class SupplyOrderJpaEntity {
             .build();
     }
 
+    /**
+     * Items are mapped only when already loaded; list reads fetch them in bulk
+     * through the item repository instead of one lazy load per order.
+     */
     public SupplyOrder toDomain() {
         return SupplyOrder.builder()
             .id(id)
@@ -67,7 +72,7 @@ public class SupplyOrderJpaEntity {
             .status(status)
             .totalCost(totalCost)
             .notes(notes)
-            .items(items != null ?
+            .items(items != null && Hibernate.isInitialized(items) ?
                 items.stream()
                     .map(SupplyOrderIngredientJpaEntity::toDomain)
                     .collect(Collectors.toList()) : null)
@@ -1,9 +1,17 @@
 package ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.entity.IngredientJpaEntity;
 
+import java.util.List;
+
 @Repository
-public interface IngredientJpaRepository extends JpaRepository<IngredientJpaEntity, Long> {
+public interface IngredientJpaRepository extends JpaRepository<IngredientJpaEntity, Long>, IngredientJpaRepositoryCustom {
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<IngredientJpaEntity> findAll();
 }
@@ -0,0 +1,14 @@
+package ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.repository;
+
+import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.entity.IngredientJpaEntity;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface IngredientJpaRepositoryCustom {
+    /**
+     * Loads ingredients from the second-level cache where possible and fetches the rest with a
+     * single {@code IN} query. Unknown ids are left out.
+     */
+    List<IngredientJpaEntity> multiLoadById(Collection<Long> ids);
+}
@@ -0,0 +1,29 @@
+package ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.entity.IngredientJpaEntity;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+public class IngredientJpaRepositoryCustomImpl implements IngredientJpaRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<IngredientJpaEntity> multiLoadById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.unwrap(Session.class)
+            .byMultipleIds(IngredientJpaEntity.class)
+            .multiLoad(ids.stream().distinct().toList())
+            .stream()
+            .filter(Objects::nonNull)
+            .toList();
+    }
+}
@@ -1,10 +1,14 @@
 package ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.repository;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.entity.InventoryJpaEntity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +16,16 @@ import java.util.Optional;
 public interface InventoryJpaRepository extends JpaRepository<InventoryJpaEntity, Long> {
     Optional<InventoryJpaEntity> findByIngredientId(Long ingredientId);
 
-    @Query("SELECT i FROM InventoryJpaEntity i WHERE i.quantity < i.minQuantity")
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM InventoryJpaEntity i WHERE i.id = :id")
+    Optional<InventoryJpaEntity> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT i FROM InventoryJpaEntity i WHERE i.quantity + i.pendingQuantity < i.minQuantity")
     List<InventoryJpaEntity> findLowStockItems();
+
+    @Query("SELECT i FROM InventoryJpaEntity i JOIN FETCH i.ingredient WHERE i.ingredient.id IN :ingredientIds")
+    List<InventoryJpaEntity> findByIngredientIdIn(@Param("ingredientIds") Collection<Long> ingredientIds);
+
+    @Query("SELECT i FROM InventoryJpaEntity i JOIN FETCH i.ingredient WHERE i.ingredient.name IN :names")
+    List<InventoryJpaEntity> findByIngredientNameIn(@Param("names") Collection<String> names);
 }
@@ -0,0 +1,17 @@
+package ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.entity.InventoryMovementJpaEntity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface InventoryMovementJpaRepository extends JpaRepository<InventoryMovementJpaEntity, Long> {
+    Page<InventoryMovementJpaEntity> findByInventoryId(Long inventoryId, Pageable pageable);
+
+    List<InventoryMovementJpaEntity> findByCreatedAtGreaterThanEqualOrderByCreatedAtAsc(LocalDateTime since);
+}
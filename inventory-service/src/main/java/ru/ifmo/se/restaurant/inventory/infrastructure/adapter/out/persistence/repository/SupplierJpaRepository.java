@@ -1,9 +1,17 @@
 package ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.entity.SupplierJpaEntity;
 
+import java.util.List;
+
 @Repository
 public interface SupplierJpaRepository extends JpaRepository<SupplierJpaEntity, Long> {
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<SupplierJpaEntity> findAll();
 }
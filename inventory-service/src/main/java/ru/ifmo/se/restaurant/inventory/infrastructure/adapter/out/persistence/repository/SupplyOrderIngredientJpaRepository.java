@@ -1,12 +1,31 @@
 package ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.SupplyOrderStatus;
 import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.entity.SupplyOrderIngredientJpaEntity;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 @Repository
 public interface SupplyOrderIngredientJpaRepository extends JpaRepository<SupplyOrderIngredientJpaEntity, Long> {
-    List<SupplyOrderIngredientJpaEntity> findBySupplyOrderId(Long supplyOrderId);
+    @Query("SELECT i FROM SupplyOrderIngredientJpaEntity i JOIN FETCH i.ingredient WHERE i.supplyOrder.id = :supplyOrderId")
+    List<SupplyOrderIngredientJpaEntity> findBySupplyOrderId(@Param("supplyOrderId") Long supplyOrderId);
+
+    @Query("SELECT i FROM SupplyOrderIngredientJpaEntity i JOIN FETCH i.ingredient WHERE i.supplyOrder.id IN :supplyOrderIds")
+    List<SupplyOrderIngredientJpaEntity> findBySupplyOrderIdIn(@Param("supplyOrderIds") Collection<Long> supplyOrderIds);
+
+    @Query("SELECT i FROM SupplyOrderIngredientJpaEntity i JOIN FETCH i.ingredient JOIN FETCH i.supplyOrder o JOIN FETCH o.supplier " +
+           "WHERE i.ingredient.id IN :ingredientIds AND o.status <> :excludedStatus AND o.orderDate = (" +
+           "SELECT MAX(lo.orderDate) FROM SupplyOrderIngredientJpaEntity li JOIN li.supplyOrder lo " +
+           "WHERE li.ingredient.id = i.ingredient.id AND lo.status <> :excludedStatus) ORDER BY o.id DESC")
+    List<SupplyOrderIngredientJpaEntity> findLatestOrderLinesByIngredientIdIn(@Param("ingredientIds") Collection<Long> ingredientIds,
+                                                                              @Param("excludedStatus") SupplyOrderStatus excludedStatus);
+
+    @Query("SELECT DISTINCT i.ingredient.id FROM SupplyOrderIngredientJpaEntity i WHERE i.supplyOrder.status IN :statuses")
+    Set<Long> findIngredientIdsBySupplyOrderStatusIn(@Param("statuses") Collection<SupplyOrderStatus> statuses);
 }
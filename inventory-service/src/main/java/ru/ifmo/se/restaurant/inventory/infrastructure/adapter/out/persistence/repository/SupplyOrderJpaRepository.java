@@ -1,5 +1,8 @@
 package ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import ru.ifmo.se.restaurant.inventory.domain.valueobject.SupplyOrderStatus;
@@ -9,5 +12,14 @@ import java.util.List;
 
 @Repository
 public interface SupplyOrderJpaRepository extends JpaRepository<SupplyOrderJpaEntity, Long> {
+    @EntityGraph(attributePaths = "supplier")
     List<SupplyOrderJpaEntity> findByStatus(SupplyOrderStatus status);
+
+    @Override
+    @EntityGraph(attributePaths = "supplier")
+    List<SupplyOrderJpaEntity> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "supplier")
+    Page<SupplyOrderJpaEntity> findAll(Pageable pageable);
 }
@@ -0,0 +1,42 @@
+package ru.ifmo.se.restaurant.inventory.infrastructure.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.util.List;
+
+/**
+ * Second-level and query cache for reference entities (ingredients, suppliers), set up by
+ * {@link HibernateCacheSupport}.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String INGREDIENTS_REGION = "ingredients";
+    public static final String SUPPLIERS_REGION = "suppliers";
+
+    static final List<String> ENTITY_REGIONS = List.of(INGREDIENTS_REGION, SUPPLIERS_REGION);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${inventory.cache.reference.max-entries:10000}") long maxEntries,
+            @Value("${inventory.cache.query.max-entries:1000}") long maxQueryEntries,
+            @Value("${inventory.cache.ttl-seconds:3600}") long ttlSeconds) {
+        return HibernateCacheSupport.createCacheManager("inventory-hibernate-cache", ENTITY_REGIONS,
+            maxEntries, maxQueryEntries, ttlSeconds);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return HibernateCacheSupport.propertiesCustomizer(hibernateCacheManager);
+    }
+
+    @Bean
+    public MeterBinder hibernateCacheMetrics(CacheManager hibernateCacheManager) {
+        return HibernateCacheSupport.metrics(hibernateCacheManager);
+    }
+}
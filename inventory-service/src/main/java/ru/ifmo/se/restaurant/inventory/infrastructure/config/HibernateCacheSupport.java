@@ -0,0 +1,82 @@
+package ru.ifmo.se.restaurant.inventory.infrastructure.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Second-level and query cache setup behind {@link HibernateCacheConfig}.
+ * Every region is created up front with a size bound and TTL; Hibernate is not allowed to create
+ * unbounded regions on its own. Each cache manager gets its own URI, so several application
+ * contexts in one JVM (cached test contexts, devtools restarts) never clash on region names or
+ * close each other's caches.
+ */
+final class HibernateCacheSupport {
+
+    static final String QUERY_RESULTS_REGION = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    static final String UPDATE_TIMESTAMPS_REGION = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    private static final AtomicLong MANAGER_SEQUENCE = new AtomicLong();
+
+    private HibernateCacheSupport() {}
+
+    static CacheManager createCacheManager(String name, List<String> entityRegions,
+                                                  long maxEntries, long maxQueryEntries, long ttlSeconds) {
+        URI uri = URI.create(name + "-" + MANAGER_SEQUENCE.incrementAndGet());
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager(uri, HibernateCacheSupport.class.getClassLoader());
+        for (String region : entityRegions) {
+            cacheManager.createCache(region, bounded(maxEntries, ttlSeconds));
+        }
+        cacheManager.createCache(QUERY_RESULTS_REGION, bounded(maxQueryEntries, ttlSeconds));
+        // Timestamps must outlive any cached query result, so this region is neither bounded nor expiring.
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, withStatistics(new CaffeineConfiguration<>()));
+        return cacheManager;
+    }
+
+    static HibernatePropertiesCustomizer propertiesCustomizer(CacheManager cacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    /**
+     * Exports hit, miss and eviction counts of every region as {@code cache.*} metrics.
+     */
+    static MeterBinder metrics(CacheManager cacheManager) {
+        return registry -> {
+            for (String name : cacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, cacheManager.getCache(name));
+            }
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maxEntries, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        return withStatistics(configuration);
+    }
+
+    private static CaffeineConfiguration<Object, Object> withStatistics(CaffeineConfiguration<Object, Object> configuration) {
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,143 @@
+package ru.ifmo.se.restaurant.inventory.application.usecase;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.ifmo.se.restaurant.inventory.application.port.out.InventoryMovementRepository;
+import ru.ifmo.se.restaurant.inventory.application.port.out.InventoryRepository;
+import ru.ifmo.se.restaurant.inventory.domain.entity.Ingredient;
+import ru.ifmo.se.restaurant.inventory.domain.entity.Inventory;
+import ru.ifmo.se.restaurant.inventory.domain.entity.InventoryMovement;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.MovementType;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.StockForecast;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConsumptionForecasterTest {
+
+    private static final Instant START = Instant.parse("2025-12-11T10:00:00Z");
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private InventoryMovementRepository inventoryMovementRepository;
+
+    private ConsumptionForecaster forecaster;
+    private Ingredient ingredient;
+
+    @BeforeEach
+    void setUp() {
+        forecaster = new ConsumptionForecaster(inventoryRepository, inventoryMovementRepository, 24);
+        ingredient = Ingredient.builder()
+                .id(1L)
+                .name("Salt")
+                .unit("kg")
+                .build();
+    }
+
+    private Inventory inventory(String quantity) {
+        return Inventory.builder()
+                .id(1L)
+                .ingredient(ingredient)
+                .quantity(new BigDecimal(quantity))
+                .minQuantity(new BigDecimal("10"))
+                .maxQuantity(new BigDecimal("200"))
+                .lastUpdated(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    void getForecasts_ShouldPredictStockOutFromSteadyConsumption() {
+        forecaster.apply(inventory("100"), BigDecimal.ZERO, START);
+        forecaster.apply(inventory("90"), new BigDecimal("-10"), START.plus(Duration.ofHours(1)));
+        forecaster.apply(inventory("80"), new BigDecimal("-10"), START.plus(Duration.ofHours(2)));
+
+        StockForecast forecast = forecaster.getForecasts(START.plus(Duration.ofHours(2))).get(0);
+
+        assertEquals(10.0, forecast.getConsumptionPerHour(), 0.01);
+        assertEquals(START.plus(Duration.ofHours(10)).getEpochSecond(),
+                forecast.getPredictedStockOut().getEpochSecond(), 60);
+    }
+
+    @Test
+    void getForecasts_ShouldIgnoreDeliveriesAsConsumption() {
+        forecaster.apply(inventory("100"), BigDecimal.ZERO, START);
+        forecaster.apply(inventory("150"), new BigDecimal("50"), START.plus(Duration.ofHours(1)));
+
+        StockForecast forecast = forecaster.getForecasts(START.plus(Duration.ofHours(1))).get(0);
+
+        assertEquals(0.0, forecast.getConsumptionPerHour());
+        assertNull(forecast.getPredictedStockOut());
+        assertEquals(new BigDecimal("150"), forecast.getQuantity());
+    }
+
+    @Test
+    void getForecasts_ShouldDecayRateWhileIdle() {
+        forecaster.apply(inventory("100"), BigDecimal.ZERO, START);
+        forecaster.apply(inventory("90"), new BigDecimal("-10"), START.plus(Duration.ofHours(1)));
+
+        double busy = forecaster.getForecasts(START.plus(Duration.ofHours(1))).get(0).getConsumptionPerHour();
+        double idle = forecaster.getForecasts(START.plus(Duration.ofHours(48))).get(0).getConsumptionPerHour();
+
+        assertTrue(idle < busy / 10);
+    }
+
+    @Test
+    void initialize_ShouldSeedCurrentStock() {
+        when(inventoryRepository.findAll()).thenReturn(List.of(inventory("42")));
+        when(inventoryMovementRepository.findCreatedSince(any(LocalDateTime.class))).thenReturn(List.of());
+
+        forecaster.initialize();
+
+        List<StockForecast> forecasts = forecaster.getForecasts();
+        assertEquals(1, forecasts.size());
+        assertEquals(new BigDecimal("42"), forecasts.get(0).getQuantity());
+        assertEquals(0.0, forecasts.get(0).getConsumptionPerHour());
+    }
+
+    @Test
+    void initialize_ShouldRebuildRatesFromLedger() {
+        LocalDateTime now = LocalDateTime.now();
+        when(inventoryRepository.findAll()).thenReturn(List.of(inventory("80")));
+        when(inventoryMovementRepository.findCreatedSince(any(LocalDateTime.class))).thenReturn(List.of(
+                movement("-10", now.minusHours(2)),
+                movement("30", now.minusHours(1)),
+                movement("-10", now.minusMinutes(1))));
+
+        forecaster.initialize();
+
+        StockForecast forecast = forecaster.getForecasts().get(0);
+        assertTrue(forecast.getConsumptionPerHour() > 0.0);
+        assertNotNull(forecast.getPredictedStockOut());
+    }
+
+    private InventoryMovement movement(String quantity, LocalDateTime createdAt) {
+        return InventoryMovement.builder()
+                .inventoryId(1L)
+                .type(new BigDecimal(quantity).signum() < 0 ? MovementType.CONSUMPTION : MovementType.DELIVERY)
+                .quantity(new BigDecimal(quantity))
+                .createdAt(createdAt)
+                .build();
+    }
+
+    @Test
+    void onInventoryDeleted_ShouldDropState() {
+        forecaster.apply(inventory("100"), BigDecimal.ZERO, START);
+
+        forecaster.onInventoryDeleted(1L);
+
+        assertTrue(forecaster.getForecasts().isEmpty());
+    }
+}
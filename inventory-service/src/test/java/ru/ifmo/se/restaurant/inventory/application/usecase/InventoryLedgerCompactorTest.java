@@ -0,0 +1,50 @@
+package ru.ifmo.se.restaurant.inventory.application.usecase;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.ifmo.se.restaurant.inventory.application.port.out.InventoryMovementRepository;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryLedgerCompactorTest {
+
+    @Mock
+    private InventoryMovementRepository inventoryMovementRepository;
+
+    private InventoryLedgerCompactor compactor;
+
+    @BeforeEach
+    void setUp() {
+        compactor = new InventoryLedgerCompactor(inventoryMovementRepository, 100, 3);
+    }
+
+    @Test
+    void compact_ShouldStopAfterPartialBatch() {
+        when(inventoryMovementRepository.compact(100)).thenReturn(100, 40);
+
+        compactor.compact();
+
+        verify(inventoryMovementRepository, times(2)).compact(100);
+    }
+
+    @Test
+    void compact_ShouldLimitBatchesPerRun() {
+        when(inventoryMovementRepository.compact(100)).thenReturn(100);
+
+        compactor.compact();
+
+        verify(inventoryMovementRepository, times(3)).compact(100);
+    }
+
+    @Test
+    void compact_ShouldSwallowFailures() {
+        when(inventoryMovementRepository.compact(100)).thenThrow(new RuntimeException("database unavailable"));
+
+        assertDoesNotThrow(() -> compactor.compact());
+    }
+}
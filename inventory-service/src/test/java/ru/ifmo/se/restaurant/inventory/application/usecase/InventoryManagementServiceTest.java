@@ -8,14 +8,19 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
 import ru.ifmo.se.restaurant.inventory.application.dto.IngredientDto;
+import org.mockito.ArgumentCaptor;
 import ru.ifmo.se.restaurant.inventory.application.dto.InventoryDto;
+import ru.ifmo.se.restaurant.inventory.application.dto.InventoryMovementDto;
 import ru.ifmo.se.restaurant.inventory.application.port.out.IngredientRepository;
-import ru.ifmo.se.restaurant.inventory.application.port.out.InventoryEventPublisher;
+import ru.ifmo.se.restaurant.inventory.application.port.out.InventoryMovementRepository;
 import ru.ifmo.se.restaurant.inventory.application.port.out.InventoryRepository;
 import ru.ifmo.se.restaurant.inventory.domain.entity.Ingredient;
 import ru.ifmo.se.restaurant.inventory.domain.entity.Inventory;
+import ru.ifmo.se.restaurant.inventory.domain.entity.InventoryMovement;
+import ru.ifmo.se.restaurant.inventory.domain.exception.BusinessConflictException;
 import ru.ifmo.se.restaurant.inventory.domain.exception.ResourceNotFoundException;
 import ru.ifmo.se.restaurant.inventory.domain.exception.ValidationException;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.MovementType;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -25,6 +30,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,11 +39,17 @@ class InventoryManagementServiceTest {
     @Mock
     private InventoryRepository inventoryRepository;
 
+    @Mock
+    private InventoryMovementRepository inventoryMovementRepository;
+
     @Mock
     private IngredientRepository ingredientRepository;
 
     @Mock
-    private InventoryEventPublisher inventoryEventPublisher;
+    private LowStockTracker lowStockTracker;
+
+    @Mock
+    private ConsumptionForecaster consumptionForecaster;
 
     @InjectMocks
     private InventoryManagementService service;
@@ -101,7 +113,7 @@ class InventoryManagementServiceTest {
                 .maxQuantity(new BigDecimal("500.00"))
                 .lastUpdated(LocalDateTime.now())
                 .build();
-        when(inventoryRepository.findLowStockItems()).thenReturn(Arrays.asList(lowStock));
+        when(lowStockTracker.getLowStockItems()).thenReturn(Arrays.asList(lowStock));
 
         List<InventoryDto> result = service.getLowStockInventory();
 
@@ -125,6 +137,18 @@ class InventoryManagementServiceTest {
         verify(inventoryRepository).save(any(Inventory.class));
     }
 
+    @Test
+    void createInventory_ShouldThrowConflict_WhenIngredientAlreadyHasInventory() {
+        InventoryDto dto = new InventoryDto();
+        dto.setIngredientId(1L);
+
+        when(ingredientRepository.findById(1L)).thenReturn(Optional.of(testIngredient));
+        when(inventoryRepository.findByIngredientId(1L)).thenReturn(Optional.of(testInventory));
+
+        assertThrows(BusinessConflictException.class, () -> service.createInventory(dto));
+        verify(inventoryRepository, never()).save(any(Inventory.class));
+    }
+
     @Test
     void createInventory_ShouldThrow_WhenIngredientNotFound() {
         InventoryDto dto = new InventoryDto();
@@ -136,59 +160,116 @@ class InventoryManagementServiceTest {
     }
 
     @Test
-    void updateInventory_ShouldUpdateQuantity() {
+    void updateInventory_ShouldAppendAdjustmentMovement() {
         InventoryDto dto = new InventoryDto();
         dto.setQuantity(new BigDecimal("150.00"));
 
+        when(inventoryRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testInventory));
+
+        InventoryDto result = service.updateInventory(1L, dto);
+
+        assertEquals(new BigDecimal("150.00"), result.getQuantity());
+        ArgumentCaptor<InventoryMovement> captor = ArgumentCaptor.forClass(InventoryMovement.class);
+        verify(inventoryMovementRepository).append(captor.capture());
+        assertEquals(MovementType.ADJUSTMENT, captor.getValue().getType());
+        assertEquals(new BigDecimal("50.00"), captor.getValue().getQuantity());
+        verify(inventoryRepository, never()).save(any(Inventory.class));
+    }
+
+    @Test
+    void updateInventory_ShouldSaveThresholdsWithoutMovement() {
+        InventoryDto dto = new InventoryDto();
+        dto.setMinQuantity(new BigDecimal("20.00"));
+
         when(inventoryRepository.findById(1L)).thenReturn(Optional.of(testInventory));
-        when(inventoryRepository.save(any(Inventory.class))).thenAnswer(inv -> inv.getArgument(0));
 
         InventoryDto result = service.updateInventory(1L, dto);
 
-        assertNotNull(result);
+        assertEquals(new BigDecimal("20.00"), result.getMinQuantity());
         verify(inventoryRepository).save(any(Inventory.class));
+        verify(inventoryRepository, never()).findByIdForUpdate(any());
+        verifyNoInteractions(inventoryMovementRepository);
     }
 
     @Test
-    void updateInventory_ShouldPublishLowStockEvent() {
-        Inventory lowStockInventory = Inventory.builder()
-                .id(1L)
-                .ingredient(testIngredient)
-                .quantity(new BigDecimal("5.00"))
-                .minQuantity(new BigDecimal("10.00"))
-                .maxQuantity(new BigDecimal("500.00"))
-                .lastUpdated(LocalDateTime.now())
-                .build();
-
+    void updateInventory_ShouldNotifyLowStockTracker() {
         InventoryDto dto = new InventoryDto();
         dto.setQuantity(new BigDecimal("5.00"));
 
-        when(inventoryRepository.findById(1L)).thenReturn(Optional.of(testInventory));
-        when(inventoryRepository.save(any(Inventory.class))).thenReturn(lowStockInventory);
-        doNothing().when(inventoryEventPublisher).publishLowStock(any());
+        when(inventoryRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testInventory));
 
         service.updateInventory(1L, dto);
 
-        verify(inventoryEventPublisher).publishLowStock(any(Inventory.class));
+        verify(lowStockTracker).onInventoryChanged(argThat(inventory ->
+                inventory.getQuantity().compareTo(new BigDecimal("5.00")) == 0));
     }
 
     @Test
     void adjustInventory_ShouldAdjustQuantity() {
+        when(inventoryRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testInventory));
+
+        InventoryDto result = service.adjustInventory(1L, new BigDecimal("-10.00"), MovementType.CONSUMPTION);
+
+        assertEquals(new BigDecimal("90.00"), result.getQuantity());
+        verify(inventoryMovementRepository).append(argThat(movement ->
+                movement.getType() == MovementType.CONSUMPTION && movement.getInventoryId().equals(1L)));
+        verify(inventoryRepository, never()).save(any(Inventory.class));
+        verify(consumptionForecaster).onStockMovement(any(Inventory.class), eq(new BigDecimal("-10.00")));
+    }
+
+    @Test
+    void adjustInventory_ShouldNotLockRow_WhenAddingStock() {
         when(inventoryRepository.findById(1L)).thenReturn(Optional.of(testInventory));
-        when(inventoryRepository.save(any(Inventory.class))).thenAnswer(inv -> inv.getArgument(0));
 
-        InventoryDto result = service.adjustInventory(1L, new BigDecimal("-10.00"));
+        InventoryDto result = service.adjustInventory(1L, new BigDecimal("25.00"), MovementType.DELIVERY);
 
-        assertNotNull(result);
-        verify(inventoryRepository).save(any(Inventory.class));
+        assertEquals(new BigDecimal("125.00"), result.getQuantity());
+        verify(inventoryMovementRepository).append(argThat(movement -> movement.getType() == MovementType.DELIVERY));
+        verify(inventoryRepository, never()).findByIdForUpdate(any());
     }
 
     @Test
     void adjustInventory_ShouldThrow_WhenResultNegative() {
+        when(inventoryRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testInventory));
+
+        assertThrows(ValidationException.class,
+                () -> service.adjustInventory(1L, new BigDecimal("-200.00"), MovementType.ADJUSTMENT));
+        verifyNoInteractions(inventoryMovementRepository);
+    }
+
+    @Test
+    void adjustInventory_ShouldThrow_WhenSignDoesNotMatchType() {
         when(inventoryRepository.findById(1L)).thenReturn(Optional.of(testInventory));
 
         assertThrows(ValidationException.class,
-                () -> service.adjustInventory(1L, new BigDecimal("-200.00")));
+                () -> service.adjustInventory(1L, new BigDecimal("5.00"), MovementType.WASTE));
+        verifyNoInteractions(inventoryMovementRepository);
+    }
+
+    @Test
+    void getInventoryMovements_ShouldReturnPage() {
+        InventoryMovement movement = InventoryMovement.builder()
+                .id(7L)
+                .inventoryId(1L)
+                .type(MovementType.WASTE)
+                .quantity(new BigDecimal("-1.00"))
+                .createdAt(LocalDateTime.now())
+                .build();
+        when(inventoryRepository.existsById(1L)).thenReturn(true);
+        when(inventoryMovementRepository.findByInventoryId(eq(1L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(movement)));
+
+        Page<InventoryMovementDto> result = service.getInventoryMovements(1L, 0, 20);
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals(MovementType.WASTE, result.getContent().get(0).getType());
+    }
+
+    @Test
+    void getInventoryMovements_ShouldThrow_WhenNotFound() {
+        when(inventoryRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> service.getInventoryMovements(99L, 0, 20));
     }
 
     @Test
@@ -198,6 +279,7 @@ class InventoryManagementServiceTest {
 
         assertDoesNotThrow(() -> service.deleteInventory(1L));
         verify(inventoryRepository).deleteById(1L);
+        verify(lowStockTracker).onInventoryDeleted(1L);
     }
 
     @Test
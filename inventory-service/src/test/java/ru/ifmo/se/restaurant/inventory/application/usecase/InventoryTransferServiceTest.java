@@ -0,0 +1,155 @@
+package ru.ifmo.se.restaurant.inventory.application.usecase;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.ifmo.se.restaurant.inventory.application.dto.ImportResultDto;
+import ru.ifmo.se.restaurant.inventory.application.port.out.InventoryRepository;
+import ru.ifmo.se.restaurant.inventory.domain.entity.Ingredient;
+import ru.ifmo.se.restaurant.inventory.domain.entity.Inventory;
+import ru.ifmo.se.restaurant.inventory.domain.exception.BadRequestException;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.StockRecord;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.StocktakeReceipt;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryTransferServiceTest {
+
+    private static final String HEADER = "ingredient,unit,quantity,min_quantity,max_quantity\n";
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private LowStockTracker lowStockTracker;
+
+    @Mock
+    private ConsumptionForecaster consumptionForecaster;
+
+    private InventoryTransferService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new InventoryTransferService(inventoryRepository, lowStockTracker, consumptionForecaster, 2);
+    }
+
+    private Inventory inventory(String name) {
+        return Inventory.builder()
+                .id(1L)
+                .ingredient(Ingredient.builder().id(1L).name(name).build())
+                .quantity(new BigDecimal("5.00"))
+                .minQuantity(new BigDecimal("10.00"))
+                .lastUpdated(LocalDateTime.now())
+                .build();
+    }
+
+    private StocktakeReceipt receipt(Inventory... updated) {
+        return new StocktakeReceipt(List.of(updated), Map.of());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importInventory_ShouldWriteInChunks() throws Exception {
+        when(inventoryRepository.importStock(anyList())).thenReturn(receipt(inventory("Salt")));
+        String csv = HEADER
+                + "Salt,kg,5,10,100\n"
+                + "Pepper,kg,1.5,0.5,\n"
+                + "\"Cheese, aged\",kg,12,2,20\n"
+                + "\n"
+                + "Flour,kg,50,10\n"
+                + "Sugar,,7,1,10\n";
+
+        ImportResultDto result = service.importInventory(new StringReader(csv));
+
+        assertEquals(5, result.getProcessedRows());
+        assertEquals(5, result.getImportedRows());
+        assertEquals(0, result.getFailedRows());
+        ArgumentCaptor<List<StockRecord>> captor = ArgumentCaptor.forClass(List.class);
+        verify(inventoryRepository, times(3)).importStock(captor.capture());
+        assertEquals("Cheese, aged", captor.getAllValues().get(1).get(0).getIngredientName());
+        assertNull(captor.getAllValues().get(1).get(1).getMaxQuantity());
+        verify(lowStockTracker, times(3)).onInventoryChanged(any(Inventory.class));
+        verify(consumptionForecaster, times(3)).onStockMovement(any(Inventory.class), eq(BigDecimal.ZERO));
+    }
+
+    @Test
+    void importInventory_ShouldPassStocktakeAdjustmentsToForecaster() throws Exception {
+        Inventory salt = inventory("Salt");
+        when(inventoryRepository.importStock(anyList())).thenReturn(new StocktakeReceipt(List.of(salt),
+                Map.of(1L, List.of(new BigDecimal("-95"), new BigDecimal("1")))));
+
+        service.importInventory(new StringReader(HEADER + "Salt,kg,5,10,100\n" + "Salt,kg,6,10,100\n"));
+
+        verify(consumptionForecaster).onStockMovement(salt, new BigDecimal("-95"));
+        verify(consumptionForecaster).onStockMovement(salt, new BigDecimal("1"));
+        verify(consumptionForecaster, never()).onStockMovement(salt, BigDecimal.ZERO);
+    }
+
+    @Test
+    void importInventory_ShouldReportInvalidRows() throws Exception {
+        when(inventoryRepository.importStock(anyList())).thenReturn(receipt());
+        String csv = HEADER
+                + "Salt,kg,5,10,100\n"
+                + ",kg,5,10,100\n"
+                + "Pepper,kg,-1,0,10\n"
+                + "Flour,kg,abc,1,10\n"
+                + "Rice,kg,5,10,1\n"
+                + "Oil,l,5.123,1,10\n"
+                + "Tea,kg,1\n";
+
+        ImportResultDto result = service.importInventory(new StringReader(csv));
+
+        assertEquals(7, result.getProcessedRows());
+        assertEquals(1, result.getImportedRows());
+        assertEquals(6, result.getFailedRows());
+        assertEquals(List.of(3L, 4L, 5L, 6L, 7L, 8L),
+                result.getErrors().stream().map(ImportResultDto.RowError::getLine).toList());
+    }
+
+    @Test
+    void importInventory_ShouldAcceptByteOrderMark() throws Exception {
+        ImportResultDto result = service.importInventory(new StringReader("﻿" + HEADER));
+
+        assertEquals(0, result.getProcessedRows());
+        verifyNoInteractions(inventoryRepository);
+    }
+
+    @Test
+    void importInventory_ShouldThrow_WhenHeaderInvalid() {
+        assertThrows(BadRequestException.class,
+                () -> service.importInventory(new StringReader("name,qty\nSalt,5\n")));
+        assertThrows(BadRequestException.class, () -> service.importInventory(new StringReader("")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportInventory_ShouldWriteEveryRecord() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<StockRecord> consumer = invocation.getArgument(0);
+            consumer.accept(new StockRecord("Cheese, aged", "kg", new BigDecimal("12.00"), new BigDecimal("2.00"), null));
+            consumer.accept(new StockRecord("Salt", "kg", new BigDecimal("5.00"), new BigDecimal("10.00"), new BigDecimal("100.00")));
+            return null;
+        }).when(inventoryRepository).forEachStockRecord(any(Consumer.class));
+        StringWriter writer = new StringWriter();
+
+        service.exportInventory(writer);
+
+        assertEquals(HEADER
+                + "\"Cheese, aged\",kg,12.00,2.00,\n"
+                + "Salt,kg,5.00,10.00,100.00\n", writer.toString());
+    }
+}
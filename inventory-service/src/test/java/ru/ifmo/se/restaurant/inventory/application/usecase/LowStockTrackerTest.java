@@ -0,0 +1,152 @@
+package ru.ifmo.se.restaurant.inventory.application.usecase;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.ifmo.se.restaurant.inventory.application.port.out.InventoryEventPublisher;
+import ru.ifmo.se.restaurant.inventory.application.port.out.InventoryRepository;
+import ru.ifmo.se.restaurant.inventory.domain.entity.Ingredient;
+import ru.ifmo.se.restaurant.inventory.domain.entity.Inventory;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LowStockTrackerTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private InventoryEventPublisher inventoryEventPublisher;
+
+    private LowStockTracker tracker;
+    private Ingredient ingredient;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new LowStockTracker(inventoryRepository, inventoryEventPublisher, new BigDecimal("0.1"));
+        ingredient = Ingredient.builder()
+                .id(1L)
+                .name("Salt")
+                .unit("kg")
+                .build();
+    }
+
+    private Inventory inventory(Long id, String quantity) {
+        return Inventory.builder()
+                .id(id)
+                .ingredient(ingredient)
+                .quantity(new BigDecimal(quantity))
+                .minQuantity(new BigDecimal("10.00"))
+                .maxQuantity(new BigDecimal("500.00"))
+                .lastUpdated(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldPublishOnlyFirstCrossing() {
+        tracker.onInventoryChanged(inventory(1L, "9.00"));
+        tracker.onInventoryChanged(inventory(1L, "8.00"));
+        tracker.onInventoryChanged(inventory(1L, "7.00"));
+
+        tracker.flush();
+
+        ArgumentCaptor<List<Inventory>> captor = ArgumentCaptor.forClass(List.class);
+        verify(inventoryEventPublisher).publishLowStock(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals(new BigDecimal("7.00"), captor.getValue().get(0).getQuantity());
+
+        tracker.onInventoryChanged(inventory(1L, "6.00"));
+        tracker.flush();
+
+        verifyNoMoreInteractions(inventoryEventPublisher);
+    }
+
+    @Test
+    void flush_ShouldCoalesceCrossingsIntoOneBatch() {
+        tracker.onInventoryChanged(inventory(1L, "5.00"));
+        tracker.onInventoryChanged(inventory(2L, "5.00"));
+
+        tracker.flush();
+
+        verify(inventoryEventPublisher, times(1)).publishLowStock(argThat((List<Inventory> batch) -> batch.size() == 2));
+    }
+
+    @Test
+    void flush_ShouldNotPublish_WhenStockRecoversWithinWindow() {
+        tracker.onInventoryChanged(inventory(1L, "5.00"));
+        tracker.onInventoryChanged(inventory(1L, "10.50"));
+
+        tracker.flush();
+
+        verifyNoInteractions(inventoryEventPublisher);
+        assertTrue(tracker.getLowStockItems().isEmpty());
+
+        tracker.onInventoryChanged(inventory(1L, "5.00"));
+        tracker.flush();
+        verify(inventoryEventPublisher).publishLowStock(anyList());
+    }
+
+    @Test
+    void onInventoryChanged_ShouldRearmOnlyAboveHysteresisBand() {
+        tracker.onInventoryChanged(inventory(1L, "5.00"));
+        tracker.flush();
+
+        tracker.onInventoryChanged(inventory(1L, "10.50"));
+        assertTrue(tracker.getLowStockItems().isEmpty());
+        tracker.onInventoryChanged(inventory(1L, "5.00"));
+        tracker.flush();
+        verify(inventoryEventPublisher, times(1)).publishLowStock(anyList());
+
+        tracker.onInventoryChanged(inventory(1L, "11.00"));
+        tracker.onInventoryChanged(inventory(1L, "5.00"));
+        tracker.flush();
+        verify(inventoryEventPublisher, times(2)).publishLowStock(anyList());
+    }
+
+    @Test
+    void getLowStockItems_ShouldReflectCurrentState() {
+        tracker.onInventoryChanged(inventory(2L, "5.00"));
+        tracker.onInventoryChanged(inventory(1L, "5.00"));
+        tracker.onInventoryChanged(inventory(3L, "50.00"));
+
+        List<Inventory> low = tracker.getLowStockItems();
+
+        assertEquals(2, low.size());
+        assertEquals(1L, low.get(0).getId());
+
+        tracker.onInventoryDeleted(1L);
+        assertEquals(1, tracker.getLowStockItems().size());
+    }
+
+    @Test
+    void initialize_ShouldLoadLowItemsWithoutPublishing() {
+        when(inventoryRepository.findLowStockItems()).thenReturn(List.of(inventory(1L, "5.00")));
+
+        tracker.initialize();
+        tracker.onInventoryChanged(inventory(1L, "4.00"));
+        tracker.flush();
+
+        assertEquals(1, tracker.getLowStockItems().size());
+        verifyNoInteractions(inventoryEventPublisher);
+    }
+
+    @Test
+    void flush_ShouldDoNothing_WhenNoCrossings() {
+        tracker.onInventoryChanged(inventory(1L, "50.00"));
+
+        tracker.flush();
+
+        verifyNoInteractions(inventoryEventPublisher);
+    }
+}
@@ -0,0 +1,151 @@
+package ru.ifmo.se.restaurant.inventory.application.usecase;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.ifmo.se.restaurant.inventory.application.dto.SupplyOrderDto;
+import ru.ifmo.se.restaurant.inventory.application.port.in.ManageSupplyOrderUseCase;
+import ru.ifmo.se.restaurant.inventory.application.port.out.JobLock;
+import ru.ifmo.se.restaurant.inventory.application.port.out.SupplyOrderItemRepository;
+import ru.ifmo.se.restaurant.inventory.domain.entity.Ingredient;
+import ru.ifmo.se.restaurant.inventory.domain.entity.Supplier;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.StockForecast;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.SupplySource;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplenishmentServiceTest {
+
+    @Mock
+    private ConsumptionForecaster consumptionForecaster;
+
+    @Mock
+    private SupplyOrderItemRepository supplyOrderItemRepository;
+
+    @Mock
+    private ManageSupplyOrderUseCase manageSupplyOrderUseCase;
+
+    @Mock
+    private JobLock jobLock;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReplenishmentService service;
+    private Supplier supplier;
+
+    @BeforeEach
+    void setUp() {
+        service = new ReplenishmentService(consumptionForecaster, supplyOrderItemRepository,
+                manageSupplyOrderUseCase, jobLock, transactionManager, 48, true);
+        lenient().when(jobLock.tryLockForTransaction(ReplenishmentService.LOCK_NAME)).thenReturn(true);
+        supplier = Supplier.builder().id(3L).name("Fresh Produce Co").build();
+    }
+
+    private StockForecast forecast(Long ingredientId, String quantity, double perHour, Duration untilStockOut) {
+        return StockForecast.builder()
+                .inventoryId(ingredientId)
+                .ingredient(Ingredient.builder().id(ingredientId).name("Ingredient " + ingredientId).build())
+                .quantity(new BigDecimal(quantity))
+                .minQuantity(new BigDecimal("10"))
+                .maxQuantity(new BigDecimal("200"))
+                .consumptionPerHour(perHour)
+                .predictedStockOut(untilStockOut != null ? Instant.now().plus(untilStockOut) : null)
+                .build();
+    }
+
+    private SupplySource source(Long ingredientId) {
+        return new SupplySource(ingredientId, supplier, new BigDecimal("5.00"));
+    }
+
+    @Test
+    void draftReplenishmentOrders_ShouldGroupLinesPerSupplier() {
+        when(consumptionForecaster.getForecasts(any(Instant.class))).thenReturn(List.of(
+                forecast(1L, "24", 1.0, Duration.ofHours(24)),
+                forecast(2L, "12", 1.0, Duration.ofHours(12)),
+                forecast(3L, "500", 1.0, Duration.ofHours(500))));
+        when(supplyOrderItemRepository.findIngredientIdsBySupplyOrderStatus(anyCollection())).thenReturn(Set.of());
+        when(supplyOrderItemRepository.findLatestSupplySources(List.of(1L, 2L)))
+                .thenReturn(Map.of(1L, source(1L), 2L, source(2L)));
+        when(manageSupplyOrderUseCase.createSupplyOrder(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        List<SupplyOrderDto> drafts = service.draftReplenishmentOrders();
+
+        assertEquals(1, drafts.size());
+        ArgumentCaptor<SupplyOrderDto> captor = ArgumentCaptor.forClass(SupplyOrderDto.class);
+        verify(manageSupplyOrderUseCase).createSupplyOrder(captor.capture());
+        assertEquals(3L, captor.getValue().getSupplierId());
+        assertEquals(2, captor.getValue().getItems().size());
+        assertEquals(new BigDecimal("200.00"), captor.getValue().getItems().get(0).getQuantity());
+    }
+
+    @Test
+    void draftReplenishmentOrders_ShouldSkipIngredientsWithOpenOrders() {
+        when(consumptionForecaster.getForecasts(any(Instant.class)))
+                .thenReturn(List.of(forecast(1L, "24", 1.0, Duration.ofHours(24))));
+        when(supplyOrderItemRepository.findIngredientIdsBySupplyOrderStatus(anyCollection())).thenReturn(Set.of(1L));
+
+        assertTrue(service.draftReplenishmentOrders().isEmpty());
+        verify(supplyOrderItemRepository, never()).findLatestSupplySources(anyCollection());
+        verifyNoInteractions(manageSupplyOrderUseCase);
+    }
+
+    @Test
+    void draftReplenishmentOrders_ShouldSkipIngredientsWithoutKnownSupplier() {
+        when(consumptionForecaster.getForecasts(any(Instant.class)))
+                .thenReturn(List.of(forecast(1L, "24", 1.0, Duration.ofHours(24))));
+        when(supplyOrderItemRepository.findIngredientIdsBySupplyOrderStatus(anyCollection())).thenReturn(Set.of());
+        when(supplyOrderItemRepository.findLatestSupplySources(List.of(1L))).thenReturn(Map.of());
+
+        assertTrue(service.draftReplenishmentOrders().isEmpty());
+        verifyNoInteractions(manageSupplyOrderUseCase);
+    }
+
+    @Test
+    void draftReplenishmentOrders_ShouldDoNothing_WhenNothingAtRisk() {
+        when(consumptionForecaster.getForecasts(any(Instant.class)))
+                .thenReturn(List.of(forecast(1L, "100", 0.0, null)));
+
+        assertTrue(service.draftReplenishmentOrders().isEmpty());
+        verifyNoInteractions(supplyOrderItemRepository, manageSupplyOrderUseCase);
+    }
+
+    @Test
+    void draftReplenishmentOrders_ShouldDoNothing_WhenAnotherInstanceHoldsTheLock() {
+        when(jobLock.tryLockForTransaction(ReplenishmentService.LOCK_NAME)).thenReturn(false);
+
+        assertTrue(service.draftReplenishmentOrders().isEmpty());
+        verifyNoInteractions(consumptionForecaster, supplyOrderItemRepository, manageSupplyOrderUseCase);
+    }
+
+    @Test
+    void scheduledReplenishment_ShouldDoNothing_WhenDisabled() {
+        service = new ReplenishmentService(consumptionForecaster, supplyOrderItemRepository,
+                manageSupplyOrderUseCase, jobLock, transactionManager, 48, false);
+
+        service.scheduledReplenishment();
+
+        verifyNoInteractions(consumptionForecaster);
+    }
+
+    @Test
+    void reorderQuantity_ShouldCoverConsumptionDuringLeadTime() {
+        BigDecimal quantity = service.reorderQuantity(forecast(1L, "100", 1.0, Duration.ofHours(100)));
+
+        assertEquals(new BigDecimal("148.00"), quantity);
+    }
+}
@@ -25,6 +25,7 @@ import ru.ifmo.se.restaurant.inventory.domain.entity.Supplier;
 import ru.ifmo.se.restaurant.inventory.domain.entity.SupplyOrder;
 import ru.ifmo.se.restaurant.inventory.domain.entity.SupplyOrderItem;
 import ru.ifmo.se.restaurant.inventory.domain.exception.ResourceNotFoundException;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.DeliveryReceipt;
 import ru.ifmo.se.restaurant.inventory.domain.valueobject.SupplyOrderStatus;
 
 import java.math.BigDecimal;
@@ -32,11 +33,14 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -57,6 +61,12 @@ class SupplierManagementServiceTest {
     @Mock
     private InventoryRepository inventoryRepository;
 
+    @Mock
+    private LowStockTracker lowStockTracker;
+
+    @Mock
+    private ConsumptionForecaster consumptionForecaster;
+
     @InjectMocks
     private SupplierManagementService service;
 
@@ -209,18 +219,20 @@ class SupplierManagementServiceTest {
     @Test
     void getAllSupplyOrders_ShouldReturnList() {
         when(supplyOrderRepository.findAll()).thenReturn(Arrays.asList(testSupplyOrder));
-        when(supplyOrderItemRepository.findBySupplyOrderId(anyLong())).thenReturn(Collections.singletonList(testSupplyOrderItem));
+        when(supplyOrderItemRepository.findBySupplyOrderIds(List.of(1L))).thenReturn(Map.of(1L, Collections.singletonList(testSupplyOrderItem)));
 
         List<SupplyOrderDto> result = service.getAllSupplyOrders();
 
         assertEquals(1, result.size());
+        assertEquals(1, result.get(0).getItems().size());
+        verify(supplyOrderItemRepository, never()).findBySupplyOrderId(anyLong());
     }
 
     @Test
     void getAllSupplyOrdersPaginated_ShouldReturnPage() {
         Page<SupplyOrder> page = new PageImpl<>(Arrays.asList(testSupplyOrder));
         when(supplyOrderRepository.findAll(any(Pageable.class))).thenReturn(page);
-        when(supplyOrderItemRepository.findBySupplyOrderId(anyLong())).thenReturn(Collections.singletonList(testSupplyOrderItem));
+        when(supplyOrderItemRepository.findBySupplyOrderIds(List.of(1L))).thenReturn(Map.of(1L, Collections.singletonList(testSupplyOrderItem)));
 
         Page<SupplyOrderDto> result = service.getAllSupplyOrdersPaginated(0, 10);
 
@@ -231,7 +243,7 @@ class SupplierManagementServiceTest {
     void getAllSupplyOrdersSlice_ShouldReturnSlice() {
         Slice<SupplyOrder> slice = new SliceImpl<>(Arrays.asList(testSupplyOrder));
         when(supplyOrderRepository.findAllSlice(any(Pageable.class))).thenReturn(slice);
-        when(supplyOrderItemRepository.findBySupplyOrderId(anyLong())).thenReturn(Collections.singletonList(testSupplyOrderItem));
+        when(supplyOrderItemRepository.findBySupplyOrderIds(List.of(1L))).thenReturn(Map.of(1L, Collections.singletonList(testSupplyOrderItem)));
 
         Slice<SupplyOrderDto> result = service.getAllSupplyOrdersSlice(0, 10);
 
@@ -258,7 +270,7 @@ class SupplierManagementServiceTest {
     @Test
     void getSupplyOrdersByStatus_ShouldReturnFilteredOrders() {
         when(supplyOrderRepository.findByStatus(SupplyOrderStatus.PENDING)).thenReturn(Arrays.asList(testSupplyOrder));
-        when(supplyOrderItemRepository.findBySupplyOrderId(anyLong())).thenReturn(Collections.singletonList(testSupplyOrderItem));
+        when(supplyOrderItemRepository.findBySupplyOrderIds(List.of(1L))).thenReturn(Map.of(1L, Collections.singletonList(testSupplyOrderItem)));
 
         List<SupplyOrderDto> result = service.getSupplyOrdersByStatus(SupplyOrderStatus.PENDING);
 
@@ -278,15 +290,16 @@ class SupplierManagementServiceTest {
         dto.setItems(Collections.singletonList(itemDto));
 
         when(supplierRepository.findById(1L)).thenReturn(Optional.of(testSupplier));
-        when(ingredientRepository.findById(1L)).thenReturn(Optional.of(testIngredient));
+        when(ingredientRepository.findAllById(Set.of(1L))).thenReturn(Collections.singletonList(testIngredient));
         when(supplyOrderRepository.save(any(SupplyOrder.class))).thenReturn(testSupplyOrder);
-        when(supplyOrderItemRepository.save(any(SupplyOrderItem.class))).thenReturn(testSupplyOrderItem);
         when(supplyOrderItemRepository.findBySupplyOrderId(anyLong())).thenReturn(Collections.singletonList(testSupplyOrderItem));
 
         SupplyOrderDto result = service.createSupplyOrder(dto);
 
         assertNotNull(result);
         verify(supplyOrderRepository).save(any(SupplyOrder.class));
+        verify(supplyOrderItemRepository).saveAll(eq(testSupplyOrder.getId()), argThat(items -> items.size() == 1));
+        verify(ingredientRepository, never()).findById(anyLong());
     }
 
     @Test
@@ -309,9 +322,10 @@ class SupplierManagementServiceTest {
         dto.setItems(Collections.singletonList(itemDto));
 
         when(supplierRepository.findById(1L)).thenReturn(Optional.of(testSupplier));
-        when(ingredientRepository.findById(999L)).thenReturn(Optional.empty());
+        when(ingredientRepository.findAllById(Set.of(999L))).thenReturn(Collections.emptyList());
 
         assertThrows(ResourceNotFoundException.class, () -> service.createSupplyOrder(dto));
+        verify(supplyOrderRepository, never()).save(any(SupplyOrder.class));
     }
 
     @Test
@@ -339,13 +353,36 @@ class SupplierManagementServiceTest {
         when(supplyOrderRepository.findById(1L)).thenReturn(Optional.of(testSupplyOrder));
         when(supplyOrderRepository.save(any(SupplyOrder.class))).thenAnswer(inv -> inv.getArgument(0));
         when(supplyOrderItemRepository.findBySupplyOrderId(1L)).thenReturn(Collections.singletonList(testSupplyOrderItem));
-        when(inventoryRepository.findByIngredientId(1L)).thenReturn(Optional.of(inventory));
-        when(inventoryRepository.save(any(Inventory.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(inventoryRepository.receiveDelivery(Map.of(1L, new BigDecimal("10"))))
+                .thenReturn(new DeliveryReceipt(List.of(inventory), List.of()));
+
+        SupplyOrderDto result = service.updateSupplyOrderStatus(1L, SupplyOrderStatus.DELIVERED);
+
+        assertNotNull(result);
+        verify(lowStockTracker).onInventoryChanged(inventory);
+        verify(consumptionForecaster).onStockMovement(inventory, new BigDecimal("10"));
+        verify(inventoryRepository, never()).save(any(Inventory.class));
+    }
+
+    @Test
+    void updateSupplyOrderStatus_ToDelivered_ShouldAggregateQuantitiesPerIngredient() {
+        SupplyOrderItem secondLine = SupplyOrderItem.builder()
+                .id(2L)
+                .ingredient(testIngredient)
+                .quantity(new BigDecimal("5"))
+                .unitPrice(new BigDecimal("5.00"))
+                .build();
+
+        when(supplyOrderRepository.findById(1L)).thenReturn(Optional.of(testSupplyOrder));
+        when(supplyOrderRepository.save(any(SupplyOrder.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(supplyOrderItemRepository.findBySupplyOrderId(1L)).thenReturn(List.of(testSupplyOrderItem, secondLine));
+        when(inventoryRepository.receiveDelivery(Map.of(1L, new BigDecimal("15"))))
+                .thenReturn(new DeliveryReceipt(List.of(), List.of(1L)));
 
         SupplyOrderDto result = service.updateSupplyOrderStatus(1L, SupplyOrderStatus.DELIVERED);
 
         assertNotNull(result);
-        verify(inventoryRepository).save(any(Inventory.class));
+        verifyNoInteractions(lowStockTracker, consumptionForecaster);
     }
 
     @Test
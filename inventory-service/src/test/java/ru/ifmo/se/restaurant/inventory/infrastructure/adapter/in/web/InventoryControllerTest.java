@@ -8,17 +8,27 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ru.ifmo.se.restaurant.inventory.application.dto.IngredientDto;
 import ru.ifmo.se.restaurant.inventory.application.dto.InventoryDto;
+import ru.ifmo.se.restaurant.inventory.application.dto.InventoryMovementDto;
+import ru.ifmo.se.restaurant.inventory.application.dto.StockForecastDto;
 import ru.ifmo.se.restaurant.inventory.application.port.in.ManageIngredientUseCase;
 import ru.ifmo.se.restaurant.inventory.application.port.in.ManageInventoryUseCase;
+import ru.ifmo.se.restaurant.inventory.application.port.in.ForecastInventoryUseCase;
+import ru.ifmo.se.restaurant.inventory.application.port.in.TransferInventoryUseCase;
+import ru.ifmo.se.restaurant.inventory.application.dto.ImportResultDto;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.MovementType;
 
+import java.io.Reader;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -38,6 +48,12 @@ class InventoryControllerTest {
     @Mock
     private ManageIngredientUseCase manageIngredientUseCase;
 
+    @Mock
+    private ForecastInventoryUseCase forecastInventoryUseCase;
+
+    @Mock
+    private TransferInventoryUseCase transferInventoryUseCase;
+
     @InjectMocks
     private InventoryController inventoryController;
 
@@ -115,7 +131,7 @@ class InventoryControllerTest {
 
     @Test
     void adjustInventory_ShouldReturnAdjusted() throws Exception {
-        when(manageInventoryUseCase.adjustInventory(eq(1L), any(BigDecimal.class)))
+        when(manageInventoryUseCase.adjustInventory(eq(1L), any(BigDecimal.class), eq(MovementType.ADJUSTMENT)))
                 .thenReturn(testInventory);
 
         mockMvc.perform(patch("/api/inventory/1/adjust")
@@ -124,6 +140,67 @@ class InventoryControllerTest {
                 .andExpect(jsonPath("$.id").value(1));
     }
 
+    @Test
+    void adjustInventory_ShouldPassMovementType() throws Exception {
+        when(manageInventoryUseCase.adjustInventory(eq(1L), any(BigDecimal.class), eq(MovementType.WASTE)))
+                .thenReturn(testInventory);
+
+        mockMvc.perform(patch("/api/inventory/1/adjust")
+                        .param("quantity", "-2.00")
+                        .param("type", "WASTE"))
+                .andExpect(status().isOk());
+
+        verify(manageInventoryUseCase).adjustInventory(1L, new BigDecimal("-2.00"), MovementType.WASTE);
+    }
+
+    @Test
+    void getInventoryMovements_ShouldReturnPage() throws Exception {
+        InventoryMovementDto movement = InventoryMovementDto.builder()
+                .id(7L)
+                .inventoryId(1L)
+                .type(MovementType.CONSUMPTION)
+                .quantity(new BigDecimal("-3.00"))
+                .build();
+        when(manageInventoryUseCase.getInventoryMovements(1L, 0, 20)).thenReturn(new PageImpl<>(List.of(movement), PageRequest.of(0, 20), 1));
+
+        mockMvc.perform(get("/api/inventory/1/movements"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "1"))
+                .andExpect(jsonPath("$.content[0].type").value("CONSUMPTION"));
+    }
+
+    @Test
+    void importInventory_ShouldReturnResult() throws Exception {
+        ImportResultDto result = ImportResultDto.builder()
+                .processedRows(2)
+                .importedRows(1)
+                .failedRows(1)
+                .errors(List.of(new ImportResultDto.RowError(3, "quantity is not a number: x")))
+                .build();
+        when(transferInventoryUseCase.importInventory(any(Reader.class))).thenReturn(result);
+
+        mockMvc.perform(post("/api/inventory/import")
+                        .contentType("text/csv")
+                        .content("ingredient,unit,quantity,min_quantity,max_quantity\nSalt,kg,5,1,10\nPepper,kg,x,1,10\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedRows").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3));
+    }
+
+    @Test
+    void exportInventory_ShouldStreamCsv() throws Exception {
+        doAnswer(invocation -> {
+            Writer writer = invocation.getArgument(0);
+            writer.write("ingredient,unit,quantity,min_quantity,max_quantity\n");
+            return null;
+        }).when(transferInventoryUseCase).exportInventory(any(Writer.class));
+
+        mockMvc.perform(get("/api/inventory/export"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"inventory.csv\""))
+                .andExpect(content().string("ingredient,unit,quantity,min_quantity,max_quantity\n"));
+    }
+
     @Test
     void deleteInventory_ShouldReturn204() throws Exception {
         doNothing().when(manageInventoryUseCase).deleteInventory(1L);
@@ -183,4 +260,29 @@ class InventoryControllerTest {
 
         verify(manageIngredientUseCase).deleteIngredient(1L);
     }
+
+    @Test
+    void getStockForecasts_ShouldReturnForecasts() throws Exception {
+        StockForecastDto forecast = StockForecastDto.builder()
+                .inventoryId(1L)
+                .ingredientId(1L)
+                .ingredientName("Salt")
+                .consumptionPerHour(new BigDecimal("1.500"))
+                .build();
+        when(forecastInventoryUseCase.getStockForecasts()).thenReturn(Arrays.asList(forecast));
+
+        mockMvc.perform(get("/api/inventory/forecast"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].ingredientName").value("Salt"))
+                .andExpect(jsonPath("$[0].consumptionPerHour").value(1.5));
+    }
+
+    @Test
+    void draftReplenishmentOrders_ShouldReturnDrafts() throws Exception {
+        when(forecastInventoryUseCase.draftReplenishmentOrders()).thenReturn(Arrays.asList());
+
+        mockMvc.perform(post("/api/inventory/replenishment"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+    }
 }
@@ -87,6 +87,18 @@ class IngredientRepositoryAdapterTest {
         assertEquals(2, result.size());
     }
 
+    @Test
+    void findAllById_ShouldReturnMatchingIngredients() {
+        List<Long> ids = List.of(1L, 2L, 3L);
+        when(jpaRepository.multiLoadById(ids)).thenReturn(List.of(createEntity(1L, "Salt"), createEntity(2L, "Sugar")));
+
+        List<Ingredient> result = adapter.findAllById(ids);
+
+        assertEquals(2, result.size());
+        assertEquals("Sugar", result.get(1).getName());
+        verify(jpaRepository, never()).findById(any());
+    }
+
     @Test
     void findAllPaged_ShouldReturnPagedIngredients() {
         Pageable pageable = PageRequest.of(0, 10);
@@ -0,0 +1,98 @@
+package ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.ifmo.se.restaurant.inventory.domain.entity.InventoryMovement;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.MovementType;
+import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.entity.InventoryMovementJpaEntity;
+import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.repository.InventoryMovementJpaRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryMovementRepositoryAdapterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private InventoryMovementJpaRepository jpaRepository;
+
+    private InventoryMovementRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new InventoryMovementRepositoryAdapter(jdbcTemplate, jpaRepository);
+    }
+
+    private InventoryMovementJpaEntity createEntity(Long id) {
+        return InventoryMovementJpaEntity.builder()
+                .id(id)
+                .inventoryId(1L)
+                .type(MovementType.CONSUMPTION)
+                .quantity(new BigDecimal("-2.00"))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    void append_ShouldInsertMovement() {
+        when(jpaRepository.save(any(InventoryMovementJpaEntity.class))).thenReturn(createEntity(5L));
+
+        InventoryMovement result = adapter.append(InventoryMovement.builder()
+                .inventoryId(1L)
+                .type(MovementType.CONSUMPTION)
+                .quantity(new BigDecimal("-2.00"))
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        assertEquals(5L, result.getId());
+        assertFalse(result.isCompacted());
+    }
+
+    @Test
+    void findByInventoryId_ShouldReturnPage() {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(jpaRepository.findByInventoryId(1L, pageable)).thenReturn(new PageImpl<>(List.of(createEntity(5L))));
+
+        Page<InventoryMovement> result = adapter.findByInventoryId(1L, pageable);
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals(MovementType.CONSUMPTION, result.getContent().get(0).getType());
+    }
+
+    @Test
+    void findCreatedSince_ShouldReturnMovementsInOrder() {
+        LocalDateTime since = LocalDateTime.now().minusDays(1);
+        when(jpaRepository.findByCreatedAtGreaterThanEqualOrderByCreatedAtAsc(since))
+                .thenReturn(List.of(createEntity(1L), createEntity(2L)));
+
+        List<InventoryMovement> result = adapter.findCreatedSince(since);
+
+        assertEquals(2, result.size());
+        assertEquals(1L, result.get(0).getId());
+    }
+
+    @Test
+    void compact_ShouldReturnCompactedCount() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq(500))).thenReturn(42);
+
+        assertEquals(42, adapter.compact(500));
+    }
+}
@@ -1,16 +1,26 @@
 package ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
 import ru.ifmo.se.restaurant.inventory.domain.entity.Ingredient;
 import ru.ifmo.se.restaurant.inventory.domain.entity.Inventory;
+import ru.ifmo.se.restaurant.inventory.domain.exception.BusinessConflictException;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.DeliveryReceipt;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.StockRecord;
+import ru.ifmo.se.restaurant.inventory.domain.valueobject.StocktakeReceipt;
 import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.entity.IngredientJpaEntity;
 import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.entity.InventoryJpaEntity;
 import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.repository.IngredientJpaRepository;
@@ -18,27 +28,37 @@ import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.re
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class InventoryRepositoryAdapterTest {
 
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
     @Mock
     private InventoryJpaRepository jpaRepository;
 
     @Mock
     private IngredientJpaRepository ingredientJpaRepository;
 
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
     private InventoryRepositoryAdapter adapter;
 
     @BeforeEach
     void setUp() {
-        adapter = new InventoryRepositoryAdapter(jpaRepository, ingredientJpaRepository);
+        adapter = new InventoryRepositoryAdapter(jdbcTemplate, jpaRepository, ingredientJpaRepository, entityManagerFactory);
     }
 
     private IngredientJpaEntity createIngredientEntity(Long id, String name) {
@@ -81,6 +101,21 @@ class InventoryRepositoryAdapterTest {
         assertEquals(1L, result.getId());
     }
 
+    @Test
+    void save_ShouldThrowConflict_WhenIngredientAlreadyHasInventory() {
+        IngredientJpaEntity ingredientEntity = createIngredientEntity(1L, "Salt");
+        when(ingredientJpaRepository.findById(1L)).thenReturn(Optional.of(ingredientEntity));
+        when(jpaRepository.save(any())).thenThrow(new DataIntegrityViolationException("uk_inventory_ingredient"));
+
+        Inventory inventory = Inventory.builder()
+                .ingredient(Ingredient.builder().id(1L).name("Salt").build())
+                .quantity(new BigDecimal("100"))
+                .minQuantity(new BigDecimal("10"))
+                .build();
+
+        assertThrows(BusinessConflictException.class, () -> adapter.save(inventory));
+    }
+
     @Test
     void save_ShouldThrowException_WhenIngredientNotFound() {
         when(ingredientJpaRepository.findById(99L)).thenReturn(Optional.empty());
@@ -105,6 +140,31 @@ class InventoryRepositoryAdapterTest {
         assertEquals(1L, result.get().getId());
     }
 
+    @Test
+    void findById_ShouldIncludePendingMovements() {
+        InventoryJpaEntity entity = createInventoryEntity(1L, createIngredientEntity(1L, "Salt"));
+        entity.setPendingQuantity(new BigDecimal("-12.50"));
+        when(jpaRepository.findById(1L)).thenReturn(Optional.of(entity));
+
+        Optional<Inventory> result = adapter.findById(1L);
+
+        assertTrue(result.isPresent());
+        assertEquals(new BigDecimal("87.50"), result.get().getQuantity());
+    }
+
+    @Test
+    void findByIdForUpdate_ShouldUseLockingQuery() {
+        InventoryJpaEntity entity = createInventoryEntity(1L, createIngredientEntity(1L, "Salt"));
+        entity.setPendingQuantity(new BigDecimal("-12.50"));
+        when(jpaRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(entity));
+
+        Optional<Inventory> result = adapter.findByIdForUpdate(1L);
+
+        assertTrue(result.isPresent());
+        assertEquals(new BigDecimal("87.50"), result.get().getQuantity());
+        verify(jpaRepository, never()).findById(anyLong());
+    }
+
     @Test
     void findById_ShouldReturnEmpty_WhenNotExists() {
         when(jpaRepository.findById(99L)).thenReturn(Optional.empty());
@@ -186,4 +246,75 @@ class InventoryRepositoryAdapterTest {
 
         verify(jpaRepository).deleteById(1L);
     }
+
+    @Test
+    void receiveDelivery_ShouldReportIngredientsWithoutInventory() {
+        Map<Long, BigDecimal> quantities = new LinkedHashMap<>();
+        quantities.put(1L, new BigDecimal("20"));
+        quantities.put(2L, new BigDecimal("5"));
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class))).thenReturn(new int[]{1, 0});
+        when(jpaRepository.findByIngredientIdIn(List.of(1L)))
+                .thenReturn(List.of(createInventoryEntity(1L, createIngredientEntity(1L, "Salt"))));
+
+        DeliveryReceipt receipt = adapter.receiveDelivery(quantities);
+
+        assertEquals(1, receipt.getUpdatedInventory().size());
+        assertEquals(List.of(2L), receipt.getMissingIngredientIds());
+        assertTrue(receipt.hasMissingIngredients());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importStock_ShouldUpsertInBatchesAndReload() {
+        List<StockRecord> records = List.of(
+                new StockRecord("Salt", "kg", new BigDecimal("5"), new BigDecimal("1"), null),
+                new StockRecord("Salt", "kg", new BigDecimal("6"), new BigDecimal("1"), null));
+        Cache cache = mock(Cache.class);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(cache.unwrap(Cache.class)).thenReturn(cache);
+        when(jpaRepository.findByIngredientNameIn(List.of("Salt")))
+                .thenReturn(List.of(createInventoryEntity(1L, createIngredientEntity(1L, "Salt"))));
+
+        StocktakeReceipt receipt = adapter.importStock(records);
+
+        assertEquals(1, receipt.getUpdatedInventory().size());
+        assertEquals(List.of(new BigDecimal("-95"), new BigDecimal("1")),
+                receipt.adjustmentsOf(receipt.getUpdatedInventory().get(0)));
+        verify(cache).evictEntityData(IngredientJpaEntity.class);
+        verify(cache).evictQueryRegions();
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), eq(records), eq(2),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    void importStock_ShouldNotReportAdjustments_ForNewIngredients() {
+        List<StockRecord> records = List.of(
+                new StockRecord("Salt", "kg", new BigDecimal("5"), new BigDecimal("1"), null));
+        Cache cache = mock(Cache.class);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(cache.unwrap(Cache.class)).thenReturn(cache);
+        when(jpaRepository.findByIngredientNameIn(List.of("Salt")))
+                .thenReturn(List.of())
+                .thenReturn(List.of(createInventoryEntity(1L, createIngredientEntity(1L, "Salt"))));
+
+        StocktakeReceipt receipt = adapter.importStock(records);
+
+        assertEquals(1, receipt.getUpdatedInventory().size());
+        assertTrue(receipt.adjustmentsOf(receipt.getUpdatedInventory().get(0)).isEmpty());
+    }
+
+    @Test
+    void importStock_ShouldSkip_WhenNoRecords() {
+        assertTrue(adapter.importStock(List.of()).getUpdatedInventory().isEmpty());
+        verifyNoInteractions(jdbcTemplate, jpaRepository);
+    }
+
+    @Test
+    void receiveDelivery_ShouldSkip_WhenNothingDelivered() {
+        DeliveryReceipt receipt = adapter.receiveDelivery(Map.of());
+
+        assertTrue(receipt.getUpdatedInventory().isEmpty());
+        assertFalse(receipt.hasMissingIngredients());
+        verifyNoInteractions(jdbcTemplate, jpaRepository);
+    }
 }
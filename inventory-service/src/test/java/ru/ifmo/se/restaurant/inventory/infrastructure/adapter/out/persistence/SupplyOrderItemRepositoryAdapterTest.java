@@ -0,0 +1,118 @@
+package ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import ru.ifmo.se.restaurant.inventory.domain.entity.Ingredient;
+import ru.ifmo.se.restaurant.inventory.domain.entity.SupplyOrderItem;
+import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.entity.IngredientJpaEntity;
+import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.entity.SupplyOrderIngredientJpaEntity;
+import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.entity.SupplyOrderJpaEntity;
+import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.repository.IngredientJpaRepository;
+import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.repository.SupplyOrderIngredientJpaRepository;
+import ru.ifmo.se.restaurant.inventory.infrastructure.adapter.out.persistence.repository.SupplyOrderJpaRepository;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SupplyOrderItemRepositoryAdapterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private SupplyOrderIngredientJpaRepository jpaRepository;
+
+    @Mock
+    private SupplyOrderJpaRepository supplyOrderJpaRepository;
+
+    @Mock
+    private IngredientJpaRepository ingredientJpaRepository;
+
+    private SupplyOrderItemRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new SupplyOrderItemRepositoryAdapter(jdbcTemplate, jpaRepository, supplyOrderJpaRepository, ingredientJpaRepository);
+    }
+
+    private SupplyOrderItem createItem(Long ingredientId) {
+        return SupplyOrderItem.builder()
+                .ingredient(Ingredient.builder().id(ingredientId).name("Salt").build())
+                .quantity(new BigDecimal("10"))
+                .unitPrice(new BigDecimal("5.00"))
+                .build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void saveAll_ShouldInsertItemsInOneBatch() {
+        List<SupplyOrderItem> items = List.of(createItem(1L), createItem(2L), createItem(3L));
+
+        adapter.saveAll(7L, items);
+
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO supply_order_ingredients"), eq(items), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        verifyNoInteractions(supplyOrderJpaRepository, ingredientJpaRepository);
+    }
+
+    @Test
+    void saveAll_ShouldSkip_WhenNoItems() {
+        adapter.saveAll(7L, Collections.emptyList());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void findBySupplyOrderId_ShouldMapItems() {
+        SupplyOrderIngredientJpaEntity entity = SupplyOrderIngredientJpaEntity.builder()
+                .id(1L)
+                .ingredient(IngredientJpaEntity.builder().id(1L).name("Salt").unit("kg").build())
+                .quantity(new BigDecimal("10"))
+                .unitPrice(new BigDecimal("5.00"))
+                .build();
+        when(jpaRepository.findBySupplyOrderId(7L)).thenReturn(List.of(entity));
+
+        List<SupplyOrderItem> result = adapter.findBySupplyOrderId(7L);
+
+        assertEquals(1, result.size());
+        assertEquals("Salt", result.get(0).getIngredient().getName());
+    }
+
+    @Test
+    void findBySupplyOrderIds_ShouldGroupItemsByOrder() {
+        IngredientJpaEntity ingredient = IngredientJpaEntity.builder().id(1L).name("Salt").unit("kg").build();
+        SupplyOrderJpaEntity first = SupplyOrderJpaEntity.builder().id(7L).build();
+        SupplyOrderJpaEntity second = SupplyOrderJpaEntity.builder().id(8L).build();
+        when(jpaRepository.findBySupplyOrderIdIn(List.of(7L, 8L))).thenReturn(List.of(
+                SupplyOrderIngredientJpaEntity.builder().id(1L).supplyOrder(first).ingredient(ingredient)
+                        .quantity(BigDecimal.ONE).build(),
+                SupplyOrderIngredientJpaEntity.builder().id(2L).supplyOrder(first).ingredient(ingredient)
+                        .quantity(BigDecimal.TEN).build(),
+                SupplyOrderIngredientJpaEntity.builder().id(3L).supplyOrder(second).ingredient(ingredient)
+                        .quantity(BigDecimal.ONE).build()));
+
+        Map<Long, List<SupplyOrderItem>> result = adapter.findBySupplyOrderIds(List.of(7L, 8L));
+
+        assertEquals(2, result.get(7L).size());
+        assertEquals(1, result.get(8L).size());
+    }
+
+    @Test
+    void findBySupplyOrderIds_ShouldSkipQuery_WhenNoIds() {
+        assertTrue(adapter.findBySupplyOrderIds(Collections.emptyList()).isEmpty());
+
+        verifyNoInteractions(jpaRepository);
+    }
+}
@@ -0,0 +1,33 @@
+package ru.ifmo.se.restaurant.inventory.infrastructure.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvUtilTest {
+
+    @Test
+    void parseLine_ShouldSplitAndTrimFields() {
+        assertEquals(List.of("Salt", "kg", "10.5", ""), CsvUtil.parseLine("Salt, kg ,10.5,"));
+    }
+
+    @Test
+    void parseLine_ShouldHandleQuotedFields() {
+        assertEquals(List.of("Cheese, \"aged\"", "kg"), CsvUtil.parseLine("\"Cheese, \"\"aged\"\"\",kg"));
+    }
+
+    @Test
+    void parseLine_ShouldRejectUnterminatedQuote() {
+        assertThrows(IllegalArgumentException.class, () -> CsvUtil.parseLine("\"Salt,kg"));
+    }
+
+    @Test
+    void formatLine_ShouldQuoteOnlyWhenNeeded() {
+        assertEquals("Salt,kg,1E+3,", CsvUtil.formatLine("Salt", "kg", "1E+3", null));
+        assertEquals("\"Cheese, \"\"aged\"\"\",1000", CsvUtil.formatLine("Cheese, \"aged\"", new BigDecimal("1E+3")));
+    }
+
+}
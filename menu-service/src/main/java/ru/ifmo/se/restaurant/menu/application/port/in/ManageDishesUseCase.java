@@ -7,6 +7,8 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import ru.ifmo.se.restaurant.menu.application.dto.DishDto;
 
+import java.util.List;
+
 public interface ManageDishesUseCase {
     Mono<DishDto> createDish(DishDto dto);
     Mono<DishDto> getDishById(Long id);
@@ -17,4 +19,5 @@ public interface ManageDishesUseCase {
     Flux<DishDto> getActiveDishes();
     Mono<DishDto> updateDish(Long id, DishDto dto);
     Mono<Void> deleteDish(Long id);
+    Mono<List<String>> findReferencedImageUrls(List<String> imageUrls);
 }
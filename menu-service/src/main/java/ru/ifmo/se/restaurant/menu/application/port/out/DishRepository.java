@@ -5,6 +5,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import ru.ifmo.se.restaurant.menu.domain.entity.Dish;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,4 +23,5 @@ public interface DishRepository {
     boolean existsById(Long id);
     void deleteById(Long id);
     void updateImageUrl(Long dishId, String imageUrl);
+    List<String> findReferencedImageUrls(Collection<String> imageUrls);
 }
@@ -230,6 +230,15 @@ public class MenuService implements ManageCategoriesUseCase, ManageDishesUseCase
         }).subscribeOn(Schedulers.boundedElastic()).then();
     }
 
+    @Override
+    public Mono<List<String>> findReferencedImageUrls(List<String> imageUrls) {
+        if (imageUrls.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        return Mono.fromCallable(() -> dishRepository.findReferencedImageUrls(imageUrls))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
     // Ingredient operations
     @Override
     @Transactional
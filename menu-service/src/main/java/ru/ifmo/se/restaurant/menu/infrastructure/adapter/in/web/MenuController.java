@@ -334,6 +334,18 @@ public class MenuController {
                 .then(Mono.just(ResponseEntity.noContent().<Void>build()));
     }
 
+    @Operation(summary = "Проверить использование изображений",
+            description = "Возвращает те из переданных URL изображений, которые указаны у блюд. "
+                    + "Используется file-service для удаления неиспользуемых файлов.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Список используемых URL")
+    })
+    @PostMapping("/dishes/image-references")
+    public Mono<ResponseEntity<List<String>>> findReferencedImageUrls(@RequestBody List<String> imageUrls) {
+        return dishesUseCase.findReferencedImageUrls(imageUrls)
+                .map(ResponseEntity::ok);
+    }
+
     // Ingredient endpoints
     @Operation(
         summary = "Создать ингредиент",
@@ -17,6 +17,7 @@ import ru.ifmo.se.restaurant.menu.infrastructure.adapter.out.persistence.reposit
 import ru.ifmo.se.restaurant.menu.infrastructure.adapter.out.persistence.repository.DishJpaRepository;
 import ru.ifmo.se.restaurant.menu.infrastructure.adapter.out.persistence.repository.IngredientJpaRepository;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -40,10 +41,9 @@ public class DishRepositoryAdapter implements DishRepository {
 
         Set<IngredientJpaEntity> ingredientEntities = new HashSet<>();
         if (dish.getIngredients() != null && !dish.getIngredients().isEmpty()) {
-            List<Long> ingredientIds = dish.getIngredients().stream()
+            ingredientEntities = new HashSet<>(ingredientJpaRepository.multiLoadById(dish.getIngredients().stream()
                     .map(ing -> ing.getId())
-                    .collect(Collectors.toList());
-            ingredientEntities = new HashSet<>(ingredientJpaRepository.findAllById(ingredientIds));
+                    .collect(Collectors.toList())));
         }
 
         DishJpaEntity entity = DishJpaEntity.fromDomain(dish, categoryEntity, ingredientEntities);
@@ -147,4 +147,11 @@ public class DishRepositoryAdapter implements DishRepository {
             jpaRepository.save(dish);
         });
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<String> findReferencedImageUrls(Collection<String> imageUrls) {
+        log.debug("Checking {} image URLs for references", imageUrls.size());
+        return jpaRepository.findImageUrlsIn(imageUrls);
+    }
 }
@@ -4,12 +4,17 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.ifmo.se.restaurant.menu.domain.entity.Ingredient;
+import ru.ifmo.se.restaurant.menu.infrastructure.config.HibernateCacheConfig;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.INGREDIENTS_REGION)
 @Table(name = "ingredients")
 @Getter
 @Setter
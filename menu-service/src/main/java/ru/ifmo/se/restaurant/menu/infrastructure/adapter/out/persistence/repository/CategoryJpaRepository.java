@@ -1,6 +1,9 @@
 package ru.ifmo.se.restaurant.menu.infrastructure.adapter.out.persistence.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ru.ifmo.se.restaurant.menu.infrastructure.adapter.out.persistence.entity.CategoryJpaEntity;
 
@@ -9,6 +12,13 @@ import java.util.Optional;
 
 @Repository
 public interface CategoryJpaRepository extends JpaRepository<CategoryJpaEntity, Long> {
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<CategoryJpaEntity> findAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<CategoryJpaEntity> findByName(String name);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<CategoryJpaEntity> findByIsActive(Boolean isActive);
 }
@@ -6,6 +6,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.ifmo.se.restaurant.menu.infrastructure.adapter.out.persistence.entity.DishJpaEntity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,4 +18,7 @@ public interface DishJpaRepository extends JpaRepository<DishJpaEntity, Long> {
 
     @Query("SELECT d FROM DishJpaEntity d WHERE d.isActive = true AND d.id = :id")
     Optional<DishJpaEntity> findActiveDishById(@Param("id") Long id);
+
+    @Query("SELECT DISTINCT d.imageUrl FROM DishJpaEntity d WHERE d.imageUrl IN :imageUrls")
+    List<String> findImageUrlsIn(@Param("imageUrls") Collection<String> imageUrls);
 }
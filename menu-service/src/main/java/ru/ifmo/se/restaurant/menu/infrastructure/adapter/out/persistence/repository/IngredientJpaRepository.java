@@ -1,12 +1,21 @@
 package ru.ifmo.se.restaurant.menu.infrastructure.adapter.out.persistence.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ru.ifmo.se.restaurant.menu.infrastructure.adapter.out.persistence.entity.IngredientJpaEntity;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface IngredientJpaRepository extends JpaRepository<IngredientJpaEntity, Long> {
+public interface IngredientJpaRepository extends JpaRepository<IngredientJpaEntity, Long>, IngredientJpaRepositoryCustom {
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<IngredientJpaEntity> findAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<IngredientJpaEntity> findByName(String name);
 }
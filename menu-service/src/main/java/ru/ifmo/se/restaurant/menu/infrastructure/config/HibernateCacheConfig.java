@@ -0,0 +1,42 @@
+package ru.ifmo.se.restaurant.menu.infrastructure.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.util.List;
+
+/**
+ * Second-level and query cache for reference entities (categories, ingredients), set up by
+ * {@link HibernateCacheSupport}.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String CATEGORIES_REGION = "categories";
+    public static final String INGREDIENTS_REGION = "ingredients";
+
+    static final List<String> ENTITY_REGIONS = List.of(CATEGORIES_REGION, INGREDIENTS_REGION);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${menu.cache.reference.max-entries:10000}") long maxEntries,
+            @Value("${menu.cache.query.max-entries:1000}") long maxQueryEntries,
+            @Value("${menu.cache.ttl-seconds:3600}") long ttlSeconds) {
+        return HibernateCacheSupport.createCacheManager("menu-hibernate-cache", ENTITY_REGIONS,
+            maxEntries, maxQueryEntries, ttlSeconds);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return HibernateCacheSupport.propertiesCustomizer(hibernateCacheManager);
+    }
+
+    @Bean
+    public MeterBinder hibernateCacheMetrics(CacheManager hibernateCacheManager) {
+        return HibernateCacheSupport.metrics(hibernateCacheManager);
+    }
+}
@@ -196,6 +196,25 @@ class MenuServiceTest {
                 .verify();
     }
 
+    @Test
+    void findReferencedImageUrls_ShouldReturnUrlsUsedByDishes() {
+        List<String> urls = List.of("http://minio/a.jpg", "http://minio/b.jpg");
+        when(dishRepository.findReferencedImageUrls(urls)).thenReturn(List.of("http://minio/a.jpg"));
+
+        StepVerifier.create(menuService.findReferencedImageUrls(urls))
+                .expectNext(List.of("http://minio/a.jpg"))
+                .verifyComplete();
+    }
+
+    @Test
+    void findReferencedImageUrls_ShouldSkipQuery_WhenNoUrls() {
+        StepVerifier.create(menuService.findReferencedImageUrls(List.of()))
+                .expectNext(List.of())
+                .verifyComplete();
+
+        verify(dishRepository, never()).findReferencedImageUrls(any());
+    }
+
     // Ingredient tests
     @Test
     void createIngredient_ShouldReturnCreatedIngredient() {
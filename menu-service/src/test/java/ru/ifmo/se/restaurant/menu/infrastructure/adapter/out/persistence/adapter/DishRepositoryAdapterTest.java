@@ -11,9 +11,11 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import ru.ifmo.se.restaurant.menu.domain.entity.Category;
 import ru.ifmo.se.restaurant.menu.domain.entity.Dish;
+import ru.ifmo.se.restaurant.menu.domain.entity.Ingredient;
 import ru.ifmo.se.restaurant.menu.domain.exception.ResourceNotFoundException;
 import ru.ifmo.se.restaurant.menu.infrastructure.adapter.out.persistence.entity.CategoryJpaEntity;
 import ru.ifmo.se.restaurant.menu.infrastructure.adapter.out.persistence.entity.DishJpaEntity;
+import ru.ifmo.se.restaurant.menu.infrastructure.adapter.out.persistence.entity.IngredientJpaEntity;
 import ru.ifmo.se.restaurant.menu.infrastructure.adapter.out.persistence.repository.CategoryJpaRepository;
 import ru.ifmo.se.restaurant.menu.infrastructure.adapter.out.persistence.repository.DishJpaRepository;
 import ru.ifmo.se.restaurant.menu.infrastructure.adapter.out.persistence.repository.IngredientJpaRepository;
@@ -22,6 +24,7 @@ import java.math.BigDecimal;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -87,6 +90,29 @@ class DishRepositoryAdapterTest {
         assertEquals("Pizza", result.getName());
     }
 
+    @Test
+    void save_ShouldLoadIngredientsInOneCall() {
+        CategoryJpaEntity categoryEntity = createCategoryEntity(1L, "Main");
+        when(categoryJpaRepository.findById(1L)).thenReturn(Optional.of(categoryEntity));
+        when(ingredientJpaRepository.multiLoadById(argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(1L, 2L))))).thenReturn(List.of(
+                IngredientJpaEntity.builder().id(1L).name("Flour").build(),
+                IngredientJpaEntity.builder().id(2L).name("Cheese").build()));
+        when(dishJpaRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Dish dish = Dish.builder()
+                .name("Pizza")
+                .price(new BigDecimal("15.99"))
+                .category(Category.builder().id(1L).name("Main").build())
+                .ingredients(Set.of(Ingredient.builder().id(1L).build(), Ingredient.builder().id(2L).build()))
+                .isActive(true)
+                .build();
+
+        Dish result = adapter.save(dish);
+
+        assertEquals(2, result.getIngredients().size());
+        verify(ingredientJpaRepository, never()).findById(any());
+    }
+
     @Test
     void save_ShouldThrowException_WhenCategoryNotFound() {
         when(categoryJpaRepository.findById(99L)).thenReturn(Optional.empty());
@@ -224,4 +250,14 @@ class DishRepositoryAdapterTest {
 
         verify(dishJpaRepository).save(any());
     }
+
+    @Test
+    void findReferencedImageUrls_ShouldDelegateToQuery() {
+        List<String> urls = List.of("http://example.com/pizza.jpg", "http://example.com/old.jpg");
+        when(dishJpaRepository.findImageUrlsIn(urls)).thenReturn(List.of("http://example.com/pizza.jpg"));
+
+        List<String> result = adapter.findReferencedImageUrls(urls);
+
+        assertEquals(List.of("http://example.com/pizza.jpg"), result);
+    }
 }
@@ -0,0 +1,71 @@
+package ru.ifmo.se.restaurant.menu.infrastructure.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.cache.CacheManager;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HibernateCacheConfigTest {
+
+    private final HibernateCacheConfig config = new HibernateCacheConfig();
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = config.hibernateCacheManager(100, 10, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void hibernateCacheManager_ShouldCreateAllRegions() {
+        for (String region : HibernateCacheConfig.ENTITY_REGIONS) {
+            assertNotNull(cacheManager.getCache(region));
+        }
+        assertNotNull(cacheManager.getCache(HibernateCacheSupport.QUERY_RESULTS_REGION));
+        assertNotNull(cacheManager.getCache(HibernateCacheSupport.UPDATE_TIMESTAMPS_REGION));
+    }
+
+    @Test
+    void hibernateCacheManager_ShouldNotClash_WithAnotherContextInTheSameJvm() {
+        CacheManager other = config.hibernateCacheManager(100, 10, 60);
+        other.close();
+
+        assertNotSame(cacheManager, other);
+        assertFalse(cacheManager.isClosed());
+        assertNotNull(cacheManager.getCache(HibernateCacheConfig.INGREDIENTS_REGION));
+    }
+
+    @Test
+    void hibernateCacheCustomizer_ShouldEnableCachesWithoutImplicitRegions() {
+        Map<String, Object> properties = new HashMap<>();
+
+        config.hibernateCacheCustomizer(cacheManager).customize(properties);
+
+        assertEquals(true, properties.get(AvailableSettings.USE_SECOND_LEVEL_CACHE));
+        assertEquals(true, properties.get(AvailableSettings.USE_QUERY_CACHE));
+        assertSame(cacheManager, properties.get(ConfigSettings.CACHE_MANAGER));
+        assertEquals("fail", properties.get(ConfigSettings.MISSING_CACHE_STRATEGY));
+    }
+
+    @Test
+    void hibernateCacheMetrics_ShouldRegisterMetersPerRegion() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        config.hibernateCacheMetrics(cacheManager).bindTo(registry);
+
+        assertNotNull(registry.find("cache.evictions").tag("cache", HibernateCacheConfig.INGREDIENTS_REGION).meter());
+        assertNotNull(registry.find("cache.gets").tag("cache", HibernateCacheConfig.CATEGORIES_REGION).meter());
+    }
+}
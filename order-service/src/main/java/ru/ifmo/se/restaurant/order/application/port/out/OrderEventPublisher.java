@@ -8,4 +8,5 @@ import java.util.List;
 public interface OrderEventPublisher {
     void publishOrderCreated(Order order, List<OrderItem> items);
     void publishOrderSentToKitchen(Order order, List<OrderItem> items);
+    void publishOrderItemChanged(Order order, OrderItem item, boolean removed);
 }
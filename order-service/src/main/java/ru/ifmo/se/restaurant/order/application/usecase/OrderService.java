@@ -121,7 +121,8 @@ public class OrderService implements
                             BigDecimal itemTotal = savedItem.getPrice()
                                 .multiply(BigDecimal.valueOf(savedItem.getQuantity()));
                             order.setTotalAmount(order.getTotalAmount().add(itemTotal));
-                            return orderRepositoryPort.save(order);
+                            return orderRepositoryPort.save(order)
+                                .doOnSuccess(savedOrder -> orderEventPublisher.publishOrderItemChanged(savedOrder, savedItem, false));
                         });
                 }))
             .flatMap(this::toDto);
@@ -136,7 +137,8 @@ public class OrderService implements
                     BigDecimal itemTotal = item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity()));
                     order.setTotalAmount(order.getTotalAmount().subtract(itemTotal));
                     return orderRepositoryPort.save(order)
-                        .then(orderItemRepositoryPort.deleteById(itemId));
+                        .flatMap(savedOrder -> orderItemRepositoryPort.deleteById(itemId)
+                            .then(Mono.<Void>fromRunnable(() -> orderEventPublisher.publishOrderItemChanged(savedOrder, item, true))));
                 }));
     }
 
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Component;
 import ru.ifmo.se.restaurant.common.event.DomainEvent;
 import ru.ifmo.se.restaurant.common.event.KafkaTopics;
 import ru.ifmo.se.restaurant.common.event.order.OrderCreatedEvent;
+import ru.ifmo.se.restaurant.common.event.order.OrderItemChangedEvent;
 import ru.ifmo.se.restaurant.common.event.order.OrderSentToKitchenEvent;
 import ru.ifmo.se.restaurant.order.application.port.out.OrderEventPublisher;
 import ru.ifmo.se.restaurant.order.domain.entity.Order;
@@ -84,4 +85,33 @@ public class KafkaOrderEventPublisher implements OrderEventPublisher {
                     }
                 });
     }
+
+    @Override
+    public void publishOrderItemChanged(Order order, OrderItem item, boolean removed) {
+        OrderItemChangedEvent payload = OrderItemChangedEvent.builder()
+                .orderId(order.getId())
+                .itemId(item.getId())
+                .dishId(item.getDishId())
+                .dishName(item.getDishName())
+                .quantity(item.getQuantity())
+                .price(item.getPrice())
+                .removed(removed)
+                .orderTotal(order.getTotalAmount())
+                .changedAt(java.time.Instant.now())
+                .build();
+
+        String eventType = removed ? "ORDER_ITEM_REMOVED" : "ORDER_ITEM_ADDED";
+        DomainEvent<OrderItemChangedEvent> event = DomainEvent.create(eventType, payload);
+        String key = String.valueOf(order.getId());
+
+        kafkaTemplate.send(KafkaTopics.ORDERS_ITEMS_CHANGED, key, event)
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        log.error("Failed to publish {} event for order: {}", eventType, order.getId(), ex);
+                    } else {
+                        log.info("Published {} event for order: {} to partition: {}",
+                                eventType, order.getId(), result.getRecordMetadata().partition());
+                    }
+                });
+    }
 }
@@ -74,4 +74,12 @@ public class KafkaConfig {
                 .replicas(2)
                 .build();
     }
+
+    @Bean
+    public NewTopic ordersItemsChangedTopic() {
+        return TopicBuilder.name(KafkaTopics.ORDERS_ITEMS_CHANGED)
+                .partitions(3)
+                .replicas(2)
+                .build();
+    }
 }
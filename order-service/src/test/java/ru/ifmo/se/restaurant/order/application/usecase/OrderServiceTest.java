@@ -263,6 +263,7 @@ class OrderServiceTest {
         StepVerifier.create(orderService.addItemToOrder(1L, itemDto))
                 .expectNextCount(1)
                 .verifyComplete();
+        verify(orderEventPublisher).publishOrderItemChanged(testOrder, testItem, false);
     }
 
     @Test
@@ -290,6 +291,7 @@ class OrderServiceTest {
 
         StepVerifier.create(orderService.removeItemFromOrder(1L, 1L))
                 .verifyComplete();
+        verify(orderEventPublisher).publishOrderItemChanged(testOrder, testItem, true);
     }
 
     @Test
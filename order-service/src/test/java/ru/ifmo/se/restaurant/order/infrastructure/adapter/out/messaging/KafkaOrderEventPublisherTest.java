@@ -6,11 +6,14 @@ import org.apache.kafka.common.TopicPartition;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
+import ru.ifmo.se.restaurant.common.event.DomainEvent;
 import ru.ifmo.se.restaurant.common.event.KafkaTopics;
+import ru.ifmo.se.restaurant.common.event.order.OrderItemChangedEvent;
 import ru.ifmo.se.restaurant.order.domain.entity.Order;
 import ru.ifmo.se.restaurant.order.domain.entity.OrderItem;
 import ru.ifmo.se.restaurant.order.domain.valueobject.OrderStatus;
@@ -21,6 +24,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -119,4 +123,21 @@ class KafkaOrderEventPublisherTest {
 
         verify(kafkaTemplate).send(eq(KafkaTopics.ORDERS_SENT_TO_KITCHEN), eq("1"), any());
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void publishOrderItemChanged_ShouldSendOrderTotal() {
+        CompletableFuture<SendResult<String, Object>> future = new CompletableFuture<>();
+        when(kafkaTemplate.send(eq(KafkaTopics.ORDERS_ITEMS_CHANGED), anyString(), any())).thenReturn(future);
+
+        publisher.publishOrderItemChanged(testOrder, testItems.get(0), true);
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate).send(eq(KafkaTopics.ORDERS_ITEMS_CHANGED), eq("1"), captor.capture());
+        DomainEvent<OrderItemChangedEvent> event = (DomainEvent<OrderItemChangedEvent>) captor.getValue();
+        assertEquals("ORDER_ITEM_REMOVED", event.getEventType());
+        assertTrue(event.getPayload().isRemoved());
+        assertEquals(new BigDecimal("100.00"), event.getPayload().getOrderTotal());
+        assertEquals(1L, event.getPayload().getItemId());
+    }
 }